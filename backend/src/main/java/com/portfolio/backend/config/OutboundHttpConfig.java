@@ -0,0 +1,95 @@
+package com.portfolio.backend.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Shared outbound HTTP client for every upstream API (Yahoo, FMP, NewsAPI, Cohere).
+ *
+ * One reactor-netty ConnectionProvider keeps a pool of keep-alive connections per remote
+ * host, so bursts reuse open TLS connections instead of handshaking per call. Callers that
+ * find every connection to a host busy wait up to the acquire timeout, and are refused once
+ * too many are already waiting.
+ *
+ * Metrics (under /actuator/metrics):
+ *   reactor.netty.connection.provider.*  - active, idle, pending and max connections per host (pool saturation)
+ *   http.client.requests                 - request latency per upstream host (client.name tag)
+ *
+ * The WebClient used for quotes (QuoteProviderConfig) and the RestTemplate used by
+ * AIAnalysisService are both built on this client.
+ */
+@Configuration
+public class OutboundHttpConfig {
+
+    @Value("${outbound-http.connect-timeout-ms:2000}")
+    private int connectTimeoutMs;
+
+    @Value("${outbound-http.pool.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${outbound-http.pool.pending-acquire-timeout-ms:2000}")
+    private long pendingAcquireTimeoutMs;
+
+    @Value("${outbound-http.pool.pending-acquire-max-count:500}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${outbound-http.pool.max-idle-ms:30000}")
+    private long maxIdleMs;
+
+    @Value("${outbound-http.pool.max-life-ms:300000}")
+    private long maxLifeMs;
+
+    @Value("${outbound-http.rest.response-timeout-ms:30000}")
+    private long restResponseTimeoutMs;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider outboundConnectionProvider() {
+        return ConnectionProvider.builder("outbound")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .maxIdleTime(Duration.ofMillis(maxIdleMs))
+                .maxLifeTime(Duration.ofMillis(maxLifeMs))
+                .evictInBackground(Duration.ofMillis(maxIdleMs))
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * Base client on the shared pool. Callers derive their own response timeouts from it;
+     * derived clients keep using the same connection pool.
+     */
+    @Bean
+    public HttpClient outboundHttpClient(ConnectionProvider outboundConnectionProvider) {
+        return HttpClient.create(outboundConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true);
+    }
+
+    /**
+     * RestTemplate for the FMP, NewsAPI and Cohere calls. Built from Spring Boot's builder so
+     * every request is timed in http.client.requests.
+     */
+    @Bean
+    public RestTemplate outboundRestTemplate(RestTemplateBuilder restTemplateBuilder, HttpClient outboundHttpClient) {
+        HttpClient httpClient = outboundHttpClient.responseTimeout(Duration.ofMillis(restResponseTimeoutMs));
+        // Encode URI variables fully, so values such as "AT&T Inc." stay one query parameter
+        DefaultUriBuilderFactory uriBuilderFactory = new DefaultUriBuilderFactory();
+        uriBuilderFactory.setEncodingMode(DefaultUriBuilderFactory.EncodingMode.TEMPLATE_AND_VALUES);
+        return restTemplateBuilder
+                .requestFactory(() -> new ReactorClientHttpRequestFactory(httpClient))
+                .uriTemplateHandler(uriBuilderFactory)
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.portfolio.backend.config;
+
+import com.portfolio.backend.provider.CircuitBreaker;
+import com.portfolio.backend.provider.FallbackQuoteProvider;
+import com.portfolio.backend.provider.FileQuoteProvider;
+import com.portfolio.backend.provider.NoPriceHistoryProvider;
+import com.portfolio.backend.provider.PriceHistoryProvider;
+import com.portfolio.backend.provider.QuoteProvider;
+import com.portfolio.backend.provider.ResilientQuoteProvider;
+import com.portfolio.backend.provider.YahooBatchQuoteProvider;
+import com.portfolio.backend.provider.YahooChartQuoteProvider;
+import com.portfolio.backend.provider.YahooPriceHistoryProvider;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selects the quote provider behind StockDataService.
+ *
+ * stock-data.provider:
+ *   yahoo       - multi-symbol quote endpoint, falling back to the chart endpoint; the quote
+ *                 endpoint needs a crumb, so after its first 401 only the chart endpoint is used
+ *   yahoo-chart - per-symbol chart endpoint only (default)
+ *   file        - fixed quotes from stock-data.file.location (tests and offline runs)
+ *
+ * The Yahoo providers use the shared outbound HTTP client (OutboundHttpConfig) with read,
+ * write and response timeouts, and are wrapped in a ResilientQuoteProvider (call deadline, bulkhead, circuit breaker).
+ * Daily price history uses the same chart endpoint and timeouts.
+ */
+@Configuration
+public class QuoteProviderConfig {
+
+    @Autowired
+    private HttpClient outboundHttpClient;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Value("${stock-data.http.response-timeout-ms:3000}")
+    private long responseTimeoutMs;
+
+    @Value("${stock-data.resilience.call-timeout-ms:4000}")
+    private long callTimeoutMs;
+
+    @Value("${stock-data.resilience.max-concurrent-calls:16}")
+    private int maxConcurrentCalls;
+
+    @Value("${stock-data.resilience.window-size:20}")
+    private int windowSize;
+
+    @Value("${stock-data.resilience.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${stock-data.resilience.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+
+    @Value("${stock-data.resilience.slow-call-ms:2500}")
+    private long slowCallMs;
+
+    @Value("${stock-data.resilience.slow-call-rate-threshold:80}")
+    private int slowCallRateThreshold;
+
+    @Value("${stock-data.resilience.open-ms:30000}")
+    private long openMs;
+
+    @Value("${price-history.max-response-bytes:4194304}")
+    private int historyMaxResponseBytes;
+
+    @Bean
+    public QuoteProvider quoteProvider(@Value("${stock-data.provider:yahoo-chart}") String provider,
+                                       @Value("${stock-data.base-url:https://query1.finance.yahoo.com}") String baseUrl,
+                                       @Value("${stock-data.fan-out.concurrency:8}") int concurrency,
+                                       @Value("${stock-data.file.location:classpath:quotes/offline-quotes.json}") Resource quotesFile)
+            throws IOException {
+        switch (provider) {
+            case "file":
+                return new FileQuoteProvider(quotesFile);
+            case "yahoo-chart":
+                return resilient(new YahooChartQuoteProvider(webClient(baseUrl), concurrency));
+            case "yahoo":
+                WebClient webClient = webClient(baseUrl);
+                return resilient(new FallbackQuoteProvider(
+                        new YahooBatchQuoteProvider(webClient),
+                        new YahooChartQuoteProvider(webClient, concurrency)));
+            default:
+                throw new IllegalArgumentException("Unknown stock-data.provider: " + provider);
+        }
+    }
+
+    /**
+     * Price history comes from the chart endpoint of the configured Yahoo provider; the file
+     * provider has no history, so nothing is fetched offline.
+     */
+    @Bean
+    public PriceHistoryProvider priceHistoryProvider(@Value("${stock-data.provider:yahoo-chart}") String provider,
+                                                     @Value("${stock-data.base-url:https://query1.finance.yahoo.com}") String baseUrl) {
+        if ("file".equals(provider)) {
+            return new NoPriceHistoryProvider();
+        }
+        // Multi-year daily charts are larger than the default 256 KB in-memory limit
+        WebClient webClient = webClient(baseUrl).mutate()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(historyMaxResponseBytes))
+                .build();
+        return new YahooPriceHistoryProvider(webClient);
+    }
+
+    /**
+     * WebClient on the shared outbound connection pool, with the quote response timeouts.
+     * Built from Spring Boot's builder so requests are timed in http.client.requests.
+     */
+    private WebClient webClient(String baseUrl) {
+        HttpClient httpClient = outboundHttpClient
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs))
+                .doOnConnected(connection -> connection
+                        .addHandlerLast(new ReadTimeoutHandler(responseTimeoutMs, TimeUnit.MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(responseTimeoutMs, TimeUnit.MILLISECONDS)));
+        return webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    private QuoteProvider resilient(QuoteProvider provider) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(provider.getName(), windowSize, minimumCalls,
+                failureRateThreshold, Duration.ofMillis(slowCallMs), slowCallRateThreshold,
+                Duration.ofMillis(openMs), Clock.systemUTC());
+        return new ResilientQuoteProvider(provider, circuitBreaker, maxConcurrentCalls, Duration.ofMillis(callTimeoutMs));
+    }
+}
@@ -0,0 +1,17 @@
+package com.portfolio.backend.config;
+
+import com.portfolio.backend.util.TradingCalendar;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exposes the bundled NYSE trading calendar (calendar/nyse.csv) to services and schedulers
+ */
+@Configuration
+public class TradingCalendarConfig {
+
+    @Bean
+    public TradingCalendar tradingCalendar() {
+        return TradingCalendar.nyse();
+    }
+}
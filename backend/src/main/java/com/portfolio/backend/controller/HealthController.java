@@ -1,9 +1,14 @@
 package com.portfolio.backend.controller;
 
+import com.portfolio.backend.model.JobRun;
+import com.portfolio.backend.service.JobLeaseService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -11,6 +16,9 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class HealthController {
 
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> healthCheck() {
         Map<String, Object> response = new HashMap<>();
@@ -19,4 +27,20 @@ public class HealthController {
         response.put("timestamp", System.currentTimeMillis());
         return ResponseEntity.ok(response);
     }
-} 
\ No newline at end of file
+
+    /**
+     * GET /api/health/jobs/daily-snapshot/runs
+     * Get the run history of a scheduled job (owner instance, duration and outcome), latest fire first
+     *
+     * @param jobName daily-snapshot, month-end-summary or daily-value-compaction
+     * @return List of runs
+     */
+    @GetMapping("/jobs/{jobName}/runs")
+    public ResponseEntity<List<JobRun>> getJobRuns(@PathVariable String jobName) {
+        try {
+            return ResponseEntity.ok(jobLeaseService.getRuns(jobName));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+} 
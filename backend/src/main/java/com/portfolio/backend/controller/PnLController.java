@@ -1,11 +1,16 @@
 package com.portfolio.backend.controller;
 
+import com.portfolio.backend.dto.Versioned;
 import com.portfolio.backend.service.PnLService;
+import com.portfolio.backend.service.RealizedGainService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.Map;
 
 @RestController
@@ -16,19 +21,74 @@ public class PnLController {
     @Autowired
     private PnLService pnLService;
 
+    @Autowired
+    private RealizedGainService realizedGainService;
+
     /**
      * GET /api/pnl/monthly
-     * Get monthly P&L data for the last 7 months
+     * Get monthly P&L data for the last 7 months.
+     * Served from cache while no trade, cash movement or price update happened; the response
+     * carries a strong ETag and a matching If-None-Match gets 304 Not Modified
      * 
      * @return Map containing monthly P&L data
      */
     @GetMapping("/monthly")
     public ResponseEntity<Map<String, Object>> getMonthlyPnLData() {
         try {
-            Map<String, Object> pnLData = pnLService.getMonthlyPnLData();
-            return ResponseEntity.ok(pnLData);
+            return versioned(pnLService.getMonthlyPnL());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * GET /api/pnl?from=2024-01&to=2024-12&granularity=quarter
+     * Get realized P&L per month, quarter or year over a range of months, with unrealized P&L
+     * as of each period's end. Past months come from the stored monthly summaries; cached and
+     * revalidated with an ETag like /monthly. Ranges longer than pnl.max-range-months get 400
+     * 
+     * @param from First month (YYYY-MM)
+     * @param to Last month (YYYY-MM), not after the current month
+     * @param granularity month, quarter or year
+     * @return Map containing P&L per period and totals for the range
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getPnL(@RequestParam String from,
+                                                      @RequestParam String to,
+                                                      @RequestParam(defaultValue = "month") String granularity) {
+        try {
+            return versioned(pnLService.getPnL(YearMonth.parse(from), YearMonth.parse(to), granularity));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * POST /api/pnl/realized-gains/backfill
+     * Write realized gain ledger rows for SELL trades that have none (e.g. sells recorded before
+     * the ledger), at running average cost from trade history
+     * 
+     * @return Map containing the number of sells written to the ledger
+     */
+    @PostMapping("/realized-gains/backfill")
+    public ResponseEntity<Map<String, Object>> backfillRealizedGains() {
+        try {
+            int written = realizedGainService.backfill();
+            return ResponseEntity.ok(Map.of("sells", written));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * 200 response with the result's version as its ETag, revalidated by the browser on every use
+     */
+    private static <T> ResponseEntity<T> versioned(Versioned<T> result) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(result.version())
+                .body(result.value());
+    }
+}
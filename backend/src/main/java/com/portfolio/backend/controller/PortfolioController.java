@@ -136,4 +136,20 @@ public class PortfolioController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    /**
+     * GET /api/portfolio/stats/market
+     * Retrieves portfolio statistics with holdings valued at current market prices
+     * 
+     * @return Map containing portfolio statistics, cost basis and unrealized gain
+     */
+    @GetMapping("/stats/market")
+    public ResponseEntity<Map<String, Object>> getPortfolioMarketStats() {
+        try {
+            Map<String, Object> stats = portfolioService.getPortfolioMarketStats();
+            return ResponseEntity.ok(stats);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 }
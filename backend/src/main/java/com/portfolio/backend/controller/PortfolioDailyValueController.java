@@ -1,11 +1,16 @@
 package com.portfolio.backend.controller;
 
+import com.portfolio.backend.model.PortfolioValueRollup;
 import com.portfolio.backend.service.PortfolioDailyValueService;
+import com.portfolio.backend.service.PortfolioRetentionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 
@@ -17,6 +22,9 @@ public class PortfolioDailyValueController {
     @Autowired
     private PortfolioDailyValueService portfolioDailyValueService;
 
+    @Autowired
+    private PortfolioRetentionService portfolioRetentionService;
+
     /**
      * POST /api/daily-values/save-snapshot
      * Saves a daily portfolio snapshot for testing
@@ -34,4 +42,28 @@ public class PortfolioDailyValueController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * GET /api/daily-values/rollups?period=month&from=2020-01-01&to=2024-12-31
+     * Get the weekly or monthly rollups of purged daily snapshots (open, close, min, max and
+     * average total value) for long-range charts
+     * 
+     * @param period week or month
+     * @param from First period start (YYYY-MM-DD)
+     * @param to Last period start (YYYY-MM-DD)
+     * @return Rollups, oldest first
+     */
+    @GetMapping("/rollups")
+    public ResponseEntity<List<PortfolioValueRollup>> getRollups(@RequestParam(defaultValue = "month") String period,
+                                                                 @RequestParam String from,
+                                                                 @RequestParam String to) {
+        try {
+            PortfolioValueRollup.Period rollupPeriod = PortfolioValueRollup.Period.valueOf(period.trim().toUpperCase());
+            return ResponseEntity.ok(portfolioRetentionService.getRollups(rollupPeriod, LocalDate.parse(from), LocalDate.parse(to)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.portfolio.backend.controller;
 
+import com.portfolio.backend.dto.Versioned;
 import com.portfolio.backend.model.PortfolioMonthlySummary;
+import com.portfolio.backend.service.MonthlySummaryBackfillService;
 import com.portfolio.backend.service.PortfolioMonthlySummaryService;
+import com.portfolio.backend.util.DateUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -17,6 +24,9 @@ public class PortfolioMonthlySummaryController {
     @Autowired
     private PortfolioMonthlySummaryService portfolioMonthlySummaryService;
 
+    @Autowired
+    private MonthlySummaryBackfillService monthlySummaryBackfillService;
+
     /**
      * Get all monthly summaries
      * 
@@ -24,8 +34,8 @@ public class PortfolioMonthlySummaryController {
      */
     @GetMapping
     public ResponseEntity<List<PortfolioMonthlySummary>> getAllMonthlySummaries() {
-        List<PortfolioMonthlySummary> summaries = portfolioMonthlySummaryService.getAllMonthlySummaries();
-        return ResponseEntity.ok(summaries);
+        return versioned(portfolioMonthlySummaryService.getVersioned("all",
+                portfolioMonthlySummaryService::getAllMonthlySummaries));
     }
 
     /**
@@ -37,8 +47,10 @@ public class PortfolioMonthlySummaryController {
      */
     @GetMapping("/{year}/{month}")
     public ResponseEntity<PortfolioMonthlySummary> getMonthlySummary(@PathVariable Integer year, @PathVariable Integer month) {
-        Optional<PortfolioMonthlySummary> summary = portfolioMonthlySummaryService.getMonthlySummary(year, month);
-        return summary.map(ResponseEntity::ok)
+        Versioned<Optional<PortfolioMonthlySummary>> summary = portfolioMonthlySummaryService.getVersioned(
+                "month:" + year + "-" + month, () -> portfolioMonthlySummaryService.getMonthlySummary(year, month));
+        return summary.value()
+                .map(found -> versioned(new Versioned<>(summary.version(), found)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -50,8 +62,8 @@ public class PortfolioMonthlySummaryController {
      */
     @GetMapping("/year/{year}")
     public ResponseEntity<List<PortfolioMonthlySummary>> getMonthlySummariesByYear(@PathVariable Integer year) {
-        List<PortfolioMonthlySummary> summaries = portfolioMonthlySummaryService.getMonthlySummariesByYear(year);
-        return ResponseEntity.ok(summaries);
+        return versioned(portfolioMonthlySummaryService.getVersioned("year:" + year,
+                () -> portfolioMonthlySummaryService.getMonthlySummariesByYear(year)));
     }
 
     /**
@@ -61,8 +73,9 @@ public class PortfolioMonthlySummaryController {
      */
     @GetMapping("/last-12-months")
     public ResponseEntity<List<PortfolioMonthlySummary>> getLast12Months() {
-        List<PortfolioMonthlySummary> summaries = portfolioMonthlySummaryService.getLast12Months();
-        return ResponseEntity.ok(summaries);
+        // The window moves with the calendar month, so it is part of the key
+        return versioned(portfolioMonthlySummaryService.getVersioned("last-12-months:" + currentMonth(),
+                portfolioMonthlySummaryService::getLast12Months));
     }
 
     /**
@@ -72,8 +85,19 @@ public class PortfolioMonthlySummaryController {
      */
     @GetMapping("/last-year")
     public ResponseEntity<List<PortfolioMonthlySummary>> getLastYear() {
-        List<PortfolioMonthlySummary> summaries = portfolioMonthlySummaryService.getLastYear();
-        return ResponseEntity.ok(summaries);
+        return versioned(portfolioMonthlySummaryService.getVersioned("last-year:" + currentMonth().getYear(),
+                portfolioMonthlySummaryService::getLastYear));
+    }
+
+    /**
+     * GET /api/monthly-summaries/current-month
+     * Get the current month so far (see PortfolioMonthAggregateService), without saving it
+     * 
+     * @return The current month's summary
+     */
+    @GetMapping("/current-month")
+    public ResponseEntity<PortfolioMonthlySummary> getCurrentMonthSummary() {
+        return ResponseEntity.ok(portfolioMonthlySummaryService.getCurrentMonthSummary());
     }
 
     /**
@@ -115,6 +139,23 @@ public class PortfolioMonthlySummaryController {
         }
     }
 
+    /**
+     * Rebuild the monthly summaries of a range of past months from trade history and stored
+     * closing prices; a backfill of the same range that stopped part way resumes where it stopped
+     * 
+     * @param from First month (YYYY-MM)
+     * @param to Last month (YYYY-MM), before the current month
+     * @return Months written, elapsed seconds and months per second
+     */
+    @PostMapping("/backfill")
+    public ResponseEntity<Map<String, Object>> backfillMonthlySummaries(@RequestParam String from, @RequestParam String to) {
+        try {
+            return ResponseEntity.ok(monthlySummaryBackfillService.backfill(YearMonth.parse(from), YearMonth.parse(to)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Delete monthly summary by year and month
      * 
@@ -160,4 +201,20 @@ public class PortfolioMonthlySummaryController {
         int deletedCount = portfolioMonthlySummaryService.deleteAllDailyRecords();
         return ResponseEntity.ok("Deleted " + deletedCount + " daily records");
     }
-} 
\ No newline at end of file
+
+    /**
+     * 200 response carrying the data version as a strong ETag. A GET whose If-None-Match holds
+     * that ETag gets 304 Not Modified without a body; no-cache makes the browser revalidate
+     * every time instead of reusing a stale copy.
+     */
+    private static <T> ResponseEntity<T> versioned(Versioned<T> result) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(result.version())
+                .body(result.value());
+    }
+
+    private static YearMonth currentMonth() {
+        return YearMonth.from(DateUtil.getCurrentDateInNYC());
+    }
+}
@@ -0,0 +1,58 @@
+package com.portfolio.backend.controller;
+
+import com.portfolio.backend.model.PriceBar;
+import com.portfolio.backend.service.PriceHistoryService;
+import com.portfolio.backend.util.TradingCalendar;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/price-history")
+@CrossOrigin(origins = "*")
+public class PriceHistoryController {
+
+    @Autowired
+    private PriceHistoryService priceHistoryService;
+
+    /**
+     * GET /api/price-history/{ticker}?date=YYYY-MM-DD
+     * Returns the stored daily bar for the ticker as of the date (latest bar on or before it)
+     * 
+     * @param ticker The ticker
+     * @param date The as-of date
+     * @return ResponseEntity with the bar, or 404 if no history is stored on or before the date
+     */
+    @GetMapping("/{ticker}")
+    public ResponseEntity<PriceBar> getBarAsOf(@PathVariable String ticker,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            return priceHistoryService.getBarAsOf(ticker, date)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * POST /api/price-history/ingest
+     * Ingests missing daily bars for every held ticker (multi-year backfill for new tickers)
+     * 
+     * @return ResponseEntity with the number of bars inserted per ticker
+     */
+    @PostMapping("/ingest")
+    public ResponseEntity<Map<String, Integer>> ingestHeldTickers() {
+        try {
+            return ResponseEntity.ok(priceHistoryService.ingestHeldTickers(ZonedDateTime.now(TradingCalendar.NEW_YORK)));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.portfolio.backend.controller;
 
+import com.portfolio.backend.dto.IntradaySeries;
+import com.portfolio.backend.dto.Quote;
+import com.portfolio.backend.service.QuoteStreamService;
 import com.portfolio.backend.service.StockDataService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -14,25 +21,90 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class StockDataController {
 
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+
     @Autowired
     private StockDataService stockDataService;
 
+    @Autowired
+    private QuoteStreamService quoteStreamService;
+
     /**
      * POST /api/stock-data
      * Fetches real-time stock data for given symbols
      * 
      * @param request Map containing list of symbols
-     * @return List of stock data maps
+     * @return List of quotes
      */
     @PostMapping
-    public ResponseEntity<List<Map<String, Object>>> getStockData(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<List<Quote>> getStockData(@RequestBody Map<String, Object> request) {
         try {
             @SuppressWarnings("unchecked")
             List<String> symbols = (List<String>) request.get("symbols");
-            List<Map<String, Object>> stockData = stockDataService.getStockData(symbols);
+            List<Quote> stockData = stockDataService.getStockData(symbols);
             return ResponseEntity.ok(stockData);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * GET /api/stock-data/cache/stats
+     * Returns quote cache counters (hits, stale hits, misses, refreshes, evictions, size)
+     * 
+     * @return Map containing cache statistics
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(stockDataService.getCacheStats());
+    }
+
+    /**
+     * GET /api/stock-data/{symbol}/intraday?points=120
+     * Returns the prices fetched for the symbol during the latest trading session, oldest
+     * first, downsampled on the server to at most the requested number of points
+     * 
+     * @param symbol Stock symbol
+     * @param points Maximum number of points (default 120)
+     * @return ResponseEntity with the series, 404 if no price was fetched for the symbol this session,
+     *         or 400 if points is out of range
+     */
+    @GetMapping("/{symbol}/intraday")
+    public ResponseEntity<IntradaySeries> getIntradaySeries(@PathVariable String symbol,
+                                                            @RequestParam(defaultValue = "120") int points) {
+        try {
+            return stockDataService.getIntradaySeries(symbol, points)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * GET /api/stock-data/stream?symbols=AAPL,MSFT
+     * Streams quotes as Server-Sent Events: the latest quote for each symbol on connect,
+     * then a "quote" event whenever a symbol's quote changes. A comment line is sent
+     * periodically to keep idle connections open through proxies.
+     * 
+     * @param symbols Comma-separated stock symbols
+     * @return Event stream of changed quotes, or 400 if the symbol list is empty or too long
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<Quote>>> streamStockData(@RequestParam List<String> symbols) {
+        try {
+            Flux<ServerSentEvent<Quote>> quotes = quoteStreamService.streamQuotes(symbols)
+                    .map(quote -> ServerSentEvent.<Quote>builder(quote)
+                            .event("quote")
+                            .id(quote.symbol())
+                            .build());
+            Flux<ServerSentEvent<Quote>> heartbeats = Flux.interval(HEARTBEAT_INTERVAL)
+                    .map(tick -> ServerSentEvent.<Quote>builder().comment("keep-alive").build());
+            return ResponseEntity.ok(Flux.merge(quotes, heartbeats));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -9,13 +9,14 @@ CREATE TABLE portfolio_item (
   buy_date DATE NOT NULL
 );
 
--- Daily values (keep 30 days)
+-- Daily values (keep 30 days raw, then rolled up into portfolio_value_rollups)
 CREATE TABLE portfolio_daily_values (
     id BIGINT PRIMARY KEY,
     snapshot_date DATE NOT NULL,
     total_value DECIMAL(10,2) NOT NULL,
     investments_value DECIMAL(10,2) NOT NULL,
-    cash_value DECIMAL(10,2) NOT NULL
+    cash_value DECIMAL(10,2) NOT NULL,
+    INDEX idx_portfolio_daily_values_snapshot_date (snapshot_date)
 );
 
 -- Monthly summaries (keep 1 year)
@@ -25,7 +26,8 @@ CREATE TABLE portfolio_monthly_summaries (
     month INT NOT NULL,
     total_value DECIMAL(10,2) NOT NULL,
     monthly_gain DECIMAL(10,2) NOT NULL,
-    monthly_gain_percentage DECIMAL(10,2) NOT NULL
+    monthly_gain_percentage DECIMAL(10,2) NOT NULL,
+    CONSTRAINT uk_portfolio_monthly_summaries_year_month UNIQUE (year, month)
 );
 
 CREATE TABLE cash_account (
@@ -40,5 +42,108 @@ CREATE TABLE trade_history (
     ticker VARCHAR(12) NOT NULL,
     quantity INT NOT NULL,
     price DECIMAL(12,2) NOT NULL,
-    trade_type ENUM('BUY', 'SELL') NOT NULL
+    trade_type ENUM('BUY', 'SELL') NOT NULL,
+    INDEX idx_trade_history_ticker_date (ticker, trade_date)
+);
+
+-- Realized gain of each SELL trade, written with the trade (monthly/yearly SUMs by sell_date)
+CREATE TABLE realized_gains (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    trade_id BIGINT NOT NULL,
+    ticker VARCHAR(12) NOT NULL,
+    sell_date DATE NOT NULL,
+    quantity INT NOT NULL,
+    proceeds DECIMAL(14,2) NOT NULL,
+    cost_basis DECIMAL(14,2) NOT NULL,
+    realized_gain DECIMAL(14,2) NOT NULL,
+    CONSTRAINT uk_realized_gains_trade UNIQUE (trade_id),
+    INDEX idx_realized_gains_sell_date (sell_date)
+);
+
+-- Tax lots: one per BUY, relieved by sells (FIFO/LIFO/HIFO/specific); open lots per ticker in one range scan
+CREATE TABLE tax_lots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    ticker VARCHAR(12) NOT NULL,
+    buy_trade_id BIGINT,
+    acquired_date DATE NOT NULL,
+    quantity INT NOT NULL,
+    remaining_quantity INT NOT NULL,
+    cost_per_share DECIMAL(18,6) NOT NULL,
+    is_open BOOLEAN NOT NULL,
+    INDEX idx_tax_lots_ticker_open_date (ticker, is_open, acquired_date)
+);
+
+-- Daily price history for held tickers (as-of valuations)
+CREATE TABLE price_bars (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    ticker VARCHAR(12) NOT NULL,
+    bar_date DATE NOT NULL,
+    open_price DECIMAL(12,4),
+    high_price DECIMAL(12,4),
+    low_price DECIMAL(12,4),
+    close_price DECIMAL(12,4) NOT NULL,
+    volume BIGINT,
+    CONSTRAINT uk_price_bars_ticker_date UNIQUE (ticker, bar_date)
+);
+
+-- Progress of resumable jobs, e.g. monthly summary backfills
+CREATE TABLE job_checkpoints (
+    job_name VARCHAR(100) PRIMARY KEY,
+    last_completed VARCHAR(64) NOT NULL,
+    updated_at DATETIME NOT NULL
+);
+
+-- Weekly and monthly rollups of purged daily values (see retention.daily-values.raw-days)
+CREATE TABLE portfolio_value_rollups (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    period_type VARCHAR(5) NOT NULL,
+    period_start DATE NOT NULL,
+    first_date DATE NOT NULL,
+    last_date DATE NOT NULL,
+    open_value DECIMAL(10,2) NOT NULL,
+    close_value DECIMAL(10,2) NOT NULL,
+    min_value DECIMAL(10,2) NOT NULL,
+    max_value DECIMAL(10,2) NOT NULL,
+    value_sum DECIMAL(14,2) NOT NULL,
+    sample_count INT NOT NULL,
+    CONSTRAINT uk_portfolio_value_rollups_period_start UNIQUE (period_type, period_start)
+);
+
+-- Lease per scheduled job, so each fire runs on one instance; last_scheduled_at is the latest fire claimed
+CREATE TABLE job_leases (
+    job_name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(100),
+    lease_until DATETIME,
+    last_scheduled_at DATETIME
+);
+
+-- One row per scheduled fire claimed, with its owner, duration and outcome
+CREATE TABLE job_runs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    scheduled_at DATETIME NOT NULL,
+    owner VARCHAR(100) NOT NULL,
+    catch_up BOOLEAN NOT NULL,
+    started_at DATETIME NOT NULL,
+    finished_at DATETIME,
+    duration_ms BIGINT,
+    status VARCHAR(10) NOT NULL,
+    error VARCHAR(500),
+    CONSTRAINT uk_job_runs_job_scheduled UNIQUE (job_name, scheduled_at)
+);
+
+-- Opening value of each month, fixed when the month's row is opened
+CREATE TABLE portfolio_month_aggregates (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    year INT NOT NULL,
+    month INT NOT NULL,
+    opening_value DECIMAL(12,2) NOT NULL,
+    updated_at DATETIME NOT NULL,
+    CONSTRAINT uk_portfolio_month_aggregates_year_month UNIQUE (year, month)
+);
+
+-- Write counter of the portfolio's data, shared by every instance for cache invalidation
+CREATE TABLE data_versions (
+    name VARCHAR(50) PRIMARY KEY,
+    version BIGINT NOT NULL
 );
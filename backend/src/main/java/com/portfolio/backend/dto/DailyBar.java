@@ -0,0 +1,17 @@
+package com.portfolio.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One trading day of price history as returned by a price history provider.
+ * Open, high, low and volume may be null when the upstream does not report them.
+ */
+public record DailyBar(
+        LocalDate date,
+        BigDecimal open,
+        BigDecimal high,
+        BigDecimal low,
+        BigDecimal close,
+        Long volume) {
+}
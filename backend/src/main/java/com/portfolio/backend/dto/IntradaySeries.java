@@ -0,0 +1,21 @@
+package com.portfolio.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Intraday prices of one symbol for a trading session, oldest first.
+ * Returned by /api/stock-data/{symbol}/intraday for sparkline charts.
+ */
+public record IntradaySeries(String symbol, LocalDate sessionDate, int recordedPoints, List<Point> points) {
+
+    /**
+     * One recorded price
+     *
+     * @param timestamp Epoch milliseconds when the price was fetched
+     * @param price The price
+     */
+    public record Point(long timestamp, BigDecimal price) {
+    }
+}
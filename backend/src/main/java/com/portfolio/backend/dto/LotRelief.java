@@ -0,0 +1,21 @@
+package com.portfolio.backend.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Shares relieved from tax lots by one sell, and their total cost basis.
+ * Returned in the sell response as "lotsRelieved".
+ */
+public record LotRelief(String method, List<Line> lines, BigDecimal costBasis) {
+
+    /**
+     * Shares taken from one lot
+     *
+     * @param lotId The tax lot
+     * @param quantity Shares relieved from it
+     * @param costPerShare The lot's cost per share
+     */
+    public record Line(Long lotId, int quantity, BigDecimal costPerShare) {
+    }
+}
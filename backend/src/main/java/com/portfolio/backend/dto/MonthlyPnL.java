@@ -0,0 +1,16 @@
+package com.portfolio.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Realized and unrealized P&L of one calendar month, rounded to cents
+ *
+ * @param month The month
+ * @param valuationDate Date the open lots were valued at: the month end, or today for the current month
+ * @param realized Realized gain of the sells in the month (up to today for the current month)
+ * @param unrealized Unrealized gain of the lots open at the valuation date
+ */
+public record MonthlyPnL(YearMonth month, LocalDate valuationDate, BigDecimal realized, BigDecimal unrealized) {
+}
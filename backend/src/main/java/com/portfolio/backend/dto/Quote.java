@@ -0,0 +1,121 @@
+package com.portfolio.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.portfolio.backend.util.TradingCalendar;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable stock quote returned by /api/stock-data and used for pricing.
+ * Serializes to the same JSON shape as the old stock data maps: every field is
+ * written (null when unknown) and "error" only appears on failed lookups.
+ * "stale" only appears, as true, on last-known quotes served while the upstream is unavailable.
+ */
+public record Quote(
+        String symbol,
+        String name,
+        BigDecimal price,
+        String currency,
+        BigDecimal marketCap,
+        BigDecimal previousClose,
+        BigDecimal dayGain,
+        BigDecimal dayGainPercent,
+        BigDecimal volume,
+        BigDecimal dayLow,
+        BigDecimal dayHigh,
+        BigDecimal yearLow,
+        BigDecimal yearHigh,
+        String marketStatus,
+        @JsonInclude(JsonInclude.Include.NON_DEFAULT) boolean stale,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String error) {
+
+    public static final String FETCH_FAILED = "Failed to fetch data";
+
+    private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
+    private static final int MAX_CACHED_FAILURES = 1024;
+    private static final ConcurrentHashMap<String, Quote> FAILURES = new ConcurrentHashMap<>();
+
+    /**
+     * Shared error quote for a lookup without a symbol
+     */
+    public static final Quote MISSING_SYMBOL = failed(null, FETCH_FAILED + ": symbol is required");
+
+    /**
+     * Build a quote, deriving day gain and market status
+     *
+     * @return The quote
+     */
+    public static Quote of(String symbol, String name, BigDecimal price, String currency,
+                           BigDecimal marketCap, BigDecimal previousClose, BigDecimal volume,
+                           BigDecimal dayLow, BigDecimal dayHigh, BigDecimal yearLow, BigDecimal yearHigh) {
+        BigDecimal dayGain = price.subtract(previousClose);
+        BigDecimal dayGainPercent = previousClose.compareTo(BigDecimal.ZERO) > 0 ?
+            dayGain.divide(previousClose, 4, RoundingMode.HALF_UP).multiply(ONE_HUNDRED) :
+            BigDecimal.ZERO;
+        String marketStatus = TradingCalendar.nyse().isOpen(Instant.now()) ? "Market Open" : "Market Closed";
+
+        return new Quote(symbol, name, price, currency, marketCap, previousClose, dayGain, dayGainPercent,
+                volume, dayLow, dayHigh, yearLow, yearHigh, marketStatus, false, null);
+    }
+
+    /**
+     * Get the generic error quote for a symbol. Instances are shared per symbol,
+     * so repeated failures for the same symbol do not allocate.
+     *
+     * @param symbol Stock symbol
+     * @return Error quote
+     */
+    public static Quote failed(String symbol) {
+        if (symbol == null) {
+            return MISSING_SYMBOL;
+        }
+        Quote cached = FAILURES.get(symbol);
+        if (cached != null) {
+            return cached;
+        }
+        Quote failure = failed(symbol, FETCH_FAILED);
+        if (FAILURES.size() < MAX_CACHED_FAILURES) {
+            FAILURES.putIfAbsent(symbol, failure);
+        }
+        return failure;
+    }
+
+    /**
+     * Create an error quote with a specific error message
+     *
+     * @param symbol Stock symbol
+     * @param error Error message
+     * @return Error quote
+     */
+    public static Quote failed(String symbol, String error) {
+        return new Quote(symbol, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, false, error);
+    }
+
+    /**
+     * Copy this quote marked as stale, for serving a last-known price
+     *
+     * @return Stale copy of this quote
+     */
+    public Quote asStale() {
+        if (stale) {
+            return this;
+        }
+        return new Quote(symbol, name, price, currency, marketCap, previousClose, dayGain, dayGainPercent,
+                volume, dayLow, dayHigh, yearLow, yearHigh, marketStatus, true, error);
+    }
+
+    /**
+     * Check whether this quote is an error result
+     *
+     * @return true if the lookup failed
+     */
+    @JsonIgnore
+    public boolean hasError() {
+        return error != null;
+    }
+}
@@ -2,9 +2,12 @@ package com.portfolio.backend.dto;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 /**
- * DTO for sell requests
+ * DTO for sell requests.
+ * lotMethod selects which tax lots the shares are relieved from (FIFO, LIFO, HIFO or SPECIFIC;
+ * FIFO when omitted); lotIds lists the lots, in order, for SPECIFIC.
  */
 public class SellRequest {
     
@@ -12,6 +15,8 @@ public class SellRequest {
     private Integer quantity;
     private BigDecimal price;
     private LocalDate tradeDate;
+    private String lotMethod;
+    private List<Long> lotIds;
     
     // Constructors
     public SellRequest() {}
@@ -56,6 +61,22 @@ public class SellRequest {
         this.tradeDate = tradeDate;
     }
     
+    public String getLotMethod() {
+        return lotMethod;
+    }
+    
+    public void setLotMethod(String lotMethod) {
+        this.lotMethod = lotMethod;
+    }
+    
+    public List<Long> getLotIds() {
+        return lotIds;
+    }
+    
+    public void setLotIds(List<Long> lotIds) {
+        this.lotIds = lotIds;
+    }
+    
     @Override
     public String toString() {
         return "SellRequest{" +
@@ -63,6 +84,8 @@ public class SellRequest {
                 ", quantity=" + quantity +
                 ", price=" + price +
                 ", tradeDate=" + tradeDate +
+                ", lotMethod='" + lotMethod + '\'' +
+                ", lotIds=" + lotIds +
                 '}';
     }
 } 
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.portfolio.backend.dto;
+
+/**
+ * A result together with the data version it was computed at; controllers send the
+ * version as a strong ETag
+ *
+ * @param version Version token, changes whenever the result may change
+ * @param value The result
+ */
+public record Versioned<T>(String version, T value) {
+}
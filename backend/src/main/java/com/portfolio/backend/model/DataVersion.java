@@ -0,0 +1,56 @@
+package com.portfolio.backend.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Write counter of a set of stored data, shared by every instance of the application so a
+ * result cached on one instance is dropped when another instance writes.
+ *
+ * Fields:
+ *   name - The data the counter covers, e.g. portfolio
+ *   version - Number of committed writes
+ */
+@Entity
+@Table(name = "data_versions")
+public class DataVersion {
+
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    // Constructors
+    public DataVersion() {}
+
+    public DataVersion(String name, long version) {
+        this.name = name;
+        this.version = version;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    @Override
+    public String toString() {
+        return "DataVersion{" +
+                "name='" + name + '\'' +
+                ", version=" + version +
+                '}';
+    }
+}
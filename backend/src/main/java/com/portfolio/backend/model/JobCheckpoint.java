@@ -0,0 +1,72 @@
+package com.portfolio.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a long-running job, saved in the same transaction as each chunk of its work so
+ * a restarted job resumes after the last committed chunk. A job deletes its checkpoint when
+ * it completes.
+ *
+ * Fields:
+ *   jobName - The job and its arguments, e.g. monthly-summary-backfill:2015-01:2024-12
+ *   lastCompleted - Last unit of work completed, in the job's own format (e.g. a month)
+ *   updatedAt - When the checkpoint was last saved
+ */
+@Entity
+@Table(name = "job_checkpoints")
+public class JobCheckpoint {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(name = "last_completed", nullable = false, length = 64)
+    private String lastCompleted;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public JobCheckpoint() {}
+
+    public JobCheckpoint(String jobName, String lastCompleted, LocalDateTime updatedAt) {
+        this.jobName = jobName;
+        this.lastCompleted = lastCompleted;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters and Setters
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public String getLastCompleted() {
+        return lastCompleted;
+    }
+
+    public void setLastCompleted(String lastCompleted) {
+        this.lastCompleted = lastCompleted;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "JobCheckpoint{" +
+                "jobName='" + jobName + '\'' +
+                ", lastCompleted='" + lastCompleted + '\'' +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
@@ -0,0 +1,85 @@
+package com.portfolio.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Lease of a scheduled job, shared by every instance of the application.
+ * An instance runs a scheduled fire of the job only after claiming the lease with one
+ * conditional UPDATE that also advances lastScheduledAt past the fire, so each fire runs at
+ * most once across instances and runs of one job never overlap. A lease held by an instance
+ * that died expires at leaseUntil.
+ *
+ * Fields:
+ *   jobName - The job
+ *   owner - Instance that claimed the lease last
+ *   leaseUntil - When the lease expires; null while no run is in progress
+ *   lastScheduledAt - Latest scheduled fire time claimed, in New York time
+ */
+@Entity
+@Table(name = "job_leases")
+public class JobLease {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(name = "owner", length = 100)
+    private String owner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "last_scheduled_at")
+    private LocalDateTime lastScheduledAt;
+
+    // Constructors
+    public JobLease() {}
+
+    public JobLease(String jobName) {
+        this.jobName = jobName;
+    }
+
+    // Getters and Setters
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(LocalDateTime leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
+    public LocalDateTime getLastScheduledAt() {
+        return lastScheduledAt;
+    }
+
+    public void setLastScheduledAt(LocalDateTime lastScheduledAt) {
+        this.lastScheduledAt = lastScheduledAt;
+    }
+
+    @Override
+    public String toString() {
+        return "JobLease{" +
+                "jobName='" + jobName + '\'' +
+                ", owner='" + owner + '\'' +
+                ", leaseUntil=" + leaseUntil +
+                ", lastScheduledAt=" + lastScheduledAt +
+                '}';
+    }
+}
@@ -0,0 +1,166 @@
+package com.portfolio.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One run of a scheduled job: which instance ran which fire, when, for how long and how it
+ * ended. There is at most one run per job and scheduled fire time.
+ *
+ * Fields:
+ *   jobName - The job
+ *   scheduledAt - The fire time the run was for, in New York time
+ *   owner - Instance that ran it
+ *   catchUp - Whether the fire was missed and run after a restart
+ *   startedAt / finishedAt - Wall-clock start and end, in New York time
+ *   durationMs - Run time in milliseconds
+ *   status - RUNNING, SUCCEEDED or FAILED
+ *   error - Failure message, truncated
+ */
+@Entity
+@Table(name = "job_runs",
+        uniqueConstraints = @UniqueConstraint(name = "uk_job_runs_job_scheduled", columnNames = {"job_name", "scheduled_at"}))
+public class JobRun {
+
+    public enum Status {
+        RUNNING, SUCCEEDED, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "scheduled_at", nullable = false)
+    private LocalDateTime scheduledAt;
+
+    @Column(name = "owner", nullable = false, length = 100)
+    private String owner;
+
+    @Column(name = "catch_up", nullable = false)
+    private boolean catchUp;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    private Status status;
+
+    @Column(name = "error", length = 500)
+    private String error;
+
+    // Constructors
+    public JobRun() {}
+
+    public JobRun(String jobName, LocalDateTime scheduledAt, String owner, boolean catchUp, LocalDateTime startedAt) {
+        this.jobName = jobName;
+        this.scheduledAt = scheduledAt;
+        this.owner = owner;
+        this.catchUp = catchUp;
+        this.startedAt = startedAt;
+        this.status = Status.RUNNING;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public LocalDateTime getScheduledAt() {
+        return scheduledAt;
+    }
+
+    public void setScheduledAt(LocalDateTime scheduledAt) {
+        this.scheduledAt = scheduledAt;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public boolean isCatchUp() {
+        return catchUp;
+    }
+
+    public void setCatchUp(boolean catchUp) {
+        this.catchUp = catchUp;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(Long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "JobRun{" +
+                "id=" + id +
+                ", jobName='" + jobName + '\'' +
+                ", scheduledAt=" + scheduledAt +
+                ", owner='" + owner + '\'' +
+                ", catchUp=" + catchUp +
+                ", durationMs=" + durationMs +
+                ", status=" + status +
+                '}';
+    }
+}
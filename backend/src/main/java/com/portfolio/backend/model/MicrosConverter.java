@@ -0,0 +1,25 @@
+package com.portfolio.backend.model;
+
+import com.portfolio.backend.util.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Maps a long micro-unit amount to a DECIMAL(p, 6) column, so entities read in aggregation
+ * loops carry plain longs instead of BigDecimal
+ */
+@Converter
+public class MicrosConverter implements AttributeConverter<Long, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Long micros) {
+        return micros != null ? BigDecimal.valueOf(micros, Money.SCALE) : null;
+    }
+
+    @Override
+    public Long convertToEntityAttribute(BigDecimal amount) {
+        return amount != null ? Money.toMicros(amount) : null;
+    }
+}
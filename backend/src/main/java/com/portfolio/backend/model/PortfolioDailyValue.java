@@ -7,9 +7,12 @@ import java.time.LocalDate;
 /**
  * Represents a daily snapshot of portfolio values.
  * Used for tracking historical performance and calculating day-over-day gains.
+ * Snapshots older than the retention window are rolled up into PortfolioValueRollup and
+ * purged; the snapshot_date index serves the oldest-first retention scan.
  */
 @Entity
-@Table(name = "portfolio_daily_values")
+@Table(name = "portfolio_daily_values",
+        indexes = @Index(name = "idx_portfolio_daily_values_snapshot_date", columnList = "snapshot_date"))
 public class PortfolioDailyValue {
     
     @Id
@@ -0,0 +1,96 @@
+package com.portfolio.backend.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Opening value of one calendar month, fixed when the month's row is opened, so the current
+ * month's gain is measured against the same value however often it is read.
+ *
+ * Fields:
+ *   openingValue - Total value at the end of the previous month (its stored summary, or the
+ *                  value when the row was opened)
+ *   updatedAt - When the row was opened
+ */
+@Entity
+@Table(name = "portfolio_month_aggregates",
+        uniqueConstraints = @UniqueConstraint(name = "uk_portfolio_month_aggregates_year_month", columnNames = {"year", "month"}))
+public class PortfolioMonthAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Column(name = "opening_value", nullable = false, precision = 12, scale = 2)
+    private BigDecimal openingValue;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public PortfolioMonthAggregate() {}
+
+    public PortfolioMonthAggregate(Integer year, Integer month, BigDecimal openingValue, LocalDateTime updatedAt) {
+        this.year = year;
+        this.month = month;
+        this.openingValue = openingValue;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public Integer getMonth() {
+        return month;
+    }
+
+    public void setMonth(Integer month) {
+        this.month = month;
+    }
+
+    public BigDecimal getOpeningValue() {
+        return openingValue;
+    }
+
+    public void setOpeningValue(BigDecimal openingValue) {
+        this.openingValue = openingValue;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "PortfolioMonthAggregate{" +
+                "year=" + year +
+                ", month=" + month +
+                ", openingValue=" + openingValue +
+                '}';
+    }
+}
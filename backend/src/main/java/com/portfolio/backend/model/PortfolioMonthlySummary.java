@@ -16,9 +16,13 @@ import java.math.BigDecimal;
  *   monthlyGainPercentage - The percentage gain/loss for the month
  *   realizedGain - Realized gains for the month (from SELL trades in the month)
  *   unrealizedGain - Unrealized gains as of month end (based on month-end prices)
+ *
+ * There is at most one summary per (year, month); the unique index also serves month
+ * lookups and year-range scans in month order.
  */
 @Entity
-@Table(name = "portfolio_monthly_summaries")
+@Table(name = "portfolio_monthly_summaries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_portfolio_monthly_summaries_year_month", columnNames = {"year", "month"}))
 public class PortfolioMonthlySummary {
     
     @Id
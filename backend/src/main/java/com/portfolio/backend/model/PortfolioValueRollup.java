@@ -0,0 +1,216 @@
+package com.portfolio.backend.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Weekly or monthly rollup of the daily total portfolio value, written when daily snapshots
+ * pass the retention window and are purged. A rollup can absorb snapshots in several passes
+ * (e.g. a week that straddles the cutoff), so it keeps the dates of its first and last
+ * snapshot and the sum of its values rather than the average.
+ *
+ * Fields:
+ *   period - WEEK (starting Monday) or MONTH
+ *   periodStart - First day of the week or month
+ *   firstDate / lastDate - Dates of the first and last snapshot rolled up
+ *   openValue / closeValue - Total value on firstDate and lastDate
+ *   minValue / maxValue - Lowest and highest total value in the period
+ *   valueSum / sampleCount - Sum and number of the snapshots rolled up
+ */
+@Entity
+@Table(name = "portfolio_value_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_portfolio_value_rollups_period_start",
+                columnNames = {"period_type", "period_start"}))
+public class PortfolioValueRollup {
+
+    public enum Period {
+        WEEK, MONTH;
+
+        // First day of the period containing a date
+        public LocalDate startOf(LocalDate date) {
+            return this == WEEK
+                    ? date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    : date.withDayOfMonth(1);
+        }
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period_type", nullable = false, length = 5)
+    private Period period;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "first_date", nullable = false)
+    private LocalDate firstDate;
+
+    @Column(name = "last_date", nullable = false)
+    private LocalDate lastDate;
+
+    @Column(name = "open_value", nullable = false, precision = 10, scale = 2)
+    private BigDecimal openValue;
+
+    @Column(name = "close_value", nullable = false, precision = 10, scale = 2)
+    private BigDecimal closeValue;
+
+    @Column(name = "min_value", nullable = false, precision = 10, scale = 2)
+    private BigDecimal minValue;
+
+    @Column(name = "max_value", nullable = false, precision = 10, scale = 2)
+    private BigDecimal maxValue;
+
+    @Column(name = "value_sum", nullable = false, precision = 14, scale = 2)
+    private BigDecimal valueSum;
+
+    @Column(name = "sample_count", nullable = false)
+    private Integer sampleCount;
+
+    // Constructors
+    public PortfolioValueRollup() {}
+
+    public PortfolioValueRollup(Period period, LocalDate periodStart) {
+        this.period = period;
+        this.periodStart = periodStart;
+        this.valueSum = BigDecimal.ZERO;
+        this.sampleCount = 0;
+    }
+
+    /**
+     * Roll up one daily snapshot
+     *
+     * @param date The snapshot date, within the period
+     * @param value The snapshot's total value
+     */
+    public void add(LocalDate date, BigDecimal value) {
+        if (sampleCount == 0 || date.isBefore(firstDate)) {
+            firstDate = date;
+            openValue = value;
+        }
+        if (sampleCount == 0 || !date.isBefore(lastDate)) {
+            lastDate = date;
+            closeValue = value;
+        }
+        minValue = sampleCount == 0 ? value : minValue.min(value);
+        maxValue = sampleCount == 0 ? value : maxValue.max(value);
+        valueSum = valueSum.add(value);
+        sampleCount++;
+    }
+
+    // Average total value of the snapshots rolled up
+    public BigDecimal getAvgValue() {
+        return sampleCount > 0 ? valueSum.divide(BigDecimal.valueOf(sampleCount), 2, RoundingMode.HALF_UP) : null;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Period getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(Period period) {
+        this.period = period;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    public void setFirstDate(LocalDate firstDate) {
+        this.firstDate = firstDate;
+    }
+
+    public LocalDate getLastDate() {
+        return lastDate;
+    }
+
+    public void setLastDate(LocalDate lastDate) {
+        this.lastDate = lastDate;
+    }
+
+    public BigDecimal getOpenValue() {
+        return openValue;
+    }
+
+    public void setOpenValue(BigDecimal openValue) {
+        this.openValue = openValue;
+    }
+
+    public BigDecimal getCloseValue() {
+        return closeValue;
+    }
+
+    public void setCloseValue(BigDecimal closeValue) {
+        this.closeValue = closeValue;
+    }
+
+    public BigDecimal getMinValue() {
+        return minValue;
+    }
+
+    public void setMinValue(BigDecimal minValue) {
+        this.minValue = minValue;
+    }
+
+    public BigDecimal getMaxValue() {
+        return maxValue;
+    }
+
+    public void setMaxValue(BigDecimal maxValue) {
+        this.maxValue = maxValue;
+    }
+
+    public BigDecimal getValueSum() {
+        return valueSum;
+    }
+
+    public void setValueSum(BigDecimal valueSum) {
+        this.valueSum = valueSum;
+    }
+
+    public Integer getSampleCount() {
+        return sampleCount;
+    }
+
+    public void setSampleCount(Integer sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+
+    @Override
+    public String toString() {
+        return "PortfolioValueRollup{" +
+                "id=" + id +
+                ", period=" + period +
+                ", periodStart=" + periodStart +
+                ", firstDate=" + firstDate +
+                ", lastDate=" + lastDate +
+                ", openValue=" + openValue +
+                ", closeValue=" + closeValue +
+                ", minValue=" + minValue +
+                ", maxValue=" + maxValue +
+                ", sampleCount=" + sampleCount +
+                '}';
+    }
+}
@@ -0,0 +1,131 @@
+package com.portfolio.backend.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Represents one daily price bar (open, high, low, close, volume) for a ticker.
+ * Bars are unique per ticker and date; the unique (ticker, bar_date) index also serves as-of lookups.
+ */
+@Entity
+@Table(name = "price_bars",
+        uniqueConstraints = @UniqueConstraint(name = "uk_price_bars_ticker_date", columnNames = {"ticker", "bar_date"}))
+public class PriceBar {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "ticker", nullable = false, length = 12)
+    private String ticker;
+    
+    @Column(name = "bar_date", nullable = false)
+    private LocalDate barDate;
+    
+    @Column(name = "open_price", precision = 12, scale = 4)
+    private BigDecimal openPrice;
+    
+    @Column(name = "high_price", precision = 12, scale = 4)
+    private BigDecimal highPrice;
+    
+    @Column(name = "low_price", precision = 12, scale = 4)
+    private BigDecimal lowPrice;
+    
+    @Column(name = "close_price", nullable = false, precision = 12, scale = 4)
+    private BigDecimal closePrice;
+    
+    @Column(name = "volume")
+    private Long volume;
+    
+    // Constructor
+    public PriceBar() {
+    }
+    
+    public PriceBar(String ticker, LocalDate barDate, BigDecimal openPrice, BigDecimal highPrice,
+                    BigDecimal lowPrice, BigDecimal closePrice, Long volume) {
+        this.ticker = ticker;
+        this.barDate = barDate;
+        this.openPrice = openPrice;
+        this.highPrice = highPrice;
+        this.lowPrice = lowPrice;
+        this.closePrice = closePrice;
+        this.volume = volume;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTicker() {
+        return ticker;
+    }
+    
+    public void setTicker(String ticker) {
+        this.ticker = ticker;
+    }
+    
+    public LocalDate getBarDate() {
+        return barDate;
+    }
+    
+    public void setBarDate(LocalDate barDate) {
+        this.barDate = barDate;
+    }
+    
+    public BigDecimal getOpenPrice() {
+        return openPrice;
+    }
+    
+    public void setOpenPrice(BigDecimal openPrice) {
+        this.openPrice = openPrice;
+    }
+    
+    public BigDecimal getHighPrice() {
+        return highPrice;
+    }
+    
+    public void setHighPrice(BigDecimal highPrice) {
+        this.highPrice = highPrice;
+    }
+    
+    public BigDecimal getLowPrice() {
+        return lowPrice;
+    }
+    
+    public void setLowPrice(BigDecimal lowPrice) {
+        this.lowPrice = lowPrice;
+    }
+    
+    public BigDecimal getClosePrice() {
+        return closePrice;
+    }
+    
+    public void setClosePrice(BigDecimal closePrice) {
+        this.closePrice = closePrice;
+    }
+    
+    public Long getVolume() {
+        return volume;
+    }
+    
+    public void setVolume(Long volume) {
+        this.volume = volume;
+    }
+    
+    @Override
+    public String toString() {
+        return "PriceBar{" +
+                "id=" + id +
+                ", ticker='" + ticker + '\'' +
+                ", barDate=" + barDate +
+                ", closePrice=" + closePrice +
+                ", volume=" + volume +
+                '}';
+    }
+}
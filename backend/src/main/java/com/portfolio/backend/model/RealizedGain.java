@@ -0,0 +1,141 @@
+package com.portfolio.backend.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Represents the realized gain of one SELL trade, written in the same transaction as the sale.
+ * The sell_date index serves the monthly and yearly SUM queries behind the P&L views.
+ *
+ * Fields:
+ *   tradeId - The SELL trade in trade_history (one ledger row per sell)
+ *   proceeds - Sale price times quantity
+ *   costBasis - Cost of the tax lots the sale relieved; rows backfilled or re-derived from
+ *               trade history relieve lots FIFO (see CostBasisEngine)
+ *   realizedGain - Proceeds minus cost basis
+ */
+@Entity
+@Table(name = "realized_gains",
+        uniqueConstraints = @UniqueConstraint(name = "uk_realized_gains_trade", columnNames = "trade_id"),
+        indexes = @Index(name = "idx_realized_gains_sell_date", columnList = "sell_date"))
+public class RealizedGain {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "trade_id", nullable = false)
+    private Long tradeId;
+
+    @Column(name = "ticker", nullable = false, length = 12)
+    private String ticker;
+
+    @Column(name = "sell_date", nullable = false)
+    private LocalDate sellDate;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "proceeds", nullable = false, precision = 14, scale = 2)
+    private BigDecimal proceeds;
+
+    @Column(name = "cost_basis", nullable = false, precision = 14, scale = 2)
+    private BigDecimal costBasis;
+
+    @Column(name = "realized_gain", nullable = false, precision = 14, scale = 2)
+    private BigDecimal realizedGain;
+
+    // Constructors
+    public RealizedGain() {}
+
+    public RealizedGain(Long tradeId, String ticker, LocalDate sellDate, Integer quantity,
+                        BigDecimal proceeds, BigDecimal costBasis) {
+        this.tradeId = tradeId;
+        this.ticker = ticker;
+        this.sellDate = sellDate;
+        this.quantity = quantity;
+        this.proceeds = proceeds;
+        this.costBasis = costBasis;
+        this.realizedGain = proceeds.subtract(costBasis);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTradeId() {
+        return tradeId;
+    }
+
+    public void setTradeId(Long tradeId) {
+        this.tradeId = tradeId;
+    }
+
+    public String getTicker() {
+        return ticker;
+    }
+
+    public void setTicker(String ticker) {
+        this.ticker = ticker;
+    }
+
+    public LocalDate getSellDate() {
+        return sellDate;
+    }
+
+    public void setSellDate(LocalDate sellDate) {
+        this.sellDate = sellDate;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimal getProceeds() {
+        return proceeds;
+    }
+
+    public void setProceeds(BigDecimal proceeds) {
+        this.proceeds = proceeds;
+    }
+
+    public BigDecimal getCostBasis() {
+        return costBasis;
+    }
+
+    public void setCostBasis(BigDecimal costBasis) {
+        this.costBasis = costBasis;
+    }
+
+    public BigDecimal getRealizedGain() {
+        return realizedGain;
+    }
+
+    public void setRealizedGain(BigDecimal realizedGain) {
+        this.realizedGain = realizedGain;
+    }
+
+    @Override
+    public String toString() {
+        return "RealizedGain{" +
+                "id=" + id +
+                ", tradeId=" + tradeId +
+                ", ticker='" + ticker + '\'' +
+                ", sellDate=" + sellDate +
+                ", quantity=" + quantity +
+                ", proceeds=" + proceeds +
+                ", costBasis=" + costBasis +
+                ", realizedGain=" + realizedGain +
+                '}';
+    }
+}
@@ -0,0 +1,173 @@
+package com.portfolio.backend.model;
+
+import com.portfolio.backend.util.Money;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Represents one tax lot: the shares bought by a single BUY trade and how many of them are
+ * still held. Lots keep the exact per-share cost of their buy, so cost basis never drifts
+ * from repeated averaging. Sells relieve shares from open lots in the order chosen per sell
+ * (FIFO, LIFO, HIFO or specific lots); a lot closes when no shares remain.
+ *
+ * The (ticker, is_open, acquired_date) index returns a ticker's open lots, oldest first,
+ * in one range scan. The cost per share is held in micro-units (see Money) so valuing many
+ * lots is long arithmetic; the column stays DECIMAL(18,6).
+ */
+@Entity
+@Table(name = "tax_lots",
+        indexes = @Index(name = "idx_tax_lots_ticker_open_date", columnList = "ticker, is_open, acquired_date"))
+public class TaxLot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ticker", nullable = false, length = 12)
+    private String ticker;
+
+    // BUY trade that opened the lot; null for lots created from holdings that predate lot tracking
+    @Column(name = "buy_trade_id")
+    private Long buyTradeId;
+
+    @Column(name = "acquired_date", nullable = false)
+    private LocalDate acquiredDate;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "remaining_quantity", nullable = false)
+    private Integer remainingQuantity;
+
+    @Convert(converter = MicrosConverter.class)
+    @Column(name = "cost_per_share", nullable = false, precision = 18, scale = 6)
+    private long costPerShareMicros;
+
+    @Column(name = "is_open", nullable = false)
+    private boolean open;
+
+    // Constructors
+    public TaxLot() {}
+
+    public TaxLot(String ticker, Long buyTradeId, LocalDate acquiredDate, Integer quantity, BigDecimal costPerShare) {
+        this.ticker = ticker;
+        this.buyTradeId = buyTradeId;
+        this.acquiredDate = acquiredDate;
+        this.quantity = quantity;
+        this.remainingQuantity = quantity;
+        this.costPerShareMicros = Money.toMicros(costPerShare, RoundingMode.HALF_UP);
+        this.open = quantity > 0;
+    }
+
+    /**
+     * Relieve shares from the lot, closing it when none remain
+     *
+     * @param shares Number of shares to relieve, at most the remaining quantity
+     * @return Cost basis of the relieved shares, in micro-units
+     */
+    public long relieve(int shares) {
+        if (shares <= 0 || shares > remainingQuantity) {
+            throw new IllegalArgumentException("Cannot relieve " + shares + " shares from lot " + id
+                    + " with " + remainingQuantity + " remaining");
+        }
+        remainingQuantity -= shares;
+        open = remainingQuantity > 0;
+        return Money.multiply(costPerShareMicros, shares);
+    }
+
+    // Cost basis of the shares still held in this lot, in micro-units
+    public long getRemainingCostMicros() {
+        return Money.multiply(costPerShareMicros, remainingQuantity);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTicker() {
+        return ticker;
+    }
+
+    public void setTicker(String ticker) {
+        this.ticker = ticker;
+    }
+
+    public Long getBuyTradeId() {
+        return buyTradeId;
+    }
+
+    public void setBuyTradeId(Long buyTradeId) {
+        this.buyTradeId = buyTradeId;
+    }
+
+    public LocalDate getAcquiredDate() {
+        return acquiredDate;
+    }
+
+    public void setAcquiredDate(LocalDate acquiredDate) {
+        this.acquiredDate = acquiredDate;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Integer getRemainingQuantity() {
+        return remainingQuantity;
+    }
+
+    public void setRemainingQuantity(Integer remainingQuantity) {
+        this.remainingQuantity = remainingQuantity;
+    }
+
+    public BigDecimal getCostPerShare() {
+        return BigDecimal.valueOf(costPerShareMicros, Money.SCALE);
+    }
+
+    public void setCostPerShare(BigDecimal costPerShare) {
+        this.costPerShareMicros = Money.toMicros(costPerShare, RoundingMode.HALF_UP);
+    }
+
+    public long getCostPerShareMicros() {
+        return costPerShareMicros;
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    public void setOpen(boolean open) {
+        this.open = open;
+    }
+
+    @Override
+    public String toString() {
+        return "TaxLot{" +
+                "id=" + id +
+                ", ticker='" + ticker + '\'' +
+                ", acquiredDate=" + acquiredDate +
+                ", quantity=" + quantity +
+                ", remainingQuantity=" + remainingQuantity +
+                ", costPerShare=" + getCostPerShare() +
+                '}';
+    }
+
+    // Order in which a sell relieves shares from open lots
+    public enum ReliefMethod {
+        FIFO,     // oldest lots first
+        LIFO,     // newest lots first
+        HIFO,     // highest cost per share first
+        SPECIFIC  // the lots named on the sell, in the given order
+    }
+}
@@ -1,11 +1,14 @@
 package com.portfolio.backend.model;
 
+import com.portfolio.backend.util.Money;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "trade_history")
+@Table(name = "trade_history",
+        indexes = @Index(name = "idx_trade_history_ticker_date", columnList = "ticker, trade_date"))
 public class TradeHistory {
 
     @Id
@@ -90,7 +93,12 @@ public class TradeHistory {
 
     // Calculate total value of the trade
     public BigDecimal getTotalValue() {
-        return price.multiply(new BigDecimal(quantity));
+        return price.multiply(BigDecimal.valueOf(quantity));
+    }
+
+    // Total value of the trade in micro-units (see Money), for aggregation loops
+    public long getTotalValueMicros() {
+        return Money.multiply(Money.toMicros(price, RoundingMode.HALF_UP), quantity);
     }
 
     @Override
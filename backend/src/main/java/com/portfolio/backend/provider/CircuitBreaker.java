@@ -0,0 +1,175 @@
+package com.portfolio.backend.provider;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Count-based circuit breaker for upstream calls.
+ * Outcomes of the last windowSize calls are kept in a ring. Once at least minimumCalls
+ * have been recorded, the breaker opens when the share of failed calls or of slow calls
+ * reaches its threshold. While open, calls are refused; after openDuration a single
+ * trial call is let through, which closes the breaker on success and re-opens it otherwise.
+ */
+public class CircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final Duration slowCallDuration;
+    private final int slowCallRateThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int next;
+    private int recorded;
+    private int failureCount;
+    private int slowCount;
+    private State state = State.CLOSED;
+    private Instant openedAt;
+    private boolean trialInFlight;
+
+    /**
+     * @param name Name used in log messages
+     * @param windowSize Number of most recent calls considered
+     * @param minimumCalls Calls required in the window before the breaker can open
+     * @param failureRateThreshold Percentage of failed calls that opens the breaker
+     * @param slowCallDuration Calls taking at least this long count as slow
+     * @param slowCallRateThreshold Percentage of slow calls that opens the breaker
+     * @param openDuration How long the breaker stays open before allowing a trial call
+     * @param clock Clock for the open duration
+     */
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, int failureRateThreshold,
+                          Duration slowCallDuration, int slowCallRateThreshold, Duration openDuration, Clock clock) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("Circuit breaker needs 1 <= minimumCalls <= windowSize");
+        }
+        this.name = name;
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallDuration = slowCallDuration;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+        this.failedCalls = new boolean[windowSize];
+        this.slowCalls = new boolean[windowSize];
+    }
+
+    /**
+     * Ask to make a call. Every granted call must be followed by exactly one of
+     * onSuccess, onError or onCancel.
+     *
+     * @return true if the call may go ahead
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (clock.instant().isBefore(openedAt.plus(openDuration))) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess(Duration elapsed) {
+        record(false, elapsed);
+    }
+
+    public synchronized void onError(Duration elapsed) {
+        record(true, elapsed);
+    }
+
+    /**
+     * Record a granted call that ended without an outcome (cancelled by the caller)
+     */
+    public synchronized void onCancel() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failed, Duration elapsed) {
+        boolean slow = elapsed.compareTo(slowCallDuration) >= 0;
+        if (state == State.HALF_OPEN) {
+            if (failed || slow) {
+                open("trial call " + (failed ? "failed" : "was slow"));
+            } else {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // A call that started before the breaker opened
+            return;
+        }
+
+        if (recorded == windowSize) {
+            if (failedCalls[next]) {
+                failureCount--;
+            }
+            if (slowCalls[next]) {
+                slowCount--;
+            }
+        } else {
+            recorded++;
+        }
+        failedCalls[next] = failed;
+        slowCalls[next] = slow;
+        if (failed) {
+            failureCount++;
+        }
+        if (slow) {
+            slowCount++;
+        }
+        next = (next + 1) % windowSize;
+
+        if (recorded >= minimumCalls
+                && (failureCount * 100 >= failureRateThreshold * recorded
+                    || slowCount * 100 >= slowCallRateThreshold * recorded)) {
+            open(failureCount + " failed and " + slowCount + " slow of the last " + recorded + " calls");
+        }
+    }
+
+    private void open(String reason) {
+        log.warn("Circuit breaker {} opened: {}", name, reason);
+        state = State.OPEN;
+        openedAt = clock.instant();
+        resetWindow();
+    }
+
+    private void close() {
+        log.info("Circuit breaker {} closed", name);
+        state = State.CLOSED;
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        next = 0;
+        recorded = 0;
+        failureCount = 0;
+        slowCount = 0;
+        trialInFlight = false;
+    }
+}
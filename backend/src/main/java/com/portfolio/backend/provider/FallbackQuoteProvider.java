@@ -0,0 +1,76 @@
+package com.portfolio.backend.provider;
+
+import com.portfolio.backend.dto.Quote;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Quote provider that asks a primary provider first and sends whatever it could not price
+ * (or the whole batch, if it failed outright) to a fallback provider. Once the primary answers
+ * 401 or 403 (Yahoo's v7 quote endpoint does without a crumb) it is skipped for the life of the
+ * process, so later batches go straight to the fallback.
+ */
+public class FallbackQuoteProvider implements QuoteProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(FallbackQuoteProvider.class);
+
+    private final QuoteProvider primary;
+    private final QuoteProvider fallback;
+    private volatile boolean primaryRejected;
+
+    public FallbackQuoteProvider(QuoteProvider primary, QuoteProvider fallback) {
+        this.primary = primary;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public String getName() {
+        return primary.getName() + "+" + fallback.getName();
+    }
+
+    @Override
+    public Mono<Map<String, Quote>> fetchBatch(Collection<String> symbols) {
+        if (primaryRejected) {
+            return fallback.fetchBatch(symbols);
+        }
+        return primary.fetchBatch(symbols)
+                .onErrorResume(e -> {
+                    if (isRejection(e)) {
+                        primaryRejected = true;
+                        log.warn("Quote provider {} rejected the request, using {} from now on: {}",
+                                primary.getName(), fallback.getName(), e.getMessage());
+                    } else {
+                        log.warn("Quote provider {} failed, using {}: {}", primary.getName(), fallback.getName(), e.getMessage());
+                    }
+                    return Mono.just(Map.of());
+                })
+                .flatMap(found -> {
+                    List<String> missing = symbols.stream()
+                            .filter(symbol -> !found.containsKey(symbol))
+                            .collect(Collectors.toList());
+                    if (missing.isEmpty()) {
+                        return Mono.just(found);
+                    }
+                    return fallback.fetchBatch(missing).map(more -> {
+                        Map<String, Quote> merged = new HashMap<>(found);
+                        merged.putAll(more);
+                        return merged;
+                    });
+                });
+    }
+
+    private static boolean isRejection(Throwable e) {
+        return e instanceof WebClientResponseException response
+                && (response.getStatusCode().isSameCodeAs(HttpStatus.UNAUTHORIZED)
+                || response.getStatusCode().isSameCodeAs(HttpStatus.FORBIDDEN));
+    }
+}
@@ -0,0 +1,66 @@
+package com.portfolio.backend.provider;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.backend.dto.Quote;
+import org.springframework.core.io.Resource;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Quote provider that serves fixed quotes from a local JSON file, for tests and offline runs.
+ * The file holds an array of objects with the same fields as the /api/stock-data response
+ * (symbol, name, price, currency, marketCap, previousClose, volume, dayLow, dayHigh, yearLow, yearHigh).
+ */
+public class FileQuoteProvider implements QuoteProvider {
+
+    private final Map<String, Quote> quotes = new HashMap<>();
+
+    public FileQuoteProvider(Resource resource) throws IOException {
+        JsonNode root;
+        try (InputStream in = resource.getInputStream()) {
+            root = new ObjectMapper().readTree(in);
+        }
+        for (JsonNode quoteNode : root) {
+            String symbol = quoteNode.get("symbol").asText().toUpperCase();
+            BigDecimal price = YahooJson.decimal(quoteNode, "price");
+            BigDecimal previousClose = YahooJson.decimal(quoteNode, "previousClose");
+            quotes.put(symbol, Quote.of(
+                    symbol,
+                    quoteNode.hasNonNull("name") ? quoteNode.get("name").asText() : symbol,
+                    price,
+                    quoteNode.path("currency").asText("USD"),
+                    YahooJson.decimal(quoteNode, "marketCap"),
+                    previousClose != null ? previousClose : price,
+                    YahooJson.decimal(quoteNode, "volume"),
+                    YahooJson.decimal(quoteNode, "dayLow"),
+                    YahooJson.decimal(quoteNode, "dayHigh"),
+                    YahooJson.decimal(quoteNode, "yearLow"),
+                    YahooJson.decimal(quoteNode, "yearHigh")
+            ));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public Mono<Map<String, Quote>> fetchBatch(Collection<String> symbols) {
+        Map<String, Quote> found = new HashMap<>();
+        for (String symbol : symbols) {
+            Quote quote = quotes.get(symbol);
+            if (quote != null) {
+                found.put(symbol, quote);
+            }
+        }
+        return Mono.just(found);
+    }
+}
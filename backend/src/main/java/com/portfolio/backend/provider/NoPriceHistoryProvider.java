@@ -0,0 +1,24 @@
+package com.portfolio.backend.provider;
+
+import com.portfolio.backend.dto.DailyBar;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Price history provider that never returns bars, used with the offline file quote
+ * provider so tests and offline runs make no upstream calls.
+ */
+public class NoPriceHistoryProvider implements PriceHistoryProvider {
+
+    @Override
+    public String getName() {
+        return "none";
+    }
+
+    @Override
+    public Mono<List<DailyBar>> fetchDailyBars(String symbol, LocalDate from, LocalDate to) {
+        return Mono.just(List.of());
+    }
+}
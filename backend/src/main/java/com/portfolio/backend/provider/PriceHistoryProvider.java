@@ -0,0 +1,30 @@
+package com.portfolio.backend.provider;
+
+import com.portfolio.backend.dto.DailyBar;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Source of daily price history used by PriceHistoryService.
+ */
+public interface PriceHistoryProvider {
+
+    /**
+     * Short name of the provider, used in configuration and logs
+     * 
+     * @return Provider name
+     */
+    String getName();
+
+    /**
+     * Fetch daily bars for a symbol
+     * 
+     * @param symbol Upper-case stock symbol
+     * @param from First date to include
+     * @param to Last date to include
+     * @return Mono emitting the bars oldest first; empty list if the symbol has no history in the range
+     */
+    Mono<List<DailyBar>> fetchDailyBars(String symbol, LocalDate from, LocalDate to);
+}
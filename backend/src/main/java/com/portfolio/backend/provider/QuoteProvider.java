@@ -0,0 +1,29 @@
+package com.portfolio.backend.provider;
+
+import com.portfolio.backend.dto.Quote;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Source of stock quotes used by StockDataService.
+ * Implementations fetch as many symbols per upstream call as their source allows.
+ */
+public interface QuoteProvider {
+
+    /**
+     * Short name of the provider, used in configuration and logs
+     * 
+     * @return Provider name
+     */
+    String getName();
+
+    /**
+     * Fetch quotes for a batch of symbols
+     * 
+     * @param symbols Upper-case stock symbols
+     * @return Mono emitting quotes keyed by symbol; symbols that could not be priced are absent
+     */
+    Mono<Map<String, Quote>> fetchBatch(Collection<String> symbols);
+}
@@ -0,0 +1,115 @@
+package com.portfolio.backend.provider;
+
+import com.portfolio.backend.dto.Quote;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Quote provider decorator that protects callers from a slow or failing upstream.
+ * Every call gets a deadline, at most maxConcurrentCalls run at once (bulkhead), and a
+ * circuit breaker stops calling the upstream while it keeps failing or responding slowly.
+ * Whenever a call is refused or fails, the last quotes seen for the requested symbols are
+ * returned marked as stale instead of an error.
+ */
+public class ResilientQuoteProvider implements QuoteProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(ResilientQuoteProvider.class);
+
+    private static final int MAX_LAST_KNOWN = 10_000;
+
+    private final QuoteProvider delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final Duration callTimeout;
+    private final ConcurrentHashMap<String, Quote> lastKnown = new ConcurrentHashMap<>();
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    public ResilientQuoteProvider(QuoteProvider delegate, CircuitBreaker circuitBreaker,
+                                  int maxConcurrentCalls, Duration callTimeout) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.callTimeout = callTimeout;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Mono<Map<String, Quote>> fetchBatch(Collection<String> symbols) {
+        return Mono.defer(() -> {
+            if (!bulkhead.tryAcquire()) {
+                rejectedCalls.incrementAndGet();
+                return Mono.just(lastKnown(symbols));
+            }
+            if (!circuitBreaker.tryAcquirePermission()) {
+                bulkhead.release();
+                rejectedCalls.incrementAndGet();
+                return Mono.just(lastKnown(symbols));
+            }
+
+            long start = System.nanoTime();
+            return delegate.fetchBatch(symbols)
+                    .timeout(callTimeout)
+                    .doOnNext(quotes -> {
+                        circuitBreaker.onSuccess(Duration.ofNanos(System.nanoTime() - start));
+                        remember(quotes);
+                    })
+                    .doOnError(e -> circuitBreaker.onError(Duration.ofNanos(System.nanoTime() - start)))
+                    .doOnCancel(circuitBreaker::onCancel)
+                    .doFinally(signal -> bulkhead.release())
+                    .onErrorResume(e -> {
+                        log.warn("Quote provider {} failed, serving last-known quotes: {}", delegate.getName(), e.getMessage());
+                        return Mono.just(lastKnown(symbols));
+                    });
+        });
+    }
+
+    /**
+     * Get the circuit breaker state
+     *
+     * @return Current circuit breaker state
+     */
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * Get the number of calls refused by the bulkhead or the open circuit breaker
+     *
+     * @return Number of refused calls
+     */
+    public long getRejectedCalls() {
+        return rejectedCalls.get();
+    }
+
+    private void remember(Map<String, Quote> quotes) {
+        for (Map.Entry<String, Quote> entry : quotes.entrySet()) {
+            if (lastKnown.size() < MAX_LAST_KNOWN || lastKnown.containsKey(entry.getKey())) {
+                lastKnown.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private Map<String, Quote> lastKnown(Collection<String> symbols) {
+        Map<String, Quote> quotes = new HashMap<>();
+        for (String symbol : symbols) {
+            Quote quote = lastKnown.get(symbol);
+            if (quote != null) {
+                quotes.put(symbol, quote.asStale());
+            }
+        }
+        return quotes;
+    }
+}
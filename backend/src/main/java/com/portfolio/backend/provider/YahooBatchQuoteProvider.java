@@ -0,0 +1,111 @@
+package com.portfolio.backend.provider;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.backend.dto.Quote;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Quote provider backed by the Yahoo Finance multi-symbol quote endpoint (/v7/finance/quote?symbols=A,B,C).
+ * One HTTP call returns up to MAX_SYMBOLS_PER_CALL quotes.
+ */
+public class YahooBatchQuoteProvider implements QuoteProvider {
+
+    static final int MAX_SYMBOLS_PER_CALL = 50;
+
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+
+    public YahooBatchQuoteProvider(WebClient webClient) {
+        this.webClient = webClient;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    @Override
+    public String getName() {
+        return "yahoo-batch";
+    }
+
+    @Override
+    public Mono<Map<String, Quote>> fetchBatch(Collection<String> symbols) {
+        List<String> remaining = new ArrayList<>(symbols);
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < remaining.size(); i += MAX_SYMBOLS_PER_CALL) {
+            chunks.add(remaining.subList(i, Math.min(i + MAX_SYMBOLS_PER_CALL, remaining.size())));
+        }
+
+        return Flux.fromIterable(chunks)
+                .flatMap(this::fetchChunk)
+                .flatMapIterable(Map::entrySet)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    /**
+     * Fetch one chunk of symbols with a single HTTP call
+     * 
+     * @param chunk Symbols to fetch
+     * @return Mono emitting quotes keyed by symbol
+     */
+    private Mono<Map<String, Quote>> fetchChunk(List<String> chunk) {
+        // A URI template keeps the symbols out of the http.client.requests uri tag
+        return webClient.get()
+                .uri("/v7/finance/quote?symbols={symbols}", String.join(",", chunk))
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(this::parseQuotes);
+    }
+
+    /**
+     * Parse the JSON response from the Yahoo Finance quote API
+     * 
+     * @param jsonResponse JSON response string
+     * @return Map of quotes keyed by symbol
+     * @throws IllegalStateException if the response is not a quote response
+     */
+    private Map<String, Quote> parseQuotes(String jsonResponse) {
+        JsonNode resultNode;
+        try {
+            resultNode = objectMapper.readTree(jsonResponse).path("quoteResponse").path("result");
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable quote response", e);
+        }
+        if (!resultNode.isArray()) {
+            throw new IllegalStateException("Quote response has no result array");
+        }
+
+        Map<String, Quote> quotes = new HashMap<>();
+        for (JsonNode quoteNode : resultNode) {
+            BigDecimal price = YahooJson.decimal(quoteNode, "regularMarketPrice");
+            BigDecimal previousClose = YahooJson.decimal(quoteNode, "regularMarketPreviousClose");
+            if (!quoteNode.hasNonNull("symbol") || price == null || previousClose == null) {
+                continue;
+            }
+            String symbol = quoteNode.get("symbol").asText();
+            String name = quoteNode.hasNonNull("shortName") ? quoteNode.get("shortName").asText() : symbol;
+
+            quotes.put(symbol, Quote.of(
+                    symbol,
+                    name,
+                    price,
+                    quoteNode.path("currency").asText(null),
+                    YahooJson.decimal(quoteNode, "marketCap"),
+                    previousClose,
+                    YahooJson.decimal(quoteNode, "regularMarketVolume"),
+                    YahooJson.decimal(quoteNode, "regularMarketDayLow"),
+                    YahooJson.decimal(quoteNode, "regularMarketDayHigh"),
+                    YahooJson.decimal(quoteNode, "fiftyTwoWeekLow"),
+                    YahooJson.decimal(quoteNode, "fiftyTwoWeekHigh")
+            ));
+        }
+        return quotes;
+    }
+}
@@ -0,0 +1,296 @@
+package com.portfolio.backend.provider;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.portfolio.backend.dto.DailyBar;
+import com.portfolio.backend.dto.Quote;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming parser for Yahoo Finance chart responses (/v8/finance/chart/{symbol}).
+ * For a quote only the fields of chart.result[0].meta are read; nested objects are skipped
+ * token by token and parsing stops as soon as meta is done, so the timestamp and indicator
+ * arrays (thousands of entries for long ranges) are never read into memory. Daily bars
+ * read those arrays and nothing else.
+ */
+public class YahooChartParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final ZoneId DEFAULT_ZONE = ZoneId.of("America/New_York");
+
+    /**
+     * Parse a chart response
+     *
+     * @param json Response body
+     * @return The quote, or null if the response has no usable quote
+     * @throws IOException if the body is not valid JSON
+     */
+    public Quote parse(byte[] json) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return parse(parser);
+        }
+    }
+
+    /**
+     * Parse a chart response
+     *
+     * @param json Response body; not closed by this method
+     * @return The quote, or null if the response has no usable quote
+     * @throws IOException if the body cannot be read or is not valid JSON
+     */
+    public Quote parse(InputStream json) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return parse(parser);
+        }
+    }
+
+    /**
+     * Parse the daily bars of a chart response requested with interval=1d
+     *
+     * @param json Response body; not closed by this method
+     * @return Bars oldest first, one per date; days without a close are left out
+     * @throws IOException if the body cannot be read or is not valid JSON
+     */
+    public List<DailyBar> parseDailyBars(InputStream json) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return moveToFirstResult(parser) ? parseBars(parser) : List.of();
+        }
+    }
+
+    private Quote parse(JsonParser parser) throws IOException {
+        return moveToFirstResult(parser) ? parseResult(parser) : null;
+    }
+
+    /**
+     * Advance to the start of chart.result[0].
+     * Yahoo writes "result" before "error", and a failed lookup has a null result.
+     *
+     * @return true if the parser is positioned on the first result object
+     */
+    private boolean moveToFirstResult(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("chart".equals(field) && value == JsonToken.START_OBJECT) {
+                return moveToResult(parser);
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private boolean moveToResult(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("result".equals(field) && value == JsonToken.START_ARRAY) {
+                return parser.nextToken() == JsonToken.START_OBJECT;
+            }
+            if ("error".equals(field) && value != JsonToken.VALUE_NULL) {
+                return false;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private Quote parseResult(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("meta".equals(field) && value == JsonToken.START_OBJECT) {
+                return parseMeta(parser);
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private Quote parseMeta(JsonParser parser) throws IOException {
+        String symbol = null;
+        String name = null;
+        String currency = null;
+        BigDecimal price = null;
+        BigDecimal previousClose = null;
+        BigDecimal marketCap = null;
+        BigDecimal volume = null;
+        BigDecimal dayLow = null;
+        BigDecimal dayHigh = null;
+        BigDecimal yearLow = null;
+        BigDecimal yearHigh = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "symbol" -> symbol = text(parser);
+                case "shortName" -> name = text(parser);
+                case "currency" -> currency = text(parser);
+                case "regularMarketPrice" -> price = decimal(parser);
+                case "chartPreviousClose" -> previousClose = decimal(parser);
+                case "marketCap" -> marketCap = decimal(parser);
+                case "regularMarketVolume" -> volume = decimal(parser);
+                case "regularMarketDayLow" -> dayLow = decimal(parser);
+                case "regularMarketDayHigh" -> dayHigh = decimal(parser);
+                case "fiftyTwoWeekLow" -> yearLow = decimal(parser);
+                case "fiftyTwoWeekHigh" -> yearHigh = decimal(parser);
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (symbol == null || price == null || previousClose == null) {
+            return null;
+        }
+        return Quote.of(symbol, name != null ? name : symbol, price, currency, marketCap, previousClose,
+                volume, dayLow, dayHigh, yearLow, yearHigh);
+    }
+
+    /**
+     * Read the timestamp array and the first indicators.quote series of a result.
+     * Timestamps are converted to dates in the exchange time zone from meta, which
+     * Yahoo writes before the arrays.
+     */
+    private List<DailyBar> parseBars(JsonParser parser) throws IOException {
+        ZoneId zone = DEFAULT_ZONE;
+        List<Long> timestamps = new ArrayList<>();
+        Map<String, List<BigDecimal>> series = new HashMap<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("meta".equals(field) && value == JsonToken.START_OBJECT) {
+                zone = parseTimeZone(parser, zone);
+            } else if ("timestamp".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    timestamps.add(parser.currentToken() == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : null);
+                }
+            } else if ("indicators".equals(field) && value == JsonToken.START_OBJECT) {
+                parseIndicators(parser, series);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        List<BigDecimal> opens = series.getOrDefault("open", List.of());
+        List<BigDecimal> highs = series.getOrDefault("high", List.of());
+        List<BigDecimal> lows = series.getOrDefault("low", List.of());
+        List<BigDecimal> closes = series.getOrDefault("close", List.of());
+        List<BigDecimal> volumes = series.getOrDefault("volume", List.of());
+
+        List<DailyBar> bars = new ArrayList<>(timestamps.size());
+        for (int i = 0; i < timestamps.size(); i++) {
+            Long timestamp = timestamps.get(i);
+            BigDecimal close = at(closes, i);
+            if (timestamp == null || close == null) {
+                continue;
+            }
+            BigDecimal volume = at(volumes, i);
+            DailyBar bar = new DailyBar(Instant.ofEpochSecond(timestamp).atZone(zone).toLocalDate(),
+                    at(opens, i), at(highs, i), at(lows, i), close, volume != null ? volume.longValue() : null);
+            // During a session Yahoo appends a live bar that can share the date of the last daily bar
+            if (!bars.isEmpty() && bars.get(bars.size() - 1).date().equals(bar.date())) {
+                bars.set(bars.size() - 1, bar);
+            } else {
+                bars.add(bar);
+            }
+        }
+        return bars;
+    }
+
+    private ZoneId parseTimeZone(JsonParser parser, ZoneId defaultZone) throws IOException {
+        ZoneId zone = defaultZone;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("exchangeTimezoneName".equals(field)) {
+                String name = text(parser);
+                if (name != null) {
+                    try {
+                        zone = ZoneId.of(name);
+                    } catch (DateTimeException e) {
+                        // Keep the default zone
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return zone;
+    }
+
+    /**
+     * Read every array of the first indicators.quote object (open, high, low, close, volume)
+     */
+    private void parseIndicators(JsonParser parser, Map<String, List<BigDecimal>> series) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!"quote".equals(field) || value != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            JsonToken element = parser.nextToken();
+            if (element == JsonToken.START_OBJECT) {
+                parseSeries(parser, series);
+                element = parser.nextToken();
+            }
+            while (element != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+                element = parser.nextToken();
+            }
+        }
+    }
+
+    private void parseSeries(JsonParser parser, Map<String, List<BigDecimal>> series) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            List<BigDecimal> values = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                values.add(decimal(parser));
+            }
+            series.put(field, values);
+        }
+    }
+
+    private static BigDecimal at(List<BigDecimal> values, int index) {
+        return index < values.size() ? values.get(index) : null;
+    }
+
+    private static String text(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * Read a number exactly as written in the JSON, without going through double
+     */
+    private static BigDecimal decimal(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getDecimalValue();
+        }
+        parser.skipChildren();
+        return null;
+    }
+}
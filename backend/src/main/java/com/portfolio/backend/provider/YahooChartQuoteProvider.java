@@ -0,0 +1,90 @@
+package com.portfolio.backend.provider;
+
+import com.portfolio.backend.dto.Quote;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Quote provider backed by the Yahoo Finance per-symbol chart endpoint (/v8/finance/chart/{symbol}).
+ * A batch costs one HTTP call per symbol, issued concurrently up to a fixed limit. Responses
+ * are parsed with {@link YahooChartParser} straight from the network buffer.
+ */
+public class YahooChartQuoteProvider implements QuoteProvider {
+
+    private final WebClient webClient;
+    private final YahooChartParser chartParser;
+    private final int concurrency;
+
+    public YahooChartQuoteProvider(WebClient webClient, int concurrency) {
+        this.webClient = webClient;
+        this.chartParser = new YahooChartParser();
+        this.concurrency = concurrency;
+    }
+
+    @Override
+    public String getName() {
+        return "yahoo-chart";
+    }
+
+    /**
+     * Symbols that fail individually are left out of the result. Only if every request
+     * failed (other than unknown symbols) does the batch fail, so callers can tell an
+     * unreachable upstream from a batch of unknown symbols.
+     */
+    @Override
+    public Mono<Map<String, Quote>> fetchBatch(Collection<String> symbols) {
+        return Mono.defer(() -> {
+            AtomicReference<Throwable> lastError = new AtomicReference<>();
+            return Flux.fromIterable(symbols)
+                    .flatMap(symbol -> fetchOne(symbol, lastError).map(quote -> Map.entry(symbol, quote)), concurrency)
+                    .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                    .flatMap(quotes -> quotes.isEmpty() && lastError.get() != null ?
+                            Mono.error(new IllegalStateException("Every chart request failed: " + lastError.get().getMessage(),
+                                    lastError.get())) :
+                            Mono.just(quotes));
+        });
+    }
+
+    /**
+     * Fetch stock data for a single symbol
+     * 
+     * @param symbol Stock symbol
+     * @param lastError Receives the error if the request fails for a reason other than an unknown symbol
+     * @return Mono emitting the quote, or empty if it could not be fetched
+     */
+    private Mono<Quote> fetchOne(String symbol, AtomicReference<Throwable> lastError) {
+        return webClient.get()
+                .uri("/v8/finance/chart/{symbol}?interval=1d&range=1d", symbol)
+                .retrieve()
+                .bodyToMono(DataBuffer.class)
+                .flatMap(body -> Mono.justOrEmpty(parseQuote(body)))
+                .onErrorResume(e -> {
+                    if (!(e instanceof WebClientResponseException.NotFound)) {
+                        lastError.set(e);
+                    }
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Parse the chart response straight from the response buffer, then release it
+     * 
+     * @param buffer Response body
+     * @return The quote, or null if the response has no usable quote
+     */
+    private Quote parseQuote(DataBuffer buffer) {
+        try (InputStream body = buffer.asInputStream(true)) {
+            return chartParser.parse(body);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.portfolio.backend.provider;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+
+/**
+ * Utility class for reading quote fields from Yahoo Finance (and compatible) JSON
+ */
+public class YahooJson {
+
+    /**
+     * Read a decimal field exactly as written in the JSON
+     * 
+     * @param node Parent JSON node
+     * @param field Field name
+     * @return The value, or null if the field is missing or null
+     */
+    public static BigDecimal decimal(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        return new BigDecimal(value.toString());
+    }
+}
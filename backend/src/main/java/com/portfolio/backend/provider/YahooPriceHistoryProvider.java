@@ -0,0 +1,64 @@
+package com.portfolio.backend.provider;
+
+import com.portfolio.backend.dto.DailyBar;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Price history provider backed by the Yahoo Finance chart endpoint with a daily interval.
+ * A whole date range for one symbol is a single request; the response is parsed with
+ * {@link YahooChartParser} straight from the network buffer.
+ */
+public class YahooPriceHistoryProvider implements PriceHistoryProvider {
+
+    private final WebClient webClient;
+    private final YahooChartParser chartParser;
+
+    /**
+     * @param webClient Client for the Yahoo base URL; its codecs must allow multi-year responses in memory
+     */
+    public YahooPriceHistoryProvider(WebClient webClient) {
+        this.webClient = webClient;
+        this.chartParser = new YahooChartParser();
+    }
+
+    @Override
+    public String getName() {
+        return "yahoo-chart";
+    }
+
+    @Override
+    public Mono<List<DailyBar>> fetchDailyBars(String symbol, LocalDate from, LocalDate to) {
+        long period1 = from.atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        long period2 = to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        return webClient.get()
+                .uri("/v8/finance/chart/{symbol}?interval=1d&period1={period1}&period2={period2}", symbol, period1, period2)
+                .retrieve()
+                .bodyToMono(DataBuffer.class)
+                .map(this::parseBars)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.just(List.of()));
+    }
+
+    /**
+     * Parse the daily bars straight from the response buffer, then release it
+     * 
+     * @param buffer Response body
+     * @return Bars oldest first
+     */
+    private List<DailyBar> parseBars(DataBuffer buffer) {
+        try (InputStream body = buffer.asInputStream(true)) {
+            return chartParser.parseDailyBars(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable chart response", e);
+        }
+    }
+}
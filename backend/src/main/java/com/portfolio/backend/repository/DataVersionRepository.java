@@ -0,0 +1,25 @@
+package com.portfolio.backend.repository;
+
+import com.portfolio.backend.model.DataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface DataVersionRepository extends JpaRepository<DataVersion, String> {
+
+    // Add one to a counter in the caller's transaction; returns 0 if its row does not exist yet
+    @Transactional
+    @Modifying
+    @Query("UPDATE DataVersion v SET v.version = v.version + 1 WHERE v.name = :name")
+    int increment(@Param("name") String name);
+
+    // Create a counter at 0; fails with a duplicate key if it exists
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO data_versions (name, version) VALUES (:name, 0)", nativeQuery = true)
+    int create(@Param("name") String name);
+}
@@ -0,0 +1,9 @@
+package com.portfolio.backend.repository;
+
+import com.portfolio.backend.model.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+}
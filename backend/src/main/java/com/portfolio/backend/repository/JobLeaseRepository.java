@@ -0,0 +1,36 @@
+package com.portfolio.backend.repository;
+
+import com.portfolio.backend.model.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Claim a job's lease for a scheduled fire: succeeds only if no unexpired lease is held and
+     * the fire is later than every fire claimed before
+     *
+     * @return 1 if this owner claimed the lease, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.leaseUntil = :leaseUntil, l.lastScheduledAt = :scheduledAt " +
+           "WHERE l.jobName = :jobName AND (l.leaseUntil IS NULL OR l.leaseUntil < :now) " +
+           "AND (l.lastScheduledAt IS NULL OR l.lastScheduledAt < :scheduledAt)")
+    int claim(@Param("jobName") String jobName, @Param("owner") String owner, @Param("scheduledAt") LocalDateTime scheduledAt,
+              @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Release a job's lease if this owner still holds it
+     *
+     * @return 1 if released, 0 if the lease had passed to another owner
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.leaseUntil = NULL WHERE l.jobName = :jobName AND l.owner = :owner")
+    int release(@Param("jobName") String jobName, @Param("owner") String owner);
+}
@@ -0,0 +1,16 @@
+package com.portfolio.backend.repository;
+
+import com.portfolio.backend.model.JobRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    /**
+     * Find the runs of a job, latest fire first
+     */
+    List<JobRun> findByJobNameOrderByScheduledAtDesc(String jobName);
+}
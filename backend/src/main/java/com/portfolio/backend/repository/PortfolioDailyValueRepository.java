@@ -1,6 +1,7 @@
 package com.portfolio.backend.repository;
 
 import com.portfolio.backend.model.PortfolioDailyValue;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +9,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -38,12 +41,21 @@ public interface PortfolioDailyValueRepository extends JpaRepository<PortfolioDa
     boolean existsBySnapshotDate(LocalDate date);
     
     /**
-     * Delete all snapshots older than the specified date
+     * Find the oldest snapshots before a date, a page at a time
      * 
-     * @param cutoffDate The cutoff date (snapshots older than this will be deleted)
+     * @param cutoffDate The cutoff date (only snapshots before it are returned)
+     * @param pageable Page size to read
+     * @return Snapshots before the cutoff date, oldest first
+     */
+    List<PortfolioDailyValue> findBySnapshotDateBeforeOrderBySnapshotDateAscIdAsc(LocalDate cutoffDate, Pageable pageable);
+    
+    /**
+     * Delete snapshots by id
+     * 
+     * @param ids The snapshot ids
      * @return Number of deleted records
      */
     @Modifying
-    @Query("DELETE FROM PortfolioDailyValue pdv WHERE pdv.snapshotDate < :cutoffDate")
-    int deleteSnapshotsOlderThan(@Param("cutoffDate") LocalDate cutoffDate);
+    @Query("DELETE FROM PortfolioDailyValue pdv WHERE pdv.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 } 
\ No newline at end of file
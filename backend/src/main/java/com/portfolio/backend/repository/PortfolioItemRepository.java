@@ -16,6 +16,10 @@ public interface PortfolioItemRepository extends JpaRepository<PortfolioItem, Lo
     // Find all portfolio items by ticker symbol
     List<PortfolioItem> findByTicker(String ticker);
     
+    // Get every ticker currently held
+    @Query("SELECT DISTINCT p.ticker FROM PortfolioItem p")
+    List<String> findDistinctTickers();
+    
     // Get total portfolio value
     @Query("SELECT SUM(p.buyPrice * p.quantity) FROM PortfolioItem p")
     Optional<BigDecimal> getTotalPortfolioValue();
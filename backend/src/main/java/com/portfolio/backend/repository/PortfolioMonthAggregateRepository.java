@@ -0,0 +1,14 @@
+package com.portfolio.backend.repository;
+
+import com.portfolio.backend.model.PortfolioMonthAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PortfolioMonthAggregateRepository extends JpaRepository<PortfolioMonthAggregate, Long> {
+
+    // Find the aggregate of a month
+    Optional<PortfolioMonthAggregate> findByYearAndMonth(Integer year, Integer month);
+}
@@ -1,11 +1,14 @@
 package com.portfolio.backend.repository;
 
 import com.portfolio.backend.model.PortfolioMonthlySummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +29,27 @@ public interface PortfolioMonthlySummaryRepository extends JpaRepository<Portfol
     @Query("SELECT p FROM PortfolioMonthlySummary p WHERE p.year >= :startYear ORDER BY p.year, p.month")
     List<PortfolioMonthlySummary> findLastYear(@Param("startYear") Integer startYear);
     
+    // Find all summaries of the years from startYear to endYear (inclusive), in month order
+    @Query("SELECT p FROM PortfolioMonthlySummary p WHERE p.year BETWEEN :startYear AND :endYear ORDER BY p.year, p.month")
+    List<PortfolioMonthlySummary> findByYearBetween(@Param("startYear") Integer startYear, @Param("endYear") Integer endYear);
+    
     // Check if summary exists for a specific year and month
     boolean existsByYearAndMonth(Integer year, Integer month);
+    
+    // Find the ids of a page of all summaries
+    @Query("SELECT p.id FROM PortfolioMonthlySummary p")
+    List<Long> findIds(Pageable pageable);
+    
+    // Find the ids of a page of the summaries before a year
+    @Query("SELECT p.id FROM PortfolioMonthlySummary p WHERE p.year < :cutoffYear")
+    List<Long> findIdsByYearBefore(@Param("cutoffYear") Integer cutoffYear, Pageable pageable);
+    
+    // Find the ids of a page of the daily records stored as summaries (month > 12)
+    @Query("SELECT p.id FROM PortfolioMonthlySummary p WHERE p.month > 12")
+    List<Long> findIdsOfDailyRecords(Pageable pageable);
+    
+    // Delete summaries by id
+    @Modifying
+    @Query("DELETE FROM PortfolioMonthlySummary p WHERE p.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 } 
\ No newline at end of file
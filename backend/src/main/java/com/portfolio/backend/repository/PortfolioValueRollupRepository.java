@@ -0,0 +1,24 @@
+package com.portfolio.backend.repository;
+
+import com.portfolio.backend.model.PortfolioValueRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PortfolioValueRollupRepository extends JpaRepository<PortfolioValueRollup, Long> {
+
+    /**
+     * Find the rollup of a week or month
+     */
+    Optional<PortfolioValueRollup> findByPeriodAndPeriodStart(PortfolioValueRollup.Period period, LocalDate periodStart);
+
+    /**
+     * Find the weekly or monthly rollups whose period starts between two dates (inclusive), oldest first
+     */
+    List<PortfolioValueRollup> findByPeriodAndPeriodStartBetweenOrderByPeriodStart(PortfolioValueRollup.Period period,
+                                                                                   LocalDate startDate, LocalDate endDate);
+}
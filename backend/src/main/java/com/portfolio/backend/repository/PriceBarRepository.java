@@ -0,0 +1,73 @@
+package com.portfolio.backend.repository;
+
+import com.portfolio.backend.model.PriceBar;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PriceBarRepository extends JpaRepository<PriceBar, Long> {
+    
+    /**
+     * Find the latest bar for a ticker on or before a given date
+     * 
+     * @param ticker The ticker
+     * @param date The as-of date
+     * @return Optional containing the most recent bar on or before the date
+     */
+    Optional<PriceBar> findTopByTickerAndBarDateLessThanEqualOrderByBarDateDesc(String ticker, LocalDate date);
+    
+    /**
+     * Find the latest bar on or before a given date for each of several tickers.
+     * Tickers without a bar on or before the date are absent from the result.
+     * 
+     * @param tickers The tickers
+     * @param date The as-of date
+     * @return One bar per ticker that has history on or before the date
+     */
+    @Query("SELECT pb FROM PriceBar pb WHERE pb.ticker IN :tickers AND pb.barDate = " +
+           "(SELECT MAX(latest.barDate) FROM PriceBar latest WHERE latest.ticker = pb.ticker AND latest.barDate <= :date)")
+    List<PriceBar> findLatestOnOrBefore(@Param("tickers") Collection<String> tickers, @Param("date") LocalDate date);
+    
+    /**
+     * Find the bars of several tickers on several dates
+     * 
+     * @param tickers The tickers
+     * @param dates The bar dates
+     * @return Bars that exist for those tickers and dates, in no particular order
+     */
+    List<PriceBar> findByTickerInAndBarDateIn(Collection<String> tickers, Collection<LocalDate> dates);
+    
+    /**
+     * Find the date of the most recent stored bar for a ticker
+     * 
+     * @param ticker The ticker
+     * @return Optional containing the latest bar date, empty if the ticker has no history
+     */
+    @Query("SELECT MAX(pb.barDate) FROM PriceBar pb WHERE pb.ticker = :ticker")
+    Optional<LocalDate> findLatestBarDate(@Param("ticker") String ticker);
+    
+    /**
+     * Find all bars for a ticker in a date range, oldest first
+     * 
+     * @param ticker The ticker
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @return Bars in the range ordered by date
+     */
+    List<PriceBar> findByTickerAndBarDateBetweenOrderByBarDateAsc(String ticker, LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * Count the stored bars for a ticker
+     * 
+     * @param ticker The ticker
+     * @return Number of bars
+     */
+    long countByTicker(String ticker);
+}
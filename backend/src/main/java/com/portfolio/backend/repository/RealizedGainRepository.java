@@ -0,0 +1,50 @@
+package com.portfolio.backend.repository;
+
+import com.portfolio.backend.model.RealizedGain;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Repository
+public interface RealizedGainRepository extends JpaRepository<RealizedGain, Long> {
+
+    /**
+     * Find the ledger row of a SELL trade
+     */
+    Optional<RealizedGain> findByTradeId(Long tradeId);
+
+    /**
+     * Find the ids of every SELL trade that has a ledger row
+     */
+    @Query("SELECT r.tradeId FROM RealizedGain r")
+    Set<Long> findAllTradeIds();
+
+    /**
+     * Delete the ledger rows of a ticker's sells on or after a date
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM RealizedGain r WHERE r.ticker = :ticker AND r.sellDate >= :fromDate")
+    int deleteByTickerFrom(@Param("ticker") String ticker, @Param("fromDate") LocalDate fromDate);
+
+    /**
+     * Sum the realized gains of the sells between two dates (inclusive); zero when there are none
+     */
+    @Query("SELECT COALESCE(SUM(r.realizedGain), 0) FROM RealizedGain r WHERE r.sellDate BETWEEN :startDate AND :endDate")
+    BigDecimal sumRealizedGainBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Sum the realized gains of the sells between two dates (inclusive) per calendar month;
+     * each row is [year, month, total] and months without sells are absent
+     */
+    @Query("SELECT YEAR(r.sellDate), MONTH(r.sellDate), SUM(r.realizedGain) FROM RealizedGain r " +
+           "WHERE r.sellDate BETWEEN :startDate AND :endDate GROUP BY YEAR(r.sellDate), MONTH(r.sellDate)")
+    List<Object[]> sumRealizedGainByMonthBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
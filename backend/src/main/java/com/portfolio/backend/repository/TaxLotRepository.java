@@ -0,0 +1,29 @@
+package com.portfolio.backend.repository;
+
+import com.portfolio.backend.model.TaxLot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TaxLotRepository extends JpaRepository<TaxLot, Long> {
+
+    /**
+     * Find the open lots of a ticker, oldest first (one range scan of the ticker/open/date index)
+     */
+    List<TaxLot> findByTickerAndOpenTrueOrderByAcquiredDateAscIdAsc(String ticker);
+
+    /**
+     * Find every open lot acquired on or before a date
+     */
+    List<TaxLot> findByOpenTrueAndAcquiredDateLessThanEqual(LocalDate date);
+
+    /**
+     * Find the tickers that have open lots
+     */
+    @Query("SELECT DISTINCT l.ticker FROM TaxLot l WHERE l.open = true")
+    List<String> findOpenTickers();
+}
@@ -31,9 +31,19 @@ public interface TradeHistoryRepository extends JpaRepository<TradeHistory, Long
     List<TradeHistory> findByTradeDateBetweenOrderByTradeDateDesc(LocalDate startDate, LocalDate endDate);
 
     /**
-     * Find all trades for a specific ticker and trade type before a given date
+     * Find every trade, oldest first (trade date, then insertion order)
      */
-    List<TradeHistory> findByTickerAndTradeTypeAndTradeDateBeforeOrderByTradeDateAsc(String ticker, TradeHistory.TradeType tradeType, LocalDate date);
+    List<TradeHistory> findAllByOrderByTradeDateAscIdAsc();
+
+    /**
+     * Find the trades of a ticker, oldest first (trade date, then insertion order)
+     */
+    List<TradeHistory> findByTickerOrderByTradeDateAscIdAsc(String ticker);
+
+    /**
+     * Count trades of a trade type
+     */
+    long countByTradeType(TradeHistory.TradeType tradeType);
 
     /**
      * Check if there are any trades for a specific ticker
@@ -11,8 +11,6 @@ import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 @Service
@@ -36,13 +34,17 @@ public class AIAnalysisService {
     @Autowired
     private CohereConfig cohereConfig;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    // Shared pooled client from OutboundHttpConfig
+    @Autowired
+    private RestTemplate restTemplate;
 
     public Map<String, Object> getAnalysis(String symbol) {
         try {
             // Step 1: Fetch stock data (and extract company name from it)
-            String techUrl = String.format("https://financialmodelingprep.com/api/v3/quote/%s?apikey=%s", symbol, fmpApiKey);
-            JsonNode techData = restTemplate.getForObject(techUrl, JsonNode.class);
+            // URI templates keep API keys and symbols out of the http.client.requests uri tag
+            JsonNode techData = restTemplate.getForObject(
+                    "https://financialmodelingprep.com/api/v3/quote/{symbol}?apikey={apiKey}",
+                    JsonNode.class, symbol, fmpApiKey);
 
             if (techData == null || !techData.isArray() || techData.size() == 0) {
                 return Map.of("error", "Stock data not found for symbol: " + symbol);
@@ -51,9 +53,9 @@ public class AIAnalysisService {
             String companyName = techData.get(0).get("name").asText();
 
             // Step 2: Fetch news using company name
-            String encodedCompanyName = URLEncoder.encode(companyName, StandardCharsets.UTF_8);
-            String newsUrl = String.format("https://newsapi.org/v2/everything?q=%s&apiKey=%s", encodedCompanyName, newsApiKey);
-            JsonNode newsData = restTemplate.getForObject(newsUrl, JsonNode.class);
+            JsonNode newsData = restTemplate.getForObject(
+                    "https://newsapi.org/v2/everything?q={query}&apiKey={apiKey}",
+                    JsonNode.class, companyName, newsApiKey);
 
             // Step 3: Build AI prompt
             String aiPrompt = String.format(
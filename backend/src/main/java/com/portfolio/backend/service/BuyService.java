@@ -32,6 +32,12 @@ public class BuyService {
     @Autowired
     private PortfolioItemRepository portfolioItemRepository;
 
+    @Autowired
+    private TaxLotService taxLotService;
+
+    @Autowired
+    private PortfolioDataVersion portfolioDataVersion;
+
     /**
      * Execute a buy transaction
      * 
@@ -59,11 +65,20 @@ public class BuyService {
             throw new IllegalArgumentException("Insufficient funds. Required: $" + totalCost + ", Available: $" + currentCash);
         }
 
+        // Record in trade history
+        TradeHistoryResponse tradeRecord = recordTradeHistory(request);
+
+        // Open a tax lot for the shares bought, at their exact price, after lots for any shares
+        // added to the holding outside a buy, so the average below covers the whole position
+        taxLotService.reconcile(request.getTicker());
+        taxLotService.openLot(tradeRecord.getId(), request.getTicker(), request.getTradeDate(),
+                request.getQuantity(), request.getPrice());
+
         // Add to portfolio (check if ticker already exists)
         PortfolioItem portfolioItem = addToPortfolio(request);
 
-        // Record in trade history
-        TradeHistoryResponse tradeRecord = recordTradeHistory(request);
+        // Cached P&L and summaries are stale once this commits
+        portfolioDataVersion.bump();
 
         // Prepare response
         Map<String, Object> response = new HashMap<>();
@@ -110,10 +125,14 @@ public class BuyService {
         PortfolioItem existingItem = existingItems.isEmpty() ? null : existingItems.get(0);
 
         if (existingItem != null) {
-            // Update existing position (average cost basis)
+            // Update existing position; the average price is derived from the open lots' exact costs,
+            // so rounding does not accumulate over repeated buys
             int newQuantity = existingItem.getQuantity() + request.getQuantity();
-            BigDecimal newTotalCost = existingItem.getTotalValue().add(request.getTotalCost());
-            BigDecimal newAveragePrice = newTotalCost.divide(BigDecimal.valueOf(newQuantity), 2, java.math.RoundingMode.HALF_UP);
+            BigDecimal newAveragePrice = taxLotService.getAverageCost(request.getTicker());
+            if (newAveragePrice == null) {
+                BigDecimal newTotalCost = existingItem.getTotalValue().add(request.getTotalCost());
+                newAveragePrice = newTotalCost.divide(BigDecimal.valueOf(newQuantity), 2, java.math.RoundingMode.HALF_UP);
+            }
 
             existingItem.setQuantity(newQuantity);
             existingItem.setBuyPrice(newAveragePrice);
@@ -148,7 +167,7 @@ public class BuyService {
                 "BUY"
         );
 
-        return tradeHistoryService.addTrade(tradeRequest);
+        return tradeHistoryService.recordTrade(tradeRequest);
     }
 
     /**
@@ -14,6 +14,9 @@ public class CashService {
     @Autowired
     private CashAccountRepository cashAccountRepository;
 
+    @Autowired
+    private PortfolioDataVersion portfolioDataVersion;
+
     /**
      * Get the current cash balance
      * 
@@ -37,11 +40,14 @@ public class CashService {
             // Update existing account with new initial balance
             CashAccount account = existingAccount.get();
             account.setBalance(initialBalance);
-            return cashAccountRepository.save(account);
+            CashAccount saved = cashAccountRepository.save(account);
+            portfolioDataVersion.bump();
+            return saved;
         } else {
             // Create new account
-            CashAccount cashAccount = new CashAccount(initialBalance);
-            return cashAccountRepository.save(cashAccount);
+            CashAccount saved = cashAccountRepository.save(new CashAccount(initialBalance));
+            portfolioDataVersion.bump();
+            return saved;
         }
     }
     
@@ -62,7 +68,9 @@ public class CashService {
         }
         
         cashAccount.addCash(amount);
-        return cashAccountRepository.save(cashAccount);
+        CashAccount saved = cashAccountRepository.save(cashAccount);
+        portfolioDataVersion.bump();
+        return saved;
     }
     
     /**
@@ -83,6 +91,7 @@ public class CashService {
         
         if (cashAccount.subtractCash(amount)) {
             cashAccountRepository.save(cashAccount);
+            portfolioDataVersion.bump();
             return true;
         }
         return false;
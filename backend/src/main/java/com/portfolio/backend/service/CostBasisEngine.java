@@ -0,0 +1,99 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.model.TaxLot;
+import com.portfolio.backend.model.TradeHistory;
+import com.portfolio.backend.util.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cost basis and realized gains computed from trade history with the same lot relief as live
+ * sells. Trades are replayed oldest first through in-memory tax lots: a BUY opens a lot at its
+ * exact price, and a SELL relieves shares FIFO, the default method of SellService, through
+ * TaxLotService.relieveInOrder. Shares sold without a lot to relieve (bought before trade
+ * history was kept) count at the sale price, so they realize nothing. The replay runs in long
+ * micro-units (see Money); gains are converted to BigDecimal once each.
+ */
+public final class CostBasisEngine {
+
+    // Open lots per ticker, oldest first
+    private final Map<String, List<TaxLot>> openLots = new HashMap<>();
+
+    /**
+     * Apply one trade, in trade date order
+     *
+     * @param trade The trade
+     * @return Cost basis of a SELL's shares in micro-units; zero for a BUY
+     */
+    public long apply(TradeHistory trade) {
+        List<TaxLot> lots = openLots.computeIfAbsent(trade.getTicker(), ticker -> new ArrayList<>());
+        if (trade.getTradeType() == TradeHistory.TradeType.BUY) {
+            lots.add(new TaxLot(trade.getTicker(), trade.getId(), trade.getTradeDate(), trade.getQuantity(), trade.getPrice()));
+            return 0;
+        }
+
+        int available = 0;
+        for (TaxLot lot : lots) {
+            available += lot.getRemainingQuantity();
+        }
+        int relieved = Math.min(available, trade.getQuantity());
+        long costMicros = TaxLotService.relieveInOrder(lots, relieved, null);
+        lots.removeIf(lot -> !lot.isOpen());
+
+        long uncoveredMicros = Money.multiply(Money.toMicros(trade.getPrice(), RoundingMode.HALF_UP),
+                trade.getQuantity() - relieved);
+        return Math.addExact(costMicros, uncoveredMicros);
+    }
+
+    /**
+     * Get the lots still open after the trades applied so far
+     *
+     * @return Map of ticker to its open lots, oldest first, as TaxLotService.getOpenLotsAsOf returns them
+     */
+    public Map<String, List<TaxLot>> getOpenLots() {
+        return Collections.unmodifiableMap(openLots);
+    }
+
+    /**
+     * Get the cost of the shares still held in open lots
+     *
+     * @return Total remaining cost, in micro-units
+     */
+    public long getOpenCostMicros() {
+        long costMicros = 0;
+        for (List<TaxLot> lots : openLots.values()) {
+            for (TaxLot lot : lots) {
+                costMicros = Math.addExact(costMicros, lot.getRemainingCostMicros());
+            }
+        }
+        return costMicros;
+    }
+
+    /**
+     * Replay trades oldest first, emitting the realized gain of each SELL on or after the start date
+     *
+     * @param trades Trades ordered by trade date, then insertion order
+     * @param startDate First date whose SELL trades are reported
+     * @return Map of SELL trade id to realized gain
+     */
+    public static Map<Long, BigDecimal> walk(List<TradeHistory> trades, LocalDate startDate) {
+        CostBasisEngine engine = new CostBasisEngine();
+        Map<Long, BigDecimal> realizedGains = new LinkedHashMap<>();
+        for (TradeHistory trade : trades) {
+            long costMicros = engine.apply(trade);
+            if (trade.getTradeType() == TradeHistory.TradeType.SELL && !trade.getTradeDate().isBefore(startDate)) {
+                long realizedGainMicros = Math.subtractExact(trade.getTotalValueMicros(), costMicros);
+                realizedGains.put(trade.getId(), BigDecimal.valueOf(realizedGainMicros, Money.SCALE));
+            }
+        }
+        return realizedGains;
+    }
+}
@@ -0,0 +1,171 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.dto.IntradaySeries;
+import com.portfolio.backend.util.TradingCalendar;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory intraday price series per symbol for the current trading session.
+ * Each symbol gets a fixed-size ring of epoch-millis timestamps and prices in micros
+ * (millionths), both primitive long arrays allocated once, so memory stays flat however
+ * many ticks arrive and no boxed object is kept per tick. The first tick of a new session reuses the arrays; once a ring is full the
+ * oldest ticks are overwritten. Ticks outside the session (before the open, on holidays)
+ * are ignored; the refresh right after the close is kept as the closing price. When the
+ * symbol limit is reached, rings last written in an earlier session are dropped to make room.
+ */
+public class IntradayPrices {
+
+    private static final int MICROS_SCALE = 6;
+
+    private final int capacity;
+    private final int maxSymbols;
+    private final TradingCalendar tradingCalendar;
+    private final ConcurrentHashMap<String, Ring> rings = new ConcurrentHashMap<>();
+
+    /**
+     * @param capacity Ticks kept per symbol
+     * @param maxSymbols Symbols tracked at most; new symbols beyond this are only recorded once
+     *                   rings from earlier sessions can be dropped
+     * @param tradingCalendar Calendar deciding which ticks belong to a session
+     */
+    public IntradayPrices(int capacity, int maxSymbols, TradingCalendar tradingCalendar) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Intraday capacity must be at least 2");
+        }
+        this.capacity = capacity;
+        this.maxSymbols = maxSymbols;
+        this.tradingCalendar = tradingCalendar;
+    }
+
+    /**
+     * Record a fetched price
+     *
+     * @param symbol Upper-case symbol
+     * @param price The price
+     * @param now When the price was fetched
+     * @return true if the tick was recorded, false if it fell outside a session or the symbol limit was
+     *         reached by symbols ticking in this session
+     */
+    public boolean record(String symbol, BigDecimal price, Instant now) {
+        ZonedDateTime nyTime = now.atZone(TradingCalendar.NEW_YORK);
+        if (!tradingCalendar.isOpen(now) && !tradingCalendar.hasClosed(nyTime)) {
+            return false;
+        }
+        LocalDate sessionDate = nyTime.toLocalDate();
+        Ring ring = rings.get(symbol);
+        if (ring == null) {
+            if (rings.size() >= maxSymbols) {
+                rings.values().removeIf(existing -> existing.isBefore(sessionDate));
+                if (rings.size() >= maxSymbols) {
+                    return false;
+                }
+            }
+            ring = rings.computeIfAbsent(symbol, key -> new Ring(capacity));
+        }
+        long priceMicros = price.setScale(MICROS_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        return ring.add(sessionDate, now.toEpochMilli(), priceMicros);
+    }
+
+    /**
+     * Get the latest session's series for a symbol, downsampled to at most the given
+     * number of points. Downsampling keeps the first and last tick and picks evenly
+     * spaced ticks in between.
+     *
+     * @param symbol Upper-case symbol
+     * @param points Maximum number of points to return, at least 2
+     * @return Optional containing the series, or empty if nothing was recorded for the symbol
+     */
+    public Optional<IntradaySeries> getSeries(String symbol, int points) {
+        if (points < 2 || points > capacity) {
+            throw new IllegalArgumentException("Points must be between 2 and " + capacity);
+        }
+        Ring ring = rings.get(symbol);
+        return ring != null ? ring.snapshot(symbol, points) : Optional.empty();
+    }
+
+    /**
+     * @return Number of symbols with a ring
+     */
+    public int size() {
+        return rings.size();
+    }
+
+    /**
+     * Fixed-capacity ring of (timestamp, price) ticks for one symbol
+     */
+    private static final class Ring {
+
+        private final long[] timestamps;
+        private final long[] pricesMicros;
+        private LocalDate sessionDate;
+        private int next;
+        private int count;
+
+        Ring(int capacity) {
+            this.timestamps = new long[capacity];
+            this.pricesMicros = new long[capacity];
+        }
+
+        synchronized boolean isBefore(LocalDate date) {
+            return sessionDate == null || sessionDate.isBefore(date);
+        }
+
+        synchronized boolean add(LocalDate date, long timestamp, long priceMicros) {
+            if (!date.equals(sessionDate)) {
+                if (sessionDate != null && date.isBefore(sessionDate)) {
+                    return false;
+                }
+                sessionDate = date;
+                next = 0;
+                count = 0;
+            } else if (count > 0 && timestamp < timestamps[index(count - 1)]) {
+                // Keep the series ordered; a late tick from a slow fetch is dropped
+                return false;
+            }
+            timestamps[next] = timestamp;
+            pricesMicros[next] = priceMicros;
+            next = (next + 1) % timestamps.length;
+            if (count < timestamps.length) {
+                count++;
+            }
+            return true;
+        }
+
+        synchronized Optional<IntradaySeries> snapshot(String symbol, int points) {
+            if (count == 0) {
+                return Optional.empty();
+            }
+            int size = Math.min(points, count);
+            List<IntradaySeries.Point> series = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                // Evenly spaced positions from the oldest (0) to the newest (count - 1) tick
+                int position = size == 1 ? 0 : (int) ((long) i * (count - 1) / (size - 1));
+                int slot = index(position);
+                series.add(new IntradaySeries.Point(timestamps[slot], toPrice(pricesMicros[slot])));
+            }
+            return Optional.of(new IntradaySeries(symbol, sessionDate, count, series));
+        }
+
+        private static BigDecimal toPrice(long priceMicros) {
+            BigDecimal price = BigDecimal.valueOf(priceMicros, MICROS_SCALE).stripTrailingZeros();
+            return price.scale() < 2 ? price.setScale(2) : price;
+        }
+
+        /**
+         * Array slot of the tick at a position, 0 being the oldest tick kept
+         */
+        private int index(int position) {
+            int oldest = count < timestamps.length ? 0 : next;
+            return (oldest + position) % timestamps.length;
+        }
+    }
+}
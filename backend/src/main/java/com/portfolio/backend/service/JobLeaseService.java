@@ -0,0 +1,205 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.model.JobLease;
+import com.portfolio.backend.model.JobRun;
+import com.portfolio.backend.repository.JobLeaseRepository;
+import com.portfolio.backend.repository.JobRunRepository;
+import com.portfolio.backend.util.TradingCalendar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Runs scheduled jobs at most once per scheduled fire across every instance of the application.
+ *
+ * Every instance's @Scheduled trigger calls runScheduled with the job's cron expression. The
+ * fire time is derived from the cron rather than the clock, so all instances agree on it; the
+ * instance that claims the job's lease for that fire (see JobLease) runs it and the others
+ * skip it. Each claimed fire is recorded in job_runs with its owner, duration and outcome.
+ * At startup catchUp runs the fires missed while no instance was up, oldest first.
+ *
+ * Cron expressions are evaluated in New York time, like the @Scheduled zones.
+ */
+@Service
+public class JobLeaseService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobLeaseService.class);
+
+    // How far back to look for the latest fire of a cron expression
+    private static final Duration MAX_FIRE_INTERVAL = Duration.ofDays(400);
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private JobRunRepository jobRunRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${jobs.lease-minutes:30}")
+    private long leaseMinutes;
+
+    @Value("${jobs.catch-up.max-runs:50}")
+    private int maxCatchUpRuns;
+
+    // Distinguishes instances, including several application contexts in one JVM
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/"
+            + UUID.randomUUID().toString().substring(0, 8);
+
+    /**
+     * Run the latest fire of a scheduled job unless another instance already ran it
+     *
+     * @param jobName The job
+     * @param cron The job's cron expression (New York time)
+     * @param task The job; receives its scheduled fire time
+     * @return true if this instance ran the job
+     */
+    public boolean runScheduled(String jobName, String cron, Consumer<LocalDateTime> task) {
+        LocalDateTime now = LocalDateTime.now(TradingCalendar.NEW_YORK);
+        LocalDateTime scheduledAt = latestFire(CronExpression.parse(cron), now);
+        if (scheduledAt == null) {
+            return false;
+        }
+        return runOnce(jobName, scheduledAt, false, task);
+    }
+
+    /**
+     * Run the fires of a scheduled job that were missed since the last fire any instance claimed,
+     * oldest first and at most jobs.catch-up.max-runs of the latest. A job that has never run
+     * has nothing to catch up.
+     *
+     * @param jobName The job
+     * @param cron The job's cron expression (New York time)
+     * @param task The job; receives each missed fire time
+     * @return Number of missed fires this instance ran
+     */
+    public int catchUp(String jobName, String cron, Consumer<LocalDateTime> task) {
+        return catchUp(jobName, cron, LocalDateTime.now(TradingCalendar.NEW_YORK), task);
+    }
+
+    int catchUp(String jobName, String cron, LocalDateTime now, Consumer<LocalDateTime> task) {
+        LocalDateTime lastScheduledAt = jobLeaseRepository.findById(jobName).map(JobLease::getLastScheduledAt).orElse(null);
+        if (lastScheduledAt == null) {
+            return 0;
+        }
+        CronExpression expression = CronExpression.parse(cron);
+        List<LocalDateTime> missed = new ArrayList<>();
+        for (LocalDateTime fire = expression.next(lastScheduledAt); fire != null && !fire.isAfter(now); fire = expression.next(fire)) {
+            missed.add(fire);
+            if (missed.size() > maxCatchUpRuns) {
+                missed.remove(0);
+            }
+        }
+        if (!missed.isEmpty()) {
+            log.info("Catching up {} missed runs of {} since {}", missed.size(), jobName, lastScheduledAt);
+        }
+
+        int ran = 0;
+        for (LocalDateTime scheduledAt : missed) {
+            if (runOnce(jobName, scheduledAt, true, task)) {
+                ran++;
+            }
+        }
+        return ran;
+    }
+
+    /**
+     * Run one scheduled fire of a job if this instance claims its lease for the fire
+     *
+     * @param jobName The job
+     * @param scheduledAt The fire time (New York time)
+     * @param catchUp Whether the fire was missed and is run late
+     * @param task The job; receives the fire time
+     * @return true if this instance ran the job
+     */
+    public boolean runOnce(String jobName, LocalDateTime scheduledAt, boolean catchUp, Consumer<LocalDateTime> task) {
+        createLeaseIfAbsent(jobName);
+
+        LocalDateTime startedAt = LocalDateTime.now(TradingCalendar.NEW_YORK);
+        JobRun run = transactionTemplate.execute(status -> {
+            if (jobLeaseRepository.claim(jobName, owner, scheduledAt, startedAt, startedAt.plusMinutes(leaseMinutes)) == 0) {
+                return null;
+            }
+            return jobRunRepository.save(new JobRun(jobName, scheduledAt, owner, catchUp, startedAt));
+        });
+        if (run == null) {
+            return false;
+        }
+
+        long start = System.nanoTime();
+        try {
+            task.accept(scheduledAt);
+            run.setStatus(JobRun.Status.SUCCEEDED);
+        } catch (Exception e) {
+            log.error("Job {} failed for {}", jobName, scheduledAt, e);
+            run.setStatus(JobRun.Status.FAILED);
+            String message = String.valueOf(e.getMessage());
+            run.setError(message.length() > 500 ? message.substring(0, 500) : message);
+        } finally {
+            run.setDurationMs((System.nanoTime() - start) / 1_000_000);
+            run.setFinishedAt(LocalDateTime.now(TradingCalendar.NEW_YORK));
+            transactionTemplate.executeWithoutResult(status -> {
+                jobRunRepository.save(run);
+                jobLeaseRepository.release(jobName, owner);
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Get the runs of a job, latest fire first
+     *
+     * @param jobName The job
+     * @return List of runs
+     */
+    public List<JobRun> getRuns(String jobName) {
+        return jobRunRepository.findByJobNameOrderByScheduledAtDesc(jobName);
+    }
+
+    private void createLeaseIfAbsent(String jobName) {
+        if (jobLeaseRepository.existsById(jobName)) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jobLeaseRepository.saveAndFlush(new JobLease(jobName)));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created it first
+        }
+    }
+
+    /**
+     * Latest fire of a cron expression at or before a time, or null if there is none in MAX_FIRE_INTERVAL
+     */
+    static LocalDateTime latestFire(CronExpression expression, LocalDateTime now) {
+        // Step back until a fire falls between the start and now, then walk forward to the last one
+        Duration step = Duration.ofHours(1);
+        LocalDateTime from = now.minus(step);
+        LocalDateTime fire = expression.next(from);
+        while (fire == null || fire.isAfter(now)) {
+            if (step.compareTo(MAX_FIRE_INTERVAL) >= 0) {
+                return null;
+            }
+            step = step.multipliedBy(2);
+            from = now.minus(step);
+            fire = expression.next(from);
+        }
+        for (LocalDateTime next = expression.next(fire); next != null && !next.isAfter(now); next = expression.next(next)) {
+            fire = next;
+        }
+        return fire;
+    }
+}
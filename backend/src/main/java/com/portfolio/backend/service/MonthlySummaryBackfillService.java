@@ -0,0 +1,246 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.model.JobCheckpoint;
+import com.portfolio.backend.model.TradeHistory;
+import com.portfolio.backend.repository.JobCheckpointRepository;
+import com.portfolio.backend.repository.TradeHistoryRepository;
+import com.portfolio.backend.util.DateUtil;
+import com.portfolio.backend.util.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rebuilds the stored monthly summaries of a range of past months.
+ *
+ * Trade history is loaded once in date order and replayed through a CostBasisEngine, which
+ * relieves lots FIFO like live sells, while the cash balance is tracked alongside. At each
+ * month end the lots still open are valued at stored closes with
+ * TaxLotService.calculateUnrealizedGain, as PnLEngine values lots, the month's realized gain
+ * comes from one grouped ledger query for the whole range, and the summaries of each calendar
+ * year are replaced with one JDBC batch. The batch and the job's checkpoint commit together, so a restarted backfill of the
+ * same range continues after the last year written.
+ *
+ * The total value is on the same basis as the live summaries, holdings at cost plus cash, so
+ * monthly gains stay comparable across backfilled and live months. Cash has no history of its
+ * own: the balance at a month end is the current balance less the cash flows of later trades,
+ * which treats every deposit as made before the range.
+ */
+@Service
+public class MonthlySummaryBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(MonthlySummaryBackfillService.class);
+
+    private static final String JOB_NAME = "monthly-summary-backfill";
+    private static final String DELETE_SUMMARIES_SQL =
+            "DELETE FROM portfolio_monthly_summaries WHERE year = ? AND month BETWEEN ? AND ?";
+    private static final String INSERT_SUMMARY_SQL =
+            "INSERT INTO portfolio_monthly_summaries (year, month, total_value, monthly_gain, " +
+            "monthly_gain_percentage, realized_gain, unrealized_gain) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private TradeHistoryRepository tradeHistoryRepository;
+
+    @Autowired
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired
+    private RealizedGainService realizedGainService;
+
+    @Autowired
+    private TaxLotService taxLotService;
+
+    @Autowired
+    private PriceHistoryService priceHistoryService;
+
+    @Autowired
+    private CashService cashService;
+
+    @Autowired
+    private PortfolioDataVersion portfolioDataVersion;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Open lots and cash balance as of the trades applied so far
+     */
+    private static final class Book {
+        private final CostBasisEngine lots = new CostBasisEngine();
+        private long cashMicros;
+    }
+
+    /**
+     * Value of the book at a month end, rounded to cents
+     *
+     * @param totalValue Open lots at cost plus cash
+     * @param unrealizedGain Gain of the open lots at the month-end closes
+     */
+    private record Valuation(BigDecimal totalValue, BigDecimal unrealizedGain) {
+    }
+
+    /**
+     * Replace the monthly summaries of a range of past months, resuming after the last
+     * completed year if a backfill of the same range stopped part way
+     *
+     * @param from First month to write
+     * @param to Last month to write, before the current month
+     * @return Map containing the months written, the month resumed from, elapsed seconds and months per second
+     * @throws IllegalArgumentException if the range is invalid
+     */
+    public Map<String, Object> backfill(YearMonth from, YearMonth to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("From and to months are required");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("From month " + from + " is after to month " + to);
+        }
+        if (!to.isBefore(YearMonth.from(DateUtil.getCurrentDateInNYC()))) {
+            throw new IllegalArgumentException("To month " + to + " is not a past month");
+        }
+
+        String jobName = JOB_NAME + ":" + from + ":" + to;
+        YearMonth start = jobCheckpointRepository.findById(jobName)
+                .map(checkpoint -> YearMonth.parse(checkpoint.getLastCompleted()).plusMonths(1))
+                .orElse(from);
+        if (start.isAfter(from)) {
+            log.info("Resuming monthly summary backfill {} to {} at {}", from, to, start);
+        }
+
+        long startedAt = System.nanoTime();
+        List<TradeHistory> trades = tradeHistoryRepository.findAllByOrderByTradeDateAscIdAsc();
+        Set<String> tickers = new HashSet<>();
+        Book book = new Book();
+        // Cash before the first trade: the current balance with every trade's cash flow undone
+        book.cashMicros = Money.toMicros(cashService.getCashBalance(), RoundingMode.HALF_UP);
+        for (TradeHistory trade : trades) {
+            tickers.add(trade.getTicker());
+            book.cashMicros = Math.subtractExact(book.cashMicros, cashFlowMicros(trade));
+        }
+        Map<YearMonth, BigDecimal> realizedByMonth = start.isAfter(to) ? Map.of()
+                : realizedGainService.getRealizedGainByMonth(start.atDay(1), to.atEndOfMonth());
+
+        int next = 0;
+        BigDecimal previousValue = null;
+        int written = 0;
+        for (YearMonth chunkStart = start; !chunkStart.isAfter(to); chunkStart = chunkStart.plusYears(1).withMonth(1)) {
+            YearMonth chunkEnd = chunkStart.getYear() == to.getYear() ? to : YearMonth.of(chunkStart.getYear(), 12);
+
+            // Month-end closes of the chunk in one lookup; the first chunk also values the month before it
+            Set<LocalDate> monthEnds = new HashSet<>();
+            if (previousValue == null) {
+                monthEnds.add(chunkStart.minusMonths(1).atEndOfMonth());
+            }
+            for (YearMonth month = chunkStart; !month.isAfter(chunkEnd); month = month.plusMonths(1)) {
+                monthEnds.add(month.atEndOfMonth());
+            }
+            Map<LocalDate, Map<String, BigDecimal>> pricesByDate = priceHistoryService.getPricesAsOf(tickers, monthEnds);
+
+            if (previousValue == null) {
+                LocalDate monthEnd = chunkStart.minusMonths(1).atEndOfMonth();
+                next = advance(trades, next, monthEnd, book);
+                previousValue = value(book, pricesByDate.getOrDefault(monthEnd, Map.of())).totalValue();
+            }
+
+            List<Object[]> rows = new ArrayList<>();
+            for (YearMonth month = chunkStart; !month.isAfter(chunkEnd); month = month.plusMonths(1)) {
+                LocalDate monthEnd = month.atEndOfMonth();
+                next = advance(trades, next, monthEnd, book);
+                Valuation valuation = value(book, pricesByDate.getOrDefault(monthEnd, Map.of()));
+                BigDecimal totalValue = valuation.totalValue();
+                BigDecimal monthlyGain = totalValue.subtract(previousValue);
+                BigDecimal monthlyGainPercentage = BigDecimal.ZERO.setScale(2);
+                if (previousValue.compareTo(BigDecimal.ZERO) > 0) {
+                    monthlyGainPercentage = monthlyGain.divide(previousValue, 4, RoundingMode.HALF_UP)
+                            .multiply(new BigDecimal("100")).setScale(2, RoundingMode.HALF_UP);
+                }
+                rows.add(new Object[]{month.getYear(), month.getMonthValue(), totalValue, monthlyGain,
+                        monthlyGainPercentage, realizedByMonth.getOrDefault(month, BigDecimal.ZERO.setScale(2)), valuation.unrealizedGain()});
+                previousValue = totalValue;
+            }
+
+            writeChunk(jobName, chunkStart, chunkEnd, rows);
+            written += rows.size();
+            log.info("Backfilled monthly summaries through {} ({} months, {} months/sec)",
+                    chunkEnd, written, String.format("%.1f", monthsPerSecond(written, startedAt)));
+        }
+        jobCheckpointRepository.deleteById(jobName);
+
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", from.toString());
+        result.put("to", to.toString());
+        result.put("resumedFrom", start.isAfter(from) ? start.toString() : null);
+        result.put("months", written);
+        result.put("seconds", Math.round(seconds * 1000) / 1000.0);
+        result.put("monthsPerSecond", Math.round(monthsPerSecond(written, startedAt) * 10) / 10.0);
+        return result;
+    }
+
+    /**
+     * Replace a chunk's summaries and move the checkpoint to its last month, in one transaction
+     */
+    private void writeChunk(String jobName, YearMonth chunkStart, YearMonth chunkEnd, List<Object[]> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_SUMMARIES_SQL, chunkStart.getYear(), chunkStart.getMonthValue(), chunkEnd.getMonthValue());
+            jdbcTemplate.batchUpdate(INSERT_SUMMARY_SQL, rows);
+            jobCheckpointRepository.save(new JobCheckpoint(jobName, chunkEnd.toString(), LocalDateTime.now()));
+            portfolioDataVersion.bump();
+        });
+    }
+
+    /**
+     * Apply the trades up to a date to the lots and cash balance
+     *
+     * @return Index of the first trade after the date
+     */
+    private static int advance(List<TradeHistory> trades, int next, LocalDate date, Book book) {
+        while (next < trades.size() && !trades.get(next).getTradeDate().isAfter(date)) {
+            TradeHistory trade = trades.get(next++);
+            book.cashMicros = Math.addExact(book.cashMicros, cashFlowMicros(trade));
+            book.lots.apply(trade);
+        }
+        return next;
+    }
+
+    /**
+     * Cash a trade moves: a buy pays its total value, a sell receives it
+     */
+    private static long cashFlowMicros(TradeHistory trade) {
+        long value = trade.getTotalValueMicros();
+        return trade.getTradeType() == TradeHistory.TradeType.SELL ? value : -value;
+    }
+
+    /**
+     * Value the book: open lots at cost plus cash, and the lots' gain at closing prices; a
+     * ticker without a close counts at cost
+     */
+    private Valuation value(Book book, Map<String, BigDecimal> closes) {
+        long totalMicros = Math.addExact(book.lots.getOpenCostMicros(), book.cashMicros);
+        return new Valuation(Money.toBigDecimal(totalMicros, 2),
+                taxLotService.calculateUnrealizedGain(book.lots.getOpenLots(), closes));
+    }
+
+    private static double monthsPerSecond(int months, long startedAt) {
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        return seconds > 0 ? months / seconds : 0;
+    }
+}
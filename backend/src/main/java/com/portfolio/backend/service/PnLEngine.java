@@ -0,0 +1,120 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.dto.MonthlyPnL;
+import com.portfolio.backend.model.TaxLot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Realized and unrealized P&L per calendar month, shared by the P&L chart (PnLService) and the
+ * stored monthly summaries (PortfolioMonthlySummaryService). A batch of months costs one ledger
+ * query, one open-lot query and one price lookup for all tickers and valuation dates, however
+ * many months it covers; every amount is rounded to cents the same way.
+ */
+@Service
+public class PnLEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(PnLEngine.class);
+
+    @Autowired
+    private RealizedGainService realizedGainService;
+
+    @Autowired
+    private TaxLotService taxLotService;
+
+    @Autowired
+    private PriceHistoryService priceHistoryService;
+
+    /**
+     * Calculate the P&L of several months. A past month is valued at its month end, and the
+     * current month at today.
+     *
+     * @param months The months, none after the current month
+     * @param today The current date in New York
+     * @return P&L per month, in the order given
+     */
+    public Map<YearMonth, MonthlyPnL> calculateMonths(Collection<YearMonth> months, LocalDate today) {
+        Map<YearMonth, MonthlyPnL> pnlByMonth = new LinkedHashMap<>();
+        if (months.isEmpty()) {
+            return pnlByMonth;
+        }
+
+        Map<YearMonth, LocalDate> valuationDates = new LinkedHashMap<>();
+        for (YearMonth month : months) {
+            valuationDates.put(month, month.atEndOfMonth().isBefore(today) ? month.atEndOfMonth() : today);
+        }
+        LocalDate firstDay = Collections.min(months).atDay(1);
+        LocalDate lastValuation = Collections.max(valuationDates.values());
+
+        Map<YearMonth, BigDecimal> realizedByMonth = realizedGainService.getRealizedGainByMonth(firstDay, lastValuation);
+
+        // Lots open now and acquired by the last valuation date; earlier dates filter them in memory
+        List<TaxLot> openLots = new ArrayList<>();
+        Set<String> tickers = new HashSet<>();
+        for (Map.Entry<String, List<TaxLot>> entry : taxLotService.getOpenLotsAsOf(lastValuation).entrySet()) {
+            tickers.add(entry.getKey());
+            openLots.addAll(entry.getValue());
+        }
+        Map<LocalDate, Map<String, BigDecimal>> pricesByDate = getPricesAsOf(tickers, new HashSet<>(valuationDates.values()));
+
+        for (Map.Entry<YearMonth, LocalDate> entry : valuationDates.entrySet()) {
+            YearMonth month = entry.getKey();
+            LocalDate valuationDate = entry.getValue();
+            BigDecimal realized = realizedByMonth.getOrDefault(month, BigDecimal.ZERO.setScale(2));
+            // Tickers without a price count at cost (no unrealized gain)
+            BigDecimal unrealized = taxLotService.calculateUnrealizedGain(lotsAcquiredBy(openLots, valuationDate),
+                    pricesByDate.getOrDefault(valuationDate, Map.of()));
+            pnlByMonth.put(month, new MonthlyPnL(month, valuationDate, realized, unrealized));
+        }
+        return pnlByMonth;
+    }
+
+    /**
+     * Calculate the P&L of one month
+     *
+     * @param month The month, not after the current month
+     * @param today The current date in New York
+     * @return The month's P&L
+     */
+    public MonthlyPnL calculateMonth(YearMonth month, LocalDate today) {
+        return calculateMonths(List.of(month), today).get(month);
+    }
+
+    /**
+     * Price tickers as of the valuation dates from stored closes or the price board; no upstream
+     * request on this path. A failed lookup leaves every lot at cost rather than failing the P&L.
+     */
+    private Map<LocalDate, Map<String, BigDecimal>> getPricesAsOf(Set<String> tickers, Set<LocalDate> dates) {
+        try {
+            return priceHistoryService.getPricesAsOf(tickers, dates);
+        } catch (Exception e) {
+            log.warn("Error fetching prices as of {}: {}", dates, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private static Map<String, List<TaxLot>> lotsAcquiredBy(List<TaxLot> openLots, LocalDate date) {
+        Map<String, List<TaxLot>> lotsByTicker = new HashMap<>();
+        for (TaxLot lot : openLots) {
+            if (!lot.getAcquiredDate().isAfter(date)) {
+                lotsByTicker.computeIfAbsent(lot.getTicker(), ticker -> new ArrayList<>()).add(lot);
+            }
+        }
+        return lotsByTicker;
+    }
+}
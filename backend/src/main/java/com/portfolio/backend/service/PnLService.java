@@ -1,16 +1,17 @@
 package com.portfolio.backend.service;
 
-import com.portfolio.backend.model.PortfolioItem;
+import com.portfolio.backend.dto.MonthlyPnL;
+import com.portfolio.backend.dto.Versioned;
 import com.portfolio.backend.model.PortfolioMonthlySummary;
-import com.portfolio.backend.model.TradeHistory;
-import com.portfolio.backend.repository.PortfolioItemRepository;
 import com.portfolio.backend.repository.PortfolioMonthlySummaryRepository;
-import com.portfolio.backend.repository.TradeHistoryRepository;
 import com.portfolio.backend.util.DateUtil;
+import com.portfolio.backend.util.VersionedCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.*;
@@ -18,258 +19,261 @@ import java.util.*;
 @Service
 public class PnLService {
 
+    /**
+     * Period the range P&L is grouped by
+     */
+    public enum Granularity {
+        MONTH, QUARTER, YEAR;
+
+        // Label of the period containing a month, e.g. 2024-03, 2024-Q1 or 2024
+        String label(YearMonth month) {
+            return switch (this) {
+                case MONTH -> month.toString();
+                case QUARTER -> month.getYear() + "-Q" + ((month.getMonthValue() - 1) / 3 + 1);
+                case YEAR -> String.valueOf(month.getYear());
+            };
+        }
+    }
+
     @Autowired
-    private TradeHistoryRepository tradeHistoryRepository;
+    private PnLEngine pnLEngine;
 
     @Autowired
-    private PortfolioItemRepository portfolioItemRepository;
+    private PortfolioMonthlySummaryRepository portfolioMonthlySummaryRepository;
 
     @Autowired
-    private StockDataService stockDataService;
+    private RealizedGainService realizedGainService;
 
     @Autowired
-    private PortfolioMonthlySummaryRepository portfolioMonthlySummaryRepository;
+    private PortfolioDataVersion portfolioDataVersion;
+
+    @Autowired
+    private PriceBoard priceBoard;
+
+    @Value("${pnl.max-range-months:240}")
+    private int maxRangeMonths;
+
+    // The 7-month chart and the most recent range queries
+    private final VersionedCache<Map<String, Object>> pnlCache = new VersionedCache<>(16);
 
     /**
-     * Calculate monthly P&L data for the last 7 months
-     * 
-     * @return Map containing monthly P&L data
+     * Get monthly P&L data for the last 7 months, recomputed only when portfolio data or a price
+     * on the price board changed, or the day rolled over, since the last call
+     *
+     * @return Monthly P&L data and the version it was computed at
      */
-    public Map<String, Object> getMonthlyPnLData() {
+    public Versioned<Map<String, Object>> getMonthlyPnL() {
+        String version = currentVersion(DateUtil.getCurrentDateInNYC());
+        return new Versioned<>(version, pnlCache.get("monthly", version, this::getMonthlyPnLData));
+    }
+
+    /**
+     * Get P&L over a range of months grouped by month, quarter or year, cached like the monthly
+     * chart. A range that ends before the current month does not depend on today's prices, so
+     * its version only changes with portfolio data.
+     *
+     * @param from First month of the range
+     * @param to Last month of the range, not after the current month
+     * @param granularity Period to group by (month, quarter or year)
+     * @return P&L per period and the version it was computed at
+     * @throws IllegalArgumentException if the range or granularity is invalid
+     */
+    public Versioned<Map<String, Object>> getPnL(YearMonth from, YearMonth to, String granularity) {
+        Granularity periodGranularity = parseGranularity(granularity);
         LocalDate today = DateUtil.getCurrentDateInNYC();
-        LocalDate startDate = today.minusMonths(6).withDayOfMonth(1); // 7 months ago, start of month
-        
-        Map<String, Object> result = new HashMap<>();
-        List<Map<String, Object>> monthlyData = new ArrayList<>();
-        
-        // Generate data for each month from startDate to current month
-        YearMonth current = YearMonth.from(startDate);
-        YearMonth end = YearMonth.from(today);
-        
-        while (!current.isAfter(end)) {
-            Map<String, Object> monthData = calculateMonthlyPnL(current);
-            monthlyData.add(monthData);
-            current = current.plusMonths(1);
-        }
-        
-        // Get current month's unrealized gains from the chart data
-        double currentMonthUnrealized = 0.0;
-        if (!monthlyData.isEmpty()) {
-            Map<String, Object> currentMonthData = monthlyData.get(monthlyData.size() - 1);
-            currentMonthUnrealized = (Double) currentMonthData.get("unrealized");
-        }
-        
-        result.put("monthlyData", monthlyData);
-        result.put("totalRealized", calculateTotalRealizedGains());
-        result.put("totalUnrealized", currentMonthUnrealized);
-        result.put("totalPnL", calculateTotalPnL());
-        
-        return result;
+        validateRange(from, to, today);
+
+        String version = to.isBefore(YearMonth.from(today))
+                ? "pnl." + portfolioDataVersion.current()
+                : currentVersion(today);
+        String key = "range." + from + "." + to + "." + periodGranularity;
+        return new Versioned<>(version, pnlCache.get(key, version, () -> calculatePnL(from, to, periodGranularity, today)));
     }
 
     /**
-     * Calculate P&L for a specific month
-     * 
-     * @param yearMonth The year and month to calculate for
-     * @return Map containing month's P&L data
+     * Calculate P&L over a range of months grouped by month, quarter or year.
+     * Stored summaries of the range are read in one query; the current month, and past months
+     * without a summary, are calculated together in one PnLEngine batch.
+     *
+     * @param from First month of the range
+     * @param to Last month of the range, not after the current month
+     * @param granularity Period to group by (month, quarter or year)
+     * @return Map containing realized P&L per period, unrealized P&L at each period's end, and totals
+     * @throws IllegalArgumentException if the range or granularity is invalid
      */
-    private Map<String, Object> calculateMonthlyPnL(YearMonth yearMonth) {
-        LocalDate monthStart = yearMonth.atDay(1);
-        LocalDate monthEnd = yearMonth.atEndOfMonth();
+    public Map<String, Object> getPnLData(YearMonth from, YearMonth to, String granularity) {
+        Granularity periodGranularity = parseGranularity(granularity);
+        LocalDate today = DateUtil.getCurrentDateInNYC();
+        validateRange(from, to, today);
+        return calculatePnL(from, to, periodGranularity, today);
+    }
 
-        YearMonth currentMonth = YearMonth.from(DateUtil.getCurrentDateInNYC());
+    /**
+     * Calculate monthly P&L data for the last 7 months.
+     * Past months come from their stored summary; the current month, and past months without
+     * a summary, are calculated together in one PnLEngine batch.
+     *
+     * @return Map containing monthly P&L data
+     */
+    public Map<String, Object> getMonthlyPnLData() {
+        LocalDate today = DateUtil.getCurrentDateInNYC();
+        LocalDate startDate = today.minusMonths(6).withDayOfMonth(1); // 7 months ago, start of month
+        YearMonth currentMonth = YearMonth.from(today);
 
-        BigDecimal realizedGains;
-        BigDecimal unrealizedGains;
+        Map<YearMonth, PortfolioMonthlySummary> summaries = new HashMap<>();
+        for (PortfolioMonthlySummary summary : portfolioMonthlySummaryRepository.findLastYear(startDate.getYear())) {
+            summaries.put(YearMonth.of(summary.getYear(), summary.getMonth()), summary);
+        }
 
-        if (yearMonth.isBefore(currentMonth)) {
-            // Past months: use stored monthly summary
-            Optional<PortfolioMonthlySummary> summaryOpt = portfolioMonthlySummaryRepository
-                    .findByYearAndMonth(yearMonth.getYear(), yearMonth.getMonthValue());
-            if (summaryOpt.isPresent()) {
-                PortfolioMonthlySummary summary = summaryOpt.get();
-                realizedGains = summary.getRealizedGain() != null ? summary.getRealizedGain() : BigDecimal.ZERO;
-                unrealizedGains = summary.getUnrealizedGain() != null ? summary.getUnrealizedGain() : BigDecimal.ZERO;
-            } else {
-                // Fallback to on-the-fly computation if summary missing
-                List<TradeHistory> monthTrades = tradeHistoryRepository
-                        .findByTradeDateBetweenOrderByTradeDateDesc(monthStart, monthEnd);
-                realizedGains = monthTrades.stream()
-                        .filter(trade -> trade.getTradeType() == TradeHistory.TradeType.SELL)
-                        .map(this::calculateRealizedGainForTrade)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-                // Use as-of month end (note: uses current prices due to lack of historical price store)
-                unrealizedGains = calculateUnrealizedGainsAsOf(monthEnd);
+        // Generate the months from startDate to current month; calculate those without a usable summary
+        List<YearMonth> months = new ArrayList<>();
+        List<YearMonth> toCalculate = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(currentMonth); month = month.plusMonths(1)) {
+            months.add(month);
+            if (!month.isBefore(currentMonth) || !summaries.containsKey(month)) {
+                toCalculate.add(month);
             }
-        } else {
-            // Current month: compute live
-            List<TradeHistory> monthTrades = tradeHistoryRepository
-                    .findByTradeDateBetweenOrderByTradeDateDesc(monthStart, DateUtil.getCurrentDateInNYC());
-            realizedGains = monthTrades.stream()
-                    .filter(trade -> trade.getTradeType() == TradeHistory.TradeType.SELL)
-                    .map(this::calculateRealizedGainForTrade)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            unrealizedGains = calculateUnrealizedGainsAsOf(DateUtil.getCurrentDateInNYC());
         }
+        Map<YearMonth, MonthlyPnL> calculated = pnLEngine.calculateMonths(toCalculate, today);
 
-        Map<String, Object> monthData = new HashMap<>();
-        monthData.put("month", yearMonth.getMonth().toString().substring(0, 3).toUpperCase());
-        monthData.put("realized", realizedGains.doubleValue());
-        monthData.put("unrealized", unrealizedGains.doubleValue());
+        List<Map<String, Object>> monthlyData = new ArrayList<>();
+        for (YearMonth month : months) {
+            monthlyData.add(toMonthData(month, calculated.get(month), summaries.get(month)));
+        }
 
-        return monthData;
+        BigDecimal totalRealized = realizedGainService.getRealizedGain(today.withDayOfYear(1), today);
+        BigDecimal totalUnrealized = calculated.get(currentMonth).unrealized();
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("monthlyData", monthlyData);
+        result.put("totalRealized", totalRealized);
+        result.put("totalUnrealized", totalUnrealized.doubleValue());
+        result.put("totalPnL", totalRealized.add(totalUnrealized).setScale(2, RoundingMode.HALF_UP));
+
+        return result;
     }
 
-    /**
-     * Calculate realized gain for a specific SELL trade
-     * 
-     * @param sellTrade The SELL trade
-     * @return Realized gain amount
-     */
-    private BigDecimal calculateRealizedGainForTrade(TradeHistory sellTrade) {
-        // Find corresponding BUY trades for this ticker before the sell date
-        List<TradeHistory> buyTrades = tradeHistoryRepository.findByTickerAndTradeTypeAndTradeDateBeforeOrderByTradeDateAsc(
-                sellTrade.getTicker(), 
-                TradeHistory.TradeType.BUY, 
-                sellTrade.getTradeDate()
-        );
-        
-        if (buyTrades.isEmpty()) {
-            return BigDecimal.ZERO; // No buy trades found
+    private Map<String, Object> calculatePnL(YearMonth from, YearMonth to, Granularity granularity, LocalDate today) {
+        YearMonth currentMonth = YearMonth.from(today);
+
+        Map<YearMonth, PortfolioMonthlySummary> summaries = new HashMap<>();
+        for (PortfolioMonthlySummary summary : portfolioMonthlySummaryRepository.findByYearBetween(from.getYear(), to.getYear())) {
+            summaries.put(YearMonth.of(summary.getYear(), summary.getMonth()), summary);
         }
-        
-        // Calculate average buy price
-        BigDecimal totalBuyValue = buyTrades.stream()
-                .map(TradeHistory::getTotalValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        int totalBuyQuantity = buyTrades.stream()
-                .mapToInt(TradeHistory::getQuantity)
-                .sum();
-        
-        if (totalBuyQuantity == 0) {
-            return BigDecimal.ZERO;
+
+        List<YearMonth> toCalculate = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            if (!month.isBefore(currentMonth) || !summaries.containsKey(month)) {
+                toCalculate.add(month);
+            }
         }
-        
-        BigDecimal averageBuyPrice = totalBuyValue.divide(BigDecimal.valueOf(totalBuyQuantity), java.math.RoundingMode.HALF_UP);
-        
-        // Calculate realized gain
-        BigDecimal sellValue = sellTrade.getTotalValue();
-        BigDecimal buyValue = averageBuyPrice.multiply(BigDecimal.valueOf(sellTrade.getQuantity()));
-        BigDecimal realizedGain = sellValue.subtract(buyValue);
-        
-        return realizedGain;
-    }
+        Map<YearMonth, MonthlyPnL> calculated = pnLEngine.calculateMonths(toCalculate, today);
 
-    /**
-     * Calculate unrealized gains as of a specific date
-     * 
-     * @param asOfDate The date to calculate unrealized gains as of
-     * @return Unrealized gains amount
-     */
-    private BigDecimal calculateUnrealizedGainsAsOf(LocalDate asOfDate) {
-        // Get all portfolio items that existed as of the given date
-        List<PortfolioItem> holdings = portfolioItemRepository.findAll();
-        
-        BigDecimal totalUnrealized = BigDecimal.ZERO;
-        
-        for (PortfolioItem holding : holdings) {
-            // Only include holdings that were bought before or on the asOfDate
-            if (holding.getBuyDate().isBefore(asOfDate) || holding.getBuyDate().isEqual(asOfDate)) {
-                // Get current market price
-                BigDecimal currentPrice = getCurrentPrice(holding.getTicker());
-                BigDecimal buyPrice = holding.getBuyPrice();
-                BigDecimal unrealizedGain = currentPrice.subtract(buyPrice)
-                        .multiply(BigDecimal.valueOf(holding.getQuantity()));
-                totalUnrealized = totalUnrealized.add(unrealizedGain);
+        // Realized P&L adds up over a period; unrealized P&L is the one at the period's last month end
+        List<Map<String, Object>> periods = new ArrayList<>();
+        BigDecimal totalRealized = BigDecimal.ZERO.setScale(2);
+        BigDecimal periodRealized = BigDecimal.ZERO.setScale(2);
+        BigDecimal unrealized = BigDecimal.ZERO.setScale(2);
+        YearMonth periodStart = from;
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            MonthlyPnL monthPnL = calculated.get(month);
+            PortfolioMonthlySummary summary = summaries.get(month);
+            BigDecimal realized = monthPnL != null ? monthPnL.realized() : orZero(summary.getRealizedGain());
+            unrealized = monthPnL != null ? monthPnL.unrealized() : orZero(summary.getUnrealizedGain());
+            periodRealized = periodRealized.add(realized);
+            totalRealized = totalRealized.add(realized);
+
+            String label = granularity.label(month);
+            if (month.equals(to) || !label.equals(granularity.label(month.plusMonths(1)))) {
+                Map<String, Object> period = new LinkedHashMap<>();
+                period.put("period", label);
+                period.put("from", periodStart.toString());
+                period.put("to", month.toString());
+                period.put("realized", periodRealized);
+                period.put("unrealized", unrealized);
+                period.put("totalPnL", periodRealized.add(unrealized));
+                periods.add(period);
+                periodStart = month.plusMonths(1);
+                periodRealized = BigDecimal.ZERO.setScale(2);
             }
         }
-        
-        return totalUnrealized;
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("from", from.toString());
+        result.put("to", to.toString());
+        result.put("granularity", granularity.name().toLowerCase());
+        result.put("periods", periods);
+        result.put("totalRealized", totalRealized);
+        result.put("totalUnrealized", unrealized);
+        result.put("totalPnL", totalRealized.add(unrealized));
+        return result;
     }
 
     /**
-     * Get current price for a ticker using stock data service
-     * 
-     * @param ticker The stock ticker
-     * @return Current price
+     * Version of P&L data that includes the current month. Past month-ends are valued from
+     * stored closes, which the daily ingest never changes for lots already held, so only
+     * today's prices come from the board.
      */
-    private BigDecimal getCurrentPrice(String ticker) {
-        try {
-            // Get current stock data from the stock data service
-            List<Map<String, Object>> stockData = stockDataService.getStockData(List.of(ticker));
-            
-            if (!stockData.isEmpty() && stockData.get(0).get("price") != null) {
-                Object priceObj = stockData.get(0).get("price");
-                if (priceObj instanceof Number) {
-                    return BigDecimal.valueOf(((Number) priceObj).doubleValue());
-                }
-            }
-        } catch (Exception e) {
-            // Log error but don't fail the entire calculation
-            System.err.println("Error fetching current price for " + ticker + ": " + e.getMessage());
+    private String currentVersion(LocalDate today) {
+        return "pnl." + portfolioDataVersion.current() + "." + priceBoard.getVersion() + "." + today;
+    }
+
+    private static Granularity parseGranularity(String granularity) {
+        if (granularity == null || granularity.isBlank()) {
+            return Granularity.MONTH;
         }
-        
-        // Fallback to buy price if stock data service fails
-        List<PortfolioItem> holdings = portfolioItemRepository.findByTicker(ticker);
-        if (!holdings.isEmpty()) {
-            return holdings.get(0).getBuyPrice();
+        try {
+            return Granularity.valueOf(granularity.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Granularity must be month, quarter or year");
         }
-        return BigDecimal.ZERO;
     }
 
-    /**
-     * Calculate total realized gains (sum of all historical realized gains from monthly summaries)
-     * 
-     * @return Total realized gains
-     */
-    private BigDecimal calculateTotalRealizedGains() {
-        LocalDate today = DateUtil.getCurrentDateInNYC();
-        int currentYear = today.getYear();
-        
-        // Get all monthly summaries for the current year
-        List<PortfolioMonthlySummary> monthlySummaries = portfolioMonthlySummaryRepository.findByYearOrderByMonth(currentYear);
-        
-        BigDecimal totalRealized = BigDecimal.ZERO;
-        
-        // Sum realized gains from all monthly summaries
-        for (PortfolioMonthlySummary summary : monthlySummaries) {
-            if (summary.getRealizedGain() != null) {
-                totalRealized = totalRealized.add(summary.getRealizedGain());
-            }
+    private void validateRange(YearMonth from, YearMonth to, LocalDate today) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("From and to months are required");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("From month " + from + " is after to month " + to);
+        }
+        if (to.isAfter(YearMonth.from(today))) {
+            throw new IllegalArgumentException("To month " + to + " is after the current month");
+        }
+        // Months without a summary are calculated live, so the range bounds the work per request
+        if (from.plusMonths(maxRangeMonths).isBefore(to.plusMonths(1))) {
+            throw new IllegalArgumentException("Range " + from + " to " + to + " is longer than " + maxRangeMonths + " months");
         }
-        
-        // Add current month's realized gains from trade history (since it might not be in summary yet)
-        YearMonth currentMonth = YearMonth.from(today);
-        LocalDate monthStart = currentMonth.atDay(1);
-        List<TradeHistory> currentMonthTrades = tradeHistoryRepository
-                .findByTradeDateBetweenOrderByTradeDateDesc(monthStart, today);
-        
-        BigDecimal currentMonthRealized = currentMonthTrades.stream()
-                .filter(trade -> trade.getTradeType() == TradeHistory.TradeType.SELL)
-                .map(this::calculateRealizedGainForTrade)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        totalRealized = totalRealized.add(currentMonthRealized);
-        
-        return totalRealized.setScale(2, java.math.RoundingMode.HALF_UP);
     }
 
-    /**
-     * Calculate total unrealized gains
-     * 
-     * @return Total unrealized gains
-     */
-    private BigDecimal calculateTotalUnrealizedGains() {
-        return calculateUnrealizedGainsAsOf(DateUtil.getCurrentDateInNYC()).setScale(2, java.math.RoundingMode.HALF_UP);
+    private static BigDecimal orZero(BigDecimal amount) {
+        return amount != null ? amount : BigDecimal.ZERO;
     }
 
     /**
-     * Calculate total P&L
-     * 
-     * @return Total P&L
+     * Chart entry of a month, from its calculated P&L or else its stored summary
+     *
+     * @param yearMonth The month
+     * @param calculated The month's calculated P&L, null if it comes from its summary
+     * @param summary The month's stored summary
+     * @return Map containing month's P&L data
      */
-    private BigDecimal calculateTotalPnL() {
-        return calculateTotalRealizedGains().add(calculateTotalUnrealizedGains()).setScale(2, java.math.RoundingMode.HALF_UP);
+    private Map<String, Object> toMonthData(YearMonth yearMonth, MonthlyPnL calculated, PortfolioMonthlySummary summary) {
+        BigDecimal realizedGains;
+        BigDecimal unrealizedGains;
+
+        if (calculated != null) {
+            realizedGains = calculated.realized();
+            unrealizedGains = calculated.unrealized();
+        } else {
+            realizedGains = orZero(summary.getRealizedGain());
+            unrealizedGains = orZero(summary.getUnrealizedGain());
+        }
+
+        Map<String, Object> monthData = new HashMap<>();
+        monthData.put("month", yearMonth.getMonth().toString().substring(0, 3).toUpperCase());
+        monthData.put("realized", realizedGains.doubleValue());
+        monthData.put("unrealized", unrealizedGains.doubleValue());
+
+        return monthData;
     }
-} 
\ No newline at end of file
+}
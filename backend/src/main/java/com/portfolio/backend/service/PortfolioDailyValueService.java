@@ -4,17 +4,28 @@ import com.portfolio.backend.model.PortfolioDailyValue;
 import com.portfolio.backend.repository.PortfolioDailyValueRepository;
 import com.portfolio.backend.repository.PortfolioItemRepository;
 import com.portfolio.backend.util.DateUtil;
+import com.portfolio.backend.util.TradingCalendar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Service
 public class PortfolioDailyValueService {
 
+    private static final Logger log = LoggerFactory.getLogger(PortfolioDailyValueService.class);
+
+    private static final String DAILY_SNAPSHOT_JOB = "daily-snapshot";
+    private static final String DAILY_SNAPSHOT_CRON = "0 0 16 * * MON-FRI";
+
     @Autowired
     private PortfolioDailyValueRepository portfolioDailyValueRepository;
     
@@ -23,6 +34,12 @@ public class PortfolioDailyValueService {
     
     @Autowired
     private CashService cashService;
+    
+    @Autowired
+    private TradingCalendar tradingCalendar;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
 
     /**
      * Save a daily portfolio snapshot (idempotent - won't overwrite existing snapshots)
@@ -96,39 +113,49 @@ public class PortfolioDailyValueService {
 
     /**
      * Scheduled job to save daily portfolio snapshot
-     * Runs at 4:00 PM EDT (market close) on weekdays only
+     * Runs at 4:00 PM EDT (market close) on weekdays only, skipping market holidays
      * Cron format: "0 0 16 * * MON-FRI" = minute hour day month day-of-week
+     * Runs on one instance only (see JobLeaseService)
      */
-    @Scheduled(cron = "0 0 16 * * MON-FRI", zone = "America/New_York")
+    @Scheduled(cron = DAILY_SNAPSHOT_CRON, zone = "America/New_York")
     public void scheduledDailySnapshot() {
-        try {
-            LocalDate today = DateUtil.getCurrentDateInNYC();
-            
-            // Only save if we don't already have a snapshot for today
-            if (!portfolioDailyValueRepository.existsBySnapshotDate(today)) {
-                PortfolioDailyValue savedSnapshot = saveTodaySnapshot();
-                System.out.println("✅ Daily portfolio snapshot saved for " + today + ": $" + savedSnapshot.getTotalValue());
-            } else {
-                System.out.println("ℹ️ Daily snapshot already exists for " + today);
-            }
-        } catch (Exception e) {
-            System.err.println("❌ Error saving daily snapshot: " + e.getMessage());
-        }
+        jobLeaseService.runScheduled(DAILY_SNAPSHOT_JOB, DAILY_SNAPSHOT_CRON, this::takeDailySnapshot);
     }
-    
+
+    /**
+     * Take the snapshot missed while no instance was running, if it is still the same day
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpDailySnapshot() {
+        jobLeaseService.catchUp(DAILY_SNAPSHOT_JOB, DAILY_SNAPSHOT_CRON, this::takeDailySnapshot);
+    }
+
     /**
-     * Scheduled job to clean up old snapshots
-     * Runs every Sunday at 2:00 AM to delete snapshots older than 30 days
-     * Cron format: "0 0 2 * * SUN" = minute hour day month day-of-week
+     * Save the snapshot of a scheduled fire; failures propagate so the job run records them
+     *
+     * @param scheduledAt The fire time (New York time)
      */
-    @Scheduled(cron = "0 0 2 * * SUN")
-    public void scheduledCleanup() {
-        try {
-            LocalDate cutoffDate = DateUtil.getCurrentDateInNYC().minusDays(30);
-            int deletedCount = portfolioDailyValueRepository.deleteSnapshotsOlderThan(cutoffDate);
-            System.out.println("🧹 Cleaned up " + deletedCount + " snapshots older than " + cutoffDate);
-        } catch (Exception e) {
-            System.err.println("❌ Error during cleanup: " + e.getMessage());
+    private void takeDailySnapshot(LocalDateTime scheduledAt) {
+        LocalDate today = DateUtil.getCurrentDateInNYC();
+
+        // Values are only known now, so a missed day cannot be snapshotted afterwards
+        if (!scheduledAt.toLocalDate().equals(today)) {
+            log.info("Skipping missed daily snapshot for {}", scheduledAt.toLocalDate());
+            return;
+        }
+        
+        // No session today, so nothing changed since the last snapshot
+        if (!tradingCalendar.isTradingDay(today)) {
+            log.info("Market closed on {}, skipping daily snapshot", today);
+            return;
+        }
+        
+        // Only save if we don't already have a snapshot for today
+        if (!portfolioDailyValueRepository.existsBySnapshotDate(today)) {
+            PortfolioDailyValue savedSnapshot = saveTodaySnapshot();
+            log.info("Daily portfolio snapshot saved for {}: ${}", today, savedSnapshot.getTotalValue());
+        } else {
+            log.info("Daily snapshot already exists for {}", today);
         }
     }
-} 
\ No newline at end of file
+}
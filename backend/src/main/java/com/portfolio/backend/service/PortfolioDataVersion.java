@@ -0,0 +1,75 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.model.DataVersion;
+import com.portfolio.backend.repository.DataVersionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Version of the portfolio's stored data (holdings, trades, cash, tax lots, realized gains and
+ * monthly summaries). Every service that writes that data bumps it, so derived results such
+ * as the P&L chart can be cached until the next write.
+ *
+ * The counter is a row in data_versions, so a write on one instance of the application drops
+ * the results cached on every other instance; reading it is one primary-key lookup. Inside a
+ * transaction the bump runs just before commit and commits with the write, so a result computed
+ * from the old data is never cached under the new version, and the row stays locked only while
+ * the transaction commits.
+ */
+@Service
+public class PortfolioDataVersion {
+
+    private static final String NAME = "portfolio";
+
+    @Autowired
+    private DataVersionRepository dataVersionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Get the current version
+     *
+     * @return Version token, the number of committed writes
+     */
+    public String current() {
+        return Long.toString(dataVersionRepository.findById(NAME).map(DataVersion::getVersion).orElse(0L));
+    }
+
+    /**
+     * Record a write of portfolio data
+     */
+    public void bump() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    increment();
+                }
+            });
+        } else {
+            increment();
+        }
+    }
+
+    private void increment() {
+        if (dataVersionRepository.increment(NAME) > 0) {
+            return;
+        }
+        // First write on this database: create the row in its own transaction, unless another instance did
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            newTransaction.executeWithoutResult(status -> dataVersionRepository.create(NAME));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created it first
+        }
+        dataVersionRepository.increment(NAME);
+    }
+}
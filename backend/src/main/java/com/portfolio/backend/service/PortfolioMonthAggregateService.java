@@ -0,0 +1,138 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.dto.MonthlyPnL;
+import com.portfolio.backend.model.PortfolioMonthAggregate;
+import com.portfolio.backend.model.PortfolioMonthlySummary;
+import com.portfolio.backend.repository.PortfolioItemRepository;
+import com.portfolio.backend.repository.PortfolioMonthAggregateRepository;
+import com.portfolio.backend.repository.PortfolioMonthlySummaryRepository;
+import com.portfolio.backend.util.DateUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Builds the current month's summary (see PortfolioMonthAggregate).
+ *
+ * The month's opening value is fixed in its row the first time the month is read. Everything
+ * else is read live: realized and unrealized P&L from PnLEngine, as for past months, and the
+ * total value from the holdings and cash balance. Buys, sells and trade history edits keep the
+ * realized gain ledger and tax lots current, so the summary needs no running totals of its own.
+ *
+ * As in createCurrentMonthSummary before, the total value counts holdings at cost (read from
+ * portfolio_items, so holdings edited directly count too) plus cash.
+ */
+@Service
+public class PortfolioMonthAggregateService {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioMonthAggregateService.class);
+
+    @Autowired
+    private PortfolioMonthAggregateRepository portfolioMonthAggregateRepository;
+
+    @Autowired
+    private PortfolioMonthlySummaryRepository portfolioMonthlySummaryRepository;
+
+    @Autowired
+    private PortfolioItemRepository portfolioItemRepository;
+
+    @Autowired
+    private CashService cashService;
+
+    @Autowired
+    private PnLEngine pnLEngine;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Get the current month's summary, without saving it
+     *
+     * @return Summary of the month so far
+     */
+    public PortfolioMonthlySummary getCurrentMonthSummary() {
+        LocalDate today = DateUtil.getCurrentDateInNYC();
+        YearMonth month = YearMonth.from(today);
+        PortfolioMonthAggregate aggregate = portfolioMonthAggregateRepository
+                .findByYearAndMonth(month.getYear(), month.getMonthValue())
+                .orElseGet(() -> openMonthIfAbsent(month));
+        return toSummary(aggregate, today);
+    }
+
+    /**
+     * Open the current month's row at startup, fixing its opening value before the first trade
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void openCurrentMonth() {
+        try {
+            YearMonth month = YearMonth.from(DateUtil.getCurrentDateInNYC());
+            if (portfolioMonthAggregateRepository.findByYearAndMonth(month.getYear(), month.getMonthValue()).isEmpty()) {
+                openMonthIfAbsent(month);
+            }
+        } catch (Exception e) {
+            log.error("Error opening the current month aggregate", e);
+        }
+    }
+
+    /**
+     * Open a month's row in its own transaction, unless another request opened it first
+     *
+     * @return The month's row
+     */
+    private PortfolioMonthAggregate openMonthIfAbsent(YearMonth month) {
+        try {
+            return transactionTemplate.execute(status -> portfolioMonthAggregateRepository.saveAndFlush(open(month)));
+        } catch (DataIntegrityViolationException e) {
+            // Another request opened it first
+            return portfolioMonthAggregateRepository.findByYearAndMonth(month.getYear(), month.getMonthValue()).orElseThrow();
+        }
+    }
+
+    /**
+     * Build a month's row: the previous month's stored value, or the value now if it has none
+     * (zero gain so far)
+     */
+    private PortfolioMonthAggregate open(YearMonth month) {
+        YearMonth previous = month.minusMonths(1);
+        BigDecimal openingValue = portfolioMonthlySummaryRepository
+                .findByYearAndMonth(previous.getYear(), previous.getMonthValue())
+                .map(PortfolioMonthlySummary::getTotalValue)
+                .orElseGet(this::currentTotalValue);
+        return new PortfolioMonthAggregate(month.getYear(), month.getMonthValue(), openingValue, LocalDateTime.now());
+    }
+
+    private PortfolioMonthlySummary toSummary(PortfolioMonthAggregate aggregate, LocalDate today) {
+        MonthlyPnL pnl = pnLEngine.calculateMonth(YearMonth.of(aggregate.getYear(), aggregate.getMonth()), today);
+        BigDecimal totalValue = currentTotalValue();
+
+        BigDecimal openingValue = aggregate.getOpeningValue();
+        BigDecimal monthlyGain = totalValue.subtract(openingValue);
+        BigDecimal monthlyGainPercentage = BigDecimal.ZERO;
+        if (openingValue.compareTo(BigDecimal.ZERO) > 0) {
+            monthlyGainPercentage = monthlyGain.divide(openingValue, 4, RoundingMode.HALF_UP)
+                    .multiply(new BigDecimal("100"));
+        }
+
+        return new PortfolioMonthlySummary(aggregate.getYear(), aggregate.getMonth(), totalValue, monthlyGain,
+                monthlyGainPercentage, pnl.realized(), pnl.unrealized());
+    }
+
+    /**
+     * Holdings at cost plus cash
+     */
+    private BigDecimal currentTotalValue() {
+        return portfolioItemRepository.getTotalPortfolioValue().orElse(BigDecimal.ZERO)
+                .add(cashService.getCashBalance());
+    }
+}
@@ -1,43 +1,79 @@
 package com.portfolio.backend.service;
 
+import com.portfolio.backend.dto.MonthlyPnL;
+import com.portfolio.backend.dto.Versioned;
 import com.portfolio.backend.model.PortfolioMonthlySummary;
-import com.portfolio.backend.model.PortfolioItem;
-import com.portfolio.backend.model.TradeHistory;
-import com.portfolio.backend.repository.PortfolioItemRepository;
 import com.portfolio.backend.repository.PortfolioMonthlySummaryRepository;
-import com.portfolio.backend.repository.TradeHistoryRepository;
+import com.portfolio.backend.util.ChunkedDeletes;
 import com.portfolio.backend.util.DateUtil;
+import com.portfolio.backend.util.TradingCalendar;
+import com.portfolio.backend.util.VersionedCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
 public class PortfolioMonthlySummaryService {
 
+    private static final String MONTH_END_SUMMARY_JOB = "month-end-summary";
+    private static final String MONTH_END_SUMMARY_CRON = "0 55 23 * * *";
+
     @Autowired
     private PortfolioMonthlySummaryRepository portfolioMonthlySummaryRepository;
-    
+
+    @Autowired
+    private PnLEngine pnLEngine;
+
     @Autowired
-    private PortfolioService portfolioService;
-    
+    private TradingCalendar tradingCalendar;
+
+    @Autowired
+    private PortfolioDataVersion portfolioDataVersion;
+
     @Autowired
-    private CashService cashService;
+    private TransactionTemplate transactionTemplate;
 
     @Autowired
-    private TradeHistoryRepository tradeHistoryRepository;
+    private JobLeaseService jobLeaseService;
 
     @Autowired
-    private PortfolioItemRepository portfolioItemRepository;
+    private MonthlySummaryBackfillService monthlySummaryBackfillService;
 
     @Autowired
-    private StockDataService stockDataService;
+    private PortfolioMonthAggregateService portfolioMonthAggregateService;
+
+    @Value("${retention.delete-chunk-size:500}")
+    private int deleteChunkSize;
+
+    // Read results per endpoint and arguments; summaries only change when portfolio data is written
+    private final VersionedCache<Object> readCache = new VersionedCache<>(64);
+
+    /**
+     * Get a read result at the current data version, computing it only if the data changed
+     * since it was cached
+     *
+     * @param key Endpoint and arguments of the read
+     * @param loader Computes the result
+     * @return The result and the data version it is valid for
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Versioned<T> getVersioned(String key, Supplier<T> loader) {
+        String version = "summaries." + portfolioDataVersion.current();
+        return new Versioned<>(version, (T) readCache.get(key, version, loader::get));
+    }
 
     /**
      * Get all monthly summaries
@@ -112,13 +148,10 @@ public class PortfolioMonthlySummaryService {
                     .multiply(new BigDecimal("100"));
         }
         
-        // Calculate realized/unrealized for this month
-        YearMonth targetMonth = YearMonth.of(year, month);
-        BigDecimal realizedForMonth = calculateMonthlyRealized(targetMonth);
-        // If the month is before the current month, use month-end unrealized; otherwise use today's unrealized
-        LocalDate today = DateUtil.getCurrentDateInNYC();
-        LocalDate asOfDate = targetMonth.isBefore(YearMonth.from(today)) ? targetMonth.atEndOfMonth() : today;
-        BigDecimal unrealizedAsOf = calculateUnrealizedAsOf(asOfDate);
+        // Calculate realized/unrealized for this month: month-end unrealized for a past month, today's otherwise
+        MonthlyPnL pnl = pnLEngine.calculateMonth(YearMonth.of(year, month), DateUtil.getCurrentDateInNYC());
+        BigDecimal realizedForMonth = pnl.realized();
+        BigDecimal unrealizedAsOf = pnl.unrealized();
 
         // Check if summary already exists
         Optional<PortfolioMonthlySummary> existingSummary = portfolioMonthlySummaryRepository.findByYearAndMonth(year, month);
@@ -138,54 +171,43 @@ public class PortfolioMonthlySummaryService {
                     realizedForMonth, unrealizedAsOf);
         }
         
-        return portfolioMonthlySummaryRepository.save(summary);
+        PortfolioMonthlySummary saved = portfolioMonthlySummaryRepository.save(summary);
+        portfolioDataVersion.bump();
+        return saved;
     }
 
     /**
-     * Create monthly summary for current month
+     * Get the current month so far (see PortfolioMonthAggregateService), without saving it
      * 
-     * @return The created monthly summary
+     * @return The current month's summary
      */
-    public PortfolioMonthlySummary createCurrentMonthSummary() {
-        LocalDate now = DateUtil.getCurrentDateInNYC();
-        int year = now.getYear();
-        int month = now.getMonthValue();
-        
-        // Get current total portfolio value (investments + cash)
-        BigDecimal currentTotalValue = portfolioService.getTotalPortfolioValue().add(cashService.getCashBalance());
-        
-        // Get previous month's value or use current value if no previous data
-        BigDecimal previousMonthValue = getPreviousMonthValue(year, month);
-        
-        return createOrUpdateMonthlySummary(year, month, currentTotalValue, previousMonthValue);
+    public PortfolioMonthlySummary getCurrentMonthSummary() {
+        return portfolioMonthAggregateService.getCurrentMonthSummary();
     }
 
     /**
-     * Get the total portfolio value for the previous month
+     * Create monthly summary for current month (see PortfolioMonthAggregateService)
      * 
-     * @param year Current year
-     * @param month Current month
-     * @return Previous month's total value or current value if no previous data
+     * @return The created monthly summary
      */
-    private BigDecimal getPreviousMonthValue(Integer year, Integer month) {
-        // Calculate previous month
-        int previousYear = year;
-        int previousMonth = month - 1;
-        
-        if (previousMonth == 0) {
-            previousMonth = 12;
-            previousYear = year - 1;
-        }
-        
-        // Try to get previous month's summary
-        Optional<PortfolioMonthlySummary> previousSummary = portfolioMonthlySummaryRepository.findByYearAndMonth(previousYear, previousMonth);
-        
-        if (previousSummary.isPresent()) {
-            return previousSummary.get().getTotalValue();
-        } else {
-            // If no previous data, use current value (will result in 0 gain)
-            return portfolioService.getTotalPortfolioValue().add(cashService.getCashBalance());
+    public PortfolioMonthlySummary createCurrentMonthSummary() {
+        PortfolioMonthlySummary current = portfolioMonthAggregateService.getCurrentMonthSummary();
+
+        // Check if summary already exists
+        PortfolioMonthlySummary summary = portfolioMonthlySummaryRepository
+                .findByYearAndMonth(current.getYear(), current.getMonth())
+                .orElse(current);
+        if (summary != current) {
+            summary.setTotalValue(current.getTotalValue());
+            summary.setMonthlyGain(current.getMonthlyGain());
+            summary.setMonthlyGainPercentage(current.getMonthlyGainPercentage());
+            summary.setRealizedGain(current.getRealizedGain());
+            summary.setUnrealizedGain(current.getUnrealizedGain());
         }
+
+        PortfolioMonthlySummary saved = portfolioMonthlySummaryRepository.save(summary);
+        portfolioDataVersion.bump();
+        return saved;
     }
 
     /**
@@ -199,13 +221,14 @@ public class PortfolioMonthlySummaryService {
         Optional<PortfolioMonthlySummary> summary = portfolioMonthlySummaryRepository.findByYearAndMonth(year, month);
         if (summary.isPresent()) {
             portfolioMonthlySummaryRepository.delete(summary.get());
+            portfolioDataVersion.bump();
             return true;
         }
         return false;
     }
 
     /**
-     * Clean up old monthly summaries (keep only last year)
+     * Clean up old monthly summaries (keep only last year), deleting in chunks
      * 
      * @return Number of summaries deleted
      */
@@ -213,149 +236,76 @@ public class PortfolioMonthlySummaryService {
         LocalDate now = DateUtil.getCurrentDateInNYC();
         int cutoffYear = now.getYear() - 1;
         
-        List<PortfolioMonthlySummary> allSummaries = portfolioMonthlySummaryRepository.findAll();
-        int deletedCount = 0;
+        int deletedCount = ChunkedDeletes.deleteInChunks(transactionTemplate, deleteChunkSize,
+                page -> portfolioMonthlySummaryRepository.findIdsByYearBefore(cutoffYear, page),
+                portfolioMonthlySummaryRepository::deleteByIdIn);
         
-        for (PortfolioMonthlySummary summary : allSummaries) {
-            if (summary.getYear() < cutoffYear) {
-                portfolioMonthlySummaryRepository.delete(summary);
-                deletedCount++;
-            }
+        if (deletedCount > 0) {
+            portfolioDataVersion.bump();
         }
-        
         return deletedCount;
     }
 
     /**
-     * Delete all monthly summaries
+     * Delete all monthly summaries, in chunks
      * 
      * @return Number of summaries deleted
      */
     public int deleteAllMonthlySummaries() {
-        List<PortfolioMonthlySummary> allSummaries = portfolioMonthlySummaryRepository.findAll();
-        int count = allSummaries.size();
-        portfolioMonthlySummaryRepository.deleteAll();
+        int count = ChunkedDeletes.deleteInChunks(transactionTemplate, deleteChunkSize,
+                portfolioMonthlySummaryRepository::findIds,
+                portfolioMonthlySummaryRepository::deleteByIdIn);
+        portfolioDataVersion.bump();
         return count;
     }
 
     /**
-     * Delete all daily records (records with month > 12)
+     * Delete all daily records (records with month > 12), in chunks
      * 
      * @return Number of daily records deleted
      */
     public int deleteAllDailyRecords() {
-        List<PortfolioMonthlySummary> allRecords = portfolioMonthlySummaryRepository.findAll();
-        int deletedCount = 0;
+        int deletedCount = ChunkedDeletes.deleteInChunks(transactionTemplate, deleteChunkSize,
+                portfolioMonthlySummaryRepository::findIdsOfDailyRecords,
+                portfolioMonthlySummaryRepository::deleteByIdIn);
         
-        for (PortfolioMonthlySummary record : allRecords) {
-            if (record.getMonth() > 12) {
-                portfolioMonthlySummaryRepository.delete(record);
-                deletedCount++;
-            }
+        if (deletedCount > 0) {
+            portfolioDataVersion.bump();
         }
-        
         return deletedCount;
     }
 
-    // ================= Helper calculations and scheduler =================
+    // ================= Scheduler =================
 
-    private BigDecimal calculateMonthlyRealized(YearMonth yearMonth) {
-        LocalDate monthStart = yearMonth.atDay(1);
-        LocalDate monthEnd = yearMonth.atEndOfMonth();
-
-        List<TradeHistory> monthTrades = tradeHistoryRepository
-                .findByTradeDateBetweenOrderByTradeDateDesc(monthStart, monthEnd);
-
-        BigDecimal realizedGains = monthTrades.stream()
-                .filter(trade -> trade.getTradeType() == TradeHistory.TradeType.SELL)
-                .map(this::calculateRealizedGainForTrade)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        return realizedGains.setScale(2, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal calculateRealizedGainForTrade(TradeHistory sellTrade) {
-        List<TradeHistory> buyTrades = tradeHistoryRepository
-                .findByTickerAndTradeTypeAndTradeDateBeforeOrderByTradeDateAsc(
-                        sellTrade.getTicker(), TradeHistory.TradeType.BUY, sellTrade.getTradeDate());
-
-        if (buyTrades.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-
-        BigDecimal totalBuyValue = buyTrades.stream()
-                .map(TradeHistory::getTotalValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        int totalBuyQuantity = buyTrades.stream()
-                .mapToInt(TradeHistory::getQuantity)
-                .sum();
-
-        if (totalBuyQuantity == 0) {
-            return BigDecimal.ZERO;
-        }
-
-        BigDecimal averageBuyPrice = totalBuyValue.divide(BigDecimal.valueOf(totalBuyQuantity), RoundingMode.HALF_UP);
-
-        BigDecimal sellValue = sellTrade.getTotalValue();
-        BigDecimal buyValue = averageBuyPrice.multiply(BigDecimal.valueOf(sellTrade.getQuantity()));
-        return sellValue.subtract(buyValue);
-    }
-
-    private BigDecimal calculateUnrealizedAsOf(LocalDate asOfDate) {
-        List<PortfolioItem> holdings = portfolioItemRepository.findAll();
-        BigDecimal totalUnrealized = BigDecimal.ZERO;
-
-        for (PortfolioItem holding : holdings) {
-            if (holding.getBuyDate().isAfter(asOfDate)) {
-                continue;
-            }
-            BigDecimal currentPrice = getCurrentPrice(holding.getTicker());
-            BigDecimal buyPrice = holding.getBuyPrice();
-            BigDecimal unrealized = currentPrice.subtract(buyPrice)
-                    .multiply(BigDecimal.valueOf(holding.getQuantity()));
-            totalUnrealized = totalUnrealized.add(unrealized);
-        }
-
-        return totalUnrealized.setScale(2, RoundingMode.HALF_UP);
+    // Run daily at 23:55 ET on one instance; if the day is the last trading day of its month, write the monthly summary
+    @Scheduled(cron = MONTH_END_SUMMARY_CRON, zone = "America/New_York")
+    public void scheduledMonthEndSummary() {
+        jobLeaseService.runScheduled(MONTH_END_SUMMARY_JOB, MONTH_END_SUMMARY_CRON, this::writeMonthEndSummary);
     }
 
-    private BigDecimal getCurrentPrice(String ticker) {
-        try {
-            List<java.util.Map<String, Object>> stockData = stockDataService.getStockData(java.util.List.of(ticker));
-            if (!stockData.isEmpty() && stockData.get(0).get("price") != null) {
-                Object priceObj = stockData.get(0).get("price");
-                if (priceObj instanceof Number) {
-                    return BigDecimal.valueOf(((Number) priceObj).doubleValue());
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error fetching current price for " + ticker + ": " + e.getMessage());
-        }
-        List<PortfolioItem> holdings = portfolioItemRepository.findByTicker(ticker);
-        if (!holdings.isEmpty()) {
-            return holdings.get(0).getBuyPrice();
-        }
-        return BigDecimal.ZERO;
+    // At startup, write the month-end summaries missed while no instance was running
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpMonthEndSummary() {
+        jobLeaseService.catchUp(MONTH_END_SUMMARY_JOB, MONTH_END_SUMMARY_CRON, this::writeMonthEndSummary);
     }
 
-    // Run daily at 23:55 EST; if today is last day of month, write the monthly summary
-    @Scheduled(cron = "0 55 23 * * *")
-    public void scheduledMonthEndSummary() {
-        LocalDate today = DateUtil.getCurrentDateInNYC();
-        YearMonth ym = YearMonth.from(today);
-        if (!today.equals(ym.atEndOfMonth())) {
+    private void writeMonthEndSummary(LocalDateTime scheduledAt) {
+        LocalDate day = scheduledAt.toLocalDate();
+        YearMonth ym = YearMonth.from(day);
+        if (!day.equals(tradingCalendar.lastTradingDayOfMonth(ym))) {
             return;
         }
 
-        int year = ym.getYear();
-        int month = ym.getMonthValue();
-        if (portfolioMonthlySummaryRepository.existsByYearAndMonth(year, month)) {
+        // A missed past month can no longer be valued live, so rebuild it from trade history; the
+        // backfill stores holdings at cost plus cash like a live summary, so next month's gain holds
+        if (ym.isBefore(YearMonth.from(DateUtil.getCurrentDateInNYC()))) {
+            if (!portfolioMonthlySummaryRepository.existsByYearAndMonth(ym.getYear(), ym.getMonthValue())) {
+                monthlySummaryBackfillService.backfill(ym, ym);
+            }
             return;
         }
 
-        BigDecimal totalValue = portfolioService.getTotalPortfolioValue().add(cashService.getCashBalance());
-        BigDecimal previousMonthValue = getPreviousMonthValue(year, month);
-        createOrUpdateMonthlySummary(year, month, totalValue, previousMonthValue);
+        // The month is still current, so value it live and write it over any summary saved earlier
+        createCurrentMonthSummary();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,137 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.model.PortfolioDailyValue;
+import com.portfolio.backend.model.PortfolioValueRollup;
+import com.portfolio.backend.repository.PortfolioDailyValueRepository;
+import com.portfolio.backend.repository.PortfolioValueRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Retention of daily portfolio snapshots. Snapshots older than the raw window are rolled up
+ * into weekly and monthly rollups (open, close, min, max and average total value) and then
+ * purged, so long-range charts read a few rollups per year and history is never lost.
+ *
+ * Snapshots are compacted oldest first in chunks; each chunk's rollups and the DELETE of its
+ * snapshots commit together, so an interrupted run never counts a snapshot twice.
+ */
+@Service
+public class PortfolioRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioRetentionService.class);
+
+    private static final String COMPACTION_JOB = "daily-value-compaction";
+    private static final String COMPACTION_CRON = "0 0 2 * * SUN";
+
+    @Autowired
+    private PortfolioDailyValueRepository portfolioDailyValueRepository;
+
+    @Autowired
+    private PortfolioValueRollupRepository portfolioValueRollupRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Value("${retention.daily-values.raw-days:30}")
+    private int rawDays;
+
+    @Value("${retention.delete-chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Roll up and purge the daily snapshots before a date
+     *
+     * @param cutoffDate Snapshots before this date are compacted
+     * @return Number of snapshots compacted
+     */
+    public int compactDailyValues(LocalDate cutoffDate) {
+        int compacted = 0;
+        while (true) {
+            Integer chunk = transactionTemplate.execute(status -> compactChunk(cutoffDate));
+            if (chunk == null || chunk == 0) {
+                return compacted;
+            }
+            compacted += chunk;
+        }
+    }
+
+    /**
+     * Get the weekly or monthly rollups of the periods starting between two dates
+     *
+     * @param period WEEK or MONTH
+     * @param startDate First period start (inclusive)
+     * @param endDate Last period start (inclusive)
+     * @return Rollups, oldest first
+     */
+    public List<PortfolioValueRollup> getRollups(PortfolioValueRollup.Period period, LocalDate startDate, LocalDate endDate) {
+        return portfolioValueRollupRepository.findByPeriodAndPeriodStartBetweenOrderByPeriodStart(period, startDate, endDate);
+    }
+
+    /**
+     * Scheduled job to compact old snapshots
+     * Runs every Sunday at 2:00 AM ET on one instance, keeping the last retention.daily-values.raw-days
+     * days of raw snapshots
+     */
+    @Scheduled(cron = COMPACTION_CRON, zone = "America/New_York")
+    public void scheduledCompaction() {
+        jobLeaseService.runScheduled(COMPACTION_JOB, COMPACTION_CRON, this::compact);
+    }
+
+    /**
+     * Run the compactions missed while no instance was running
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpCompaction() {
+        jobLeaseService.catchUp(COMPACTION_JOB, COMPACTION_CRON, this::compact);
+    }
+
+    private void compact(LocalDateTime scheduledAt) {
+        LocalDate cutoffDate = scheduledAt.toLocalDate().minusDays(rawDays);
+        int compacted = compactDailyValues(cutoffDate);
+        log.info("Rolled up and purged {} snapshots older than {}", compacted, cutoffDate);
+    }
+
+    private int compactChunk(LocalDate cutoffDate) {
+        List<PortfolioDailyValue> snapshots = portfolioDailyValueRepository
+                .findBySnapshotDateBeforeOrderBySnapshotDateAscIdAsc(cutoffDate, PageRequest.of(0, chunkSize));
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+
+        for (PortfolioValueRollup.Period period : PortfolioValueRollup.Period.values()) {
+            Map<LocalDate, PortfolioValueRollup> rollups = new LinkedHashMap<>();
+            for (PortfolioDailyValue snapshot : snapshots) {
+                LocalDate periodStart = period.startOf(snapshot.getSnapshotDate());
+                rollups.computeIfAbsent(periodStart, start -> portfolioValueRollupRepository
+                                .findByPeriodAndPeriodStart(period, start)
+                                .orElseGet(() -> new PortfolioValueRollup(period, start)))
+                        .add(snapshot.getSnapshotDate(), snapshot.getTotalValue());
+            }
+            portfolioValueRollupRepository.saveAll(rollups.values());
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (PortfolioDailyValue snapshot : snapshots) {
+            ids.add(snapshot.getId());
+        }
+        return portfolioDailyValueRepository.deleteByIdIn(ids);
+    }
+}
@@ -6,15 +6,20 @@ import com.portfolio.backend.model.PortfolioItem;
 import com.portfolio.backend.model.PortfolioDailyValue;
 import com.portfolio.backend.repository.PortfolioItemRepository;
 import com.portfolio.backend.util.DateUtil;
+import com.portfolio.backend.util.Money;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,6 +33,15 @@ public class PortfolioService {
     
     @Autowired
     private PortfolioDailyValueService portfolioDailyValueService;
+    
+    @Autowired
+    private PriceBoard priceBoard;
+
+    @Autowired
+    private TaxLotService taxLotService;
+
+    @Autowired
+    private PortfolioDataVersion portfolioDataVersion;
 
     /**
      * Get all portfolio items
@@ -59,10 +73,14 @@ public class PortfolioService {
      * @return The saved portfolio item response
      * @throws IllegalArgumentException if validation fails
      */
+    @Transactional
     public PortfolioItemResponse addPortfolioItem(PortfolioItemRequest request) {
         validatePortfolioItemRequest(request);
         PortfolioItem portfolioItem = convertToEntity(request);
         PortfolioItem savedItem = portfolioItemRepository.save(portfolioItem);
+        // The added shares get a tax lot, so they can be sold and valued like bought ones
+        taxLotService.reconcile(savedItem.getTicker());
+        portfolioDataVersion.bump();
         return convertToResponse(savedItem);
     }
 
@@ -74,9 +92,12 @@ public class PortfolioService {
      * @return The updated portfolio item
      * @throws IllegalArgumentException if item not found
      */
+    @Transactional
     public PortfolioItemResponse updatePortfolioItem(Long id, PortfolioItemRequest request) {
         PortfolioItem existingItem = portfolioItemRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Portfolio item not found with id: " + id));
+        String previousTicker = existingItem.getTicker();
+        boolean priceEdited = request.getBuyPrice() != null && request.getBuyPrice().compareTo(existingItem.getBuyPrice()) != 0;
 
         // Update fields if provided
         if (request.getTicker() != null) {
@@ -93,6 +114,16 @@ public class PortfolioService {
         }
 
         PortfolioItem updatedItem = portfolioItemRepository.save(existingItem);
+        // Keep the tax lots in step; an edited price replaces the lots with one at that price
+        if (!previousTicker.equals(updatedItem.getTicker())) {
+            taxLotService.reconcile(previousTicker);
+        }
+        if (priceEdited) {
+            taxLotService.resetLots(updatedItem.getTicker());
+        } else {
+            taxLotService.reconcile(updatedItem.getTicker());
+        }
+        portfolioDataVersion.bump();
         return convertToResponse(updatedItem);
     }
 
@@ -102,12 +133,17 @@ public class PortfolioService {
      * @param id The ID of the portfolio item to delete
      * @return true if deleted, false if not found
      */
+    @Transactional
     public boolean deletePortfolioItem(Long id) {
-        if (portfolioItemRepository.existsById(id)) {
-            portfolioItemRepository.deleteById(id);
-            return true;
+        Optional<PortfolioItem> item = portfolioItemRepository.findById(id);
+        if (item.isEmpty()) {
+            return false;
         }
-        return false;
+        portfolioItemRepository.delete(item.get());
+        // The deleted shares' lots are relieved without realizing a gain
+        taxLotService.reconcile(item.get().getTicker());
+        portfolioDataVersion.bump();
+        return true;
     }
 
     /**
@@ -170,10 +206,53 @@ public class PortfolioService {
      * @return Map containing portfolio statistics
      */
     public Map<String, Object> getPortfolioStats() {
+        return buildPortfolioStats(getTotalPortfolioValue());
+    }
+
+    /**
+     * Get portfolio statistics with investments valued at current market prices.
+     * Prices come from the price board; holdings without a board price yet are valued at buy price.
+     * 
+     * @return Map containing portfolio statistics plus cost basis and unrealized gain
+     */
+    public Map<String, Object> getPortfolioMarketStats() {
+        List<PortfolioItem> holdings = portfolioItemRepository.findAll();
+        Set<String> tickers = new HashSet<>();
+        for (PortfolioItem holding : holdings) {
+            tickers.add(holding.getTicker());
+        }
+        Map<String, BigDecimal> currentPrices = priceBoard.getPrices(tickers);
+
+        // Sum in micro-units; quoted prices can carry sub-micro digits and are rounded once each
+        long costBasisMicros = 0;
+        long marketValueMicros = 0;
+        for (PortfolioItem holding : holdings) {
+            long buyPriceMicros = Money.toMicros(holding.getBuyPrice(), RoundingMode.HALF_UP);
+            BigDecimal currentPrice = currentPrices.get(holding.getTicker());
+            long currentPriceMicros = currentPrice != null ? Money.toMicros(currentPrice, RoundingMode.HALF_UP) : buyPriceMicros;
+            costBasisMicros = Math.addExact(costBasisMicros, Money.multiply(buyPriceMicros, holding.getQuantity()));
+            marketValueMicros = Math.addExact(marketValueMicros, Money.multiply(currentPriceMicros, holding.getQuantity()));
+        }
+        BigDecimal costBasis = BigDecimal.valueOf(costBasisMicros, Money.SCALE);
+        BigDecimal marketValue = BigDecimal.valueOf(marketValueMicros, Money.SCALE);
+
+        Map<String, Object> stats = buildPortfolioStats(marketValue);
+        stats.put("costBasis", formatCurrency(costBasis));
+        stats.put("unrealizedGain", formatCurrency(marketValue.subtract(costBasis)));
+        stats.put("priceVersion", priceBoard.getVersion());
+        return stats;
+    }
+
+    /**
+     * Build portfolio statistics for a given investments value
+     * 
+     * @param totalPortfolioValue Value of all holdings
+     * @return Map containing portfolio statistics
+     */
+    private Map<String, Object> buildPortfolioStats(BigDecimal totalPortfolioValue) {
         Map<String, Object> stats = new HashMap<>();
         
         BigDecimal cash = cashService.getCashBalance();
-        BigDecimal totalPortfolioValue = getTotalPortfolioValue(); // investments
         BigDecimal totalAssets = totalPortfolioValue.add(cash);
                 
         // Calculate day's gain
@@ -0,0 +1,160 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.dto.Quote;
+import com.portfolio.backend.repository.PortfolioItemRepository;
+import com.portfolio.backend.util.TradingCalendar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory board of the latest quote for every held ticker.
+ * A scheduled job batch-refreshes all held tickers while the market is open, plus once
+ * after the close to capture closing prices; holidays and early closes follow the trading calendar. Request handling only reads the board, so
+ * pricing a portfolio never waits on the upstream quote API.
+ */
+@Service
+public class PriceBoard {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceBoard.class);
+
+    private final StockDataService stockDataService;
+    private final PortfolioItemRepository portfolioItemRepository;
+    private final TradingCalendar tradingCalendar;
+    private final ConcurrentHashMap<String, BoardEntry> board = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Boolean> pendingSymbols = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile boolean refreshedSinceClose;
+
+    @Autowired
+    public PriceBoard(StockDataService stockDataService, PortfolioItemRepository portfolioItemRepository,
+                      TradingCalendar tradingCalendar) {
+        this.stockDataService = stockDataService;
+        this.portfolioItemRepository = portfolioItemRepository;
+        this.tradingCalendar = tradingCalendar;
+    }
+
+    /**
+     * Latest quote on the board together with the board version it was written at
+     */
+    public record BoardEntry(Quote quote, long version) {
+    }
+
+    /**
+     * Get the latest quote for a symbol
+     *
+     * @param symbol Stock symbol
+     * @return The board entry, or null if the symbol is not on the board
+     */
+    public BoardEntry get(String symbol) {
+        return board.get(symbol.toUpperCase());
+    }
+
+    /**
+     * Get current prices from the board. Symbols not on the board yet are absent from
+     * the result and are fetched in the background so the next read can price them.
+     *
+     * @param tickers Stock tickers
+     * @return Map of ticker to current price; tickers that are not on the board are absent
+     */
+    public Map<String, BigDecimal> getPrices(Collection<String> tickers) {
+        Map<String, BigDecimal> prices = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String ticker : tickers) {
+            BoardEntry entry = board.get(ticker.toUpperCase());
+            if (entry != null) {
+                prices.put(ticker, entry.quote().price());
+            } else {
+                missing.add(ticker.toUpperCase());
+            }
+        }
+        if (!missing.isEmpty()) {
+            fetchInBackground(missing);
+        }
+        return prices;
+    }
+
+    /**
+     * Get the board version; it increases every time a price on the board changes
+     *
+     * @return Current board version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Refresh every held ticker while the market is open, and once after it closes. This
+     * blocks its scheduler thread for up to the fan-out deadline, which is why the scheduler
+     * pool (spring.task.scheduling.pool.size) has a thread per job.
+     */
+    @Scheduled(fixedDelayString = "${price-board.refresh-ms:15000}")
+    public void scheduledRefresh() {
+        refresh(ZonedDateTime.now(TradingCalendar.NEW_YORK));
+    }
+
+    /**
+     * Refresh the board as of the given time
+     *
+     * @param now Current time
+     * @return true if the board was refreshed, false if it was skipped because the market is closed
+     */
+    boolean refresh(ZonedDateTime now) {
+        boolean open = tradingCalendar.isOpen(now);
+        if (!open && refreshedSinceClose) {
+            return false;
+        }
+        List<String> tickers = portfolioItemRepository.findDistinctTickers();
+        if (!tickers.isEmpty()) {
+            try {
+                update(stockDataService.getStockData(tickers));
+            } catch (Exception e) {
+                log.warn("Error refreshing price board: {}", e.getMessage());
+                return false;
+            }
+        }
+        refreshedSinceClose = !open;
+        return true;
+    }
+
+    private void fetchInBackground(List<String> symbols) {
+        List<String> claimed = new ArrayList<>();
+        for (String symbol : symbols) {
+            if (pendingSymbols.putIfAbsent(symbol, Boolean.TRUE) == null) {
+                claimed.add(symbol);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+        stockDataService.streamStockData(claimed)
+                .collectList()
+                .doFinally(signal -> claimed.forEach(pendingSymbols::remove))
+                .subscribe(this::update, e -> log.warn("Error fetching prices for board: {}", e.getMessage()));
+    }
+
+    private void update(List<Quote> quotes) {
+        for (Quote quote : quotes) {
+            if (quote.hasError() || quote.price() == null) {
+                continue;
+            }
+            // A stale last-known quote only fills a gap; it never replaces what the board already has
+            board.compute(quote.symbol().toUpperCase(), (symbol, current) ->
+                    current != null && (quote.stale() || current.quote().equals(quote)) ?
+                            current :
+                            new BoardEntry(quote, version.incrementAndGet()));
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.dto.DailyBar;
+import com.portfolio.backend.model.PriceBar;
+import com.portfolio.backend.provider.PriceHistoryProvider;
+import com.portfolio.backend.repository.PortfolioItemRepository;
+import com.portfolio.backend.repository.PriceBarRepository;
+import com.portfolio.backend.util.DateUtil;
+import com.portfolio.backend.util.TradingCalendar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Persistent store of daily closing prices for held tickers.
+ * The first ingest of a ticker loads several years of daily bars in one upstream call and
+ * writes them with batched inserts; after that a daily job appends only the bars since the
+ * latest stored date. Valuations as of a past date read closes from the store and never
+ * call the upstream quote API.
+ */
+@Service
+public class PriceHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceHistoryService.class);
+
+    private static final int BATCH_SIZE = 500;
+    private static final int PRICE_SCALE = 4;
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(30);
+    private static final String INSERT_BAR_SQL =
+            "INSERT INTO price_bars (ticker, bar_date, open_price, high_price, low_price, close_price, volume) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final PriceHistoryProvider historyProvider;
+    private final PriceBarRepository priceBarRepository;
+    private final PortfolioItemRepository portfolioItemRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PriceBoard priceBoard;
+    private final TradingCalendar tradingCalendar;
+    private final int historyYears;
+
+    @Autowired
+    public PriceHistoryService(PriceHistoryProvider historyProvider,
+                               PriceBarRepository priceBarRepository,
+                               PortfolioItemRepository portfolioItemRepository,
+                               JdbcTemplate jdbcTemplate,
+                               PriceBoard priceBoard,
+                               TradingCalendar tradingCalendar,
+                               @Value("${price-history.years:5}") int historyYears) {
+        this.historyProvider = historyProvider;
+        this.priceBarRepository = priceBarRepository;
+        this.portfolioItemRepository = portfolioItemRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.priceBoard = priceBoard;
+        this.tradingCalendar = tradingCalendar;
+        this.historyYears = historyYears;
+    }
+
+    /**
+     * Scheduled job to append the day's bar for every held ticker
+     * Runs at 4:30 PM ET on weekdays, after the close has settled; skipped on market holidays
+     * Tickers without stored history get their full multi-year backfill instead
+     */
+    @Scheduled(cron = "${price-history.ingest-cron:0 30 16 * * MON-FRI}", zone = "America/New_York")
+    public void scheduledIngest() {
+        ZonedDateTime now = ZonedDateTime.now(TradingCalendar.NEW_YORK);
+        if (!tradingCalendar.isTradingDay(now.toLocalDate())) {
+            return;
+        }
+        Map<String, Integer> inserted = ingestHeldTickers(now);
+        int total = inserted.values().stream().mapToInt(Integer::intValue).sum();
+        log.info("Stored {} daily price bars for {} tickers", total, inserted.size());
+    }
+
+    /**
+     * Ingest missing daily bars for every held ticker
+     *
+     * @param now Current time; today's bar is only stored once the session has closed
+     * @return Number of bars inserted per ticker; tickers that failed are absent
+     */
+    public Map<String, Integer> ingestHeldTickers(ZonedDateTime now) {
+        Map<String, Integer> inserted = new LinkedHashMap<>();
+        for (String ticker : portfolioItemRepository.findDistinctTickers()) {
+            try {
+                inserted.put(ticker, ingest(ticker, now));
+            } catch (Exception e) {
+                log.error("Error ingesting price history for {}", ticker, e);
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Ingest the daily bars of a ticker that are not stored yet.
+     * Without stored history this loads price-history.years of bars; otherwise it appends
+     * the bars after the latest stored date.
+     *
+     * @param ticker The ticker
+     * @param now Current time; today's bar is only stored once the session has closed
+     * @return Number of bars inserted
+     */
+    public int ingest(String ticker, ZonedDateTime now) {
+        String symbol = ticker.toUpperCase();
+        LocalDate today = now.withZoneSameInstant(TradingCalendar.NEW_YORK).toLocalDate();
+        LocalDate lastComplete = tradingCalendar.hasClosed(now) ? today : today.minusDays(1);
+        LocalDate from = priceBarRepository.findLatestBarDate(symbol)
+                .map(latest -> latest.plusDays(1))
+                .orElse(today.minusYears(historyYears));
+        if (from.isAfter(lastComplete)) {
+            return 0;
+        }
+
+        List<DailyBar> bars = historyProvider.fetchDailyBars(symbol, from, lastComplete).block(FETCH_TIMEOUT);
+        if (bars == null || bars.isEmpty()) {
+            return 0;
+        }
+        List<DailyBar> missing = new ArrayList<>(bars.size());
+        for (DailyBar bar : bars) {
+            if (!bar.date().isBefore(from) && !bar.date().isAfter(lastComplete)) {
+                missing.add(bar);
+            }
+        }
+        return insertBars(symbol, missing);
+    }
+
+    /**
+     * Get the stored bar of a ticker as of a date
+     *
+     * @param ticker The ticker
+     * @param date The as-of date
+     * @return Optional containing the latest stored bar on or before the date
+     */
+    public Optional<PriceBar> getBarAsOf(String ticker, LocalDate date) {
+        return priceBarRepository.findTopByTickerAndBarDateLessThanEqualOrderByBarDateDesc(ticker.toUpperCase(), date);
+    }
+
+    /**
+     * Get prices for several tickers as of a date.
+     * For a past date each ticker is priced at its latest stored close on or before the
+     * date; tickers without stored history, and every ticker when the date is today or
+     * later, are priced from the price board.
+     *
+     * @param tickers The tickers
+     * @param date The as-of date
+     * @return Map of ticker to price; tickers that could not be priced are absent
+     */
+    public Map<String, BigDecimal> getPricesAsOf(Collection<String> tickers, LocalDate date) {
+        if (tickers.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> tickersBySymbol = new HashMap<>();
+        for (String ticker : tickers) {
+            tickersBySymbol.put(ticker.toUpperCase(), ticker);
+        }
+
+        Map<String, BigDecimal> prices = new HashMap<>();
+        if (date.isBefore(DateUtil.getCurrentDateInNYC())) {
+            for (PriceBar bar : priceBarRepository.findLatestOnOrBefore(tickersBySymbol.keySet(), date)) {
+                prices.put(tickersBySymbol.get(bar.getTicker()), bar.getClosePrice());
+            }
+        }
+        if (prices.size() < tickersBySymbol.size()) {
+            List<String> unpriced = new ArrayList<>();
+            for (String ticker : tickersBySymbol.values()) {
+                if (!prices.containsKey(ticker)) {
+                    unpriced.add(ticker);
+                }
+            }
+            prices.putAll(priceBoard.getPrices(unpriced));
+        }
+        return prices;
+    }
+
+    /**
+     * Get prices for several tickers as of several dates.
+     * The closes of all tickers on the last trading day on or before each past date are read
+     * in one query; a ticker without a bar on that day falls back to getPricesAsOf for that
+     * date. Today and later dates are priced from the price board.
+     *
+     * @param tickers The tickers
+     * @param dates The as-of dates
+     * @return Map of date to its prices by ticker; tickers that could not be priced are absent
+     */
+    public Map<LocalDate, Map<String, BigDecimal>> getPricesAsOf(Collection<String> tickers, Collection<LocalDate> dates) {
+        Map<LocalDate, Map<String, BigDecimal>> pricesByDate = new HashMap<>();
+        if (tickers.isEmpty()) {
+            for (LocalDate date : dates) {
+                pricesByDate.put(date, Map.of());
+            }
+            return pricesByDate;
+        }
+        Map<String, String> tickersBySymbol = new HashMap<>();
+        for (String ticker : tickers) {
+            tickersBySymbol.put(ticker.toUpperCase(), ticker);
+        }
+
+        LocalDate today = DateUtil.getCurrentDateInNYC();
+        Map<LocalDate, LocalDate> sessionByDate = new HashMap<>();
+        for (LocalDate date : dates) {
+            if (date.isBefore(today)) {
+                sessionByDate.put(date, lastTradingDayOnOrBefore(date));
+            }
+        }
+        Map<LocalDate, Map<String, BigDecimal>> closesBySession = new HashMap<>();
+        if (!sessionByDate.isEmpty()) {
+            for (PriceBar bar : priceBarRepository.findByTickerInAndBarDateIn(tickersBySymbol.keySet(),
+                    new HashSet<>(sessionByDate.values()))) {
+                closesBySession.computeIfAbsent(bar.getBarDate(), session -> new HashMap<>())
+                        .put(tickersBySymbol.get(bar.getTicker()), bar.getClosePrice());
+            }
+        }
+
+        for (LocalDate date : dates) {
+            LocalDate session = sessionByDate.get(date);
+            if (session == null) {
+                pricesByDate.put(date, getPricesAsOf(tickers, date));
+                continue;
+            }
+            Map<String, BigDecimal> prices = new HashMap<>(closesBySession.getOrDefault(session, Map.of()));
+            if (prices.size() < tickersBySymbol.size()) {
+                List<String> unpriced = new ArrayList<>();
+                for (String ticker : tickersBySymbol.values()) {
+                    if (!prices.containsKey(ticker)) {
+                        unpriced.add(ticker);
+                    }
+                }
+                prices.putAll(getPricesAsOf(unpriced, date));
+            }
+            pricesByDate.put(date, prices);
+        }
+        return pricesByDate;
+    }
+
+    private LocalDate lastTradingDayOnOrBefore(LocalDate date) {
+        LocalDate day = date;
+        while (!tradingCalendar.isTradingDay(day)) {
+            day = day.minusDays(1);
+        }
+        return day;
+    }
+
+    /**
+     * Insert bars with JDBC batches. Bars are written oldest first, so if a batch fails
+     * the next ingest resumes from the latest bar that was stored.
+     */
+    private int insertBars(String symbol, List<DailyBar> bars) {
+        if (bars.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_BAR_SQL, bars, BATCH_SIZE, (ps, bar) -> {
+            ps.setString(1, symbol);
+            ps.setObject(2, bar.date());
+            ps.setObject(3, scale(bar.open()), Types.DECIMAL);
+            ps.setObject(4, scale(bar.high()), Types.DECIMAL);
+            ps.setObject(5, scale(bar.low()), Types.DECIMAL);
+            ps.setBigDecimal(6, scale(bar.close()));
+            ps.setObject(7, bar.volume(), Types.BIGINT);
+        });
+        return bars.size();
+    }
+
+    private static BigDecimal scale(BigDecimal price) {
+        return price != null ? price.setScale(PRICE_SCALE, RoundingMode.HALF_UP) : null;
+    }
+}
@@ -0,0 +1,157 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.dto.Quote;
+import com.portfolio.backend.util.TradingCalendar;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-process cache of quotes keyed by upper-case symbol.
+ * Entries live for a few seconds while the market is open and until the next session
+ * open (per the trading calendar, so holidays count as closed) while it is closed. Expired entries are kept so they can be served while a
+ * background refresh is running (stale-while-revalidate).
+ */
+public class QuoteCache {
+
+    private final int maxEntries;
+    private final Duration openTtl;
+    private final TradingCalendar tradingCalendar;
+    private final Map<String, CachedQuote> entries;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public QuoteCache(int maxEntries, Duration openTtl, TradingCalendar tradingCalendar) {
+        this.maxEntries = maxEntries;
+        this.openTtl = openTtl;
+        this.tradingCalendar = tradingCalendar;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedQuote> eldest) {
+                if (size() > QuoteCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Look up a cached quote
+     *
+     * @param symbol Upper-case symbol
+     * @param now Current time
+     * @return The cached entry (possibly stale), or null on a miss
+     */
+    public Lookup get(String symbol, Instant now) {
+        CachedQuote entry;
+        synchronized (entries) {
+            entry = entries.get(symbol);
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        boolean stale = now.isAfter(entry.expiresAt());
+        if (stale) {
+            staleHits.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return new Lookup(entry.value(), stale);
+    }
+
+    /**
+     * Look up a cached quote without touching the hit/miss counters
+     *
+     * @param symbol Upper-case symbol
+     * @param now Current time
+     * @return The cached entry (possibly stale), or null if absent
+     */
+    public Lookup peek(String symbol, Instant now) {
+        CachedQuote entry;
+        synchronized (entries) {
+            entry = entries.get(symbol);
+        }
+        return entry == null ? null : new Lookup(entry.value(), now.isAfter(entry.expiresAt()));
+    }
+
+    /**
+     * Store a quote with a TTL derived from the market status at the given time
+     *
+     * @param symbol Upper-case symbol
+     * @param value Quote
+     * @param now Current time
+     */
+    public void put(String symbol, Quote value, Instant now) {
+        Instant expiresAt = tradingCalendar.isOpen(now)
+                ? now.plus(openTtl)
+                : tradingCalendar.nextOpen(now).toInstant();
+        synchronized (entries) {
+            entries.put(symbol, new CachedQuote(value, expiresAt));
+        }
+    }
+
+    /**
+     * Claim the background refresh for a symbol so only one runs at a time
+     *
+     * @param symbol Upper-case symbol
+     * @return true if the caller should start the refresh
+     */
+    public boolean startRefresh(String symbol) {
+        if (refreshing.add(symbol)) {
+            refreshes.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Release the background refresh claim for a symbol
+     *
+     * @param symbol Upper-case symbol
+     */
+    public void finishRefresh(String symbol) {
+        refreshing.remove(symbol);
+    }
+
+    /**
+     * Get cache counters for sizing
+     *
+     * @return Map containing hit, miss, refresh and eviction counts
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hits.get());
+        stats.put("staleHits", staleHits.get());
+        stats.put("misses", misses.get());
+        stats.put("refreshes", refreshes.get());
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    private record CachedQuote(Quote value, Instant expiresAt) {
+    }
+
+    /**
+     * Result of a cache lookup
+     */
+    public record Lookup(Quote value, boolean stale) {
+    }
+}
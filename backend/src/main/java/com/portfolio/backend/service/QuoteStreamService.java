@@ -0,0 +1,104 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.dto.Quote;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live quote feeds for streaming clients.
+ * Each symbol has one shared feed that polls StockDataService on a fixed interval and
+ * only emits when the quote changes. Every subscriber to a symbol shares that poll, and
+ * the poll stops when the last subscriber goes away, so N open dashboards cost one
+ * upstream lookup per symbol per interval instead of N.
+ */
+@Service
+public class QuoteStreamService {
+
+    public static final int MAX_SYMBOLS_PER_STREAM = 50;
+
+    private final StockDataService stockDataService;
+    private final Duration pollInterval;
+    private final Map<String, Flux<Quote>> feeds = new ConcurrentHashMap<>();
+
+    @Autowired
+    public QuoteStreamService(StockDataService stockDataService,
+                              @Value("${stock-data.stream.poll-ms:5000}") long pollIntervalMs) {
+        this.stockDataService = stockDataService;
+        this.pollInterval = Duration.ofMillis(pollIntervalMs);
+    }
+
+    /**
+     * Stream quote changes for a set of symbols. Each subscriber first gets the latest
+     * known quote per symbol, then one event each time a symbol's quote changes.
+     *
+     * @param symbols Stock symbols
+     * @return Flux of changed quotes across all symbols
+     * @throws IllegalArgumentException if no symbols or too many symbols are given
+     */
+    public Flux<Quote> streamQuotes(Collection<String> symbols) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            if (symbol != null && !symbol.isBlank()) {
+                keys.add(symbol.trim().toUpperCase());
+            }
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("At least one symbol is required");
+        }
+        if (keys.size() > MAX_SYMBOLS_PER_STREAM) {
+            throw new IllegalArgumentException("At most " + MAX_SYMBOLS_PER_STREAM + " symbols can be streamed at once");
+        }
+
+        List<Flux<Quote>> symbolFeeds = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            symbolFeeds.add(feed(key));
+        }
+        return Flux.merge(symbolFeeds);
+    }
+
+    /**
+     * Get the number of symbols that currently have a live feed
+     *
+     * @return Number of live feeds
+     */
+    public int getActiveFeedCount() {
+        return feeds.size();
+    }
+
+    /**
+     * Get or create the shared feed for a symbol
+     *
+     * @param key Upper-case stock symbol
+     * @return Shared feed that replays the latest quote to new subscribers
+     */
+    private Flux<Quote> feed(String key) {
+        return feeds.computeIfAbsent(key, this::createFeed);
+    }
+
+    private Flux<Quote> createFeed(String key) {
+        List<String> symbols = List.of(key);
+        AtomicReference<Flux<Quote>> shared = new AtomicReference<>();
+        shared.set(Flux.interval(Duration.ZERO, pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> stockDataService.streamStockData(symbols), 1)
+                .filter(quote -> !quote.hasError())
+                .distinctUntilChanged()
+                // The last subscriber left: stop polling and let the next subscriber start a fresh feed
+                .doFinally(signal -> feeds.remove(key, shared.get()))
+                .replay(1)
+                .refCount());
+        return shared.get();
+    }
+}
@@ -0,0 +1,173 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.model.RealizedGain;
+import com.portfolio.backend.model.TradeHistory;
+import com.portfolio.backend.repository.RealizedGainRepository;
+import com.portfolio.backend.repository.TradeHistoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ledger of realized gains, one row per SELL trade.
+ * SellService records each sale's gain against the cost of the tax lots it relieved, inside
+ * the trade transaction, so realized totals for a month or year are a single indexed SUM
+ * instead of a replay of trade history. Sells made before the ledger existed are backfilled
+ * by replaying trade history through FIFO lots (see CostBasisEngine), and a ticker's rows are
+ * re-derived the same way when one of its trades is edited or deleted.
+ */
+@Service
+public class RealizedGainService {
+
+    private static final Logger log = LoggerFactory.getLogger(RealizedGainService.class);
+
+    @Autowired
+    private RealizedGainRepository realizedGainRepository;
+
+    @Autowired
+    private TradeHistoryRepository tradeHistoryRepository;
+
+    @Autowired
+    private PortfolioDataVersion portfolioDataVersion;
+
+    /**
+     * Record the realized gain of a SELL trade
+     *
+     * @param tradeId The SELL trade id
+     * @param ticker The ticker sold
+     * @param sellDate The trade date
+     * @param quantity Shares sold
+     * @param price Sale price per share
+     * @param costBasis Total cost of the shares sold
+     * @return The saved ledger row
+     */
+    @Transactional
+    public RealizedGain recordSell(Long tradeId, String ticker, LocalDate sellDate, Integer quantity,
+                                   BigDecimal price, BigDecimal costBasis) {
+        BigDecimal proceeds = price.multiply(BigDecimal.valueOf(quantity)).setScale(2, RoundingMode.HALF_UP);
+        return realizedGainRepository.save(new RealizedGain(tradeId, ticker, sellDate, quantity, proceeds,
+                costBasis.setScale(2, RoundingMode.HALF_UP)));
+    }
+
+    /**
+     * Get the total realized gain of the sells between two dates
+     *
+     * @param startDate First sell date (inclusive)
+     * @param endDate Last sell date (inclusive)
+     * @return Total realized gain, rounded to cents
+     */
+    public BigDecimal getRealizedGain(LocalDate startDate, LocalDate endDate) {
+        return realizedGainRepository.sumRealizedGainBetween(startDate, endDate).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Get the realized gain of the sells between two dates per calendar month, in one query
+     *
+     * @param startDate First sell date (inclusive)
+     * @param endDate Last sell date (inclusive)
+     * @return Map of month to realized gain, rounded to cents; months without sells are absent
+     */
+    public Map<YearMonth, BigDecimal> getRealizedGainByMonth(LocalDate startDate, LocalDate endDate) {
+        Map<YearMonth, BigDecimal> gainsByMonth = new HashMap<>();
+        for (Object[] row : realizedGainRepository.sumRealizedGainByMonthBetween(startDate, endDate)) {
+            YearMonth month = YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+            gainsByMonth.put(month, ((BigDecimal) row[2]).setScale(2, RoundingMode.HALF_UP));
+        }
+        return gainsByMonth;
+    }
+
+    /**
+     * Backfill the ledger from trade history: every SELL without a ledger row gets one, with its
+     * gain against the lots a FIFO replay of its ticker's trades relieves. Rows already written
+     * at sell time are kept.
+     *
+     * @return Number of ledger rows written
+     */
+    @Transactional
+    public int backfill() {
+        List<TradeHistory> trades = tradeHistoryRepository.findAllByOrderByTradeDateAscIdAsc();
+        Map<Long, BigDecimal> gainsBySell = CostBasisEngine.walk(trades, LocalDate.MIN);
+        Set<Long> recorded = realizedGainRepository.findAllTradeIds();
+
+        List<RealizedGain> rows = new ArrayList<>();
+        for (TradeHistory trade : trades) {
+            BigDecimal gain = gainsBySell.get(trade.getId());
+            if (gain == null || recorded.contains(trade.getId())) {
+                continue;
+            }
+            rows.add(toRow(trade, gain));
+        }
+
+        realizedGainRepository.saveAll(rows);
+        if (!rows.isEmpty()) {
+            portfolioDataVersion.bump();
+        }
+        return rows.size();
+    }
+
+    /**
+     * Re-derive the ledger rows of a ticker's sells on or after a date, after one of its trades
+     * was added, edited or deleted in trade history. Earlier rows are kept; later ones are rewritten
+     * from a FIFO replay of the ticker's trades, since a changed buy moves the cost of every
+     * later sell. Call inside the edit's transaction.
+     *
+     * @param ticker The ticker
+     * @param fromDate Earliest trade date the edit touched
+     * @return Number of ledger rows written
+     */
+    @Transactional
+    public int rederive(String ticker, LocalDate fromDate) {
+        List<TradeHistory> trades = tradeHistoryRepository.findByTickerOrderByTradeDateAscIdAsc(ticker);
+        Map<Long, BigDecimal> gainsBySell = CostBasisEngine.walk(trades, fromDate);
+        realizedGainRepository.deleteByTickerFrom(ticker, fromDate);
+
+        List<RealizedGain> rows = new ArrayList<>();
+        for (TradeHistory trade : trades) {
+            BigDecimal gain = gainsBySell.get(trade.getId());
+            if (gain != null) {
+                rows.add(toRow(trade, gain));
+            }
+        }
+        realizedGainRepository.saveAll(rows);
+        portfolioDataVersion.bump();
+        return rows.size();
+    }
+
+    private static RealizedGain toRow(TradeHistory trade, BigDecimal gain) {
+        BigDecimal proceeds = trade.getTotalValue().setScale(2, RoundingMode.HALF_UP);
+        BigDecimal costBasis = proceeds.subtract(gain).setScale(2, RoundingMode.HALF_UP);
+        return new RealizedGain(trade.getId(), trade.getTicker(), trade.getTradeDate(), trade.getQuantity(),
+                proceeds, costBasis);
+    }
+
+    /**
+     * Backfill the ledger on startup when it has fewer rows than there are SELL trades,
+     * e.g. the first start after the ledger was introduced
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfMissing() {
+        try {
+            long sells = tradeHistoryRepository.countByTradeType(TradeHistory.TradeType.SELL);
+            if (realizedGainRepository.count() < sells) {
+                int written = backfill();
+                log.info("Backfilled realized gain ledger: {} sells", written);
+            }
+        } catch (Exception e) {
+            log.error("Error backfilling realized gain ledger", e);
+        }
+    }
+}
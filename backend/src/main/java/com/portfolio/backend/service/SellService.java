@@ -1,10 +1,12 @@
 package com.portfolio.backend.service;
 
+import com.portfolio.backend.dto.LotRelief;
 import com.portfolio.backend.dto.SellRequest;
 import com.portfolio.backend.dto.PortfolioItemResponse;
 import com.portfolio.backend.dto.TradeHistoryRequest;
 import com.portfolio.backend.dto.TradeHistoryResponse;
 import com.portfolio.backend.model.PortfolioItem;
+import com.portfolio.backend.model.RealizedGain;
 import com.portfolio.backend.model.TradeHistory;
 import com.portfolio.backend.repository.PortfolioItemRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,6 +34,15 @@ public class SellService {
     @Autowired
     private PortfolioItemRepository portfolioItemRepository;
 
+    @Autowired
+    private RealizedGainService realizedGainService;
+
+    @Autowired
+    private TaxLotService taxLotService;
+
+    @Autowired
+    private PortfolioDataVersion portfolioDataVersion;
+
     /**
      * Execute a sell transaction
      * 
@@ -58,6 +69,12 @@ public class SellService {
         // Calculate total proceeds
         BigDecimal totalProceeds = request.getPrice().multiply(BigDecimal.valueOf(request.getQuantity()));
 
+        // Relieve the shares from tax lots with the requested method; their exact cost is the cost basis.
+        // Shares added to the holding outside a buy get a lot first.
+        taxLotService.reconcile(request.getTicker());
+        LotRelief lotRelief = taxLotService.relieve(request.getTicker(), request.getQuantity(),
+                request.getLotMethod(), request.getLotIds());
+
         // Add cash from sale
         cashService.addCash(totalProceeds);
 
@@ -67,11 +84,20 @@ public class SellService {
         // Record in trade history
         TradeHistoryResponse tradeRecord = recordTradeHistory(request);
 
+        // Record the realized gain in the ledger, in the same transaction as the trade
+        RealizedGain realizedGain = realizedGainService.recordSell(tradeRecord.getId(), tradeRecord.getTicker(),
+                tradeRecord.getTradeDate(), tradeRecord.getQuantity(), tradeRecord.getPrice(), lotRelief.costBasis());
+
+        // Cached P&L and summaries are stale once this commits
+        portfolioDataVersion.bump();
+
         // Prepare response
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("message", "Sell transaction completed successfully");
         response.put("totalProceeds", totalProceeds);
+        response.put("realizedGain", realizedGain.getRealizedGain());
+        response.put("lotsRelieved", lotRelief);
         response.put("remainingCash", cashService.getCashBalance());
         response.put("portfolioItem", convertToPortfolioResponse(updatedHolding));
         response.put("tradeRecord", tradeRecord);
@@ -115,8 +141,12 @@ public class SellService {
             portfolioItemRepository.delete(holding);
             return null;
         } else {
-            // Update quantity
+            // Update quantity; the average price follows the lots still open
             holding.setQuantity(newQuantity);
+            BigDecimal averageCost = taxLotService.getAverageCost(request.getTicker());
+            if (averageCost != null) {
+                holding.setBuyPrice(averageCost);
+            }
             return portfolioItemRepository.save(holding);
         }
     }
@@ -136,7 +166,7 @@ public class SellService {
                 "SELL"
         );
 
-        return tradeHistoryService.addTrade(tradeRequest);
+        return tradeHistoryService.recordTrade(tradeRequest);
     }
 
     /**
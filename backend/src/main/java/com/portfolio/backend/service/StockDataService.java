@@ -1,198 +1,271 @@
 package com.portfolio.backend.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.backend.dto.IntradaySeries;
+import com.portfolio.backend.dto.Quote;
+import com.portfolio.backend.provider.QuoteProvider;
+import com.portfolio.backend.provider.ResilientQuoteProvider;
+import com.portfolio.backend.util.TradingCalendar;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
 import java.math.BigDecimal;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class StockDataService {
 
-    private final WebClient webClient;
-    private final ObjectMapper objectMapper;
+    private static final Duration BLOCK_GRACE = Duration.ofSeconds(1);
 
-    public StockDataService() {
-        this.webClient = WebClient.builder()
-                .baseUrl("https://query1.finance.yahoo.com")
-                .build();
-        this.objectMapper = new ObjectMapper();
+    private final QuoteProvider quoteProvider;
+    private final Duration fanOutDeadline;
+    private final QuoteCache quoteCache;
+    private final IntradayPrices intradayPrices;
+    private final ConcurrentHashMap<String, Mono<Quote>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public StockDataService(QuoteProvider quoteProvider,
+                            @Value("${stock-data.fan-out.deadline-ms:5000}") long fanOutDeadlineMs,
+                            @Value("${stock-data.cache.max-entries:500}") int cacheMaxEntries,
+                            @Value("${stock-data.cache.open-ttl-seconds:15}") long cacheOpenTtlSeconds,
+                            @Value("${stock-data.intraday.capacity:2048}") int intradayCapacity,
+                            @Value("${stock-data.intraday.max-symbols:200}") int intradayMaxSymbols) {
+        this.quoteProvider = quoteProvider;
+        this.fanOutDeadline = Duration.ofMillis(fanOutDeadlineMs);
+        this.quoteCache = new QuoteCache(cacheMaxEntries, Duration.ofSeconds(cacheOpenTtlSeconds), TradingCalendar.nyse());
+        this.intradayPrices = new IntradayPrices(intradayCapacity, intradayMaxSymbols, TradingCalendar.nyse());
+    }
+
+    public StockDataService(QuoteProvider quoteProvider, long fanOutDeadlineMs, int cacheMaxEntries, long cacheOpenTtlSeconds) {
+        this(quoteProvider, fanOutDeadlineMs, cacheMaxEntries, cacheOpenTtlSeconds, 2048, 200);
+    }
+
+    public StockDataService(QuoteProvider quoteProvider, long fanOutDeadlineMs) {
+        this(quoteProvider, fanOutDeadlineMs, 500, 15);
     }
 
     /**
      * Fetch stock data for given symbols
-     * 
+     *
+     * @param symbols List of stock symbols
+     * @return List of quotes, in the same order as the symbols
+     */
+    public List<Quote> getStockData(List<String> symbols) {
+        // streamStockData answers every symbol by the deadline; the grace period only guards against a stuck pipeline
+        return streamStockData(symbols).collectList().block(fanOutDeadline.plus(BLOCK_GRACE));
+    }
+
+    /**
+     * Get current prices for a set of tickers with a single batch lookup
+     *
+     * @param tickers Stock tickers
+     * @return Map of ticker to current price; tickers that could not be priced are absent
+     */
+    public Map<String, BigDecimal> getCurrentPrices(Collection<String> tickers) {
+        List<String> symbols = new ArrayList<>(tickers);
+        List<Quote> quotes = getStockData(symbols);
+
+        Map<String, BigDecimal> prices = new HashMap<>();
+        for (int i = 0; i < symbols.size(); i++) {
+            BigDecimal price = quotes.get(i).price();
+            if (price != null) {
+                prices.put(symbols.get(i), price);
+            }
+        }
+        return prices;
+    }
+
+    /**
+     * Fetch stock data for given symbols without blocking the caller.
+     * Cached symbols are answered immediately; everything else that is not already
+     * being fetched goes to the quote provider as one batch. The whole call shares
+     * one deadline, and symbols that fail or run past it come back as error quotes so
+     * the output always lines up with the input.
+     *
      * @param symbols List of stock symbols
-     * @return List of stock data maps
+     * @return Flux of quotes, in the same order as the symbols
      */
-    public List<Map<String, Object>> getStockData(List<String> symbols) {
-        List<Map<String, Object>> responses = new ArrayList<>();
-        
-        for (String symbol : symbols) {
-            try {
-                Map<String, Object> stockData = fetchStockData(symbol);
-                responses.add(stockData);
-            } catch (Exception e) {
-                Map<String, Object> errorData = new HashMap<>();
-                errorData.put("symbol", symbol);
-                errorData.put("name", null);
-                errorData.put("price", null);
-                errorData.put("currency", null);
-                errorData.put("marketCap", null);
-                errorData.put("previousClose", null);
-                errorData.put("dayGain", null);
-                errorData.put("dayGainPercent", null);
-                errorData.put("volume", null);
-                errorData.put("dayLow", null);
-                errorData.put("dayHigh", null);
-                errorData.put("yearLow", null);
-                errorData.put("yearHigh", null);
-                errorData.put("marketStatus", null);
-                errorData.put("error", "Failed to fetch data: " + e.getMessage());
-                responses.add(errorData);
+    public Flux<Quote> streamStockData(List<String> symbols) {
+        return Flux.defer(() -> {
+            long deadlineNanos = System.nanoTime() + fanOutDeadline.toNanos();
+            Map<String, Sinks.One<Quote>> claimed = new LinkedHashMap<>();
+
+            List<Mono<Quote>> lookups = new ArrayList<>(symbols.size());
+            for (String symbol : symbols) {
+                lookups.add(lookupStockData(symbol, claimed));
+            }
+            fetchClaimed(claimed);
+
+            List<Mono<Quote>> results = new ArrayList<>(symbols.size());
+            for (int i = 0; i < symbols.size(); i++) {
+                results.add(withinDeadline(lookups.get(i), symbols.get(i), deadlineNanos));
             }
+            return Flux.concat(results);
+        });
+    }
+
+    /**
+     * Get quote cache counters (hits, stale hits, misses, refreshes, evictions, size)
+     * and, for a resilient provider, the circuit breaker state
+     *
+     * @return Map containing cache statistics
+     */
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = quoteCache.getStats();
+        stats.put("provider", quoteProvider.getName());
+        if (quoteProvider instanceof ResilientQuoteProvider resilient) {
+            stats.put("circuitState", resilient.getCircuitState().name());
+            stats.put("rejectedCalls", resilient.getRejectedCalls());
         }
-        
-        return responses;
+        return stats;
     }
 
     /**
-     * Fetch stock data for a single symbol
-     * 
+     * Get the intraday prices fetched for a symbol during the latest session
+     *
      * @param symbol Stock symbol
-     * @return Map containing stock data
+     * @param points Maximum number of points to return; longer series are downsampled
+     * @return Optional containing the series, or empty if no price was fetched for the symbol this session
      */
-    private Map<String, Object> fetchStockData(String symbol) {
-        String url = "/v8/finance/chart/" + symbol.toUpperCase() + "?interval=1d&range=1d";
-        
-        return webClient.get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(String.class)
-                .map(this::parseStockData)
-                .onErrorReturn(createErrorResponse(symbol))
-                .block();
+    public Optional<IntradaySeries> getIntradaySeries(String symbol, int points) {
+        return intradayPrices.getSeries(symbol.toUpperCase(), points);
     }
 
     /**
-     * Parse the JSON response from Yahoo Finance API
-     * 
-     * @param jsonResponse JSON response string
-     * @return Map containing stock data
+     * Serve a symbol from the quote cache, or join/claim an upstream fetch for it.
+     * A stale entry is returned immediately while one background refresh updates it.
+     *
+     * @param symbol Stock symbol
+     * @param claimed Symbols this call has claimed and must fetch
+     * @return Mono emitting the quote or an error quote
      */
-    private Map<String, Object> parseStockData(String jsonResponse) {
-        try {
-            JsonNode rootNode = objectMapper.readTree(jsonResponse);
-            JsonNode chartNode = rootNode.get("chart");
-            
-            if (chartNode == null) {
-                return createErrorResponse("UNKNOWN");
-            }
-            
-            JsonNode errorNode = chartNode.get("error");
-            if (errorNode != null && !errorNode.isNull()) {
-                return createErrorResponse("UNKNOWN");
+    private Mono<Quote> lookupStockData(String symbol, Map<String, Sinks.One<Quote>> claimed) {
+        if (symbol == null) {
+            return Mono.just(Quote.MISSING_SYMBOL);
+        }
+        String key = symbol.toUpperCase();
+        QuoteCache.Lookup cached = quoteCache.get(key, Instant.now());
+        if (cached != null) {
+            if (cached.stale() && quoteCache.startRefresh(key)) {
+                joinOrClaim(key, claimed)
+                        .doFinally(signal -> quoteCache.finishRefresh(key))
+                        .subscribe();
             }
-            
-            JsonNode resultNode = chartNode.get("result").get(0);
-            JsonNode metaNode = resultNode.get("meta");
-            
-            String symbol = metaNode.get("symbol").asText();
-            String name = metaNode.has("shortName") ? metaNode.get("shortName").asText() : symbol;
-            BigDecimal price = new BigDecimal(metaNode.get("regularMarketPrice").toString());
-            String currency = metaNode.get("currency").asText();
-            
-            BigDecimal previousClose = new BigDecimal(metaNode.get("chartPreviousClose").toString());
-            BigDecimal dayGain = price.subtract(previousClose);
-            BigDecimal dayGainPercent = previousClose.compareTo(BigDecimal.ZERO) > 0 ? 
-                dayGain.divide(previousClose, 4, java.math.RoundingMode.HALF_UP).multiply(new BigDecimal("100")) : 
-                BigDecimal.ZERO;
-            
-            BigDecimal volume = new BigDecimal(metaNode.get("regularMarketVolume").toString());
-            BigDecimal dayLow = new BigDecimal(metaNode.get("regularMarketDayLow").toString());
-            BigDecimal dayHigh = new BigDecimal(metaNode.get("regularMarketDayHigh").toString());
-            BigDecimal yearLow = new BigDecimal(metaNode.get("fiftyTwoWeekLow").toString());
-            BigDecimal yearHigh = new BigDecimal(metaNode.get("fiftyTwoWeekHigh").toString());
-            
-            BigDecimal marketCap = null;
-            if (metaNode.has("marketCap")) {
-                marketCap = new BigDecimal(metaNode.get("marketCap").toString());
+            return Mono.just(cached.value());
+        }
+        return joinOrClaim(key, claimed);
+    }
+
+    /**
+     * Join the upstream fetch already in flight for a symbol, or claim it for this call.
+     * Every caller asking for the same symbol while a request is outstanding gets that
+     * request's result, so N concurrent lookups cost one upstream call.
+     *
+     * @param key Upper-case stock symbol
+     * @param claimed Symbols this call has claimed and must fetch
+     * @return Mono emitting the shared quote or error quote
+     */
+    private Mono<Quote> joinOrClaim(String key, Map<String, Sinks.One<Quote>> claimed) {
+        Sinks.One<Quote> ours = claimed.get(key);
+        if (ours != null) {
+            return ours.asMono();
+        }
+        Sinks.One<Quote> sink = Sinks.one();
+        Mono<Quote> existing = inFlight.putIfAbsent(key, sink.asMono());
+        if (existing != null) {
+            return existing;
+        }
+        claimed.put(key, sink);
+        return sink.asMono();
+    }
+
+    /**
+     * Fetch every claimed symbol from the quote provider in one batch
+     *
+     * @param claimed Symbols this call has claimed, with the sinks their callers wait on
+     */
+    private void fetchClaimed(Map<String, Sinks.One<Quote>> claimed) {
+        // A flight that finished between our cache miss and claiming the key has already filled the cache
+        List<String> keys = new ArrayList<>();
+        for (Map.Entry<String, Sinks.One<Quote>> entry : claimed.entrySet()) {
+            QuoteCache.Lookup cached = quoteCache.peek(entry.getKey(), Instant.now());
+            if (cached != null && !cached.stale()) {
+                completeFlight(entry.getKey(), entry.getValue(), cached.value());
+            } else {
+                keys.add(entry.getKey());
             }
-            
-            // Determine market status based on current time
-            String marketStatus = determineMarketStatus();
-            
-            Map<String, Object> stockData = new HashMap<>();
-            stockData.put("symbol", symbol);
-            stockData.put("name", name);
-            stockData.put("price", price);
-            stockData.put("currency", currency);
-            stockData.put("marketCap", marketCap);
-            stockData.put("previousClose", previousClose);
-            stockData.put("dayGain", dayGain);
-            stockData.put("dayGainPercent", dayGainPercent);
-            stockData.put("volume", volume);
-            stockData.put("dayLow", dayLow);
-            stockData.put("dayHigh", dayHigh);
-            stockData.put("yearLow", yearLow);
-            stockData.put("yearHigh", yearHigh);
-            stockData.put("marketStatus", marketStatus);
-            
-            return stockData;
-            
-        } catch (Exception e) {
-            return createErrorResponse("UNKNOWN");
         }
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        quoteProvider.fetchBatch(keys)
+                .timeout(fanOutDeadline)
+                .subscribe(
+                        quotes -> {
+                            for (String key : keys) {
+                                Quote quote = quotes.get(key);
+                                completeFlight(key, claimed.get(key), quote != null ? quote : Quote.failed(key));
+                            }
+                        },
+                        e -> {
+                            for (String key : keys) {
+                                completeFlight(key, claimed.get(key),
+                                        Quote.failed(key, Quote.FETCH_FAILED + ": " + e.getMessage()));
+                            }
+                        });
     }
 
     /**
-     * Determine if the market is currently open based on New York time
-     * 
-     * @return "Market Open" or "Market Closed"
+     * Publish a flight's result: cache it first so nobody can miss both the cache and the flight.
+     * Fresh prices are also recorded in the intraday series.
+     * Error quotes and stale last-known quotes are passed on but not cached.
+     *
+     * @param key Upper-case stock symbol
+     * @param sink The flight's result sink
+     * @param quote Quote or error quote
      */
-    private String determineMarketStatus() {
-        ZonedDateTime now = ZonedDateTime.now(ZoneId.of("America/New_York"));
-        int hour = now.getHour();
-        int minute = now.getMinute();
-        int dayOfWeek = now.getDayOfWeek().getValue(); // 1 = Monday, 7 = Sunday
-        
-        // Market hours: Monday-Friday, 9:30 AM - 4:00 PM ET
-        boolean isWeekday = dayOfWeek >= 1 && dayOfWeek <= 5;
-        boolean isMarketHours = (hour > 9 || (hour == 9 && minute >= 30)) && hour < 16;
-        
-        return (isWeekday && isMarketHours) ? "Market Open" : "Market Closed";
+    private void completeFlight(String key, Sinks.One<Quote> sink, Quote quote) {
+        if (!quote.hasError() && !quote.stale()) {
+            Instant now = Instant.now();
+            quoteCache.put(key, quote, now);
+            if (quote.price() != null) {
+                intradayPrices.record(key, quote.price(), now);
+            }
+        }
+        inFlight.remove(key);
+        sink.tryEmitValue(quote);
     }
 
     /**
-     * Create error response map
-     * 
-     * @param symbol Stock symbol
-     * @return Map containing error data
+     * Wait for a lookup until the shared deadline, then fall back to an error quote
+     *
+     * @param lookup The lookup to wait for
+     * @param symbol Stock symbol as requested
+     * @param deadlineNanos Deadline as a System.nanoTime() value
+     * @return Mono emitting the quote or an error quote
      */
-    private Map<String, Object> createErrorResponse(String symbol) {
-        Map<String, Object> errorData = new HashMap<>();
-        errorData.put("symbol", symbol);
-        errorData.put("name", null);
-        errorData.put("price", null);
-        errorData.put("currency", null);
-        errorData.put("marketCap", null);
-        errorData.put("previousClose", null);
-        errorData.put("dayGain", null);
-        errorData.put("dayGainPercent", null);
-        errorData.put("volume", null);
-        errorData.put("dayLow", null);
-        errorData.put("dayHigh", null);
-        errorData.put("yearLow", null);
-        errorData.put("yearHigh", null);
-        errorData.put("marketStatus", null);
-        errorData.put("error", "Failed to fetch data");
-        return errorData;
+    private Mono<Quote> withinDeadline(Mono<Quote> lookup, String symbol, long deadlineNanos) {
+        return Mono.defer(() -> {
+            long remainingNanos = deadlineNanos - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return Mono.just(Quote.failed(symbol, Quote.FETCH_FAILED + ": deadline exceeded"));
+            }
+            return lookup
+                    .timeout(Duration.ofNanos(remainingNanos))
+                    .onErrorResume(e -> Mono.just(Quote.failed(symbol, Quote.FETCH_FAILED + ": " + e.getMessage())));
+        });
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,327 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.dto.LotRelief;
+import com.portfolio.backend.model.PortfolioItem;
+import com.portfolio.backend.model.TaxLot;
+import com.portfolio.backend.repository.PortfolioItemRepository;
+import com.portfolio.backend.repository.TaxLotRepository;
+import com.portfolio.backend.util.DateUtil;
+import com.portfolio.backend.util.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tax lots per ticker, maintained incrementally: BuyService opens a lot for every buy and
+ * SellService relieves shares from open lots with the method chosen for that sell.
+ * Realized gains use the exact cost of the lots relieved, and unrealized gains are read
+ * from the open lots.
+ *
+ * Holdings can also be written directly through /api/portfolio, so a ticker's lots are
+ * reconciled with its holdings on every holding write and before every buy and sell (see
+ * reconcile); the holdings stay the record of how many shares are held.
+ */
+@Service
+public class TaxLotService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaxLotService.class);
+
+    @Autowired
+    private TaxLotRepository taxLotRepository;
+
+    @Autowired
+    private PortfolioItemRepository portfolioItemRepository;
+
+    @Autowired
+    private PortfolioDataVersion portfolioDataVersion;
+
+    /**
+     * Open a lot for a buy
+     *
+     * @param buyTradeId The BUY trade id
+     * @param ticker The ticker bought
+     * @param acquiredDate The trade date
+     * @param quantity Shares bought
+     * @param price Price per share
+     * @return The saved lot
+     */
+    @Transactional
+    public TaxLot openLot(Long buyTradeId, String ticker, LocalDate acquiredDate, Integer quantity, BigDecimal price) {
+        return taxLotRepository.save(new TaxLot(ticker, buyTradeId, acquiredDate, quantity, price));
+    }
+
+    /**
+     * Get the open lots of a ticker, oldest first
+     *
+     * @param ticker The ticker
+     * @return List of open lots
+     */
+    public List<TaxLot> getOpenLots(String ticker) {
+        return taxLotRepository.findByTickerAndOpenTrueOrderByAcquiredDateAscIdAsc(ticker);
+    }
+
+    /**
+     * Get the average cost per share of a ticker's open lots
+     *
+     * @param ticker The ticker
+     * @return Total remaining cost divided by remaining shares, rounded to cents, or null without open lots
+     */
+    public BigDecimal getAverageCost(String ticker) {
+        long costMicros = 0;
+        long shares = 0;
+        for (TaxLot lot : getOpenLots(ticker)) {
+            costMicros = Math.addExact(costMicros, lot.getRemainingCostMicros());
+            shares += lot.getRemainingQuantity();
+        }
+        if (shares == 0) {
+            return null;
+        }
+        // Divide straight to cents so the average is rounded once
+        long cents = Money.divide(costMicros, Math.multiplyExact(shares, Money.MICROS_PER_CENT), RoundingMode.HALF_UP);
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Relieve shares of a ticker from its open lots
+     *
+     * @param ticker The ticker sold
+     * @param quantity Shares sold
+     * @param method Relief method name (FIFO, LIFO, HIFO or SPECIFIC); FIFO when null
+     * @param lotIds Lots to relieve, in order, for SPECIFIC; ignored otherwise
+     * @return The lots relieved and their total cost basis
+     * @throws IllegalArgumentException if the method is unknown, a specific lot is not an open lot
+     *         of the ticker, or the lots do not hold enough shares
+     */
+    @Transactional
+    public LotRelief relieve(String ticker, int quantity, String method, List<Long> lotIds) {
+        TaxLot.ReliefMethod reliefMethod = parseMethod(method);
+        List<TaxLot> lots = orderForRelief(getOpenLots(ticker), reliefMethod, lotIds);
+
+        int available = lots.stream().mapToInt(TaxLot::getRemainingQuantity).sum();
+        if (available < quantity) {
+            throw new IllegalArgumentException("Insufficient shares in " + reliefMethod + " lots. Available: "
+                    + available + ", Requested: " + quantity);
+        }
+
+        List<LotRelief.Line> lines = new ArrayList<>();
+        long costBasisMicros = relieveInOrder(lots, quantity, lines);
+        taxLotRepository.saveAll(lots);
+        return new LotRelief(reliefMethod.name(), lines, BigDecimal.valueOf(costBasisMicros, Money.SCALE));
+    }
+
+    /**
+     * Relieve shares from lots in the order given; shared with the trade history replay in
+     * CostBasisEngine so both relieve lots the same way
+     *
+     * @param lots Lots in relief order, holding at least the quantity
+     * @param quantity Shares to relieve
+     * @param lines Receives one line per lot relieved; null to skip
+     * @return Cost basis of the relieved shares, in micro-units
+     */
+    static long relieveInOrder(List<TaxLot> lots, int quantity, List<LotRelief.Line> lines) {
+        long costBasisMicros = 0;
+        int needed = quantity;
+        for (TaxLot lot : lots) {
+            if (needed == 0) {
+                break;
+            }
+            int taken = Math.min(needed, lot.getRemainingQuantity());
+            costBasisMicros = Math.addExact(costBasisMicros, lot.relieve(taken));
+            if (lines != null) {
+                lines.add(new LotRelief.Line(lot.getId(), taken, lot.getCostPerShare()));
+            }
+            needed -= taken;
+        }
+        return costBasisMicros;
+    }
+
+    /**
+     * Get the open lots acquired on or before a date, grouped by ticker
+     *
+     * @param asOfDate The valuation date
+     * @return Map of ticker to its open lots
+     */
+    public Map<String, List<TaxLot>> getOpenLotsAsOf(LocalDate asOfDate) {
+        Map<String, List<TaxLot>> lotsByTicker = new HashMap<>();
+        for (TaxLot lot : taxLotRepository.findByOpenTrueAndAcquiredDateLessThanEqual(asOfDate)) {
+            lotsByTicker.computeIfAbsent(lot.getTicker(), ticker -> new ArrayList<>()).add(lot);
+        }
+        return lotsByTicker;
+    }
+
+    /**
+     * Calculate the unrealized gain of open lots
+     *
+     * @param lotsByTicker Open lots grouped by ticker, as returned by getOpenLotsAsOf
+     * @param prices Price per ticker; lots of unpriced tickers count at cost
+     * @return Total unrealized gain, rounded to cents
+     */
+    public BigDecimal calculateUnrealizedGain(Map<String, List<TaxLot>> lotsByTicker, Map<String, BigDecimal> prices) {
+        long unrealizedMicros = 0;
+        for (Map.Entry<String, List<TaxLot>> entry : lotsByTicker.entrySet()) {
+            BigDecimal price = prices.get(entry.getKey());
+            if (price == null) {
+                continue;
+            }
+            // Quoted prices can carry sub-micro digits; they are rounded once per ticker
+            long priceMicros = Money.toMicros(price, RoundingMode.HALF_UP);
+            for (TaxLot lot : entry.getValue()) {
+                long gainPerShare = Math.subtractExact(priceMicros, lot.getCostPerShareMicros());
+                unrealizedMicros = Math.addExact(unrealizedMicros, Money.multiply(gainPerShare, lot.getRemainingQuantity()));
+            }
+        }
+        return Money.toBigDecimal(unrealizedMicros, 2);
+    }
+
+    /**
+     * Bring a ticker's open lots in line with its holdings. Shares held without a lot get one
+     * lot for the difference, costing what the holdings cost beyond the open lots (at the
+     * holdings' average price if that is not positive) and dated at the earliest buy date.
+     * Open shares beyond the holdings are relieved newest first, without realizing a gain.
+     *
+     * @param ticker The ticker
+     * @return true if any lot was opened or relieved
+     */
+    @Transactional
+    public boolean reconcile(String ticker) {
+        long heldShares = 0;
+        long heldCostMicros = 0;
+        LocalDate firstBuyDate = null;
+        for (PortfolioItem holding : portfolioItemRepository.findByTicker(ticker)) {
+            heldShares += holding.getQuantity();
+            heldCostMicros = Math.addExact(heldCostMicros,
+                    Money.multiply(Money.toMicros(holding.getBuyPrice(), RoundingMode.HALF_UP), holding.getQuantity()));
+            if (firstBuyDate == null || (holding.getBuyDate() != null && holding.getBuyDate().isBefore(firstBuyDate))) {
+                firstBuyDate = holding.getBuyDate();
+            }
+        }
+
+        List<TaxLot> lots = getOpenLots(ticker);
+        long lotShares = 0;
+        long lotCostMicros = 0;
+        for (TaxLot lot : lots) {
+            lotShares += lot.getRemainingQuantity();
+            lotCostMicros = Math.addExact(lotCostMicros, lot.getRemainingCostMicros());
+        }
+
+        if (heldShares > lotShares) {
+            long missing = heldShares - lotShares;
+            long missingCostMicros = Math.subtractExact(heldCostMicros, lotCostMicros);
+            long costPerShareMicros = missingCostMicros > 0
+                    ? Money.divide(missingCostMicros, missing, RoundingMode.HALF_UP)
+                    : Money.divide(heldCostMicros, heldShares, RoundingMode.HALF_UP);
+            openLot(null, ticker, firstBuyDate != null ? firstBuyDate : DateUtil.getCurrentDateInNYC(),
+                    Math.toIntExact(missing), BigDecimal.valueOf(costPerShareMicros, Money.SCALE));
+            return true;
+        }
+        if (heldShares < lotShares) {
+            List<TaxLot> newestFirst = new ArrayList<>(lots);
+            Collections.reverse(newestFirst);
+            relieveInOrder(newestFirst, Math.toIntExact(lotShares - heldShares), null);
+            taxLotRepository.saveAll(lots);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Replace a ticker's open lots with one lot for its holdings, after the holdings' price
+     * was edited directly; the old lots are relieved without realizing a gain
+     *
+     * @param ticker The ticker
+     */
+    @Transactional
+    public void resetLots(String ticker) {
+        List<TaxLot> lots = getOpenLots(ticker);
+        for (TaxLot lot : lots) {
+            lot.relieve(lot.getRemainingQuantity());
+        }
+        taxLotRepository.saveAll(lots);
+        reconcile(ticker);
+    }
+
+    /**
+     * Reconcile the lots of every ticker held or with open lots on startup, e.g. holdings that
+     * predate lot tracking or were edited while lots were not kept in step
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileAll() {
+        try {
+            Set<String> tickers = new HashSet<>(taxLotRepository.findOpenTickers());
+            for (PortfolioItem holding : portfolioItemRepository.findAll()) {
+                tickers.add(holding.getTicker());
+            }
+            int reconciled = 0;
+            for (String ticker : tickers) {
+                if (reconcile(ticker)) {
+                    reconciled++;
+                }
+            }
+            if (reconciled > 0) {
+                portfolioDataVersion.bump();
+                log.info("Reconciled the tax lots of {} tickers with their holdings", reconciled);
+            }
+        } catch (Exception e) {
+            log.error("Error reconciling tax lots with holdings", e);
+        }
+    }
+
+    private static TaxLot.ReliefMethod parseMethod(String method) {
+        if (method == null || method.isBlank()) {
+            return TaxLot.ReliefMethod.FIFO;
+        }
+        try {
+            return TaxLot.ReliefMethod.valueOf(method.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Lot method must be FIFO, LIFO, HIFO or SPECIFIC");
+        }
+    }
+
+    /**
+     * Order open lots (given oldest first) for relief by a method
+     */
+    private static List<TaxLot> orderForRelief(List<TaxLot> openLots, TaxLot.ReliefMethod method, List<Long> lotIds) {
+        List<TaxLot> lots = new ArrayList<>(openLots);
+        switch (method) {
+            case FIFO -> {
+            }
+            case LIFO -> Collections.reverse(lots);
+            // Stable sort keeps older lots first among lots with the same cost
+            case HIFO -> lots.sort(Comparator.comparingLong(TaxLot::getCostPerShareMicros).reversed());
+            case SPECIFIC -> {
+                if (lotIds == null || lotIds.isEmpty()) {
+                    throw new IllegalArgumentException("Lot ids are required for SPECIFIC lot relief");
+                }
+                Map<Long, TaxLot> lotsById = new HashMap<>();
+                for (TaxLot lot : openLots) {
+                    lotsById.put(lot.getId(), lot);
+                }
+                lots = new ArrayList<>(lotIds.size());
+                for (Long lotId : lotIds) {
+                    TaxLot lot = lotsById.remove(lotId);
+                    if (lot == null) {
+                        throw new IllegalArgumentException("Lot " + lotId + " is not an open lot of this ticker");
+                    }
+                    lots.add(lot);
+                }
+            }
+        }
+        return lots;
+    }
+}
@@ -7,7 +7,9 @@ import com.portfolio.backend.repository.TradeHistoryRepository;
 import com.portfolio.backend.util.DateUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -18,6 +20,12 @@ public class TradeHistoryService {
     @Autowired
     private TradeHistoryRepository tradeHistoryRepository;
 
+    @Autowired
+    private PortfolioDataVersion portfolioDataVersion;
+
+    @Autowired
+    private RealizedGainService realizedGainService;
+
     /**
      * Get all trade history records
      * 
@@ -75,11 +83,27 @@ public class TradeHistoryService {
      * @return The saved trade history response
      * @throws IllegalArgumentException if validation fails
      */
+    @Transactional
     public TradeHistoryResponse addTrade(TradeHistoryRequest request) {
+        TradeHistoryResponse savedTrade = recordTrade(request);
+        // A SELL gets its ledger row, and a backdated trade moves the cost of the ticker's later sells
+        realizedGainService.rederive(savedTrade.getTicker(), savedTrade.getTradeDate());
+        return savedTrade;
+    }
+
+    /**
+     * Record the trade of a buy or sell, which relieves tax lots and records the realized gain itself
+     * 
+     * @param request The trade history request
+     * @return The saved trade history response
+     * @throws IllegalArgumentException if validation fails
+     */
+    public TradeHistoryResponse recordTrade(TradeHistoryRequest request) {
         validateTradeRequest(request);
         
         TradeHistory trade = convertToEntity(request);
         TradeHistory savedTrade = tradeHistoryRepository.save(trade);
+        portfolioDataVersion.bump();
         return convertToResponse(savedTrade);
     }
 
@@ -91,11 +115,14 @@ public class TradeHistoryService {
      * @return The updated trade history response
      * @throws IllegalArgumentException if trade not found
      */
+    @Transactional
     public TradeHistoryResponse updateTrade(Long id, TradeHistoryRequest request) {
         TradeHistory existingTrade = tradeHistoryRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Trade not found with id: " + id));
 
         validateTradeRequest(request);
+        String previousTicker = existingTrade.getTicker();
+        LocalDate previousDate = existingTrade.getTradeDate();
 
         // Update fields
         existingTrade.setTradeDate(request.getTradeDate());
@@ -105,6 +132,13 @@ public class TradeHistoryService {
         existingTrade.setTradeType(TradeHistory.TradeType.valueOf(request.getTradeType().toUpperCase()));
 
         TradeHistory updatedTrade = tradeHistoryRepository.save(existingTrade);
+        // Realized gains of the ticker's sells from the earlier of the two dates on depend on the trade
+        LocalDate fromDate = previousDate.isBefore(updatedTrade.getTradeDate()) ? previousDate : updatedTrade.getTradeDate();
+        realizedGainService.rederive(previousTicker, fromDate);
+        if (!previousTicker.equals(updatedTrade.getTicker())) {
+            realizedGainService.rederive(updatedTrade.getTicker(), fromDate);
+        }
+        portfolioDataVersion.bump();
         return convertToResponse(updatedTrade);
     }
 
@@ -114,12 +148,17 @@ public class TradeHistoryService {
      * @param id The trade history ID
      * @return true if deleted, false if not found
      */
+    @Transactional
     public boolean deleteTrade(Long id) {
-        if (tradeHistoryRepository.existsById(id)) {
-            tradeHistoryRepository.deleteById(id);
-            return true;
+        Optional<TradeHistory> trade = tradeHistoryRepository.findById(id);
+        if (trade.isEmpty()) {
+            return false;
         }
-        return false;
+        tradeHistoryRepository.delete(trade.get());
+        // Drops the trade's own ledger row and re-derives the later sells of its ticker
+        realizedGainService.rederive(trade.get().getTicker(), trade.get().getTradeDate());
+        portfolioDataVersion.bump();
+        return true;
     }
 
     /**
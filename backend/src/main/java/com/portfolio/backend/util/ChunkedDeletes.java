@@ -0,0 +1,45 @@
+package com.portfolio.backend.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Purges rows in bounded chunks: each chunk selects up to chunkSize ids with an indexed query
+ * and removes them with one DELETE ... WHERE id IN statement in its own transaction, so a
+ * purge never loads a whole table or holds locks on it for the length of the purge.
+ */
+public final class ChunkedDeletes {
+
+    private ChunkedDeletes() {
+    }
+
+    /**
+     * Delete rows chunk by chunk until the id query returns none
+     *
+     * @param transactionTemplate Runs each chunk in a transaction
+     * @param chunkSize Most rows deleted per chunk
+     * @param findIds Ids of up to a page of the rows still to delete
+     * @param deleteIds Deletes rows by id, returning the number deleted
+     * @return Number of rows deleted
+     */
+    public static int deleteInChunks(TransactionTemplate transactionTemplate, int chunkSize,
+                                     Function<Pageable, List<Long>> findIds,
+                                     Function<List<Long>, Integer> deleteIds) {
+        Pageable firstChunk = PageRequest.of(0, chunkSize);
+        int deleted = 0;
+        while (true) {
+            Integer chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = findIds.apply(firstChunk);
+                return ids.isEmpty() ? 0 : deleteIds.apply(ids);
+            });
+            if (chunk == null || chunk == 0) {
+                return deleted;
+            }
+            deleted += chunk;
+        }
+    }
+}
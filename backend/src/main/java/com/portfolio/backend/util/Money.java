@@ -0,0 +1,125 @@
+package com.portfolio.backend.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money arithmetic on amounts in micro-units (millionths of a dollar) held in a
+ * plain long. Aggregation loops keep running totals as long micros, which never allocate.
+ * Every operation is overflow-checked and throws ArithmeticException rather than wrapping.
+ *
+ * Conversion from BigDecimal is exact by default (prices and costs in this application have
+ * at most 6 decimals); market prices with more digits use the rounding variant. Conversion
+ * back to BigDecimal at a chosen scale rounds half up, once, at the API boundary.
+ */
+public final class Money {
+
+    public static final int SCALE = 6;
+    public static final long MICROS_PER_CENT = 10_000L;
+
+    private Money() {
+    }
+
+    /**
+     * Convert a BigDecimal to micro-units, exactly
+     *
+     * @param amount The amount
+     * @return Amount in micro-units
+     * @throws ArithmeticException if the amount has non-zero digits beyond 6 decimals or is out of range
+     */
+    public static long toMicros(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * Convert a BigDecimal to micro-units, rounding digits beyond 6 decimals
+     *
+     * @param amount The amount
+     * @param roundingMode How to round sub-micro digits
+     * @return Amount in micro-units
+     * @throws ArithmeticException if the amount is out of range
+     */
+    public static long toMicros(BigDecimal amount, RoundingMode roundingMode) {
+        if (amount.scale() <= SCALE) {
+            return toMicros(amount);
+        }
+        return amount.setScale(SCALE, roundingMode).movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * Convert micro-units to a BigDecimal at a scale
+     *
+     * @param micros Amount in micro-units
+     * @param scale Number of decimals, at most 6 to round
+     * @return The amount rounded half up
+     */
+    public static BigDecimal toBigDecimal(long micros, int scale) {
+        return BigDecimal.valueOf(micros, SCALE).setScale(scale, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Multiply an amount by a quantity
+     *
+     * @param micros Amount in micro-units, e.g. a price per share
+     * @param quantity The quantity
+     * @return Product in micro-units
+     * @throws ArithmeticException on overflow
+     */
+    public static long multiply(long micros, long quantity) {
+        return Math.multiplyExact(micros, quantity);
+    }
+
+    /**
+     * Divide an amount, rounding the quotient once
+     *
+     * @param micros Amount in micro-units
+     * @param divisor The divisor, e.g. a share count
+     * @param roundingMode How to round the quotient
+     * @return Quotient in micro-units
+     * @throws ArithmeticException if the divisor is zero, or rounding is necessary with UNNECESSARY
+     */
+    public static long divide(long micros, long divisor, RoundingMode roundingMode) {
+        long quotient = micros / divisor;
+        long remainder = micros % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        int sign = Long.signum(micros) * Long.signum(divisor);
+        // Compare the remainder with half the divisor without doubling it
+        int half = Long.compare(Math.abs(remainder), Math.abs(divisor) - Math.abs(remainder));
+        boolean awayFromZero = switch (roundingMode) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> sign > 0;
+            case FLOOR -> sign < 0;
+            case HALF_UP -> half >= 0;
+            case HALF_DOWN -> half > 0;
+            case HALF_EVEN -> half > 0 || (half == 0 && (quotient & 1) != 0);
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        return awayFromZero ? quotient + sign : quotient;
+    }
+
+    /**
+     * Multiply an amount by a ratio, e.g. a cost by shares sold over shares held, rounding once.
+     * Products that overflow a long are computed in BigDecimal; the result must fit.
+     *
+     * @param micros Amount in micro-units
+     * @param numerator The ratio's numerator
+     * @param denominator The ratio's denominator
+     * @param roundingMode How to round the result
+     * @return Result in micro-units
+     * @throws ArithmeticException if the denominator is zero or the result is out of range
+     */
+    public static long multiplyDivide(long micros, long numerator, long denominator, RoundingMode roundingMode) {
+        long product;
+        try {
+            product = Math.multiplyExact(micros, numerator);
+        } catch (ArithmeticException e) {
+            return BigDecimal.valueOf(micros).multiply(BigDecimal.valueOf(numerator))
+                    .divide(BigDecimal.valueOf(denominator), 0, roundingMode)
+                    .longValueExact();
+        }
+        return divide(product, denominator, roundingMode);
+    }
+}
@@ -0,0 +1,326 @@
+package com.portfolio.backend.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * NYSE trading calendar with precomputed session open and close instants.
+ *
+ * Sessions for the years covered by the bundled calendar file (calendar/nyse.csv) are built
+ * once at load time: every weekday from 9:30 AM to 4:00 PM New York time, minus the listed
+ * holidays, with the listed early closes. Lookups by instant are binary searches over the
+ * sorted open and close arrays, and lookups by date are hash lookups. Outside the covered
+ * years every weekday is treated as a regular session.
+ */
+public class TradingCalendar {
+
+    public static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    private static final LocalTime OPEN = LocalTime.of(9, 30);
+    private static final LocalTime CLOSE = LocalTime.of(16, 0);
+    private static final String NYSE_RESOURCE = "/calendar/nyse.csv";
+
+    private final LocalDate firstDay;
+    private final LocalDate lastDay;
+    private final long coverageStart;
+    private final long coverageEnd;
+    private final long[] opens;
+    private final long[] closes;
+    private final Map<LocalDate, Integer> sessionByDate;
+    private final Map<YearMonth, LocalDate> lastTradingDays;
+
+    /**
+     * @param firstYear First year the holiday list is complete for
+     * @param lastYear Last year the holiday list is complete for
+     * @param holidays Weekdays without a session
+     * @param earlyCloses Sessions closing before 4:00 PM, with their close time
+     */
+    TradingCalendar(int firstYear, int lastYear, Set<LocalDate> holidays, Map<LocalDate, LocalTime> earlyCloses) {
+        if (firstYear > lastYear) {
+            throw new IllegalArgumentException("Trading calendar years are reversed: " + firstYear + " > " + lastYear);
+        }
+        this.firstDay = LocalDate.of(firstYear, 1, 1);
+        this.lastDay = LocalDate.of(lastYear, 12, 31);
+        this.coverageStart = firstDay.atStartOfDay(NEW_YORK).toEpochSecond();
+        this.coverageEnd = lastDay.plusDays(1).atStartOfDay(NEW_YORK).toEpochSecond();
+
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate date = firstDay; !date.isAfter(lastDay); date = date.plusDays(1)) {
+            if (isWeekday(date) && !holidays.contains(date)) {
+                days.add(date);
+            }
+        }
+        this.opens = new long[days.size()];
+        this.closes = new long[days.size()];
+        this.sessionByDate = new HashMap<>(days.size() * 2);
+        this.lastTradingDays = new HashMap<>();
+        for (int i = 0; i < days.size(); i++) {
+            LocalDate date = days.get(i);
+            opens[i] = date.atTime(OPEN).atZone(NEW_YORK).toEpochSecond();
+            closes[i] = date.atTime(earlyCloses.getOrDefault(date, CLOSE)).atZone(NEW_YORK).toEpochSecond();
+            sessionByDate.put(date, i);
+            lastTradingDays.put(YearMonth.from(date), date);
+        }
+    }
+
+    /**
+     * Get the NYSE calendar loaded from the bundled calendar file
+     *
+     * @return The shared NYSE calendar
+     */
+    public static TradingCalendar nyse() {
+        return NyseHolder.INSTANCE;
+    }
+
+    private static class NyseHolder {
+        private static final TradingCalendar INSTANCE = loadResource(NYSE_RESOURCE);
+    }
+
+    private static TradingCalendar loadResource(String resource) {
+        try (InputStream in = TradingCalendar.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Trading calendar " + resource + " not found on the classpath");
+            }
+            return load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable trading calendar " + resource, e);
+        }
+    }
+
+    /**
+     * Load a calendar file: a "years,first,last" line, then one line per exception,
+     * either "date,CLOSED,reason" or "date,EARLY_CLOSE,HH:mm,reason". Blank lines and
+     * lines starting with # are ignored.
+     *
+     * @param in Calendar file; not closed by this method
+     * @return The calendar
+     * @throws IOException if the file cannot be read
+     */
+    public static TradingCalendar load(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Integer firstYear = null;
+        Integer lastYear = null;
+        Set<LocalDate> holidays = new HashSet<>();
+        Map<LocalDate, LocalTime> earlyCloses = new HashMap<>();
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            try {
+                if ("years".equals(fields[0])) {
+                    firstYear = Integer.parseInt(fields[1].trim());
+                    lastYear = Integer.parseInt(fields[2].trim());
+                } else if ("CLOSED".equals(fields[1].trim())) {
+                    holidays.add(LocalDate.parse(fields[0].trim()));
+                } else if ("EARLY_CLOSE".equals(fields[1].trim())) {
+                    earlyCloses.put(LocalDate.parse(fields[0].trim()), LocalTime.parse(fields[2].trim()));
+                } else {
+                    throw new IllegalArgumentException("unknown entry type " + fields[1]);
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid trading calendar line " + lineNumber + ": " + line, e);
+            }
+        }
+        if (firstYear == null) {
+            throw new IllegalArgumentException("Trading calendar has no years line");
+        }
+        return new TradingCalendar(firstYear, lastYear, holidays, earlyCloses);
+    }
+
+    /**
+     * Check whether the market is open at the given instant
+     *
+     * @param time Instant to check
+     * @return true during a trading session
+     */
+    public boolean isOpen(Instant time) {
+        long second = time.getEpochSecond();
+        if (second < coverageStart || second >= coverageEnd) {
+            ZonedDateTime nyTime = time.atZone(NEW_YORK);
+            LocalTime localTime = nyTime.toLocalTime();
+            return isWeekday(nyTime.toLocalDate()) && !localTime.isBefore(OPEN) && localTime.isBefore(CLOSE);
+        }
+        int session = floorIndex(opens, second);
+        return session >= 0 && second < closes[session];
+    }
+
+    /**
+     * Check whether the market is open at the given time
+     *
+     * @param time Any zoned time
+     * @return true during a trading session
+     */
+    public boolean isOpen(ZonedDateTime time) {
+        return isOpen(time.toInstant());
+    }
+
+    /**
+     * Check whether the market has a session on the given date
+     *
+     * @param date Date in New York
+     * @return true on trading days, false on weekends and holidays
+     */
+    public boolean isTradingDay(LocalDate date) {
+        if (date.isBefore(firstDay) || date.isAfter(lastDay)) {
+            return isWeekday(date);
+        }
+        return sessionByDate.containsKey(date);
+    }
+
+    /**
+     * Check whether the session of the given day has already closed
+     *
+     * @param time Any zoned time; its New York date selects the session
+     * @return true on a trading day at or after that day's close (including early closes)
+     */
+    public boolean hasClosed(ZonedDateTime time) {
+        ZonedDateTime nyTime = time.withZoneSameInstant(NEW_YORK);
+        LocalDate date = nyTime.toLocalDate();
+        if (date.isBefore(firstDay) || date.isAfter(lastDay)) {
+            return isWeekday(date) && !nyTime.toLocalTime().isBefore(CLOSE);
+        }
+        Integer session = sessionByDate.get(date);
+        return session != null && time.toEpochSecond() >= closes[session];
+    }
+
+    /**
+     * Get the next session open strictly after the given instant
+     *
+     * @param time Instant to start from
+     * @return The next open in New York time
+     */
+    public ZonedDateTime nextOpen(Instant time) {
+        long second = time.getEpochSecond();
+        if (second < coverageStart) {
+            ZonedDateTime regular = regularNextOpen(time);
+            return regular.toLocalDate().isBefore(firstDay) || opens.length == 0 ? regular : toNewYork(opens[0]);
+        }
+        int next = floorIndex(opens, second) + 1;
+        if (next < opens.length) {
+            return toNewYork(opens[next]);
+        }
+        return regularNextOpen(Instant.ofEpochSecond(Math.max(second, coverageEnd)));
+    }
+
+    /**
+     * Get the next session open strictly after the given time
+     *
+     * @param time Any zoned time
+     * @return The next open in New York time
+     */
+    public ZonedDateTime nextOpen(ZonedDateTime time) {
+        return nextOpen(time.toInstant());
+    }
+
+    /**
+     * Get the latest session close at or before the given instant
+     *
+     * @param time Instant to start from
+     * @return The previous close in New York time
+     */
+    public ZonedDateTime previousClose(Instant time) {
+        long second = time.getEpochSecond();
+        if (second >= coverageEnd) {
+            ZonedDateTime regular = regularPreviousClose(time);
+            return regular.toLocalDate().isAfter(lastDay) || closes.length == 0 ? regular : toNewYork(closes[closes.length - 1]);
+        }
+        int previous = floorIndex(closes, second);
+        if (previous >= 0) {
+            return toNewYork(closes[previous]);
+        }
+        return regularPreviousClose(Instant.ofEpochSecond(Math.min(second, coverageStart)));
+    }
+
+    /**
+     * Get the latest session close at or before the given time
+     *
+     * @param time Any zoned time
+     * @return The previous close in New York time
+     */
+    public ZonedDateTime previousClose(ZonedDateTime time) {
+        return previousClose(time.toInstant());
+    }
+
+    /**
+     * Get the last trading day of a month
+     *
+     * @param month The month
+     * @return The last date in the month with a session
+     */
+    public LocalDate lastTradingDayOfMonth(YearMonth month) {
+        LocalDate lastTradingDay = lastTradingDays.get(month);
+        if (lastTradingDay != null) {
+            return lastTradingDay;
+        }
+        LocalDate date = month.atEndOfMonth();
+        while (!isWeekday(date)) {
+            date = date.minusDays(1);
+        }
+        return date;
+    }
+
+    private static ZonedDateTime regularNextOpen(Instant time) {
+        ZonedDateTime nyTime = time.atZone(NEW_YORK);
+        LocalDate date = nyTime.toLocalDate();
+        if (!nyTime.toLocalTime().isBefore(OPEN)) {
+            date = date.plusDays(1);
+        }
+        while (!isWeekday(date)) {
+            date = date.plusDays(1);
+        }
+        return date.atTime(OPEN).atZone(NEW_YORK);
+    }
+
+    private static ZonedDateTime regularPreviousClose(Instant time) {
+        ZonedDateTime nyTime = time.atZone(NEW_YORK);
+        LocalDate date = nyTime.toLocalDate();
+        if (nyTime.toLocalTime().isBefore(CLOSE)) {
+            date = date.minusDays(1);
+        }
+        while (!isWeekday(date)) {
+            date = date.minusDays(1);
+        }
+        return date.atTime(CLOSE).atZone(NEW_YORK);
+    }
+
+    /**
+     * Index of the last value at or below the key, or -1 if every value is above it
+     */
+    private static int floorIndex(long[] sorted, long key) {
+        int index = Arrays.binarySearch(sorted, key);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private static ZonedDateTime toNewYork(long epochSecond) {
+        return Instant.ofEpochSecond(epochSecond).atZone(NEW_YORK);
+    }
+
+    private static boolean isWeekday(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY;
+    }
+}
@@ -0,0 +1,46 @@
+package com.portfolio.backend.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache of computed results that are valid for one data version.
+ * A lookup with a different version than the stored entry recomputes and replaces it,
+ * so there is nothing to invalidate; the cache is cleared when it reaches its key limit.
+ *
+ * @param <V> Type of the cached results
+ */
+public class VersionedCache<V> {
+
+    private record Entry<V>(String version, V value) {
+    }
+
+    private final int maxEntries;
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public VersionedCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Get the result for a key at a version, computing it if the cached one is for another version
+     *
+     * @param key The result key
+     * @param version The current data version
+     * @param loader Computes the result
+     * @return The cached or computed result
+     */
+    public V get(String key, String version, Supplier<V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.version().equals(version)) {
+            return entry.value();
+        }
+        V value = loader.get();
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            entries.clear();
+        }
+        entries.put(key, new Entry<>(version, value));
+        return value;
+    }
+}
@@ -0,0 +1,188 @@
+package com.portfolio.backend.bench;
+
+import com.portfolio.backend.model.TaxLot;
+import com.portfolio.backend.model.TradeHistory;
+import com.portfolio.backend.service.CostBasisEngine;
+import com.portfolio.backend.service.TaxLotService;
+import com.portfolio.backend.util.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation and time of the money aggregation loops over 1M trades and 1M open lots, in long
+ * micro-units (Money) against the BigDecimal arithmetic they replaced. The legacy methods are
+ * copies of the old average-cost walk, TaxLotService.calculateUnrealizedGain and trade total
+ * loops; averageCostWalk is the same walk in micro-units, and costBasisWalk is the FIFO lot
+ * replay CostBasisEngine runs now. Run with the GC profiler so gc.alloc.rate.norm reports
+ * bytes allocated per operation.
+ *
+ * Run with (exec:exec, so the forked benchmark JVM gets the test classpath rather than Maven's):
+ *   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java -Dexec.args="-classpath %classpath com.portfolio.backend.bench.MoneyAggregationBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class MoneyAggregationBenchmark {
+
+    private static final int TRADES = 1_000_000;
+    private static final int TICKERS = 500;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 2);
+
+    private final TaxLotService taxLotService = new TaxLotService();
+
+    private List<TradeHistory> trades;
+    private Map<String, List<TaxLot>> lotsByTicker;
+    // The same lots as [cost per share, remaining quantity], as the BigDecimal entity held them
+    private Map<String, List<BigDecimal[]>> legacyLotsByTicker;
+    private Map<String, BigDecimal> prices;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        trades = new ArrayList<>(TRADES);
+        lotsByTicker = new HashMap<>();
+        legacyLotsByTicker = new HashMap<>();
+        prices = new HashMap<>();
+        for (int i = 0; i < TRADES; i++) {
+            String ticker = "T" + random.nextInt(TICKERS);
+            LocalDate date = FIRST_DAY.plusDays(i / 500);
+            BigDecimal price = BigDecimal.valueOf(1_000 + random.nextInt(50_000), 2);
+            int quantity = 1 + random.nextInt(100);
+            // Two buys for every sell keeps positions open through the walk
+            TradeHistory.TradeType type = i % 3 == 2 ? TradeHistory.TradeType.SELL : TradeHistory.TradeType.BUY;
+            TradeHistory trade = new TradeHistory(date, ticker, quantity, price, type);
+            trade.setId((long) i);
+            trades.add(trade);
+            lotsByTicker.computeIfAbsent(ticker, t -> new ArrayList<>())
+                    .add(new TaxLot(ticker, (long) i, date, quantity, price));
+            legacyLotsByTicker.computeIfAbsent(ticker, t -> new ArrayList<>())
+                    .add(new BigDecimal[]{price.setScale(6), BigDecimal.valueOf(quantity)});
+        }
+        for (String ticker : lotsByTicker.keySet()) {
+            prices.put(ticker, BigDecimal.valueOf(1_000 + random.nextInt(50_000), 2));
+        }
+    }
+
+    @Benchmark
+    public Map<Long, BigDecimal> costBasisWalk() {
+        return CostBasisEngine.walk(trades, FIRST_DAY);
+    }
+
+    @Benchmark
+    public Map<Long, BigDecimal> averageCostWalk() {
+        // [quantity, cost in micro-units]
+        Map<String, long[]> positions = new HashMap<>();
+        Map<Long, BigDecimal> realizedGains = new LinkedHashMap<>();
+        for (TradeHistory trade : trades) {
+            long[] position = positions.computeIfAbsent(trade.getTicker(), ticker -> new long[2]);
+            long quantity = trade.getQuantity();
+            if (trade.getTradeType() == TradeHistory.TradeType.BUY) {
+                position[0] += quantity;
+                position[1] = Math.addExact(position[1], trade.getTotalValueMicros());
+                continue;
+            }
+            long realizedGainMicros = 0;
+            if (position[0] > 0) {
+                long soldCostMicros = Money.multiplyDivide(position[1], quantity, position[0], RoundingMode.HALF_UP);
+                realizedGainMicros = Math.subtractExact(trade.getTotalValueMicros(), soldCostMicros);
+                long remaining = Math.max(0, position[0] - quantity);
+                position[1] = remaining == 0 ? 0 : position[1] - soldCostMicros;
+                position[0] = remaining;
+            }
+            realizedGains.put(trade.getId(), BigDecimal.valueOf(realizedGainMicros, Money.SCALE));
+        }
+        return realizedGains;
+    }
+
+    @Benchmark
+    public Map<Long, BigDecimal> legacyCostBasisWalk() {
+        Map<String, BigDecimal[]> positions = new HashMap<>();
+        Map<Long, BigDecimal> realizedGains = new LinkedHashMap<>();
+        for (TradeHistory trade : trades) {
+            // [quantity, cost]
+            BigDecimal[] position = positions.computeIfAbsent(trade.getTicker(),
+                    ticker -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+            BigDecimal quantity = BigDecimal.valueOf(trade.getQuantity());
+            BigDecimal totalValue = trade.getPrice().multiply(new BigDecimal(trade.getQuantity()));
+            if (trade.getTradeType() == TradeHistory.TradeType.BUY) {
+                position[0] = position[0].add(quantity);
+                position[1] = position[1].add(totalValue);
+                continue;
+            }
+            BigDecimal realizedGain = BigDecimal.ZERO;
+            if (position[0].signum() > 0) {
+                BigDecimal soldCost = position[1].multiply(quantity).divide(position[0], 4, RoundingMode.HALF_UP);
+                realizedGain = totalValue.subtract(soldCost);
+                BigDecimal remaining = position[0].subtract(quantity).max(BigDecimal.ZERO);
+                position[1] = remaining.signum() == 0 ? BigDecimal.ZERO : position[1].subtract(soldCost);
+                position[0] = remaining;
+            }
+            realizedGains.put(trade.getId(), realizedGain);
+        }
+        return realizedGains;
+    }
+
+    @Benchmark
+    public BigDecimal unrealizedGain() {
+        return taxLotService.calculateUnrealizedGain(lotsByTicker, prices);
+    }
+
+    @Benchmark
+    public BigDecimal legacyUnrealizedGain() {
+        BigDecimal totalUnrealized = BigDecimal.ZERO;
+        for (Map.Entry<String, List<BigDecimal[]>> entry : legacyLotsByTicker.entrySet()) {
+            BigDecimal price = prices.get(entry.getKey());
+            for (BigDecimal[] lot : entry.getValue()) {
+                BigDecimal quantity = lot[1];
+                BigDecimal marketValue = price.multiply(quantity);
+                BigDecimal remainingCost = lot[0].multiply(quantity);
+                totalUnrealized = totalUnrealized.add(marketValue.subtract(remainingCost));
+            }
+        }
+        return totalUnrealized.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public long tradeTotals() {
+        long totalMicros = 0;
+        for (TradeHistory trade : trades) {
+            totalMicros = Math.addExact(totalMicros, trade.getTotalValueMicros());
+        }
+        return totalMicros;
+    }
+
+    @Benchmark
+    public BigDecimal legacyTradeTotals() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (TradeHistory trade : trades) {
+            total = total.add(trade.getPrice().multiply(new BigDecimal(trade.getQuantity())));
+        }
+        return total;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MoneyAggregationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
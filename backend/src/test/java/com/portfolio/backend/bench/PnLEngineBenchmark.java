@@ -0,0 +1,75 @@
+package com.portfolio.backend.bench;
+
+import com.portfolio.backend.dto.MonthlyPnL;
+import com.portfolio.backend.service.PnLEngine;
+import com.portfolio.backend.util.DateUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of PnLEngine.calculateMonths on the H2 database seeded by PortfolioSeed, for the
+ * 7-month chart window and a full year, so a regression in the batch (an extra query per
+ * month or per ticker) shows up as a drop in operations per second.
+ *
+ * Run with (exec:exec, so the forked benchmark JVM gets the test classpath rather than Maven's):
+ *   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java -Dexec.args="-classpath %classpath com.portfolio.backend.bench.PnLEngineBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class PnLEngineBenchmark {
+
+    @Param({"5", "20"})
+    private int tickers;
+
+    @Param({"7", "12"})
+    private int months;
+
+    private ConfigurableApplicationContext context;
+    private PnLEngine pnLEngine;
+    private LocalDate today;
+    private List<YearMonth> window;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = PortfolioSeed.start();
+        PortfolioSeed.seed(context, tickers);
+        pnLEngine = context.getBean(PnLEngine.class);
+        today = DateUtil.getCurrentDateInNYC();
+        window = new ArrayList<>(months);
+        for (int i = months - 1; i >= 0; i--) {
+            window.add(YearMonth.from(today).minusMonths(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<YearMonth, MonthlyPnL> calculateMonths() {
+        return pnLEngine.calculateMonths(window, today);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PnLEngineBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
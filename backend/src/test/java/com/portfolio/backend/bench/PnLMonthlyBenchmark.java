@@ -0,0 +1,108 @@
+package com.portfolio.backend.bench;
+
+import com.portfolio.backend.model.TaxLot;
+import com.portfolio.backend.service.PnLService;
+import com.portfolio.backend.service.PriceHistoryService;
+import com.portfolio.backend.service.RealizedGainService;
+import com.portfolio.backend.service.TaxLotService;
+import com.portfolio.backend.util.DateUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Wall-clock time and JDBC statements per call of the monthly P&L chart, on an H2 database
+ * seeded by PortfolioSeed with 5 years of trades. No monthly summaries are stored, so every
+ * past month takes the on-the-fly path.
+ *
+ * "before" replays the per-month queries of the previous implementation (a ledger SUM, an
+ * open-lots query and a price lookup per month, and the year-to-date and today's figures
+ * recomputed for the totals); "after" is PnLService.getMonthlyPnLData, which calculates the
+ * months in one PnLEngine batch.
+ *
+ * Run with (optional arguments: tickers, measured calls):
+ *   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java -Dexec.args="-classpath %classpath com.portfolio.backend.bench.PnLMonthlyBenchmark 20 50"
+ */
+public class PnLMonthlyBenchmark {
+
+    private static final int WARMUP_CALLS = 10;
+
+    public static void main(String[] args) {
+        int tickers = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int calls = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        ConfigurableApplicationContext context = PortfolioSeed.start();
+        try {
+            PortfolioSeed.seed(context, tickers);
+            run(context, calls);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(ConfigurableApplicationContext context, int calls) {
+        PnLService pnLService = context.getBean(PnLService.class);
+        RealizedGainService realizedGainService = context.getBean(RealizedGainService.class);
+        TaxLotService taxLotService = context.getBean(TaxLotService.class);
+        PriceHistoryService priceHistoryService = context.getBean(PriceHistoryService.class);
+        Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        Supplier<Object> before = () -> replayPreviousImplementation(realizedGainService, taxLotService, priceHistoryService);
+        Supplier<Object> after = pnLService::getMonthlyPnLData;
+
+        System.out.printf("%-28s %12s %12s%n", "", "ms/call", "stmts/call");
+        measure("before (sequential months)", before, calls, statistics);
+        measure("after (PnLEngine batch)", after, calls, statistics);
+    }
+
+    private static void measure(String label, Supplier<Object> call, int calls, Statistics statistics) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call.get();
+        }
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            call.get();
+        }
+        double millisPerCall = (System.nanoTime() - start) / 1_000_000.0 / calls;
+        double statementsPerCall = (double) statistics.getPrepareStatementCount() / calls;
+        System.out.printf("%-28s %12.2f %12.1f%n", label, millisPerCall, statementsPerCall);
+    }
+
+    /**
+     * The queries the chart issued before the request context: each month summed the ledger
+     * and loaded and priced the open lots on its own, and the totals repeated the
+     * year-to-date SUM twice and today's valuation once more
+     */
+    private static Object replayPreviousImplementation(RealizedGainService realizedGainService,
+                                                       TaxLotService taxLotService,
+                                                       PriceHistoryService priceHistoryService) {
+        LocalDate today = DateUtil.getCurrentDateInNYC();
+        YearMonth current = YearMonth.from(today).minusMonths(6);
+        BigDecimal total = BigDecimal.ZERO;
+        while (!current.isAfter(YearMonth.from(today))) {
+            LocalDate end = current.equals(YearMonth.from(today)) ? today : current.atEndOfMonth();
+            total = total.add(realizedGainService.getRealizedGain(current.atDay(1), end));
+            total = total.add(unrealizedAsOf(taxLotService, priceHistoryService, end));
+            current = current.plusMonths(1);
+        }
+        for (int i = 0; i < 2; i++) {
+            total = total.add(realizedGainService.getRealizedGain(today.withDayOfYear(1), today));
+        }
+        return total.add(unrealizedAsOf(taxLotService, priceHistoryService, today));
+    }
+
+    private static BigDecimal unrealizedAsOf(TaxLotService taxLotService, PriceHistoryService priceHistoryService,
+                                             LocalDate date) {
+        Map<String, List<TaxLot>> lots = taxLotService.getOpenLotsAsOf(date);
+        return taxLotService.calculateUnrealizedGain(lots, priceHistoryService.getPricesAsOf(lots.keySet(), date));
+    }
+}
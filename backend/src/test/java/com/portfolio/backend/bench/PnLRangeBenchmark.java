@@ -0,0 +1,94 @@
+package com.portfolio.backend.bench;
+
+import com.portfolio.backend.dto.MonthlyPnL;
+import com.portfolio.backend.model.PortfolioMonthlySummary;
+import com.portfolio.backend.repository.PortfolioMonthlySummaryRepository;
+import com.portfolio.backend.service.PnLEngine;
+import com.portfolio.backend.service.PnLService;
+import com.portfolio.backend.util.DateUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Wall-clock time and JDBC statements per call of the range P&L API over ten years, on an H2
+ * database seeded by PortfolioSeed with ten years of trades and a stored summary for every
+ * past month. Each call reads the summaries with one range query and calculates only the
+ * current month with PnLEngine; calls bypass the response cache.
+ *
+ * Run with (optional arguments: tickers, measured calls):
+ *   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java -Dexec.args="-classpath %classpath com.portfolio.backend.bench.PnLRangeBenchmark 20 200"
+ */
+public class PnLRangeBenchmark {
+
+    private static final int YEARS = 10;
+    private static final int WARMUP_CALLS = 20;
+
+    public static void main(String[] args) {
+        int tickers = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int calls = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        ConfigurableApplicationContext context = PortfolioSeed.start();
+        try {
+            PortfolioSeed.seed(context, tickers, YEARS);
+            storeSummaries(context);
+            run(context, calls);
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Store a summary for every past month of the seeded history, calculated in one PnLEngine batch
+     */
+    private static void storeSummaries(ConfigurableApplicationContext context) {
+        LocalDate today = DateUtil.getCurrentDateInNYC();
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(today).minusYears(YEARS); month.isBefore(YearMonth.from(today)); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        List<PortfolioMonthlySummary> summaries = new ArrayList<>();
+        for (MonthlyPnL monthPnL : context.getBean(PnLEngine.class).calculateMonths(months, today).values()) {
+            summaries.add(new PortfolioMonthlySummary(monthPnL.month().getYear(), monthPnL.month().getMonthValue(),
+                    BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, monthPnL.realized(), monthPnL.unrealized()));
+        }
+        context.getBean(PortfolioMonthlySummaryRepository.class).saveAll(summaries);
+        System.out.println("Stored " + summaries.size() + " monthly summaries");
+    }
+
+    private static void run(ConfigurableApplicationContext context, int calls) {
+        PnLService pnLService = context.getBean(PnLService.class);
+        Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        YearMonth to = YearMonth.from(DateUtil.getCurrentDateInNYC());
+        YearMonth from = to.minusYears(YEARS);
+
+        System.out.printf("%-28s %12s %12s%n", "", "ms/call", "stmts/call");
+        for (String granularity : List.of("month", "quarter", "year")) {
+            measure(YEARS + " years by " + granularity, () -> pnLService.getPnLData(from, to, granularity), calls, statistics);
+        }
+        YearMonth lastMonth = to.minusMonths(1);
+        measure(YEARS + " years, all stored", () -> pnLService.getPnLData(from, lastMonth, "month"), calls, statistics);
+    }
+
+    private static void measure(String label, Supplier<Object> call, int calls, Statistics statistics) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call.get();
+        }
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            call.get();
+        }
+        double millisPerCall = (System.nanoTime() - start) / 1_000_000.0 / calls;
+        double statementsPerCall = (double) statistics.getPrepareStatementCount() / calls;
+        System.out.printf("%-28s %12.2f %12.1f%n", label, millisPerCall, statementsPerCall);
+    }
+}
@@ -0,0 +1,119 @@
+package com.portfolio.backend.bench;
+
+import com.portfolio.backend.BackendApplication;
+import com.portfolio.backend.model.TaxLot;
+import com.portfolio.backend.model.TradeHistory;
+import com.portfolio.backend.repository.TradeHistoryRepository;
+import com.portfolio.backend.service.RealizedGainService;
+import com.portfolio.backend.service.TaxLotService;
+import com.portfolio.backend.util.DateUtil;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application on the test profile's H2 database and seeds it with several years of
+ * trade history, for the P&L benchmarks
+ */
+public final class PortfolioSeed {
+
+    public static final int YEARS = 5;
+
+    private PortfolioSeed() {
+    }
+
+    /**
+     * Start the application on a random port with SQL and transaction logging turned down
+     *
+     * @return The running application context
+     */
+    public static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "logging.level.com.portfolio.backend=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "logging.level.org.springframework.transaction=WARN",
+                        "spring.jpa.show-sql=false")
+                .run();
+    }
+
+    /**
+     * Seed YEARS of history per ticker
+     *
+     * @param context The running application context
+     * @param tickers Number of tickers to seed
+     */
+    public static void seed(ConfigurableApplicationContext context, int tickers) {
+        seed(context, tickers, YEARS);
+    }
+
+    /**
+     * Seed years of history per ticker: a 10-share buy every Monday and a sale of 30 shares
+     * (FIFO) on the first weekday of each month, plus a daily close for every weekday
+     *
+     * @param context The running application context
+     * @param tickers Number of tickers to seed
+     * @param years Years of history before today
+     */
+    public static void seed(ConfigurableApplicationContext context, int tickers, int years) {
+        TradeHistoryRepository tradeHistoryRepository = context.getBean(TradeHistoryRepository.class);
+        TaxLotService taxLotService = context.getBean(TaxLotService.class);
+        RealizedGainService realizedGainService = context.getBean(RealizedGainService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        LocalDate today = DateUtil.getCurrentDateInNYC();
+        LocalDate firstDay = today.minusYears(years);
+        List<Object[]> bars = new ArrayList<>();
+        int trades = 0;
+
+        for (int t = 0; t < tickers; t++) {
+            String ticker = "T" + t;
+            YearMonth lastSellMonth = YearMonth.from(firstDay);
+            for (LocalDate day = firstDay; day.isBefore(today); day = day.plusDays(1)) {
+                if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                    continue;
+                }
+                BigDecimal price = priceOf(t, day);
+                bars.add(new Object[]{ticker, day, price, price, price, price, 1_000_000L});
+
+                if (day.getDayOfWeek() == DayOfWeek.MONDAY) {
+                    TradeHistory buy = tradeHistoryRepository.save(
+                            new TradeHistory(day, ticker, 10, price, TradeHistory.TradeType.BUY));
+                    taxLotService.openLot(buy.getId(), ticker, day, 10, price);
+                    trades++;
+                }
+                if (YearMonth.from(day).isAfter(lastSellMonth)) {
+                    lastSellMonth = YearMonth.from(day);
+                    if (taxLotService.getOpenLots(ticker).stream().mapToInt(TaxLot::getRemainingQuantity).sum() >= 30) {
+                        TradeHistory sell = tradeHistoryRepository.save(
+                                new TradeHistory(day, ticker, 30, price, TradeHistory.TradeType.SELL));
+                        BigDecimal costBasis = taxLotService.relieve(ticker, 30, "FIFO", null).costBasis();
+                        realizedGainService.recordSell(sell.getId(), ticker, day, 30, price, costBasis);
+                        trades++;
+                    }
+                }
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO price_bars (ticker, bar_date, open_price, high_price, low_price, " +
+                "close_price, volume) VALUES (?, ?, ?, ?, ?, ?, ?)", bars);
+        System.out.println("Seeded " + trades + " trades and " + bars.size() + " daily closes for " + tickers + " tickers");
+    }
+
+    private static BigDecimal priceOf(int ticker, LocalDate day) {
+        double drift = day.toEpochDay() / 365.0 * 8;
+        double wave = 10 * Math.sin(day.toEpochDay() / 20.0 + ticker);
+        return BigDecimal.valueOf(50 + ticker * 5 + drift + wave).setScale(4, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,116 @@
+package com.portfolio.backend.bench;
+
+import com.portfolio.backend.dto.Quote;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation per quote and throughput of the Quote record against the map-based
+ * representation it replaced. The legacy methods are copies of the old
+ * parseStockData/createErrorResponse map building; run with the GC profiler so
+ * gc.alloc.rate.norm reports bytes allocated per operation.
+ *
+ * Run with (exec:exec, so the forked benchmark JVM gets the test classpath rather than Maven's):
+ *   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java -Dexec.args="-classpath %classpath com.portfolio.backend.bench.QuoteAllocationBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class QuoteAllocationBenchmark {
+
+    private final BigDecimal price = new BigDecimal("189.84");
+    private final BigDecimal previousClose = new BigDecimal("187.43");
+    private final BigDecimal marketCap = new BigDecimal("2950000000000");
+    private final BigDecimal volume = new BigDecimal("51234567");
+    private final BigDecimal dayLow = new BigDecimal("187.10");
+    private final BigDecimal dayHigh = new BigDecimal("190.32");
+    private final BigDecimal yearLow = new BigDecimal("164.08");
+    private final BigDecimal yearHigh = new BigDecimal("199.62");
+
+    @Benchmark
+    public Map<String, Object> legacyQuoteMap() {
+        BigDecimal dayGain = price.subtract(previousClose);
+        BigDecimal dayGainPercent = dayGain.divide(previousClose, 4, RoundingMode.HALF_UP).multiply(new BigDecimal("100"));
+
+        Map<String, Object> stockData = new HashMap<>();
+        stockData.put("symbol", "AAPL");
+        stockData.put("name", "Apple Inc.");
+        stockData.put("price", price);
+        stockData.put("currency", "USD");
+        stockData.put("marketCap", marketCap);
+        stockData.put("previousClose", previousClose);
+        stockData.put("dayGain", dayGain);
+        stockData.put("dayGainPercent", dayGainPercent);
+        stockData.put("volume", volume);
+        stockData.put("dayLow", dayLow);
+        stockData.put("dayHigh", dayHigh);
+        stockData.put("yearLow", yearLow);
+        stockData.put("yearHigh", yearHigh);
+        stockData.put("marketStatus", "Market Closed");
+        return stockData;
+    }
+
+    @Benchmark
+    public Quote quoteRecord() {
+        return Quote.of("AAPL", "Apple Inc.", price, "USD", marketCap, previousClose, volume,
+                dayLow, dayHigh, yearLow, yearHigh);
+    }
+
+    @Benchmark
+    public Map<String, Object> legacyErrorMap() {
+        Map<String, Object> errorData = new HashMap<>();
+        errorData.put("symbol", "AAPL");
+        errorData.put("name", null);
+        errorData.put("price", null);
+        errorData.put("currency", null);
+        errorData.put("marketCap", null);
+        errorData.put("previousClose", null);
+        errorData.put("dayGain", null);
+        errorData.put("dayGainPercent", null);
+        errorData.put("volume", null);
+        errorData.put("dayLow", null);
+        errorData.put("dayHigh", null);
+        errorData.put("yearLow", null);
+        errorData.put("yearHigh", null);
+        errorData.put("marketStatus", null);
+        errorData.put("error", "Failed to fetch data");
+        return errorData;
+    }
+
+    @Benchmark
+    public Quote quoteFailed() {
+        return Quote.failed("AAPL");
+    }
+
+    @Benchmark
+    public double legacyPriceLookup() {
+        Object price = legacyQuoteMap().get("price");
+        return price instanceof Number ? ((Number) price).doubleValue() : 0;
+    }
+
+    @Benchmark
+    public BigDecimal quotePriceLookup() {
+        return quoteRecord().price();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(QuoteAllocationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
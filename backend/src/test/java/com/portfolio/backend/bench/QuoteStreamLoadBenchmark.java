@@ -0,0 +1,124 @@
+package com.portfolio.backend.bench;
+
+import com.portfolio.backend.BackendApplication;
+import com.portfolio.backend.support.StubQuoteServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Load test for GET /api/stock-data/stream: boots the application against a local stub
+ * upstream, opens many concurrent SSE connections spread over a few symbols, and reports
+ * heap retained per open connection and upstream calls per symbol per poll interval.
+ * Clients run in the same JVM, so the per-connection figure includes the client side of
+ * each connection and is an upper bound for the server.
+ *
+ * Run with (optional arguments: connections, seconds to hold the connections open):
+ *   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java -Dexec.args="-classpath %classpath com.portfolio.backend.bench.QuoteStreamLoadBenchmark 2000 20"
+ */
+public class QuoteStreamLoadBenchmark {
+
+    private static final List<String> SYMBOLS = List.of("AAPL", "MSFT", "GOOGL", "AMZN", "NVDA");
+    private static final long POLL_INTERVAL_MS = 1000;
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int holdSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        try (StubQuoteServer upstream = new StubQuoteServer(25)) {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+                    .profiles("test")
+                    .properties(
+                            "server.port=0",
+                            "logging.level.com.portfolio.backend=WARN",
+                            "logging.level.org.hibernate.SQL=WARN",
+                            "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                            "spring.jpa.show-sql=false",
+                            "stock-data.provider=yahoo-chart",
+                            "stock-data.base-url=" + upstream.baseUrl(),
+                            "stock-data.cache.max-entries=0",
+                            "stock-data.stream.poll-ms=" + POLL_INTERVAL_MS)
+                    .run();
+            try {
+                run(context, upstream, connections, holdSeconds);
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private static void run(ConfigurableApplicationContext context, StubQuoteServer upstream,
+                            int connections, int holdSeconds) throws InterruptedException {
+        String port = context.getEnvironment().getProperty("local.server.port");
+        ConnectionProvider pool = ConnectionProvider.builder("quote-stream-load")
+                .maxConnections(connections)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient client = WebClient.builder()
+                .baseUrl("http://127.0.0.1:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(pool)))
+                .build();
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long heapBefore = settledHeapUsed(memory);
+
+        CountDownLatch firstEvents = new CountDownLatch(connections);
+        List<Disposable> streams = new ArrayList<>(connections);
+        long start = System.nanoTime();
+        for (int i = 0; i < connections; i++) {
+            String symbol = SYMBOLS.get(i % SYMBOLS.size());
+            AtomicBoolean connected = new AtomicBoolean();
+            streams.add(client.get()
+                    .uri("/api/stock-data/stream?symbols={symbol}", symbol)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .retrieve()
+                    .bodyToFlux(String.class)
+                    .subscribe(event -> {
+                        if (connected.compareAndSet(false, true)) {
+                            firstEvents.countDown();
+                        }
+                    }, e -> System.err.println("Stream failed: " + e.getMessage())));
+        }
+        if (!firstEvents.await(60, TimeUnit.SECONDS)) {
+            System.err.println("Only " + (connections - firstEvents.getCount()) + " of " + connections + " streams connected");
+        }
+        long connectMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        upstream.resetCounts();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(holdSeconds));
+        int upstreamCalls = upstream.totalCalls();
+        long heapAfter = settledHeapUsed(memory);
+
+        System.out.println();
+        System.out.println("Open SSE connections:          " + connections + " over " + SYMBOLS.size() + " symbols");
+        System.out.println("Time to first event (all):     " + connectMs + " ms");
+        System.out.println("Heap retained:                 " + (heapAfter - heapBefore) / 1024 + " KiB");
+        System.out.println("Heap per connection:           " + (heapAfter - heapBefore) / connections + " bytes");
+        System.out.println("Upstream calls in " + holdSeconds + " s:        " + upstreamCalls
+                + " (" + SYMBOLS.size() + " symbols x " + (holdSeconds * 1000 / POLL_INTERVAL_MS) + " polls expected)");
+
+        streams.forEach(Disposable::dispose);
+        pool.dispose();
+    }
+
+    private static long settledHeapUsed(MemoryMXBean memory) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,75 @@
+package com.portfolio.backend.bench;
+
+import com.portfolio.backend.dto.Quote;
+import com.portfolio.backend.provider.YahooChartQuoteProvider;
+import com.portfolio.backend.service.StockDataService;
+import com.portfolio.backend.support.StubQuoteServer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of StockDataService.getStockData against a local stub upstream with a fixed
+ * per-request delay, using the per-symbol chart provider with the quote cache disabled so
+ * every call goes upstream. SampleTime mode reports p50/p99 per symbol count;
+ * concurrency=1 reproduces the old one-symbol-at-a-time behaviour for comparison.
+ *
+ * Run with (exec:exec, so the forked benchmark JVM gets the test classpath rather than Maven's):
+ *   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java -Dexec.args="-classpath %classpath com.portfolio.backend.bench.StockDataFanOutBenchmark"
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class StockDataFanOutBenchmark {
+
+    private static final long UPSTREAM_LATENCY_MS = 25;
+
+    @Param({"1", "10", "50", "200"})
+    private int symbolCount;
+
+    @Param({"1", "8", "32"})
+    private int concurrency;
+
+    private StubQuoteServer upstream;
+    private StockDataService stockDataService;
+    private List<String> symbols;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        upstream = new StubQuoteServer(UPSTREAM_LATENCY_MS);
+        WebClient webClient = WebClient.builder().baseUrl(upstream.baseUrl()).build();
+        stockDataService = new StockDataService(new YahooChartQuoteProvider(webClient, concurrency), 60_000, 0, 15);
+        symbols = new ArrayList<>(symbolCount);
+        for (int i = 0; i < symbolCount; i++) {
+            symbols.add("SYM" + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        upstream.close();
+    }
+
+    @Benchmark
+    public List<Quote> getStockData() {
+        return stockDataService.getStockData(symbols);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(StockDataFanOutBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,88 @@
+package com.portfolio.backend.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.backend.dto.Quote;
+import com.portfolio.backend.provider.YahooChartParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing cost of a Yahoo chart response: the streaming YahooChartParser against the
+ * String + readTree path it replaced (copied below). The 1d payload is what the quote
+ * provider requests; the 5y payload shows how the tree path scales with the indicator
+ * arrays while the streaming parser stops after meta.
+ *
+ * Run with (exec:exec, so the forked benchmark JVM gets the test classpath rather than Maven's):
+ *   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java -Dexec.args="-classpath %classpath com.portfolio.backend.bench.YahooChartParserBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class YahooChartParserBenchmark {
+
+    @Param({"1d", "5y"})
+    private String range;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final YahooChartParser chartParser = new YahooChartParser();
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/yahoo/chart-aapl-" + range + ".json")) {
+            payload = in.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public Quote streaming() throws IOException {
+        return chartParser.parse(payload);
+    }
+
+    @Benchmark
+    public Quote legacyTree() throws IOException {
+        String jsonResponse = new String(payload, StandardCharsets.UTF_8);
+        JsonNode metaNode = objectMapper.readTree(jsonResponse).get("chart").get("result").get(0).get("meta");
+
+        String symbol = metaNode.get("symbol").asText();
+        return Quote.of(
+                symbol,
+                metaNode.has("shortName") ? metaNode.get("shortName").asText() : symbol,
+                decimal(metaNode, "regularMarketPrice"),
+                metaNode.get("currency").asText(),
+                decimal(metaNode, "marketCap"),
+                decimal(metaNode, "chartPreviousClose"),
+                decimal(metaNode, "regularMarketVolume"),
+                decimal(metaNode, "regularMarketDayLow"),
+                decimal(metaNode, "regularMarketDayHigh"),
+                decimal(metaNode, "fiftyTwoWeekLow"),
+                decimal(metaNode, "fiftyTwoWeekHigh"));
+    }
+
+    private static BigDecimal decimal(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : new BigDecimal(value.toString());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(YahooChartParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
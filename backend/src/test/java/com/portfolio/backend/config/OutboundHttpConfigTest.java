@@ -0,0 +1,97 @@
+package com.portfolio.backend.config;
+
+import com.portfolio.backend.support.StubQuoteServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboundHttpConfigTest {
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private HttpClient outboundHttpClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private StubQuoteServer upstream;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        upstream = new StubQuoteServer(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    void restTemplate_SequentialCalls_ReuseOneConnection() {
+        // Act
+        for (int i = 0; i < 5; i++) {
+            restTemplate.getForObject(upstream.baseUrl() + "/v8/finance/chart/{symbol}", String.class, "AAPL");
+        }
+
+        // Assert
+        assertEquals(5, upstream.totalCalls());
+        assertEquals(1, upstream.connectionsSeen());
+    }
+
+    @Test
+    void restTemplate_Call_RecordsLatencyPerHost() {
+        // Act
+        restTemplate.getForObject(upstream.baseUrl() + "/v8/finance/chart/{symbol}", String.class, "MSFT");
+
+        // Assert
+        Timer timer = meterRegistry.find("http.client.requests")
+                .tag("client.name", "127.0.0.1")
+                .tag("uri", "/v8/finance/chart/{symbol}")
+                .timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 1);
+    }
+
+    @Test
+    void outboundHttpClient_SecondBurst_ReusesPooledConnections() {
+        // Arrange
+        upstream.setLatencyMs(50);
+        WebClient webClient = WebClient.builder()
+                .baseUrl(upstream.baseUrl())
+                .clientConnector(new ReactorClientHttpConnector(outboundHttpClient))
+                .build();
+
+        // Act
+        for (int burst = 0; burst < 2; burst++) {
+            Flux.range(0, 10)
+                    .flatMap(i -> webClient.get()
+                            .uri("/v8/finance/chart/{symbol}", "SYM" + i)
+                            .retrieve()
+                            .bodyToMono(String.class))
+                    .blockLast(Duration.ofSeconds(10));
+        }
+
+        // Assert
+        assertEquals(20, upstream.totalCalls());
+        assertTrue(upstream.connectionsSeen() <= 10,
+                "second burst should reuse the first burst's connections, saw " + upstream.connectionsSeen());
+    }
+}
@@ -0,0 +1,141 @@
+package com.portfolio.backend.provider;
+
+import com.portfolio.backend.dto.Quote;
+import com.portfolio.backend.support.StubQuoteServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientQuoteProviderTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private StubQuoteServer upstream;
+    private YahooChartQuoteProvider chartProvider;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        upstream = new StubQuoteServer(0);
+        chartProvider = new YahooChartQuoteProvider(WebClient.builder().baseUrl(upstream.baseUrl()).build(), 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    void fetchBatch_UpstreamSlowerThanDeadline_ReturnsLastKnownQuotesAsStale() {
+        // Arrange
+        ResilientQuoteProvider provider = resilient(breaker(10, 10, Duration.ofSeconds(5), Duration.ofSeconds(30)),
+                8, Duration.ofMillis(200));
+        Quote fresh = provider.fetchBatch(List.of("AAPL")).block(TIMEOUT).get("AAPL");
+        upstream.setLatencyMs(2000);
+
+        // Act
+        long start = System.nanoTime();
+        Map<String, Quote> quotes = provider.fetchBatch(List.of("AAPL", "MSFT")).block(TIMEOUT);
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Assert
+        assertTrue(elapsedMs < 1000, "call should give up at its deadline, took " + elapsedMs + " ms");
+        assertTrue(quotes.get("AAPL").stale());
+        assertEquals(fresh.price(), quotes.get("AAPL").price());
+        assertFalse(quotes.containsKey("MSFT")); // never seen, so nothing to fall back to
+    }
+
+    @Test
+    void fetchBatch_RepeatedErrors_OpenCircuitAndStopCallingUpstream() {
+        // Arrange
+        ResilientQuoteProvider provider = resilient(breaker(4, 4, Duration.ofSeconds(5), Duration.ofSeconds(30)),
+                8, Duration.ofSeconds(2));
+        provider.fetchBatch(List.of("AAPL")).block(TIMEOUT);
+        upstream.setFailing(true);
+
+        // Act: with the earlier success, three failures fill the window of four at 75% failed
+        for (int i = 0; i < 3; i++) {
+            provider.fetchBatch(List.of("AAPL")).block(TIMEOUT);
+        }
+        int callsWhenOpened = upstream.totalCalls();
+        Map<String, Quote> whileOpen = provider.fetchBatch(List.of("AAPL")).block(TIMEOUT);
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, provider.getCircuitState());
+        assertEquals(callsWhenOpened, upstream.totalCalls());
+        assertTrue(whileOpen.get("AAPL").stale());
+        assertEquals(1, provider.getRejectedCalls());
+    }
+
+    @Test
+    void fetchBatch_SlowCalls_OpenCircuit() {
+        // Arrange
+        upstream.setLatencyMs(150);
+        ResilientQuoteProvider provider = resilient(breaker(3, 3, Duration.ofMillis(100), Duration.ofSeconds(30)),
+                8, Duration.ofSeconds(2));
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            provider.fetchBatch(List.of("AAPL")).block(TIMEOUT);
+        }
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, provider.getCircuitState());
+    }
+
+    @Test
+    void fetchBatch_UpstreamRecovers_TrialCallClosesCircuit() throws InterruptedException {
+        // Arrange
+        ResilientQuoteProvider provider = resilient(breaker(2, 2, Duration.ofSeconds(5), Duration.ofMillis(200)),
+                8, Duration.ofSeconds(2));
+        upstream.setFailing(true);
+        provider.fetchBatch(List.of("AAPL")).block(TIMEOUT);
+        provider.fetchBatch(List.of("AAPL")).block(TIMEOUT);
+        assertEquals(CircuitBreaker.State.OPEN, provider.getCircuitState());
+
+        // Act
+        upstream.setFailing(false);
+        Thread.sleep(300);
+        Map<String, Quote> quotes = provider.fetchBatch(List.of("AAPL")).block(TIMEOUT);
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, provider.getCircuitState());
+        assertFalse(quotes.get("AAPL").stale());
+    }
+
+    @Test
+    void fetchBatch_BulkheadFull_RejectsWithoutCallingUpstream() {
+        // Arrange
+        upstream.setLatencyMs(300);
+        ResilientQuoteProvider provider = resilient(breaker(10, 10, Duration.ofSeconds(5), Duration.ofSeconds(30)),
+                1, Duration.ofSeconds(2));
+
+        // Act
+        List<Map<String, Quote>> results = Mono.zip(
+                provider.fetchBatch(List.of("AAPL")),
+                provider.fetchBatch(List.of("MSFT")),
+                (first, second) -> List.of(first, second)).block(TIMEOUT);
+
+        // Assert
+        assertEquals(1, results.get(0).size());
+        assertTrue(results.get(1).isEmpty());
+        assertEquals(1, upstream.totalCalls());
+        assertEquals(1, provider.getRejectedCalls());
+    }
+
+    private ResilientQuoteProvider resilient(CircuitBreaker circuitBreaker, int maxConcurrentCalls, Duration callTimeout) {
+        return new ResilientQuoteProvider(chartProvider, circuitBreaker, maxConcurrentCalls, callTimeout);
+    }
+
+    private static CircuitBreaker breaker(int windowSize, int minimumCalls, Duration slowCall, Duration open) {
+        return new CircuitBreaker("test", windowSize, minimumCalls, 50, slowCall, 50, open, Clock.systemUTC());
+    }
+}
@@ -0,0 +1,132 @@
+package com.portfolio.backend.provider;
+
+import com.portfolio.backend.dto.DailyBar;
+import com.portfolio.backend.dto.Quote;
+import com.portfolio.backend.support.StubQuoteServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class YahooChartParserTest {
+
+    private final YahooChartParser parser = new YahooChartParser();
+
+    @Test
+    void parse_OneDayPayload_ReadsMetaFieldsExactly() throws IOException {
+        // Act
+        Quote quote = parse("/yahoo/chart-aapl-1d.json");
+
+        // Assert
+        assertNotNull(quote);
+        assertEquals("AAPL", quote.symbol());
+        assertEquals("Apple Inc.", quote.name());
+        assertEquals("USD", quote.currency());
+        assertEquals(new BigDecimal("212.49"), quote.price());
+        assertEquals(new BigDecimal("214.24"), quote.previousClose());
+        assertEquals(new BigDecimal("211.3"), quote.dayLow());
+        assertEquals(new BigDecimal("215.17"), quote.dayHigh());
+        assertEquals(new BigDecimal("164.08"), quote.yearLow());
+        assertEquals(new BigDecimal("220.2"), quote.yearHigh());
+        assertEquals(0, new BigDecimal("70122748").compareTo(quote.volume()));
+        assertNull(quote.marketCap());
+        assertNull(quote.error());
+    }
+
+    @Test
+    void parse_FiveYearPayload_IgnoresIndicatorArrays() throws IOException {
+        // Act
+        Quote quote = parse("/yahoo/chart-aapl-5y.json");
+
+        // Assert
+        assertNotNull(quote);
+        assertEquals("AAPL", quote.symbol());
+        assertEquals(new BigDecimal("212.49"), quote.price());
+        assertEquals(new BigDecimal("87.43"), quote.previousClose());
+    }
+
+    @Test
+    void parse_UnknownSymbol_ReturnsNull() throws IOException {
+        // Act & Assert
+        assertNull(parse("/yahoo/chart-not-found.json"));
+    }
+
+    @Test
+    void parse_StubResponse_MatchesStubPrice() throws IOException {
+        // Act
+        Quote quote = parser.parse(StubQuoteServer.chartJson("MSFT").getBytes(StandardCharsets.UTF_8));
+
+        // Assert
+        assertEquals(0, BigDecimal.valueOf(StubQuoteServer.priceFor("MSFT")).compareTo(quote.price()));
+    }
+
+    @Test
+    void parse_MalformedJson_ThrowsIOException() {
+        // Act & Assert
+        assertThrows(IOException.class,
+                () -> parser.parse("{\"chart\":{\"result\":[{\"meta\":{\"symbol\":".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void parseDailyBars_FiveYearPayload_ReadsOneBarPerTimestamp() throws IOException {
+        // Act
+        List<DailyBar> bars;
+        try (InputStream in = getClass().getResourceAsStream("/yahoo/chart-aapl-5y.json")) {
+            bars = parser.parseDailyBars(in);
+        }
+
+        // Assert
+        assertEquals(1258, bars.size());
+        DailyBar first = bars.get(0);
+        assertEquals(LocalDate.of(2019, 6, 18), first.date());
+        assertEquals(new BigDecimal("86.68"), first.open());
+        assertEquals(new BigDecimal("87.32"), first.high());
+        assertEquals(new BigDecimal("86.16"), first.low());
+        assertEquals(new BigDecimal("86.8"), first.close());
+        assertEquals(89081935L, first.volume());
+        assertEquals(LocalDate.of(2024, 4, 11), bars.get(bars.size() - 1).date());
+    }
+
+    @Test
+    void parseDailyBars_MissingCloseAndRepeatedDate_SkipsAndKeepsLatest() throws IOException {
+        // Arrange: a null close for a halted day, then a live bar sharing the last date
+        String json = "{\"chart\":{\"result\":[{\"meta\":{\"symbol\":\"AAPL\",\"exchangeTimezoneName\":\"America/New_York\"},"
+                + "\"timestamp\":[1718285400,1718371800,1718458200,1718474400],"
+                + "\"indicators\":{\"quote\":[{\"close\":[212.5,null,214.0,214.75]}]}}],\"error\":null}}";
+
+        // Act
+        List<DailyBar> bars = parser.parseDailyBars(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(2, bars.size());
+        assertEquals(LocalDate.of(2024, 6, 13), bars.get(0).date());
+        assertEquals(LocalDate.of(2024, 6, 15), bars.get(1).date());
+        assertEquals(new BigDecimal("214.75"), bars.get(1).close());
+        assertNull(bars.get(1).volume());
+    }
+
+    @Test
+    void parseDailyBars_UnknownSymbol_ReturnsEmptyList() throws IOException {
+        // Act
+        List<DailyBar> bars;
+        try (InputStream in = getClass().getResourceAsStream("/yahoo/chart-not-found.json")) {
+            bars = parser.parseDailyBars(in);
+        }
+
+        // Assert
+        assertTrue(bars.isEmpty());
+    }
+
+    private Quote parse(String resource) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(resource)) {
+            return parser.parse(in);
+        }
+    }
+}
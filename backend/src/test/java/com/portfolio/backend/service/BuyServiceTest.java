@@ -37,6 +37,12 @@ class BuyServiceTest {
     @Mock
     private PortfolioItemRepository portfolioItemRepository;
 
+    @Mock
+    private TaxLotService taxLotService;
+
+    @Mock
+    private PortfolioDataVersion portfolioDataVersion;
+
     @InjectMocks
     private BuyService buyService;
 
@@ -67,7 +73,7 @@ class BuyServiceTest {
         when(cashService.subtractCash(totalCost)).thenReturn(true);
         when(portfolioItemRepository.findByTicker("AAPL")).thenReturn(List.of());
         when(portfolioItemRepository.save(any(PortfolioItem.class))).thenReturn(mockPortfolioItem);
-        when(tradeHistoryService.addTrade(any())).thenReturn(mockTradeHistoryResponse);
+        when(tradeHistoryService.recordTrade(any())).thenReturn(mockTradeHistoryResponse);
 
         // Act
         Map<String, Object> result = buyService.executeBuyTransaction(validBuyRequest);
@@ -85,7 +91,9 @@ class BuyServiceTest {
         verify(cashService).subtractCash(totalCost);
         verify(portfolioItemRepository).findByTicker("AAPL");
         verify(portfolioItemRepository).save(any(PortfolioItem.class));
-        verify(tradeHistoryService).addTrade(any());
+        verify(tradeHistoryService).recordTrade(any());
+        verify(taxLotService).openLot(1L, "AAPL", validBuyRequest.getTradeDate(), 10, new BigDecimal("150.00"));
+        verify(portfolioDataVersion).bump();
     }
 
     @Test
@@ -166,7 +174,7 @@ class BuyServiceTest {
         when(cashService.subtractCash(totalCost)).thenReturn(true);
         when(portfolioItemRepository.findByTicker("AAPL")).thenReturn(List.of(existingItem));
         when(portfolioItemRepository.save(any(PortfolioItem.class))).thenReturn(existingItem);
-        when(tradeHistoryService.addTrade(any())).thenReturn(mockTradeHistoryResponse);
+        when(tradeHistoryService.recordTrade(any())).thenReturn(mockTradeHistoryResponse);
 
         // Act
         Map<String, Object> result = buyService.executeBuyTransaction(validBuyRequest);
@@ -180,6 +188,6 @@ class BuyServiceTest {
         verify(cashService).subtractCash(totalCost);
         verify(portfolioItemRepository).findByTicker("AAPL");
         verify(portfolioItemRepository).save(any(PortfolioItem.class));
-        verify(tradeHistoryService).addTrade(any());
+        verify(tradeHistoryService).recordTrade(any());
     }
 } 
\ No newline at end of file
@@ -22,6 +22,9 @@ class CashServiceTest {
     @Mock
     private CashAccountRepository cashAccountRepository;
 
+    @Mock
+    private PortfolioDataVersion portfolioDataVersion;
+
     @InjectMocks
     private CashService cashService;
 
@@ -148,6 +151,7 @@ class CashServiceTest {
         assertTrue(result);
         verify(cashAccountRepository).findFirstByOrderByIdAsc();
         verify(cashAccountRepository).save(any(CashAccount.class));
+        verify(portfolioDataVersion).bump();
     }
 
     @Test
@@ -164,6 +168,7 @@ class CashServiceTest {
         assertFalse(result);
         verify(cashAccountRepository).findFirstByOrderByIdAsc();
         verify(cashAccountRepository, never()).save(any(CashAccount.class));
+        verify(portfolioDataVersion, never()).bump();
     }
 
 
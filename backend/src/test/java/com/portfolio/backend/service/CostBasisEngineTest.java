@@ -0,0 +1,129 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.model.TradeHistory;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CostBasisEngineTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 2);
+
+    private final List<TradeHistory> trades = new ArrayList<>();
+
+    @Test
+    void walk_BuysBetweenSells_RelievesLotsInOrder() {
+        // Arrange
+        trade(START, "AAPL", 10, "100.00", TradeHistory.TradeType.BUY);
+        TradeHistory firstSell = trade(START.plusDays(1), "AAPL", 5, "120.00", TradeHistory.TradeType.SELL);
+        trade(START.plusDays(2), "AAPL", 5, "200.00", TradeHistory.TradeType.BUY);
+        TradeHistory secondSell = trade(START.plusDays(3), "AAPL", 10, "160.00", TradeHistory.TradeType.SELL);
+
+        // Act
+        Map<Long, BigDecimal> gains = CostBasisEngine.walk(trades, START);
+
+        // Assert
+        // 5 x (120 - 100) = 100; the next 10 shares are 5 at 100 and 5 at 200, so 1600 - 1500 = 100
+        assertEquals(0, new BigDecimal("100").compareTo(gains.get(firstSell.getId())));
+        assertEquals(0, new BigDecimal("100").compareTo(gains.get(secondSell.getId())));
+    }
+
+    @Test
+    void walk_LotsAtDifferentPrices_RelievesOldestFirst() {
+        // Arrange
+        trade(START, "AAPL", 10, "100.00", TradeHistory.TradeType.BUY);
+        trade(START.plusDays(1), "AAPL", 10, "200.00", TradeHistory.TradeType.BUY);
+        TradeHistory sell = trade(START.plusDays(2), "AAPL", 10, "180.00", TradeHistory.TradeType.SELL);
+
+        // Act
+        Map<Long, BigDecimal> gains = CostBasisEngine.walk(trades, START);
+
+        // Assert
+        // FIFO relieves the 100.00 lot, as a live sell with the default method does: 1800 - 1000
+        assertEquals(0, new BigDecimal("800").compareTo(gains.get(sell.getId())));
+    }
+
+    @Test
+    void walk_SellBeyondLots_SharesWithoutLotsRealizeNothing() {
+        // Arrange
+        trade(START, "AAPL", 2, "100.00", TradeHistory.TradeType.BUY);
+        TradeHistory sell = trade(START.plusDays(1), "AAPL", 5, "120.00", TradeHistory.TradeType.SELL);
+
+        // Act
+        Map<Long, BigDecimal> gains = CostBasisEngine.walk(trades, START);
+
+        // Assert
+        // 2 x (120 - 100); the other 3 shares count at the sale price
+        assertEquals(0, new BigDecimal("40").compareTo(gains.get(sell.getId())));
+    }
+
+    @Test
+    void walk_SellsBeforeStartDate_StillReduceCostBasis() {
+        // Arrange
+        trade(START, "MSFT", 10, "100.00", TradeHistory.TradeType.BUY);
+        TradeHistory earlySell = trade(START.plusDays(1), "MSFT", 10, "150.00", TradeHistory.TradeType.SELL);
+        trade(START.plusDays(40), "MSFT", 4, "200.00", TradeHistory.TradeType.BUY);
+        TradeHistory laterSell = trade(START.plusDays(41), "MSFT", 4, "210.00", TradeHistory.TradeType.SELL);
+
+        // Act
+        Map<Long, BigDecimal> gains = CostBasisEngine.walk(trades, START.plusDays(30));
+
+        // Assert
+        assertFalse(gains.containsKey(earlySell.getId()));
+        assertEquals(0, new BigDecimal("40").compareTo(gains.get(laterSell.getId())));
+    }
+
+    @Test
+    void walk_SellWithoutBuys_RealizesNothing() {
+        // Arrange
+        TradeHistory sell = trade(START, "NVDA", 3, "120.00", TradeHistory.TradeType.SELL);
+
+        // Act
+        Map<Long, BigDecimal> gains = CostBasisEngine.walk(trades, START);
+
+        // Assert
+        assertEquals(0, BigDecimal.ZERO.compareTo(gains.get(sell.getId())));
+    }
+
+    @Test
+    void walk_TickersInterleaved_KeepsSeparateCostBasis() {
+        // Arrange
+        trade(START, "AAPL", 10, "100.00", TradeHistory.TradeType.BUY);
+        trade(START, "MSFT", 10, "300.00", TradeHistory.TradeType.BUY);
+        TradeHistory aaplSell = trade(START.plusDays(1), "AAPL", 10, "110.00", TradeHistory.TradeType.SELL);
+        TradeHistory msftSell = trade(START.plusDays(1), "MSFT", 10, "290.00", TradeHistory.TradeType.SELL);
+
+        // Act
+        Map<Long, BigDecimal> gains = CostBasisEngine.walk(trades, START);
+
+        // Assert
+        assertEquals(0, new BigDecimal("100").compareTo(gains.get(aaplSell.getId())));
+        assertEquals(0, new BigDecimal("-100").compareTo(gains.get(msftSell.getId())));
+    }
+
+    @Test
+    void walk_PriceWithSubMicroDigits_RoundsInsteadOfThrowing() {
+        // Arrange
+        trade(START, "AAPL", 1, "100.0000004", TradeHistory.TradeType.BUY);
+        TradeHistory sell = trade(START.plusDays(1), "AAPL", 1, "110.0000006", TradeHistory.TradeType.SELL);
+
+        // Act
+        Map<Long, BigDecimal> gains = CostBasisEngine.walk(trades, START);
+
+        // Assert
+        assertEquals(0, new BigDecimal("10.000001").compareTo(gains.get(sell.getId())));
+    }
+
+    private TradeHistory trade(LocalDate date, String ticker, int quantity, String price, TradeHistory.TradeType type) {
+        TradeHistory trade = new TradeHistory(date, ticker, quantity, new BigDecimal(price), type);
+        trade.setId((long) trades.size() + 1);
+        trades.add(trade);
+        return trade;
+    }
+}
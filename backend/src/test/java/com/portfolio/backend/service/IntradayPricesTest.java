@@ -0,0 +1,139 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.dto.IntradaySeries;
+import com.portfolio.backend.util.TradingCalendar;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntradayPricesTest {
+
+    // A Wednesday and the Thursday after it
+    private static final ZonedDateTime WEDNESDAY_OPEN = ZonedDateTime.of(2024, 6, 12, 9, 30, 0, 0, TradingCalendar.NEW_YORK);
+    private static final ZonedDateTime THURSDAY_OPEN = WEDNESDAY_OPEN.plusDays(1);
+
+    private final IntradayPrices intradayPrices = new IntradayPrices(8, 2, TradingCalendar.nyse());
+
+    @Test
+    void getSeries_FewerTicksThanPoints_ReturnsEveryTickInOrder() {
+        // Arrange
+        intradayPrices.record("AAPL", new BigDecimal("190.50"), at(WEDNESDAY_OPEN, 0));
+        intradayPrices.record("AAPL", new BigDecimal("190.75"), at(WEDNESDAY_OPEN, 1));
+        intradayPrices.record("AAPL", new BigDecimal("190.6125"), at(WEDNESDAY_OPEN, 2));
+
+        // Act
+        IntradaySeries series = intradayPrices.getSeries("AAPL", 10).orElseThrow();
+
+        // Assert
+        assertEquals(LocalDate.of(2024, 6, 12), series.sessionDate());
+        assertEquals(List.of(new BigDecimal("190.50"), new BigDecimal("190.75"), new BigDecimal("190.6125")),
+                series.points().stream().map(IntradaySeries.Point::price).toList());
+        assertEquals(at(WEDNESDAY_OPEN, 0).toEpochMilli(), series.points().get(0).timestamp());
+    }
+
+    @Test
+    void getSeries_MoreTicksThanPoints_KeepsFirstAndLastTick() {
+        // Arrange
+        for (int i = 0; i < 7; i++) {
+            intradayPrices.record("AAPL", BigDecimal.valueOf(100 + i), at(WEDNESDAY_OPEN, i));
+        }
+
+        // Act
+        IntradaySeries series = intradayPrices.getSeries("AAPL", 3).orElseThrow();
+
+        // Assert
+        assertEquals(7, series.recordedPoints());
+        assertEquals(List.of(new BigDecimal("100.00"), new BigDecimal("103.00"), new BigDecimal("106.00")),
+                series.points().stream().map(IntradaySeries.Point::price).toList());
+    }
+
+    @Test
+    void record_RingFull_OverwritesOldestTicks() {
+        // Act
+        for (int i = 0; i < 12; i++) {
+            intradayPrices.record("AAPL", BigDecimal.valueOf(100 + i), at(WEDNESDAY_OPEN, i));
+        }
+
+        // Assert
+        IntradaySeries series = intradayPrices.getSeries("AAPL", 8).orElseThrow();
+        assertEquals(8, series.points().size());
+        assertEquals(new BigDecimal("104.00"), series.points().get(0).price());
+        assertEquals(new BigDecimal("111.00"), series.points().get(7).price());
+    }
+
+    @Test
+    void record_NextSession_StartsNewSeries() {
+        // Arrange
+        intradayPrices.record("AAPL", new BigDecimal("190.50"), at(WEDNESDAY_OPEN, 0));
+        intradayPrices.record("AAPL", new BigDecimal("191.00"), at(WEDNESDAY_OPEN, 390));
+
+        // Act
+        intradayPrices.record("AAPL", new BigDecimal("192.00"), at(THURSDAY_OPEN, 1));
+
+        // Assert
+        IntradaySeries series = intradayPrices.getSeries("AAPL", 10).orElseThrow();
+        assertEquals(LocalDate.of(2024, 6, 13), series.sessionDate());
+        assertEquals(1, series.points().size());
+    }
+
+    @Test
+    void record_BeforeOpenOrOnHoliday_IsIgnored() {
+        // Arrange
+        ZonedDateTime independenceDay = ZonedDateTime.of(2024, 7, 4, 11, 0, 0, 0, TradingCalendar.NEW_YORK);
+
+        // Act
+        boolean preMarket = intradayPrices.record("AAPL", new BigDecimal("190.50"), at(WEDNESDAY_OPEN, -30));
+        boolean holiday = intradayPrices.record("AAPL", new BigDecimal("190.50"), independenceDay.toInstant());
+
+        // Assert
+        assertFalse(preMarket);
+        assertFalse(holiday);
+        assertTrue(intradayPrices.getSeries("AAPL", 10).isEmpty());
+    }
+
+    @Test
+    void record_SymbolLimitReached_DoesNotTrackNewSymbols() {
+        // Act
+        intradayPrices.record("AAPL", new BigDecimal("190.50"), at(WEDNESDAY_OPEN, 0));
+        intradayPrices.record("MSFT", new BigDecimal("420.10"), at(WEDNESDAY_OPEN, 0));
+        boolean third = intradayPrices.record("NVDA", new BigDecimal("120.25"), at(WEDNESDAY_OPEN, 0));
+
+        // Assert
+        assertFalse(third);
+        assertEquals(2, intradayPrices.size());
+    }
+
+    @Test
+    void record_SymbolLimitReachedInEarlierSession_DropsOldRingsForNewSymbols() {
+        // Arrange
+        intradayPrices.record("AAPL", new BigDecimal("190.50"), at(WEDNESDAY_OPEN, 0));
+        intradayPrices.record("MSFT", new BigDecimal("420.10"), at(WEDNESDAY_OPEN, 0));
+        intradayPrices.record("AAPL", new BigDecimal("191.00"), at(THURSDAY_OPEN, 0));
+
+        // Act
+        boolean third = intradayPrices.record("NVDA", new BigDecimal("120.25"), at(THURSDAY_OPEN, 1));
+
+        // Assert
+        assertTrue(third);
+        assertEquals(2, intradayPrices.size());
+        assertTrue(intradayPrices.getSeries("MSFT", 10).isEmpty());
+        assertTrue(intradayPrices.getSeries("AAPL", 10).isPresent());
+    }
+
+    @Test
+    void getSeries_PointsOutOfRange_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> intradayPrices.getSeries("AAPL", 1));
+        assertThrows(IllegalArgumentException.class, () -> intradayPrices.getSeries("AAPL", 9));
+    }
+
+    private static Instant at(ZonedDateTime open, int minutesAfterOpen) {
+        return open.plusMinutes(minutesAfterOpen).toInstant();
+    }
+}
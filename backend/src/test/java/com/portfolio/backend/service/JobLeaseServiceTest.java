@@ -0,0 +1,199 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.BackendApplication;
+import com.portfolio.backend.model.JobRun;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application contexts sharing one in-memory database, standing in for two instances of the API
+ */
+class JobLeaseServiceTest {
+
+    private static final String DB_URL = "jdbc:h2:mem:jobleases;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;NON_KEYWORDS=YEAR,MONTH";
+    private static final LocalDateTime MONDAY_2AM = LocalDateTime.of(2024, 1, 1, 2, 0);
+
+    private static ConfigurableApplicationContext first;
+    private static ConfigurableApplicationContext second;
+
+    @BeforeAll
+    static void startInstances() {
+        first = start();
+        // The second instance uses the schema the first one created
+        second = start("spring.jpa.hibernate.ddl-auto=none", "spring.jpa.properties.hibernate.hbm2ddl.auto=none");
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        if (second != null) {
+            second.close();
+        }
+        if (first != null) {
+            first.close();
+        }
+    }
+
+    @Test
+    void runOnce_SameFireOnTwoInstances_RunsOnceAndRecordsRun() throws Exception {
+        // Arrange
+        String jobName = "test-concurrent";
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // Act
+        for (ConfigurableApplicationContext instance : List.of(first, second)) {
+            JobLeaseService service = instance.getBean(JobLeaseService.class);
+            Callable<Boolean> call = () -> {
+                ready.countDown();
+                ready.await();
+                return service.runOnce(jobName, MONDAY_2AM, false, scheduledAt -> {
+                    executions.incrementAndGet();
+                    sleep(200);
+                });
+            };
+            results.add(executor.submit(call));
+        }
+        int ran = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                ran++;
+            }
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1, ran);
+        assertEquals(1, executions.get());
+        List<JobRun> runs = first.getBean(JobLeaseService.class).getRuns(jobName);
+        assertEquals(1, runs.size());
+        assertEquals(JobRun.Status.SUCCEEDED, runs.get(0).getStatus());
+        assertEquals(MONDAY_2AM, runs.get(0).getScheduledAt());
+        assertTrue(runs.get(0).getDurationMs() >= 200);
+    }
+
+    @Test
+    void runOnce_FireAlreadyRunByOtherInstance_Skips() {
+        // Arrange
+        String jobName = "test-already-run";
+        AtomicInteger executions = new AtomicInteger();
+        first.getBean(JobLeaseService.class).runOnce(jobName, MONDAY_2AM, false, scheduledAt -> executions.incrementAndGet());
+
+        // Act
+        boolean ranAgain = second.getBean(JobLeaseService.class)
+                .runOnce(jobName, MONDAY_2AM, false, scheduledAt -> executions.incrementAndGet());
+        boolean ranNext = second.getBean(JobLeaseService.class)
+                .runOnce(jobName, MONDAY_2AM.plusDays(1), false, scheduledAt -> executions.incrementAndGet());
+
+        // Assert
+        assertFalse(ranAgain);
+        assertTrue(ranNext);
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void runOnce_TaskThrows_RecordsFailureAndReleasesLease() {
+        // Arrange
+        String jobName = "test-failure";
+        JobLeaseService service = first.getBean(JobLeaseService.class);
+
+        // Act
+        boolean ran = service.runOnce(jobName, MONDAY_2AM, false, scheduledAt -> {
+            throw new IllegalStateException("quote provider down");
+        });
+        boolean ranNext = second.getBean(JobLeaseService.class).runOnce(jobName, MONDAY_2AM.plusDays(1), false, scheduledAt -> {
+        });
+
+        // Assert
+        assertTrue(ran);
+        assertTrue(ranNext);
+        List<JobRun> runs = service.getRuns(jobName);
+        assertEquals(JobRun.Status.SUCCEEDED, runs.get(0).getStatus());
+        assertEquals(JobRun.Status.FAILED, runs.get(1).getStatus());
+        assertEquals("quote provider down", runs.get(1).getError());
+    }
+
+    @Test
+    void catchUp_FiresMissedSinceLastRun_RunsEachOnceOldestFirst() {
+        // Arrange
+        String jobName = "test-catch-up";
+        String cron = "0 0 2 * * *";
+        first.getBean(JobLeaseService.class).runOnce(jobName, MONDAY_2AM, false, scheduledAt -> {
+        });
+        LocalDateTime now = MONDAY_2AM.plusDays(3).plusHours(1);
+        List<LocalDateTime> fires = new ArrayList<>();
+
+        // Act
+        int ran = second.getBean(JobLeaseService.class).catchUp(jobName, cron, now, fires::add);
+        int ranAgain = first.getBean(JobLeaseService.class).catchUp(jobName, cron, now, fires::add);
+
+        // Assert
+        assertEquals(3, ran);
+        assertEquals(0, ranAgain);
+        assertEquals(List.of(MONDAY_2AM.plusDays(1), MONDAY_2AM.plusDays(2), MONDAY_2AM.plusDays(3)), fires);
+        assertTrue(first.getBean(JobLeaseService.class).getRuns(jobName).get(0).isCatchUp());
+    }
+
+    @Test
+    void catchUp_JobNeverRun_DoesNothing() {
+        // Act
+        int ran = first.getBean(JobLeaseService.class).catchUp("test-never-run", "0 0 2 * * *", MONDAY_2AM,
+                scheduledAt -> fail("nothing to catch up"));
+
+        // Assert
+        assertEquals(0, ran);
+    }
+
+    @Test
+    void latestFire_WeekdayCron_ReturnsLastFireBeforeNow() {
+        // Arrange
+        CronExpression cron = CronExpression.parse("0 0 16 * * MON-FRI");
+
+        // Act
+        LocalDateTime fire = JobLeaseService.latestFire(cron, LocalDateTime.of(2024, 1, 8, 9, 0)); // Monday morning
+
+        // Assert
+        assertEquals(LocalDateTime.of(2024, 1, 5, 16, 0), fire); // Friday close
+    }
+
+    private static ConfigurableApplicationContext start(String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.datasource.url=" + DB_URL,
+                "logging.level.com.portfolio.backend=WARN",
+                "logging.level.org.hibernate.SQL=WARN",
+                "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "logging.level.org.springframework.transaction=WARN",
+                "spring.jpa.show-sql=false"));
+        all.addAll(List.of(properties));
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .profiles("test")
+                .properties(all.toArray(new String[0]))
+                .run();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.model.JobCheckpoint;
+import com.portfolio.backend.model.PortfolioMonthlySummary;
+import com.portfolio.backend.model.PriceBar;
+import com.portfolio.backend.model.TradeHistory;
+import com.portfolio.backend.repository.JobCheckpointRepository;
+import com.portfolio.backend.repository.PortfolioMonthlySummaryRepository;
+import com.portfolio.backend.repository.PriceBarRepository;
+import com.portfolio.backend.repository.TradeHistoryRepository;
+import com.portfolio.backend.util.DateUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class MonthlySummaryBackfillServiceTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2024, 1);
+    private static final YearMonth MARCH = YearMonth.of(2024, 3);
+
+    @Autowired
+    private MonthlySummaryBackfillService monthlySummaryBackfillService;
+
+    @Autowired
+    private TradeHistoryRepository tradeHistoryRepository;
+
+    @Autowired
+    private RealizedGainService realizedGainService;
+
+    @Autowired
+    private PriceBarRepository priceBarRepository;
+
+    @Autowired
+    private PortfolioMonthlySummaryRepository portfolioMonthlySummaryRepository;
+
+    @Autowired
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired
+    private CashService cashService;
+
+    @BeforeEach
+    void setUp() {
+        // 5480.00 before the trades: 4480.00 after the January buy, 5000.00 after the February sell
+        cashService.initializeCashAccount(new BigDecimal("5000.00"));
+        tradeHistoryRepository.save(new TradeHistory(LocalDate.of(2024, 1, 10), "AAPL", 10,
+                new BigDecimal("100.00"), TradeHistory.TradeType.BUY));
+        TradeHistory sell = tradeHistoryRepository.save(new TradeHistory(LocalDate.of(2024, 2, 15), "AAPL", 4,
+                new BigDecimal("130.00"), TradeHistory.TradeType.SELL));
+        realizedGainService.recordSell(sell.getId(), "AAPL", sell.getTradeDate(), 4, sell.getPrice(), new BigDecimal("400.00"));
+        bar(LocalDate.of(2024, 1, 31), "110.00");
+        bar(LocalDate.of(2024, 2, 29), "120.00");
+        // March 29, 2024 was Good Friday, so March is valued at the March 28 close
+        bar(LocalDate.of(2024, 3, 28), "125.00");
+    }
+
+    @Test
+    void backfill_PastMonths_ValuesHoldingsAtCostPlusCashAndGainsFromStoredCloses() {
+        // Act
+        Map<String, Object> result = monthlySummaryBackfillService.backfill(JANUARY, MARCH);
+
+        // Assert
+        assertEquals(3, result.get("months"));
+        PortfolioMonthlySummary january = portfolioMonthlySummaryRepository.findByYearAndMonth(2024, 1).orElseThrow();
+        assertEquals(new BigDecimal("5480.00"), january.getTotalValue()); // 1000 at cost + 4480 cash
+        assertEquals(new BigDecimal("0.00"), january.getMonthlyGain()); // a buy only moves cash into holdings
+        assertEquals(new BigDecimal("100.00"), january.getUnrealizedGain());
+
+        PortfolioMonthlySummary february = portfolioMonthlySummaryRepository.findByYearAndMonth(2024, 2).orElseThrow();
+        assertEquals(new BigDecimal("5600.00"), february.getTotalValue()); // 6 x 100 at cost + 5000 cash
+        assertEquals(new BigDecimal("120.00"), february.getMonthlyGain());
+        assertEquals(new BigDecimal("2.19"), february.getMonthlyGainPercentage());
+        assertEquals(new BigDecimal("120.00"), february.getRealizedGain()); // 4 x 130 - 400
+        assertEquals(new BigDecimal("120.00"), february.getUnrealizedGain()); // 6 x (120 - 100)
+
+        PortfolioMonthlySummary march = portfolioMonthlySummaryRepository.findByYearAndMonth(2024, 3).orElseThrow();
+        assertEquals(new BigDecimal("5600.00"), march.getTotalValue());
+        assertEquals(new BigDecimal("0.00"), march.getRealizedGain());
+        assertEquals(new BigDecimal("150.00"), march.getUnrealizedGain()); // 6 x (125 - 100)
+    }
+
+    @Test
+    void backfill_LotsAtDifferentPrices_CountsLotsLeftAfterFifoRelief() {
+        // Arrange
+        tradeHistoryRepository.save(new TradeHistory(LocalDate.of(2024, 2, 5), "MSFT", 10,
+                new BigDecimal("50.00"), TradeHistory.TradeType.BUY));
+        tradeHistoryRepository.save(new TradeHistory(LocalDate.of(2024, 2, 6), "MSFT", 10,
+                new BigDecimal("70.00"), TradeHistory.TradeType.BUY));
+        tradeHistoryRepository.save(new TradeHistory(LocalDate.of(2024, 2, 20), "MSFT", 10,
+                new BigDecimal("80.00"), TradeHistory.TradeType.SELL));
+        priceBarRepository.save(new PriceBar("MSFT", LocalDate.of(2024, 2, 29), new BigDecimal("75.00"),
+                new BigDecimal("75.00"), new BigDecimal("75.00"), new BigDecimal("75.00"), 1000L));
+
+        // Act
+        monthlySummaryBackfillService.backfill(YearMonth.of(2024, 2), YearMonth.of(2024, 2));
+
+        // Assert
+        PortfolioMonthlySummary february = portfolioMonthlySummaryRepository.findByYearAndMonth(2024, 2).orElseThrow();
+        assertEquals(new BigDecimal("6300.00"), february.getTotalValue()); // 600 AAPL + the 10 MSFT at 70 left + 5000 cash
+        assertEquals(new BigDecimal("170.00"), february.getUnrealizedGain()); // 6 x (120 - 100) + 10 x (75 - 70)
+    }
+
+    @Test
+    void backfill_ExistingSummary_ReplacesIt() {
+        // Arrange
+        portfolioMonthlySummaryRepository.save(new PortfolioMonthlySummary(2024, 2, new BigDecimal("1.00"),
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO));
+
+        // Act
+        monthlySummaryBackfillService.backfill(JANUARY, MARCH);
+
+        // Assert
+        assertEquals(3, portfolioMonthlySummaryRepository.count());
+        assertEquals(new BigDecimal("5600.00"),
+                portfolioMonthlySummaryRepository.findByYearAndMonth(2024, 2).orElseThrow().getTotalValue());
+    }
+
+    @Test
+    void backfill_CheckpointFromStoppedRun_ResumesAfterIt() {
+        // Arrange
+        String jobName = "monthly-summary-backfill:2023-11:2024-03";
+        jobCheckpointRepository.save(new JobCheckpoint(jobName, "2023-12", LocalDateTime.now()));
+
+        // Act
+        Map<String, Object> result = monthlySummaryBackfillService.backfill(YearMonth.of(2023, 11), MARCH);
+
+        // Assert
+        assertEquals("2024-01", result.get("resumedFrom"));
+        assertEquals(3, result.get("months"));
+        assertFalse(portfolioMonthlySummaryRepository.existsByYearAndMonth(2023, 11));
+        assertEquals(new BigDecimal("0.00"),
+                portfolioMonthlySummaryRepository.findByYearAndMonth(2024, 1).orElseThrow().getMonthlyGain());
+        assertTrue(jobCheckpointRepository.findById(jobName).isEmpty());
+    }
+
+    @Test
+    void backfill_CurrentMonth_ThrowsException() {
+        // Arrange
+        YearMonth currentMonth = YearMonth.from(DateUtil.getCurrentDateInNYC());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> monthlySummaryBackfillService.backfill(JANUARY, currentMonth));
+        assertThrows(IllegalArgumentException.class, () -> monthlySummaryBackfillService.backfill(MARCH, JANUARY));
+    }
+
+    private void bar(LocalDate date, String close) {
+        BigDecimal price = new BigDecimal(close);
+        priceBarRepository.save(new PriceBar("AAPL", date, price, price, price, price, 1000L));
+    }
+}
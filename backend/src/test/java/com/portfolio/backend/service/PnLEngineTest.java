@@ -0,0 +1,81 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.dto.MonthlyPnL;
+import com.portfolio.backend.model.PriceBar;
+import com.portfolio.backend.repository.PriceBarRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PnLEngineTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2024, 3);
+    private static final YearMonth APRIL = YearMonth.of(2024, 4);
+    private static final LocalDate APRIL_15 = LocalDate.of(2024, 4, 15);
+
+    @Autowired
+    private PnLEngine pnLEngine;
+
+    @Autowired
+    private TaxLotService taxLotService;
+
+    @Autowired
+    private RealizedGainService realizedGainService;
+
+    @Autowired
+    private PriceBarRepository priceBarRepository;
+
+    @BeforeEach
+    void setUp() {
+        taxLotService.openLot(1L, "AAPL", LocalDate.of(2024, 3, 1), 10, new BigDecimal("100.00"));
+        taxLotService.openLot(2L, "AAPL", LocalDate.of(2024, 4, 10), 5, new BigDecimal("110.00"));
+        // March 29, 2024 was Good Friday, so March is valued at the March 28 close
+        bar("AAPL", LocalDate.of(2024, 3, 28), "120.00");
+        bar("AAPL", APRIL_15, "130.00");
+    }
+
+    @Test
+    void calculateMonths_PastAndCurrentMonth_ValuesLotsHeldAtEachValuationDate() {
+        // Act
+        Map<YearMonth, MonthlyPnL> pnl = pnLEngine.calculateMonths(List.of(MARCH, APRIL), APRIL_15);
+
+        // Assert
+        assertEquals(MARCH.atEndOfMonth(), pnl.get(MARCH).valuationDate());
+        assertEquals(new BigDecimal("200.00"), pnl.get(MARCH).unrealized()); // 10 x (120 - 100)
+        assertEquals(APRIL_15, pnl.get(APRIL).valuationDate());
+        assertEquals(new BigDecimal("400.00"), pnl.get(APRIL).unrealized()); // 10 x (130 - 100) + 5 x (130 - 110)
+    }
+
+    @Test
+    void calculateMonths_SellsInRange_ReadsRealizedGainsPerMonthUpToToday() {
+        // Arrange
+        realizedGainService.recordSell(10L, "MSFT", LocalDate.of(2024, 4, 2), 10, new BigDecimal("11.00"), new BigDecimal("100.00"));
+        realizedGainService.recordSell(11L, "MSFT", APRIL_15.plusDays(1), 10, new BigDecimal("20.00"), new BigDecimal("100.00"));
+
+        // Act
+        Map<YearMonth, MonthlyPnL> pnl = pnLEngine.calculateMonths(List.of(MARCH, APRIL), APRIL_15);
+
+        // Assert
+        assertEquals(new BigDecimal("0.00"), pnl.get(MARCH).realized());
+        assertEquals(new BigDecimal("10.00"), pnl.get(APRIL).realized());
+    }
+
+    private void bar(String ticker, LocalDate date, String close) {
+        BigDecimal price = new BigDecimal(close);
+        priceBarRepository.save(new PriceBar(ticker, date, price, price, price, price, 1000L));
+    }
+}
@@ -0,0 +1,203 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.dto.Versioned;
+import com.portfolio.backend.model.PortfolioMonthlySummary;
+import com.portfolio.backend.model.RealizedGain;
+import com.portfolio.backend.repository.PortfolioMonthlySummaryRepository;
+import com.portfolio.backend.repository.RealizedGainRepository;
+import com.portfolio.backend.util.DateUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PnLServiceTest {
+
+    @Autowired
+    private PnLService pnLService;
+
+    @Autowired
+    private RealizedGainService realizedGainService;
+
+    @Autowired
+    private PortfolioDataVersion portfolioDataVersion;
+
+    @Autowired
+    private PortfolioMonthlySummaryRepository portfolioMonthlySummaryRepository;
+
+    @Autowired
+    private RealizedGainRepository realizedGainRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getMonthlyPnLData_SellsAcrossMonths_ReadsRealizedGainsPerMonth() {
+        // Arrange
+        LocalDate today = DateUtil.getCurrentDateInNYC();
+        LocalDate threeMonthsAgo = today.minusMonths(3);
+        realizedGainService.recordSell(1L, "AAPL", today, 10, new BigDecimal("105.00"), new BigDecimal("1000.00"));
+        realizedGainService.recordSell(2L, "MSFT", threeMonthsAgo, 10, new BigDecimal("120.00"), new BigDecimal("1000.00"));
+        realizedGainService.recordSell(3L, "MSFT", today.minusYears(1), 10, new BigDecimal("200.00"), new BigDecimal("1000.00"));
+
+        // Act
+        Map<String, Object> result = pnLService.getMonthlyPnLData();
+
+        // Assert
+        List<Map<String, Object>> monthlyData = (List<Map<String, Object>>) result.get("monthlyData");
+        assertEquals(7, monthlyData.size());
+        assertEquals(200.0, monthlyData.get(3).get("realized"));
+        assertEquals(50.0, monthlyData.get(6).get("realized"));
+        BigDecimal expectedYearToDate = threeMonthsAgo.getYear() == today.getYear()
+                ? new BigDecimal("250.00") : new BigDecimal("50.00");
+        assertEquals(expectedYearToDate, result.get("totalRealized"));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // the request path runs without a caller transaction
+    @SuppressWarnings("unchecked")
+    void getMonthlyPnLData_NoCallerTransaction_ReadsCommittedLedger() {
+        // Arrange
+        LocalDate today = DateUtil.getCurrentDateInNYC();
+        List<RealizedGain> sells = List.of(
+                realizedGainService.recordSell(9001L, "AAPL", today, 10, new BigDecimal("105.00"), new BigDecimal("1000.00")),
+                realizedGainService.recordSell(9002L, "MSFT", today.minusMonths(2), 10, new BigDecimal("120.00"), new BigDecimal("1000.00")));
+        try {
+            // Act
+            Map<String, Object> result = pnLService.getMonthlyPnLData();
+
+            // Assert
+            List<Map<String, Object>> monthlyData = (List<Map<String, Object>>) result.get("monthlyData");
+            assertEquals(7, monthlyData.size());
+            assertEquals(200.0, monthlyData.get(4).get("realized"));
+            assertEquals(50.0, monthlyData.get(6).get("realized"));
+        } finally {
+            realizedGainRepository.deleteAll(sells);
+        }
+    }
+
+    @Test
+    void getMonthlyPnLData_MoreSells_IssuesSameNumberOfStatements() {
+        // Arrange
+        LocalDate today = DateUtil.getCurrentDateInNYC();
+        realizedGainService.recordSell(1L, "AAPL", today, 1, new BigDecimal("110.00"), new BigDecimal("100.00"));
+        long statementsWithOneSell = countStatements();
+        for (long i = 2; i <= 60; i++) {
+            realizedGainService.recordSell(i, "AAPL", today.minusDays(i * 3), 1, new BigDecimal("110.00"), new BigDecimal("100.00"));
+        }
+
+        // Act
+        long statementsWithManySells = countStatements();
+
+        // Assert
+        assertEquals(statementsWithOneSell, statementsWithManySells);
+    }
+
+    @Test
+    void getMonthlyPnL_NothingChanged_ReturnsCachedResult() {
+        // Act
+        Versioned<Map<String, Object>> first = pnLService.getMonthlyPnL();
+        Versioned<Map<String, Object>> second = pnLService.getMonthlyPnL();
+
+        // Assert
+        assertEquals(first.version(), second.version());
+        assertSame(first.value(), second.value());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // a bump inside a transaction waits for its commit
+    void getMonthlyPnL_DataVersionBumped_Recomputes() {
+        // Arrange
+        Versioned<Map<String, Object>> before = pnLService.getMonthlyPnL();
+
+        // Act
+        portfolioDataVersion.bump();
+        Versioned<Map<String, Object>> after = pnLService.getMonthlyPnL();
+
+        // Assert
+        assertNotEquals(before.version(), after.version());
+        assertNotSame(before.value(), after.value());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getPnLData_QuarterGranularity_SumsRealizedAndTakesUnrealizedAtQuarterEnd() {
+        // Arrange
+        for (int month = 1; month <= 12; month++) {
+            portfolioMonthlySummaryRepository.save(new PortfolioMonthlySummary(2023, month, new BigDecimal("10000.00"),
+                    BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal("10.00"), new BigDecimal(month * 100 + ".00")));
+        }
+
+        // Act
+        Map<String, Object> result = pnLService.getPnLData(YearMonth.of(2023, 2), YearMonth.of(2023, 12), "quarter");
+
+        // Assert
+        List<Map<String, Object>> periods = (List<Map<String, Object>>) result.get("periods");
+        assertEquals(List.of("2023-Q1", "2023-Q2", "2023-Q3", "2023-Q4"), periods.stream().map(p -> p.get("period")).toList());
+        assertEquals("2023-02", periods.get(0).get("from"));
+        assertEquals(new BigDecimal("20.00"), periods.get(0).get("realized")); // February and March only
+        assertEquals(new BigDecimal("300.00"), periods.get(0).get("unrealized")); // as of March
+        assertEquals(new BigDecimal("110.00"), result.get("totalRealized"));
+        assertEquals(new BigDecimal("1200.00"), result.get("totalUnrealized"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getPnLData_PastMonthWithoutSummary_CalculatesItFromTheLedger() {
+        // Arrange
+        portfolioMonthlySummaryRepository.save(new PortfolioMonthlySummary(2023, 1, new BigDecimal("10000.00"),
+                BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal("10.00"), BigDecimal.ZERO));
+        realizedGainService.recordSell(1L, "AAPL", LocalDate.of(2022, 12, 15), 10, new BigDecimal("105.00"), new BigDecimal("1000.00"));
+
+        // Act
+        Map<String, Object> result = pnLService.getPnLData(YearMonth.of(2022, 12), YearMonth.of(2023, 1), "year");
+
+        // Assert
+        List<Map<String, Object>> periods = (List<Map<String, Object>>) result.get("periods");
+        assertEquals(2, periods.size());
+        assertEquals(new BigDecimal("50.00"), periods.get(0).get("realized"));
+        assertEquals(new BigDecimal("10.00"), periods.get(1).get("realized"));
+    }
+
+    @Test
+    void getPnLData_InvalidRangeOrGranularity_ThrowsException() {
+        // Arrange
+        YearMonth currentMonth = YearMonth.from(DateUtil.getCurrentDateInNYC());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> pnLService.getPnLData(currentMonth, currentMonth.plusMonths(1), "month"));
+        assertThrows(IllegalArgumentException.class, () -> pnLService.getPnLData(currentMonth, currentMonth.minusMonths(1), "month"));
+        assertThrows(IllegalArgumentException.class, () -> pnLService.getPnLData(currentMonth, currentMonth, "week"));
+        assertThrows(IllegalArgumentException.class, () -> pnLService.getPnLData(YearMonth.of(1, 1), currentMonth, "year"));
+        assertThrows(IllegalArgumentException.class, () -> pnLService.getPnLData(currentMonth.minusMonths(240), currentMonth, "year"));
+    }
+
+    private long countStatements() {
+        entityManager.flush();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        pnLService.getMonthlyPnLData();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,58 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.repository.DataVersionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: the bump only lands when the writing transaction commits
+@SpringBootTest
+@ActiveProfiles("test")
+class PortfolioDataVersionTest {
+
+    @Autowired
+    private PortfolioDataVersion portfolioDataVersion;
+
+    @Autowired
+    private DataVersionRepository dataVersionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void bump_InsideCommittedTransaction_StoresNextVersionOnCommit() {
+        // Arrange
+        long before = Long.parseLong(portfolioDataVersion.current());
+
+        // Act
+        String during = transactionTemplate.execute(status -> {
+            portfolioDataVersion.bump();
+            return portfolioDataVersion.current();
+        });
+
+        // Assert
+        assertEquals(Long.toString(before), during);
+        assertEquals(Long.toString(before + 1), portfolioDataVersion.current());
+        assertEquals(before + 1, dataVersionRepository.findById("portfolio").orElseThrow().getVersion());
+    }
+
+    @Test
+    void bump_InsideRolledBackTransaction_KeepsVersion() {
+        // Arrange
+        portfolioDataVersion.bump();
+        String before = portfolioDataVersion.current();
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            portfolioDataVersion.bump();
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertEquals(before, portfolioDataVersion.current());
+    }
+}
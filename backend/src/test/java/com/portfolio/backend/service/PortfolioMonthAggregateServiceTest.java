@@ -0,0 +1,180 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.dto.BuyRequest;
+import com.portfolio.backend.dto.PortfolioItemRequest;
+import com.portfolio.backend.dto.PortfolioItemResponse;
+import com.portfolio.backend.dto.SellRequest;
+import com.portfolio.backend.dto.TradeHistoryRequest;
+import com.portfolio.backend.dto.TradeHistoryResponse;
+import com.portfolio.backend.model.PortfolioMonthAggregate;
+import com.portfolio.backend.model.PortfolioMonthlySummary;
+import com.portfolio.backend.repository.PortfolioMonthAggregateRepository;
+import com.portfolio.backend.repository.PortfolioMonthlySummaryRepository;
+import com.portfolio.backend.util.DateUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Other tests may leave trades behind, so amounts are checked as changes to the month's summary
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PortfolioMonthAggregateServiceTest {
+
+    @Autowired
+    private PortfolioMonthAggregateService portfolioMonthAggregateService;
+
+    @Autowired
+    private PortfolioMonthlySummaryService portfolioMonthlySummaryService;
+
+    @Autowired
+    private BuyService buyService;
+
+    @Autowired
+    private SellService sellService;
+
+    @Autowired
+    private CashService cashService;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private TradeHistoryService tradeHistoryService;
+
+    @Autowired
+    private PnLEngine pnLEngine;
+
+    @Autowired
+    private PortfolioMonthAggregateRepository portfolioMonthAggregateRepository;
+
+    @Autowired
+    private PortfolioMonthlySummaryRepository portfolioMonthlySummaryRepository;
+
+    private LocalDate today;
+    private YearMonth month;
+
+    @BeforeEach
+    void setUp() {
+        today = DateUtil.getCurrentDateInNYC();
+        month = YearMonth.from(today);
+        cashService.initializeCashAccount(new BigDecimal("10000.00"));
+        // Trades below find the month's row already open, as they normally do after startup
+        portfolioMonthAggregateService.getCurrentMonthSummary();
+    }
+
+    @Test
+    void executeTrades_CurrentMonth_ChangeRealizedAndTotalValue() {
+        // Arrange
+        PortfolioMonthlySummary before = portfolioMonthAggregateService.getCurrentMonthSummary();
+        BigDecimal openingValue = currentRow().getOpeningValue();
+
+        // Act
+        buyService.executeBuyTransaction(new BuyRequest("ZZAG", 10, new BigDecimal("150.00"), today));
+        sellService.executeSellTransaction(new SellRequest("ZZAG", 4, new BigDecimal("175.50"), today));
+
+        // Assert
+        PortfolioMonthlySummary after = portfolioMonthAggregateService.getCurrentMonthSummary();
+        assertEquals(before.getRealizedGain().add(new BigDecimal("102.00")), after.getRealizedGain());
+        assertEquals(before.getTotalValue().add(new BigDecimal("102.00")), after.getTotalValue()); // 900 held at cost - 798 cash
+        assertEquals(openingValue, currentRow().getOpeningValue());
+        assertEquals(0, after.getMonthlyGain().compareTo(after.getTotalValue().subtract(openingValue)));
+    }
+
+    @Test
+    void addTrade_RawSellInCurrentMonth_CountsItsRealizedGainUntilDeleted() {
+        // Arrange
+        PortfolioMonthlySummary before = portfolioMonthAggregateService.getCurrentMonthSummary();
+        tradeHistoryService.addTrade(new TradeHistoryRequest(today, "ZZAH", 10, new BigDecimal("100.00"), "BUY"));
+
+        // Act
+        TradeHistoryResponse sell = tradeHistoryService.addTrade(
+                new TradeHistoryRequest(today, "ZZAH", 4, new BigDecimal("120.00"), "SELL"));
+        PortfolioMonthlySummary added = portfolioMonthAggregateService.getCurrentMonthSummary();
+        tradeHistoryService.deleteTrade(sell.getId());
+        PortfolioMonthlySummary deleted = portfolioMonthAggregateService.getCurrentMonthSummary();
+
+        // Assert
+        assertEquals(before.getRealizedGain().add(new BigDecimal("80.00")), added.getRealizedGain());
+        assertEquals(before.getRealizedGain(), deleted.getRealizedGain());
+    }
+
+    @Test
+    void executeSellTransaction_DatedInPreviousMonth_LeavesRealizedAndCountsHoldingsAtCost() {
+        // Arrange
+        LocalDate lastMonth = month.minusMonths(1).atDay(1);
+        buyService.executeBuyTransaction(new BuyRequest("ZZAG", 10, new BigDecimal("100.00"), lastMonth));
+        PortfolioMonthlySummary summaryBefore = portfolioMonthAggregateService.getCurrentMonthSummary();
+
+        // Act
+        sellService.executeSellTransaction(new SellRequest("ZZAG", 5, new BigDecimal("120.00"), lastMonth.plusDays(1)));
+
+        // Assert
+        PortfolioMonthlySummary summaryAfter = portfolioMonthAggregateService.getCurrentMonthSummary();
+        assertEquals(summaryBefore.getRealizedGain(), summaryAfter.getRealizedGain());
+        assertEquals(summaryBefore.getTotalValue().add(new BigDecimal("100.00")), summaryAfter.getTotalValue()); // 600 cash - 500 cost
+    }
+
+    @Test
+    void getCurrentMonthSummary_HoldingEditedDirectly_CountsItAtCost() {
+        // Arrange
+        PortfolioMonthlySummary before = portfolioMonthAggregateService.getCurrentMonthSummary();
+        PortfolioItemResponse item = portfolioService.addPortfolioItem(
+                new PortfolioItemRequest("ZZAG", 10, new BigDecimal("50.00"), today));
+
+        // Act
+        PortfolioMonthlySummary added = portfolioMonthAggregateService.getCurrentMonthSummary();
+        portfolioService.updatePortfolioItem(item.getId(), new PortfolioItemRequest(null, 4, null, null));
+        PortfolioMonthlySummary updated = portfolioMonthAggregateService.getCurrentMonthSummary();
+        portfolioService.deletePortfolioItem(item.getId());
+        PortfolioMonthlySummary deleted = portfolioMonthAggregateService.getCurrentMonthSummary();
+
+        // Assert
+        assertEquals(before.getTotalValue().add(new BigDecimal("500.00")), added.getTotalValue());
+        assertEquals(before.getTotalValue().add(new BigDecimal("200.00")), updated.getTotalValue());
+        assertEquals(before.getTotalValue(), deleted.getTotalValue());
+    }
+
+    @Test
+    void getCurrentMonthSummary_OpenLots_UnrealizedMatchesPnLEngine() {
+        // Arrange
+        buyService.executeBuyTransaction(new BuyRequest("ZZAG", 10, new BigDecimal("150.00"), today));
+
+        // Act
+        PortfolioMonthlySummary summary = portfolioMonthAggregateService.getCurrentMonthSummary();
+
+        // Assert
+        assertEquals(pnLEngine.calculateMonth(month, today).unrealized(), summary.getUnrealizedGain());
+    }
+
+    @Test
+    void createCurrentMonthSummary_AfterTrades_WritesLiveValues() {
+        // Arrange
+        buyService.executeBuyTransaction(new BuyRequest("ZZAG", 10, new BigDecimal("150.00"), today));
+        sellService.executeSellTransaction(new SellRequest("ZZAG", 4, new BigDecimal("175.50"), today));
+        PortfolioMonthlySummary live = portfolioMonthAggregateService.getCurrentMonthSummary();
+
+        // Act
+        portfolioMonthlySummaryService.createCurrentMonthSummary();
+
+        // Assert
+        PortfolioMonthlySummary stored = portfolioMonthlySummaryRepository
+                .findByYearAndMonth(month.getYear(), month.getMonthValue()).orElseThrow();
+        assertEquals(live.getTotalValue(), stored.getTotalValue());
+        assertEquals(live.getRealizedGain(), stored.getRealizedGain());
+        assertEquals(live.getUnrealizedGain(), stored.getUnrealizedGain());
+    }
+
+    private PortfolioMonthAggregate currentRow() {
+        return portfolioMonthAggregateRepository.findByYearAndMonth(month.getYear(), month.getMonthValue()).orElseThrow();
+    }
+}
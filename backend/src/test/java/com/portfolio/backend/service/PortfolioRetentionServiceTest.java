@@ -0,0 +1,123 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.model.PortfolioDailyValue;
+import com.portfolio.backend.model.PortfolioMonthlySummary;
+import com.portfolio.backend.model.PortfolioValueRollup;
+import com.portfolio.backend.repository.PortfolioDailyValueRepository;
+import com.portfolio.backend.repository.PortfolioMonthlySummaryRepository;
+import com.portfolio.backend.repository.PortfolioValueRollupRepository;
+import com.portfolio.backend.util.DateUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Chunks of 2 rows so the tests cover rollups and deletes spanning several chunks
+@SpringBootTest(properties = "retention.delete-chunk-size=2")
+@ActiveProfiles("test")
+@Transactional
+class PortfolioRetentionServiceTest {
+
+    private static final LocalDate MONDAY_JAN_1 = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private PortfolioRetentionService portfolioRetentionService;
+
+    @Autowired
+    private PortfolioMonthlySummaryService portfolioMonthlySummaryService;
+
+    @Autowired
+    private PortfolioDailyValueRepository portfolioDailyValueRepository;
+
+    @Autowired
+    private PortfolioValueRollupRepository portfolioValueRollupRepository;
+
+    @Autowired
+    private PortfolioMonthlySummaryRepository portfolioMonthlySummaryRepository;
+
+    @Test
+    void compactDailyValues_SnapshotsBeforeCutoff_RollsUpAndPurgesThem() {
+        // Arrange
+        snapshot(MONDAY_JAN_1, "100.00");
+        snapshot(MONDAY_JAN_1.plusDays(1), "90.00");
+        snapshot(MONDAY_JAN_1.plusDays(2), "120.00");
+        snapshot(MONDAY_JAN_1.plusDays(7), "110.00");
+        snapshot(LocalDate.of(2024, 2, 1), "130.00");
+
+        // Act
+        int compacted = portfolioRetentionService.compactDailyValues(LocalDate.of(2024, 2, 1));
+
+        // Assert
+        assertEquals(4, compacted);
+        assertEquals(1, portfolioDailyValueRepository.count());
+
+        PortfolioValueRollup january = portfolioValueRollupRepository
+                .findByPeriodAndPeriodStart(PortfolioValueRollup.Period.MONTH, MONDAY_JAN_1).orElseThrow();
+        assertEquals(new BigDecimal("100.00"), january.getOpenValue());
+        assertEquals(new BigDecimal("110.00"), january.getCloseValue());
+        assertEquals(new BigDecimal("90.00"), january.getMinValue());
+        assertEquals(new BigDecimal("120.00"), january.getMaxValue());
+        assertEquals(new BigDecimal("105.00"), january.getAvgValue());
+        assertEquals(4, january.getSampleCount());
+
+        List<PortfolioValueRollup> weeks = portfolioRetentionService.getRollups(
+                PortfolioValueRollup.Period.WEEK, MONDAY_JAN_1, LocalDate.of(2024, 1, 31));
+        assertEquals(2, weeks.size());
+        assertEquals(3, weeks.get(0).getSampleCount());
+        assertEquals(new BigDecimal("120.00"), weeks.get(0).getCloseValue());
+    }
+
+    @Test
+    void compactDailyValues_PeriodCompactedInTwoRuns_MergesIntoOneRollup() {
+        // Arrange
+        snapshot(MONDAY_JAN_1.plusDays(1), "90.00");
+        portfolioRetentionService.compactDailyValues(MONDAY_JAN_1.plusDays(2));
+        snapshot(MONDAY_JAN_1, "100.00"); // late snapshot earlier in the same week
+        snapshot(MONDAY_JAN_1.plusDays(3), "95.00");
+
+        // Act
+        portfolioRetentionService.compactDailyValues(MONDAY_JAN_1.plusDays(7));
+
+        // Assert
+        PortfolioValueRollup week = portfolioValueRollupRepository
+                .findByPeriodAndPeriodStart(PortfolioValueRollup.Period.WEEK, MONDAY_JAN_1).orElseThrow();
+        assertEquals(3, week.getSampleCount());
+        assertEquals(new BigDecimal("100.00"), week.getOpenValue());
+        assertEquals(new BigDecimal("95.00"), week.getCloseValue());
+        assertEquals(2, portfolioValueRollupRepository.count()); // one week and one month
+    }
+
+    @Test
+    void cleanupOldSummaries_ManySummaries_DeletesOnlyOldOnesInChunks() {
+        // Arrange
+        int currentYear = DateUtil.getCurrentDateInNYC().getYear();
+        for (int month = 1; month <= 5; month++) {
+            summary(currentYear - 3, month);
+        }
+        summary(currentYear, 1);
+
+        // Act
+        int deleted = portfolioMonthlySummaryService.cleanupOldSummaries();
+
+        // Assert
+        assertEquals(5, deleted);
+        assertEquals(1, portfolioMonthlySummaryRepository.count());
+    }
+
+    private void snapshot(LocalDate date, String totalValue) {
+        BigDecimal value = new BigDecimal(totalValue);
+        portfolioDailyValueRepository.save(new PortfolioDailyValue(date, value, value, BigDecimal.ZERO));
+    }
+
+    private void summary(int year, int month) {
+        portfolioMonthlySummaryRepository.save(new PortfolioMonthlySummary(year, month, BigDecimal.ZERO,
+                BigDecimal.ZERO, BigDecimal.ZERO));
+    }
+}
@@ -15,7 +15,9 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,6 +35,15 @@ class PortfolioServiceTest {
     @Mock
     private PortfolioDailyValueService portfolioDailyValueService;
 
+    @Mock
+    private PriceBoard priceBoard;
+
+    @Mock
+    private TaxLotService taxLotService;
+
+    @Mock
+    private PortfolioDataVersion portfolioDataVersion;
+
     @InjectMocks
     private PortfolioService portfolioService;
 
@@ -97,29 +108,30 @@ class PortfolioServiceTest {
     @Test
     void deletePortfolioItem_WhenExists_ReturnsTrue() {
         // Arrange
-        when(portfolioItemRepository.existsById(1L)).thenReturn(true);
+        when(portfolioItemRepository.findById(1L)).thenReturn(Optional.of(mockPortfolioItem));
 
         // Act
         boolean result = portfolioService.deletePortfolioItem(1L);
 
         // Assert
         assertTrue(result);
-        verify(portfolioItemRepository).existsById(1L);
-        verify(portfolioItemRepository).deleteById(1L);
+        verify(portfolioItemRepository).delete(mockPortfolioItem);
+        verify(taxLotService).reconcile("AAPL");
+        verify(portfolioDataVersion).bump();
     }
 
     @Test
     void deletePortfolioItem_WhenNotExists_ReturnsFalse() {
         // Arrange
-        when(portfolioItemRepository.existsById(999L)).thenReturn(false);
+        when(portfolioItemRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Act
         boolean result = portfolioService.deletePortfolioItem(999L);
 
         // Assert
         assertFalse(result);
-        verify(portfolioItemRepository).existsById(999L);
-        verify(portfolioItemRepository, never()).deleteById(any());
+        verify(portfolioItemRepository, never()).delete(any());
+        verifyNoInteractions(taxLotService, portfolioDataVersion);
     }
 
     @Test
@@ -135,4 +147,24 @@ class PortfolioServiceTest {
         assertEquals(expectedValue, result);
         verify(portfolioItemRepository).getTotalPortfolioValue();
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getPortfolioMarketStats_ValuesHoldingsAtBoardPrices() {
+        // Arrange
+        PortfolioItem apple = new PortfolioItem("AAPL", 10, new BigDecimal("150.00"), LocalDate.now());
+        PortfolioItem google = new PortfolioItem("GOOGL", 2, new BigDecimal("100.00"), LocalDate.now());
+        when(portfolioItemRepository.findAll()).thenReturn(Arrays.asList(apple, google));
+        when(priceBoard.getPrices(any())).thenReturn(Map.of("AAPL", new BigDecimal("160.00")));
+        when(cashService.getCashBalance()).thenReturn(new BigDecimal("500.00"));
+
+        // Act
+        Map<String, Object> stats = portfolioService.getPortfolioMarketStats();
+
+        // Assert
+        assertEquals("$1800.00", stats.get("investments")); // GOOGL has no board price and stays at buy price
+        assertEquals("$1700.00", stats.get("costBasis"));
+        assertEquals("$100.00", stats.get("unrealizedGain"));
+        assertEquals("$2300.00", stats.get("totalAssets"));
+        verify(priceBoard).getPrices(Set.of("AAPL", "GOOGL"));
+    }
+}
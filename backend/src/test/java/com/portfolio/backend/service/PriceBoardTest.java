@@ -0,0 +1,108 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.dto.Quote;
+import com.portfolio.backend.repository.PortfolioItemRepository;
+import com.portfolio.backend.util.TradingCalendar;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PriceBoardTest {
+
+    // A Wednesday, during and after regular trading hours
+    private static final ZonedDateTime MARKET_OPEN = ZonedDateTime.of(2024, 6, 12, 11, 0, 0, 0, TradingCalendar.NEW_YORK);
+    private static final ZonedDateTime AFTER_CLOSE = ZonedDateTime.of(2024, 6, 12, 17, 0, 0, 0, TradingCalendar.NEW_YORK);
+
+    @Mock
+    private StockDataService stockDataService;
+
+    @Mock
+    private PortfolioItemRepository portfolioItemRepository;
+
+    private PriceBoard priceBoard;
+
+    @BeforeEach
+    void setUp() {
+        priceBoard = new PriceBoard(stockDataService, portfolioItemRepository, TradingCalendar.nyse());
+    }
+
+    @Test
+    void refresh_MarketOpen_PutsHeldTickersOnBoard() {
+        // Arrange
+        when(portfolioItemRepository.findDistinctTickers()).thenReturn(List.of("AAPL", "MSFT"));
+        when(stockDataService.getStockData(List.of("AAPL", "MSFT")))
+                .thenReturn(List.of(quote("AAPL", "190.50"), Quote.failed("MSFT")));
+
+        // Act
+        boolean refreshed = priceBoard.refresh(MARKET_OPEN);
+
+        // Assert
+        assertTrue(refreshed);
+        assertEquals(new BigDecimal("190.50"), priceBoard.get("AAPL").quote().price());
+        assertNull(priceBoard.get("MSFT"));
+        assertEquals(1, priceBoard.getVersion());
+    }
+
+    @Test
+    void refresh_UnchangedQuote_KeepsVersion() {
+        // Arrange
+        when(portfolioItemRepository.findDistinctTickers()).thenReturn(List.of("AAPL"));
+        when(stockDataService.getStockData(List.of("AAPL"))).thenReturn(List.of(quote("AAPL", "190.50")));
+
+        // Act
+        priceBoard.refresh(MARKET_OPEN);
+        priceBoard.refresh(MARKET_OPEN);
+
+        // Assert
+        assertEquals(1, priceBoard.getVersion());
+        assertEquals(1, priceBoard.get("AAPL").version());
+    }
+
+    @Test
+    void refresh_AfterClose_RefreshesOnceThenStops() {
+        // Arrange
+        when(portfolioItemRepository.findDistinctTickers()).thenReturn(List.of("AAPL"));
+        when(stockDataService.getStockData(List.of("AAPL"))).thenReturn(List.of(quote("AAPL", "190.50")));
+
+        // Act
+        boolean first = priceBoard.refresh(AFTER_CLOSE);
+        boolean second = priceBoard.refresh(AFTER_CLOSE);
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+        verify(stockDataService, times(1)).getStockData(any());
+    }
+
+    @Test
+    void getPrices_TickerNotOnBoard_FetchesInBackgroundWithoutBlocking() {
+        // Arrange
+        when(stockDataService.streamStockData(List.of("NVDA"))).thenReturn(Flux.just(quote("NVDA", "120.25")));
+
+        // Act
+        Map<String, BigDecimal> firstRead = priceBoard.getPrices(List.of("NVDA"));
+        Map<String, BigDecimal> secondRead = priceBoard.getPrices(List.of("NVDA"));
+
+        // Assert
+        assertTrue(firstRead.isEmpty());
+        assertEquals(new BigDecimal("120.25"), secondRead.get("NVDA"));
+        verify(stockDataService, never()).getStockData(any());
+    }
+
+    private static Quote quote(String symbol, String price) {
+        BigDecimal value = new BigDecimal(price);
+        return Quote.of(symbol, symbol, value, "USD", null, value, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,125 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.model.PriceBar;
+import com.portfolio.backend.provider.YahooPriceHistoryProvider;
+import com.portfolio.backend.repository.PortfolioItemRepository;
+import com.portfolio.backend.repository.PriceBarRepository;
+import com.portfolio.backend.support.StubQuoteServer;
+import com.portfolio.backend.util.TradingCalendar;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PriceHistoryServiceTest {
+
+    // Wednesday after the close
+    private static final ZonedDateTime AFTER_CLOSE = ZonedDateTime.of(2024, 6, 12, 18, 0, 0, 0, TradingCalendar.NEW_YORK);
+
+    @Autowired
+    private PriceBarRepository priceBarRepository;
+
+    @Autowired
+    private PortfolioItemRepository portfolioItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PriceBoard priceBoard;
+
+    private StubQuoteServer upstream;
+    private PriceHistoryService priceHistoryService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        upstream = new StubQuoteServer(0);
+        WebClient webClient = WebClient.builder()
+                .baseUrl(upstream.baseUrl())
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(4 * 1024 * 1024))
+                .build();
+        priceHistoryService = new PriceHistoryService(new YahooPriceHistoryProvider(webClient),
+                priceBarRepository, portfolioItemRepository, jdbcTemplate, priceBoard, TradingCalendar.nyse(), 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    void ingest_NoStoredHistory_LoadsYearsOfBarsInOneCall() {
+        // Act
+        int inserted = priceHistoryService.ingest("aapl", AFTER_CLOSE);
+
+        // Assert
+        assertTrue(inserted > 5 * 250, "expected five years of weekdays, got " + inserted);
+        assertEquals(inserted, priceBarRepository.countByTicker("AAPL"));
+        assertEquals(1, upstream.callsFor("AAPL"));
+        List<PriceBar> firstWeek = priceBarRepository.findByTickerAndBarDateBetweenOrderByBarDateAsc(
+                "AAPL", LocalDate.of(2019, 6, 12), LocalDate.of(2019, 6, 18));
+        assertEquals(LocalDate.of(2019, 6, 12), firstWeek.get(0).getBarDate());
+    }
+
+    @Test
+    void ingest_HistoryStored_AppendsOnlyNewBars() {
+        // Arrange
+        int initial = priceHistoryService.ingest("AAPL", AFTER_CLOSE);
+
+        // Act
+        int sameDay = priceHistoryService.ingest("AAPL", AFTER_CLOSE.plusMinutes(30));
+        int nextDay = priceHistoryService.ingest("AAPL", AFTER_CLOSE.plusDays(1));
+
+        // Assert
+        assertEquals(0, sameDay);
+        assertEquals(1, nextDay);
+        assertEquals(initial + 1, priceBarRepository.countByTicker("AAPL"));
+        assertEquals(2, upstream.callsFor("AAPL")); // the same-day run had nothing to fetch
+    }
+
+    @Test
+    void ingest_BeforeClose_LeavesOutTodaysBar() {
+        // Act
+        priceHistoryService.ingest("AAPL", AFTER_CLOSE.withHour(11));
+
+        // Assert
+        assertEquals(LocalDate.of(2024, 6, 11), priceBarRepository.findLatestBarDate("AAPL").orElseThrow());
+    }
+
+    @Test
+    void getPricesAsOf_PastWeekend_UsesFridayClose() {
+        // Arrange
+        priceHistoryService.ingest("AAPL", AFTER_CLOSE);
+        priceHistoryService.ingest("MSFT", AFTER_CLOSE);
+        LocalDate saturday = LocalDate.of(2024, 3, 30);
+
+        // Act
+        Map<String, BigDecimal> prices = priceHistoryService.getPricesAsOf(List.of("AAPL", "MSFT"), saturday);
+
+        // Assert
+        LocalDate friday = LocalDate.of(2024, 3, 29);
+        assertEquals(0, close("AAPL", friday).compareTo(prices.get("AAPL")));
+        assertEquals(0, close("MSFT", friday).compareTo(prices.get("MSFT")));
+    }
+
+    private static BigDecimal close(String symbol, LocalDate date) {
+        return BigDecimal.valueOf(StubQuoteServer.closeOn(symbol, date)).setScale(4, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,113 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.dto.Quote;
+import com.portfolio.backend.util.TradingCalendar;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuoteCacheTest {
+
+    // A Wednesday mid-session, and a Friday after the close (next open is Monday 9:30 AM)
+    private static final Instant WEDNESDAY_MIDDAY = ZonedDateTime.of(2024, 6, 12, 12, 0, 0, 0, TradingCalendar.NEW_YORK).toInstant();
+    private static final Instant FRIDAY_EVENING = ZonedDateTime.of(2024, 6, 14, 18, 0, 0, 0, TradingCalendar.NEW_YORK).toInstant();
+    private static final Instant MONDAY_OPEN = ZonedDateTime.of(2024, 6, 17, 9, 30, 0, 0, TradingCalendar.NEW_YORK).toInstant();
+
+    private final QuoteCache quoteCache = new QuoteCache(2, Duration.ofSeconds(15), TradingCalendar.nyse());
+
+    @Test
+    void get_MarketOpen_FreshUntilOpenTtlThenStale() {
+        // Arrange
+        quoteCache.put("AAPL", quote("AAPL"), WEDNESDAY_MIDDAY);
+
+        // Act
+        QuoteCache.Lookup fresh = quoteCache.get("AAPL", WEDNESDAY_MIDDAY.plusSeconds(15));
+        QuoteCache.Lookup stale = quoteCache.get("AAPL", WEDNESDAY_MIDDAY.plusSeconds(16));
+
+        // Assert
+        assertFalse(fresh.stale());
+        assertTrue(stale.stale());
+        assertEquals("AAPL", stale.value().symbol());
+    }
+
+    @Test
+    void get_MarketClosed_FreshUntilNextOpen() {
+        // Arrange
+        quoteCache.put("AAPL", quote("AAPL"), FRIDAY_EVENING);
+
+        // Act
+        QuoteCache.Lookup overWeekend = quoteCache.get("AAPL", MONDAY_OPEN);
+        QuoteCache.Lookup afterOpen = quoteCache.get("AAPL", MONDAY_OPEN.plusSeconds(1));
+
+        // Assert
+        assertFalse(overWeekend.stale());
+        assertTrue(afterOpen.stale());
+    }
+
+    @Test
+    void startRefresh_StaleEntry_OnlyOneRefreshUntilFinished() {
+        // Arrange
+        quoteCache.put("AAPL", quote("AAPL"), WEDNESDAY_MIDDAY);
+        assertTrue(quoteCache.get("AAPL", WEDNESDAY_MIDDAY.plusSeconds(60)).stale());
+
+        // Act
+        boolean first = quoteCache.startRefresh("AAPL");
+        boolean second = quoteCache.startRefresh("AAPL");
+        quoteCache.finishRefresh("AAPL");
+        boolean afterFinish = quoteCache.startRefresh("AAPL");
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(afterFinish);
+        assertEquals(2L, quoteCache.getStats().get("refreshes"));
+    }
+
+    @Test
+    void put_OverCapacity_EvictsLeastRecentlyUsed() {
+        // Arrange
+        quoteCache.put("AAPL", quote("AAPL"), WEDNESDAY_MIDDAY);
+        quoteCache.put("MSFT", quote("MSFT"), WEDNESDAY_MIDDAY);
+        quoteCache.get("AAPL", WEDNESDAY_MIDDAY);
+
+        // Act
+        quoteCache.put("GOOG", quote("GOOG"), WEDNESDAY_MIDDAY);
+
+        // Assert
+        assertNotNull(quoteCache.peek("AAPL", WEDNESDAY_MIDDAY));
+        assertNull(quoteCache.peek("MSFT", WEDNESDAY_MIDDAY));
+        assertNotNull(quoteCache.peek("GOOG", WEDNESDAY_MIDDAY));
+        assertEquals(1L, quoteCache.getStats().get("evictions"));
+        assertEquals(2, quoteCache.getStats().get("size"));
+    }
+
+    @Test
+    void getStats_CountsHitsStaleHitsAndMisses() {
+        // Arrange
+        quoteCache.put("AAPL", quote("AAPL"), WEDNESDAY_MIDDAY);
+
+        // Act
+        quoteCache.get("AAPL", WEDNESDAY_MIDDAY);
+        quoteCache.get("AAPL", WEDNESDAY_MIDDAY.plusSeconds(1));
+        quoteCache.get("AAPL", WEDNESDAY_MIDDAY.plusSeconds(60));
+        quoteCache.get("MSFT", WEDNESDAY_MIDDAY);
+        quoteCache.peek("AAPL", WEDNESDAY_MIDDAY);
+        quoteCache.peek("MSFT", WEDNESDAY_MIDDAY);
+
+        // Assert
+        assertEquals(2L, quoteCache.getStats().get("hits"));
+        assertEquals(1L, quoteCache.getStats().get("staleHits"));
+        assertEquals(1L, quoteCache.getStats().get("misses"));
+    }
+
+    private static Quote quote(String symbol) {
+        BigDecimal price = new BigDecimal("100.00");
+        return Quote.of(symbol, symbol, price, "USD", BigDecimal.ZERO, price, BigDecimal.ZERO,
+                price, price, price, price);
+    }
+}
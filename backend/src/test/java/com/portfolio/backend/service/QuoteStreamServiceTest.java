@@ -0,0 +1,95 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.dto.Quote;
+import com.portfolio.backend.provider.YahooChartQuoteProvider;
+import com.portfolio.backend.support.StubQuoteServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuoteStreamServiceTest {
+
+    private StubQuoteServer upstream;
+    private QuoteStreamService quoteStreamService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        upstream = new StubQuoteServer(50);
+        WebClient webClient = WebClient.builder().baseUrl(upstream.baseUrl()).build();
+        // Quote cache disabled so every poll reaches the stub
+        StockDataService stockDataService = new StockDataService(new YahooChartQuoteProvider(webClient, 8), 10_000, 0, 15);
+        quoteStreamService = new QuoteStreamService(stockDataService, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    void streamQuotes_ManySubscribersToSameSymbol_ShareOneUpstreamPoll() {
+        // Arrange
+        List<Flux<Quote>> subscribers = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            subscribers.add(quoteStreamService.streamQuotes(List.of("AAPL")).take(1));
+        }
+
+        // Act
+        List<Quote> received = Flux.merge(subscribers).collectList().block(Duration.ofSeconds(10));
+
+        // Assert
+        assertEquals(500, received.size());
+        assertEquals("AAPL", received.get(0).symbol());
+        assertEquals(1, upstream.callsFor("AAPL"));
+    }
+
+    @Test
+    void streamQuotes_UnchangedQuote_PushesOnlyChanges() {
+        // Arrange
+        upstream.setLatencyMs(0);
+        upstream.setPrice("MSFT", 400.00);
+
+        // Act
+        List<Quote> received = quoteStreamService.streamQuotes(List.of("msft"))
+                .doOnNext(quote -> Schedulers.boundedElastic().schedule(
+                        () -> upstream.setPrice("MSFT", 401.50), 500, TimeUnit.MILLISECONDS))
+                .take(2)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        // Assert
+        assertEquals(0, new BigDecimal("400.0").compareTo(received.get(0).price()));
+        assertEquals(0, new BigDecimal("401.5").compareTo(received.get(1).price()));
+        assertTrue(upstream.callsFor("MSFT") > 2); // polls in between saw no change and pushed nothing
+    }
+
+    @Test
+    void streamQuotes_LastSubscriberLeaves_StopsPolling() throws InterruptedException {
+        // Act
+        quoteStreamService.streamQuotes(List.of("GOOGL")).take(1).blockLast(Duration.ofSeconds(10));
+        Thread.sleep(300);
+        int callsAfterCancel = upstream.callsFor("GOOGL");
+        Thread.sleep(300);
+
+        // Assert
+        assertEquals(0, quoteStreamService.getActiveFeedCount());
+        assertEquals(callsAfterCancel, upstream.callsFor("GOOGL"));
+    }
+
+    @Test
+    void streamQuotes_NoSymbols_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> quoteStreamService.streamQuotes(List.of(" ")));
+    }
+}
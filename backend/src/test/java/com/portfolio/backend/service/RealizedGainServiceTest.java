@@ -0,0 +1,210 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.dto.SellRequest;
+import com.portfolio.backend.dto.TradeHistoryRequest;
+import com.portfolio.backend.dto.TradeHistoryResponse;
+import com.portfolio.backend.model.PortfolioItem;
+import com.portfolio.backend.model.RealizedGain;
+import com.portfolio.backend.model.TradeHistory;
+import com.portfolio.backend.repository.PortfolioItemRepository;
+import com.portfolio.backend.repository.RealizedGainRepository;
+import com.portfolio.backend.repository.TradeHistoryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RealizedGainServiceTest {
+
+    private static final LocalDate MARCH_1 = LocalDate.of(2024, 3, 1);
+    private static final LocalDate MARCH_5 = LocalDate.of(2024, 3, 5);
+    private static final LocalDate MARCH_31 = LocalDate.of(2024, 3, 31);
+
+    @Autowired
+    private RealizedGainService realizedGainService;
+
+    @Autowired
+    private SellService sellService;
+
+    @Autowired
+    private RealizedGainRepository realizedGainRepository;
+
+    @Autowired
+    private TradeHistoryRepository tradeHistoryRepository;
+
+    @Autowired
+    private PortfolioItemRepository portfolioItemRepository;
+
+    @Autowired
+    private TaxLotService taxLotService;
+
+    @Autowired
+    private TradeHistoryService tradeHistoryService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void executeSellTransaction_Sale_RecordsGainAgainstLotCost() {
+        // Arrange
+        portfolioItemRepository.save(new PortfolioItem("AAPL", 10, new BigDecimal("150.00"), MARCH_5.minusDays(30)));
+        taxLotService.openLot(null, "AAPL", MARCH_5.minusDays(30), 10, new BigDecimal("150.00"));
+
+        // Act
+        Map<String, Object> result = sellService.executeSellTransaction(
+                new SellRequest("AAPL", 4, new BigDecimal("175.50"), MARCH_5));
+
+        // Assert
+        TradeHistoryResponse trade = (TradeHistoryResponse) result.get("tradeRecord");
+        RealizedGain ledgerRow = realizedGainRepository.findByTradeId(trade.getId()).orElseThrow();
+        assertEquals(new BigDecimal("702.00"), ledgerRow.getProceeds());
+        assertEquals(new BigDecimal("600.00"), ledgerRow.getCostBasis());
+        assertEquals(new BigDecimal("102.00"), ledgerRow.getRealizedGain());
+        assertEquals(new BigDecimal("102.00"), result.get("realizedGain"));
+    }
+
+    @Test
+    void getRealizedGain_SellsAcrossMonths_SumsOnlyTheRange() {
+        // Arrange
+        realizedGainService.recordSell(1L, "AAPL", MARCH_5, 10, new BigDecimal("110.00"), new BigDecimal("1000.00"));
+        realizedGainService.recordSell(2L, "MSFT", MARCH_5.plusDays(10), 5, new BigDecimal("90.00"), new BigDecimal("500.00"));
+        realizedGainService.recordSell(3L, "AAPL", MARCH_5.plusMonths(1), 10, new BigDecimal("130.00"), new BigDecimal("1000.00"));
+
+        // Act
+        BigDecimal march = realizedGainService.getRealizedGain(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+        BigDecimal february = realizedGainService.getRealizedGain(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29));
+
+        // Assert
+        assertEquals(new BigDecimal("50.00"), march);
+        assertEquals(new BigDecimal("0.00"), february);
+    }
+
+    @Test
+    void getRealizedGain_MoreSells_IssuesSameNumberOfStatements() {
+        // Arrange
+        long fewSellsStatements = statementsFor(sellsOver(10));
+        realizedGainRepository.deleteAll();
+        entityManager.flush();
+
+        // Act
+        long manySellsStatements = statementsFor(sellsOver(200));
+
+        // Assert
+        assertEquals(2, fewSellsStatements); // one SUM for the range, one grouped SUM by month
+        assertEquals(fewSellsStatements, manySellsStatements);
+    }
+
+    @Test
+    void backfill_SellsWithoutLedgerRows_WritesOnlyMissingRows() {
+        // Arrange
+        tradeHistoryRepository.save(new TradeHistory(MARCH_5, "AAPL", 10, new BigDecimal("100.00"), TradeHistory.TradeType.BUY));
+        TradeHistory sell = tradeHistoryRepository.save(
+                new TradeHistory(MARCH_5.plusDays(1), "AAPL", 4, new BigDecimal("125.00"), TradeHistory.TradeType.SELL));
+        realizedGainService.recordSell(999L, "MSFT", MARCH_5, 1, new BigDecimal("10.00"), new BigDecimal("8.00"));
+
+        // Act
+        int written = realizedGainService.backfill();
+        int writtenAgain = realizedGainService.backfill();
+
+        // Assert
+        assertEquals(1, written);
+        assertEquals(0, writtenAgain);
+        assertEquals(2, realizedGainRepository.count());
+        RealizedGain ledgerRow = realizedGainRepository.findByTradeId(sell.getId()).orElseThrow();
+        assertEquals(new BigDecimal("400.00"), ledgerRow.getCostBasis());
+        assertEquals(new BigDecimal("100.00"), ledgerRow.getRealizedGain());
+    }
+
+    @Test
+    void updateTrade_SellPriceEdited_RewritesItsRealizedGain() {
+        // Arrange
+        TradeHistory sell = backfilledSellAfterBuy();
+
+        // Act
+        tradeHistoryService.updateTrade(sell.getId(),
+                new TradeHistoryRequest(MARCH_5.plusDays(1), "AAPL", 4, new BigDecimal("150.00"), "SELL"));
+
+        // Assert
+        assertEquals(new BigDecimal("200.00"), realizedGainService.getRealizedGain(MARCH_1, MARCH_31));
+        assertEquals(new BigDecimal("200.00"), realizedGainRepository.findByTradeId(sell.getId()).orElseThrow().getRealizedGain());
+    }
+
+    @Test
+    void updateTrade_BuyPriceEdited_RewritesLaterSells() {
+        // Arrange
+        TradeHistory sell = backfilledSellAfterBuy();
+        TradeHistory buy = tradeHistoryRepository.findByTickerOrderByTradeDateAscIdAsc("AAPL").get(0);
+
+        // Act
+        tradeHistoryService.updateTrade(buy.getId(),
+                new TradeHistoryRequest(MARCH_5, "AAPL", 10, new BigDecimal("110.00"), "BUY"));
+
+        // Assert
+        assertEquals(new BigDecimal("60.00"), realizedGainRepository.findByTradeId(sell.getId()).orElseThrow().getRealizedGain());
+    }
+
+    @Test
+    void deleteTrade_Sell_DropsItsRealizedGain() {
+        // Arrange
+        TradeHistory sell = backfilledSellAfterBuy();
+
+        // Act
+        tradeHistoryService.deleteTrade(sell.getId());
+
+        // Assert
+        assertEquals(new BigDecimal("0.00"), realizedGainService.getRealizedGain(MARCH_1, MARCH_31));
+        assertTrue(realizedGainRepository.findByTradeId(sell.getId()).isEmpty());
+    }
+
+    /**
+     * Ledger rows for sells of several tickers on consecutive days
+     */
+    private LocalDate sellsOver(int days) {
+        List<String> tickers = List.of("AAPL", "MSFT", "GOOGL", "AMZN");
+        for (int i = 0; i < days; i++) {
+            realizedGainService.recordSell((long) i + 1, tickers.get(i % tickers.size()), MARCH_5.plusDays(i), 10,
+                    BigDecimal.valueOf(100 + i), new BigDecimal("1000.00"));
+        }
+        return MARCH_5.plusDays(days);
+    }
+
+    private long statementsFor(LocalDate endDate) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        realizedGainService.getRealizedGain(MARCH_5, endDate);
+        realizedGainService.getRealizedGainByMonth(MARCH_5, endDate);
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * A buy of 10 at 100.00 and a sell of 4 at 125.00 the next day, with its ledger row (gain 100.00)
+     */
+    private TradeHistory backfilledSellAfterBuy() {
+        tradeHistoryRepository.save(new TradeHistory(MARCH_5, "AAPL", 10, new BigDecimal("100.00"), TradeHistory.TradeType.BUY));
+        TradeHistory sell = tradeHistoryRepository.save(
+                new TradeHistory(MARCH_5.plusDays(1), "AAPL", 4, new BigDecimal("125.00"), TradeHistory.TradeType.SELL));
+        realizedGainService.backfill();
+        assertEquals(new BigDecimal("100.00"), realizedGainService.getRealizedGain(MARCH_1, MARCH_31));
+        return sell;
+    }
+}
@@ -0,0 +1,164 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.dto.Quote;
+import com.portfolio.backend.provider.FallbackQuoteProvider;
+import com.portfolio.backend.provider.YahooBatchQuoteProvider;
+import com.portfolio.backend.provider.YahooChartQuoteProvider;
+import com.portfolio.backend.support.StubQuoteServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockDataServiceTest {
+
+    private StubQuoteServer upstream;
+    private StockDataService stockDataService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        upstream = new StubQuoteServer(300);
+        stockDataService = new StockDataService(chartProvider(), 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    void getStockData_ParallelLookupsForSameSymbols_ShareOneUpstreamCallPerSymbol() throws Exception {
+        // Arrange
+        List<String> symbols = List.of("AAPL", "MSFT", "GOOGL", "AMZN", "TSLA");
+        ExecutorService callers = Executors.newFixedThreadPool(100);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Quote>>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            String symbol = symbols.get(i % symbols.size());
+            futures.add(callers.submit(() -> {
+                start.await();
+                return stockDataService.getStockData(List.of(symbol));
+            }));
+        }
+
+        // Act
+        start.countDown();
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                List<Quote> result = futures.get(i).get(30, TimeUnit.SECONDS);
+
+                // Assert
+                assertEquals(1, result.size());
+                assertEquals(symbols.get(i % symbols.size()), result.get(0).symbol());
+                assertNull(result.get(0).error());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(5, upstream.totalCalls());
+        for (String symbol : symbols) {
+            assertEquals(1, upstream.callsFor(symbol));
+        }
+    }
+
+    @Test
+    void getStockData_RepeatedSymbolInOneCall_FetchesOnceAndKeepsOrder() {
+        // Act
+        List<Quote> result = stockDataService.getStockData(List.of("AAPL", "msft", "aapl", "AAPL"));
+
+        // Assert
+        assertEquals(4, result.size());
+        assertEquals("AAPL", result.get(0).symbol());
+        assertEquals("MSFT", result.get(1).symbol());
+        assertEquals("AAPL", result.get(2).symbol());
+        assertEquals("AAPL", result.get(3).symbol());
+        assertEquals(1, upstream.callsFor("AAPL"));
+        assertEquals(1, upstream.callsFor("MSFT"));
+    }
+
+    @Test
+    void getStockData_PastDeadline_ReturnsErrorQuotePerSymbol() {
+        // Arrange
+        StockDataService impatient = new StockDataService(chartProvider(), 50);
+
+        // Act
+        List<Quote> result = impatient.getStockData(List.of("AAPL", "MSFT"));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("AAPL", result.get(0).symbol());
+        assertNotNull(result.get(0).error());
+        assertEquals("MSFT", result.get(1).symbol());
+        assertNotNull(result.get(1).error());
+        assertNull(result.get(1).price());
+    }
+
+    @Test
+    void getCurrentPrices_WithBatchProvider_PricesWholePortfolioInOneCall() {
+        // Arrange
+        WebClient webClient = WebClient.builder().baseUrl(upstream.baseUrl()).build();
+        StockDataService batched = new StockDataService(new YahooBatchQuoteProvider(webClient), 10_000);
+        List<String> tickers = List.of("AAPL", "MSFT", "GOOGL", "AMZN", "TSLA", "NVDA", "META", "NFLX");
+
+        // Act
+        Map<String, BigDecimal> prices = batched.getCurrentPrices(tickers);
+
+        // Assert
+        assertEquals(tickers.size(), prices.size());
+        assertEquals(0, BigDecimal.valueOf(StubQuoteServer.priceFor("NVDA")).compareTo(prices.get("NVDA")));
+        assertEquals(1, upstream.totalCalls());
+    }
+
+    @Test
+    void getStockData_BatchEndpointRejected_FallsBackToChartEndpoint() {
+        // Arrange
+        upstream.setBatchEnabled(false);
+        WebClient webClient = WebClient.builder().baseUrl(upstream.baseUrl()).build();
+        StockDataService withFallback = new StockDataService(new FallbackQuoteProvider(
+                new YahooBatchQuoteProvider(webClient), new YahooChartQuoteProvider(webClient, 8)), 10_000);
+
+        // Act
+        List<Quote> result = withFallback.getStockData(List.of("AAPL", "MSFT"));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertNull(result.get(0).error());
+        assertNull(result.get(1).error());
+        assertEquals(3, upstream.totalCalls()); // one rejected batch call, then one chart call per symbol
+    }
+
+    @Test
+    void getStockData_BatchEndpointRejectedOnce_SkipsBatchEndpointAfterwards() {
+        // Arrange
+        upstream.setBatchEnabled(false);
+        WebClient webClient = WebClient.builder().baseUrl(upstream.baseUrl()).build();
+        StockDataService withFallback = new StockDataService(new FallbackQuoteProvider(
+                new YahooBatchQuoteProvider(webClient), new YahooChartQuoteProvider(webClient, 8)), 10_000);
+        withFallback.getStockData(List.of("AAPL", "MSFT"));
+
+        // Act
+        List<Quote> result = withFallback.getStockData(List.of("NVDA"));
+
+        // Assert
+        assertNull(result.get(0).error());
+        assertEquals(4, upstream.totalCalls()); // no second batch call, just the chart call for NVDA
+    }
+
+    private YahooChartQuoteProvider chartProvider() {
+        return new YahooChartQuoteProvider(WebClient.builder().baseUrl(upstream.baseUrl()).build(), 8);
+    }
+}
@@ -0,0 +1,205 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.dto.BuyRequest;
+import com.portfolio.backend.dto.LotRelief;
+import com.portfolio.backend.dto.PortfolioItemRequest;
+import com.portfolio.backend.dto.PortfolioItemResponse;
+import com.portfolio.backend.dto.SellRequest;
+import com.portfolio.backend.model.TaxLot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class TaxLotServiceTest {
+
+    private static final LocalDate JAN_2 = LocalDate.of(2024, 1, 2);
+
+    @Autowired
+    private TaxLotService taxLotService;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private BuyService buyService;
+
+    @Autowired
+    private SellService sellService;
+
+    @Autowired
+    private CashService cashService;
+
+    private TaxLot oldest;
+    private TaxLot highest;
+    private TaxLot newest;
+
+    @BeforeEach
+    void setUp() {
+        oldest = taxLotService.openLot(1L, "AAPL", JAN_2, 10, new BigDecimal("100.00"));
+        highest = taxLotService.openLot(2L, "AAPL", JAN_2.plusDays(30), 10, new BigDecimal("180.00"));
+        newest = taxLotService.openLot(3L, "AAPL", JAN_2.plusDays(60), 10, new BigDecimal("150.00"));
+    }
+
+    @Test
+    void relieve_Fifo_TakesOldestLotsFirst() {
+        // Act
+        LotRelief relief = taxLotService.relieve("AAPL", 15, "FIFO", null);
+
+        // Assert
+        assertEquals(List.of(oldest.getId(), highest.getId()), lotIds(relief));
+        assertEquals(0, new BigDecimal("1900").compareTo(relief.costBasis())); // 10 x 100 + 5 x 180
+        assertFalse(oldest.isOpen());
+        assertEquals(5, highest.getRemainingQuantity());
+    }
+
+    @Test
+    void relieve_Lifo_TakesNewestLotsFirst() {
+        // Act
+        LotRelief relief = taxLotService.relieve("AAPL", 12, "lifo", null);
+
+        // Assert
+        assertEquals(List.of(newest.getId(), highest.getId()), lotIds(relief));
+        assertEquals(0, new BigDecimal("1860").compareTo(relief.costBasis())); // 10 x 150 + 2 x 180
+    }
+
+    @Test
+    void relieve_Hifo_TakesHighestCostLotsFirst() {
+        // Act
+        LotRelief relief = taxLotService.relieve("AAPL", 12, "HIFO", null);
+
+        // Assert
+        assertEquals(List.of(highest.getId(), newest.getId()), lotIds(relief));
+        assertEquals(0, new BigDecimal("2100").compareTo(relief.costBasis())); // 10 x 180 + 2 x 150
+    }
+
+    @Test
+    void relieve_Specific_TakesNamedLotsInOrder() {
+        // Act
+        LotRelief relief = taxLotService.relieve("AAPL", 4, "SPECIFIC", List.of(newest.getId()));
+
+        // Assert
+        assertEquals(List.of(newest.getId()), lotIds(relief));
+        assertEquals(0, new BigDecimal("600").compareTo(relief.costBasis()));
+        assertEquals(6, newest.getRemainingQuantity());
+    }
+
+    @Test
+    void relieve_SpecificLotsTooSmall_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> taxLotService.relieve("AAPL", 11, "SPECIFIC", List.of(oldest.getId())));
+        assertEquals(10, oldest.getRemainingQuantity());
+    }
+
+    @Test
+    void relieve_UnknownMethod_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> taxLotService.relieve("AAPL", 1, "AVERAGE", null));
+    }
+
+    @Test
+    void getAverageCost_ManyBuys_UsesExactLotCosts() {
+        // Arrange
+        taxLotService.openLot(4L, "MSFT", JAN_2, 3, new BigDecimal("100.01"));
+        taxLotService.openLot(5L, "MSFT", JAN_2, 3, new BigDecimal("100.02"));
+        taxLotService.openLot(6L, "MSFT", JAN_2, 3, new BigDecimal("100.02"));
+
+        // Act
+        BigDecimal averageCost = taxLotService.getAverageCost("MSFT");
+
+        // Assert
+        assertEquals(new BigDecimal("100.02"), averageCost); // 900.15 / 9 = 100.0166...
+    }
+
+    @Test
+    void calculateUnrealizedGain_OpenLotsAsOf_SkipsLotsAcquiredLater() {
+        // Act
+        Map<String, List<TaxLot>> lots = taxLotService.getOpenLotsAsOf(JAN_2.plusDays(45));
+        BigDecimal unrealized = taxLotService.calculateUnrealizedGain(lots, Map.of("AAPL", new BigDecimal("160.00")));
+
+        // Assert
+        assertEquals(2, lots.get("AAPL").size());
+        assertEquals(new BigDecimal("400.00"), unrealized); // 10 x (160 - 100) + 10 x (160 - 180)
+    }
+
+    @Test
+    void executeSellTransaction_HoldingAddedThroughPortfolio_SellsAgainstItsLot() {
+        // Arrange
+        portfolioService.addPortfolioItem(new PortfolioItemRequest("ZZLT", 10, new BigDecimal("50.00"), JAN_2));
+
+        // Act
+        Map<String, Object> result = sellService.executeSellTransaction(
+                new SellRequest("ZZLT", 4, new BigDecimal("60.00"), JAN_2.plusDays(1)));
+
+        // Assert
+        assertEquals(new BigDecimal("40.00"), result.get("realizedGain")); // 4 x (60 - 50)
+        assertEquals(6, openShares("ZZLT"));
+    }
+
+    @Test
+    void executeSellTransaction_HoldingQuantityRaisedThroughPortfolio_SellsEveryShare() {
+        // Arrange
+        cashService.initializeCashAccount(new BigDecimal("10000.00"));
+        buyService.executeBuyTransaction(new BuyRequest("ZZLT", 10, new BigDecimal("100.00"), JAN_2));
+        PortfolioItemResponse holding = portfolioService.getPortfolioItemsByTicker("ZZLT").get(0);
+        portfolioService.updatePortfolioItem(holding.getId(), new PortfolioItemRequest(null, 15, null, null));
+
+        // Act
+        Map<String, Object> result = sellService.executeSellTransaction(
+                new SellRequest("ZZLT", 15, new BigDecimal("110.00"), JAN_2.plusDays(1)));
+
+        // Assert
+        // The 5 shares added directly cost the holding's 100.00 too
+        assertEquals(new BigDecimal("150.00"), result.get("realizedGain"));
+        assertEquals(0, openShares("ZZLT"));
+    }
+
+    @Test
+    void executeBuyTransaction_HoldingAddedThroughPortfolio_AveragesWholePosition() {
+        // Arrange
+        cashService.initializeCashAccount(new BigDecimal("10000.00"));
+        portfolioService.addPortfolioItem(new PortfolioItemRequest("ZZLT", 10, new BigDecimal("50.00"), JAN_2));
+
+        // Act
+        buyService.executeBuyTransaction(new BuyRequest("ZZLT", 10, new BigDecimal("70.00"), JAN_2.plusDays(1)));
+
+        // Assert
+        PortfolioItemResponse holding = portfolioService.getPortfolioItemsByTicker("ZZLT").get(0);
+        assertEquals(20, holding.getQuantity());
+        assertEquals(new BigDecimal("60.00"), holding.getBuyPrice());
+    }
+
+    @Test
+    void deletePortfolioItem_Holding_ClosesItsLots() {
+        // Arrange
+        PortfolioItemResponse holding = portfolioService.addPortfolioItem(
+                new PortfolioItemRequest("ZZLT", 10, new BigDecimal("50.00"), JAN_2));
+
+        // Act
+        portfolioService.deletePortfolioItem(holding.getId());
+
+        // Assert
+        assertEquals(0, openShares("ZZLT"));
+    }
+
+    private int openShares(String ticker) {
+        return taxLotService.getOpenLots(ticker).stream().mapToInt(TaxLot::getRemainingQuantity).sum();
+    }
+
+    private static List<Long> lotIds(LotRelief relief) {
+        return relief.lines().stream().map(LotRelief.Line::lotId).toList();
+    }
+}
@@ -0,0 +1,272 @@
+package com.portfolio.backend.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Local stand-in for the Yahoo Finance chart and multi-symbol quote endpoints, used by
+ * tests and benchmarks. Every symbol gets a deterministic quote and, for chart requests
+ * with period1/period2, deterministic weekday closes; latency can be added per request
+ * and upstream calls are counted in total, per symbol and per client connection.
+ */
+public class StubQuoteServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger totalCalls = new AtomicInteger();
+    private final ConcurrentHashMap<String, AtomicInteger> callsBySymbol = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Double> prices = new ConcurrentHashMap<>();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private volatile long latencyMs;
+    private volatile boolean batchEnabled = true;
+    private volatile boolean failing;
+
+    public StubQuoteServer(long latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        this.executor = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/v8/finance/chart/", this::handleChart);
+        this.server.createContext("/v7/finance/quote", this::handleQuote);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void setLatencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    /**
+     * When disabled, the multi-symbol quote endpoint answers 401 like Yahoo does without a crumb
+     */
+    public void setBatchEnabled(boolean batchEnabled) {
+        this.batchEnabled = batchEnabled;
+    }
+
+    /**
+     * Quote a symbol at a fixed price instead of its deterministic default
+     */
+    public void setPrice(String symbol, double price) {
+        prices.put(symbol.toUpperCase(Locale.ROOT), price);
+    }
+
+    /**
+     * When failing, both endpoints answer 500 after the configured latency
+     */
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    public int totalCalls() {
+        return totalCalls.get();
+    }
+
+    public int callsFor(String symbol) {
+        AtomicInteger calls = callsBySymbol.get(symbol.toUpperCase(Locale.ROOT));
+        return calls == null ? 0 : calls.get();
+    }
+
+    /**
+     * Number of distinct client connections that sent requests; lower than totalCalls when connections are reused
+     */
+    public int connectionsSeen() {
+        return clientPorts.size();
+    }
+
+    public void resetCounts() {
+        totalCalls.set(0);
+        callsBySymbol.clear();
+        clientPorts.clear();
+    }
+
+    private void handleChart(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String symbol = path.substring(path.lastIndexOf('/') + 1).toUpperCase(Locale.ROOT);
+        totalCalls.incrementAndGet();
+        callsBySymbol.computeIfAbsent(symbol, s -> new AtomicInteger()).incrementAndGet();
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+
+        pause();
+        if (failing) {
+            respond(exchange, 500, "{\"chart\":{\"result\":null,\"error\":{\"code\":\"Internal Server Error\"}}}");
+            return;
+        }
+        String query = exchange.getRequestURI().getQuery();
+        if (query != null && query.contains("period1=")) {
+            LocalDate from = Instant.ofEpochSecond(queryLong(query, "period1")).atZone(ZoneOffset.UTC).toLocalDate();
+            LocalDate to = Instant.ofEpochSecond(queryLong(query, "period2")).atZone(ZoneOffset.UTC).toLocalDate().minusDays(1);
+            respond(exchange, 200, historyJson(symbol, from, to));
+            return;
+        }
+        respond(exchange, 200, chartJson(symbol, currentPrice(symbol)));
+    }
+
+    private static long queryLong(String query, String name) {
+        for (String parameter : query.split("&")) {
+            if (parameter.startsWith(name + "=")) {
+                return Long.parseLong(parameter.substring(name.length() + 1));
+            }
+        }
+        throw new IllegalArgumentException("Missing query parameter " + name);
+    }
+
+    private void handleQuote(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getQuery();
+        String[] symbols = query.substring(query.indexOf("symbols=") + "symbols=".length()).split(",");
+        totalCalls.incrementAndGet();
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        for (String symbol : symbols) {
+            callsBySymbol.computeIfAbsent(symbol.toUpperCase(Locale.ROOT), s -> new AtomicInteger()).incrementAndGet();
+        }
+
+        pause();
+        if (failing) {
+            respond(exchange, 500, "{\"finance\":{\"result\":null,\"error\":{\"code\":\"Internal Server Error\"}}}");
+            return;
+        }
+        if (!batchEnabled) {
+            respond(exchange, 401, "{\"finance\":{\"result\":null,\"error\":{\"code\":\"Unauthorized\"}}}");
+            return;
+        }
+        respond(exchange, 200, quoteJson(this::currentPrice, symbols));
+    }
+
+    private double currentPrice(String symbol) {
+        Double price = prices.get(symbol.toUpperCase(Locale.ROOT));
+        return price != null ? price : priceFor(symbol);
+    }
+
+    private void pause() {
+        long delay = latencyMs;
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Deterministic price for a symbol so tests can assert on values
+     */
+    public static double priceFor(String symbol) {
+        return 100 + Math.abs(symbol.toUpperCase(Locale.ROOT).hashCode() % 9000) / 100.0;
+    }
+
+    public static String chartJson(String symbol) {
+        return chartJson(symbol, priceFor(symbol));
+    }
+
+    public static String chartJson(String symbol, double price) {
+        double previousClose = price - 1.25;
+        return "{\"chart\":{\"result\":[{\"meta\":{"
+                + "\"currency\":\"USD\",\"symbol\":\"" + symbol + "\",\"shortName\":\"" + symbol + " Inc.\","
+                + "\"regularMarketPrice\":" + price + ","
+                + "\"chartPreviousClose\":" + previousClose + ","
+                + "\"regularMarketVolume\":1234567,"
+                + "\"regularMarketDayLow\":" + (price - 2) + ","
+                + "\"regularMarketDayHigh\":" + (price + 2) + ","
+                + "\"fiftyTwoWeekLow\":" + (price - 30) + ","
+                + "\"fiftyTwoWeekHigh\":" + (price + 30)
+                + "},\"timestamp\":[1718285400],"
+                + "\"indicators\":{\"quote\":[{\"close\":[" + price + "],\"open\":[" + previousClose + "]}]}}],"
+                + "\"error\":null}}";
+    }
+
+    /**
+     * Deterministic daily close for a symbol so history tests can assert on values
+     */
+    public static double closeOn(String symbol, LocalDate date) {
+        return priceFor(symbol) + date.toEpochDay() % 10;
+    }
+
+    /**
+     * Daily chart response with one bar per weekday from from to to, inclusive
+     */
+    public static String historyJson(String symbol, LocalDate from, LocalDate to) {
+        StringBuilder timestamps = new StringBuilder();
+        StringBuilder closes = new StringBuilder();
+        StringBuilder volumes = new StringBuilder();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            if (timestamps.length() > 0) {
+                timestamps.append(',');
+                closes.append(',');
+                volumes.append(',');
+            }
+            timestamps.append(date.atTime(14, 30).toEpochSecond(ZoneOffset.UTC));
+            closes.append(closeOn(symbol, date));
+            volumes.append(1_000_000);
+        }
+        return "{\"chart\":{\"result\":[{\"meta\":{"
+                + "\"currency\":\"USD\",\"symbol\":\"" + symbol + "\",\"exchangeTimezoneName\":\"America/New_York\","
+                + "\"regularMarketPrice\":" + priceFor(symbol) + ",\"chartPreviousClose\":" + priceFor(symbol)
+                + "},\"timestamp\":[" + timestamps + "],"
+                + "\"indicators\":{\"quote\":[{\"close\":[" + closes + "],\"volume\":[" + volumes + "]}]}}],"
+                + "\"error\":null}}";
+    }
+
+    public static String quoteJson(String... symbols) {
+        return quoteJson(StubQuoteServer::priceFor, symbols);
+    }
+
+    public static String quoteJson(ToDoubleFunction<String> priceOf, String... symbols) {
+        StringBuilder json = new StringBuilder("{\"quoteResponse\":{\"result\":[");
+        for (int i = 0; i < symbols.length; i++) {
+            String symbol = symbols[i].toUpperCase(Locale.ROOT);
+            double price = priceOf.applyAsDouble(symbol);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"symbol\":\"").append(symbol).append("\",\"shortName\":\"").append(symbol).append(" Inc.\",")
+                    .append("\"currency\":\"USD\",")
+                    .append("\"regularMarketPrice\":").append(price).append(',')
+                    .append("\"regularMarketPreviousClose\":").append(price - 1.25).append(',')
+                    .append("\"regularMarketVolume\":1234567,")
+                    .append("\"regularMarketDayLow\":").append(price - 2).append(',')
+                    .append("\"regularMarketDayHigh\":").append(price + 2).append(',')
+                    .append("\"fiftyTwoWeekLow\":").append(price - 30).append(',')
+                    .append("\"fiftyTwoWeekHigh\":").append(price + 30)
+                    .append('}');
+        }
+        return json.append("],\"error\":null}}").toString();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,75 @@
+package com.portfolio.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void toMicros_SixDecimals_ConvertsExactly() {
+        // Act & Assert
+        assertEquals(150_123_456L, Money.toMicros(new BigDecimal("150.123456")));
+        assertEquals(new BigDecimal("150.123456"), Money.toBigDecimal(150_123_456L, 6));
+    }
+
+    @Test
+    void toMicros_SubMicroDigits_ThrowsUnlessRounding() {
+        // Arrange
+        BigDecimal quoted = new BigDecimal("189.8400005");
+
+        // Act & Assert
+        assertThrows(ArithmeticException.class, () -> Money.toMicros(quoted));
+        assertEquals(189_840_001L, Money.toMicros(quoted, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void multiply_Overflow_ThrowsException() {
+        // Act & Assert
+        assertThrows(ArithmeticException.class, () -> Money.multiply(Long.MAX_VALUE / 2, 3));
+        assertThrows(ArithmeticException.class, () -> Money.multiply(Long.MIN_VALUE, -1));
+    }
+
+    @Test
+    void divide_EveryRoundingMode_MatchesBigDecimal() {
+        for (RoundingMode mode : RoundingMode.values()) {
+            if (mode == RoundingMode.UNNECESSARY) {
+                continue;
+            }
+            for (long micros = -25; micros <= 25; micros++) {
+                for (long divisor : new long[]{-4, -3, 3, 4, 7}) {
+                    // Act
+                    long quotient = Money.divide(micros, divisor, mode);
+
+                    // Assert
+                    long expected = BigDecimal.valueOf(micros)
+                            .divide(BigDecimal.valueOf(divisor), 0, mode)
+                            .longValueExact();
+                    assertEquals(expected, quotient, micros + " / " + divisor + " " + mode);
+                }
+            }
+        }
+    }
+
+    @Test
+    void multiplyDivide_ProductOverflowsLong_StillRoundsExactly() {
+        // Arrange
+        long cost = 4_000_000_000_000_000_000L; // $4 trillion in micro-units
+
+        // Act
+        long soldCost = Money.multiplyDivide(cost, 3, 7, RoundingMode.HALF_UP);
+
+        // Assert
+        assertEquals(1_714_285_714_285_714_286L, soldCost); // 12e18 / 7 = 1714285714285714285.71...
+    }
+
+    @Test
+    void toBigDecimal_Cents_RoundsHalfUpOnce() {
+        // Act & Assert
+        assertEquals(new BigDecimal("10.01"), Money.toBigDecimal(10_005_000L, 2));
+        assertEquals(new BigDecimal("-10.01"), Money.toBigDecimal(-10_005_000L, 2));
+    }
+}
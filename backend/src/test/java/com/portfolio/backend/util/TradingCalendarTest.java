@@ -0,0 +1,100 @@
+package com.portfolio.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TradingCalendarTest {
+
+    private final TradingCalendar calendar = TradingCalendar.nyse();
+
+    @Test
+    void isOpen_Holiday_ReturnsFalse() {
+        // Arrange
+        ZonedDateTime independenceDay = at(2024, 7, 4, 11, 0);
+
+        // Act & Assert
+        assertFalse(calendar.isOpen(independenceDay));
+        assertFalse(calendar.isTradingDay(independenceDay.toLocalDate()));
+    }
+
+    @Test
+    void isOpen_EarlyClose_ClosesAtOnePm() {
+        // Arrange
+        ZonedDateTime beforeEarlyClose = at(2024, 11, 29, 12, 59);
+        ZonedDateTime afterEarlyClose = at(2024, 11, 29, 13, 0);
+
+        // Act & Assert
+        assertTrue(calendar.isOpen(beforeEarlyClose));
+        assertFalse(calendar.isOpen(afterEarlyClose));
+        assertTrue(calendar.hasClosed(afterEarlyClose));
+    }
+
+    @Test
+    void isOpen_RegularSession_OpenFromNineThirtyToFour() {
+        // Act & Assert
+        assertFalse(calendar.isOpen(at(2024, 6, 12, 9, 29)));
+        assertTrue(calendar.isOpen(at(2024, 6, 12, 9, 30)));
+        assertTrue(calendar.isOpen(at(2024, 6, 12, 15, 59)));
+        assertFalse(calendar.isOpen(at(2024, 6, 12, 16, 0)));
+    }
+
+    @Test
+    void nextOpen_BeforeHolidayWeekend_SkipsToTuesday() {
+        // Arrange - Friday before Memorial Day 2025
+        ZonedDateTime fridayAfterClose = at(2025, 5, 23, 17, 0);
+
+        // Act
+        ZonedDateTime nextOpen = calendar.nextOpen(fridayAfterClose);
+
+        // Assert
+        assertEquals(at(2025, 5, 27, 9, 30), nextOpen);
+    }
+
+    @Test
+    void previousClose_AfterGoodFriday_ReturnsThursdayClose() {
+        // Arrange - Monday after Good Friday 2025, before the open
+        ZonedDateTime mondayMorning = at(2025, 4, 21, 8, 0);
+
+        // Act
+        ZonedDateTime previousClose = calendar.previousClose(mondayMorning);
+
+        // Assert
+        assertEquals(at(2025, 4, 17, 16, 0), previousClose);
+    }
+
+    @Test
+    void lastTradingDayOfMonth_MonthEndsOnWeekend_ReturnsFriday() {
+        // Act & Assert
+        assertEquals(LocalDate.of(2024, 8, 30), calendar.lastTradingDayOfMonth(YearMonth.of(2024, 8)));
+        assertEquals(LocalDate.of(2024, 12, 31), calendar.lastTradingDayOfMonth(YearMonth.of(2024, 12)));
+    }
+
+    @Test
+    void isTradingDay_OutsideCoveredYears_FallsBackToWeekdays() {
+        // Act & Assert
+        assertTrue(calendar.isTradingDay(LocalDate.of(2035, 7, 4)));
+        assertFalse(calendar.isTradingDay(LocalDate.of(2035, 7, 7)));
+        assertEquals(at(2035, 7, 9, 9, 30), calendar.nextOpen(at(2035, 7, 6, 17, 0)));
+    }
+
+    @Test
+    void load_UnknownEntryType_ThrowsException() {
+        // Arrange
+        String file = "years,2024,2024\n2024-07-04,HALF_DAY,Independence Day\n";
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> TradingCalendar.load(new ByteArrayInputStream(file.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static ZonedDateTime at(int year, int month, int day, int hour, int minute) {
+        return ZonedDateTime.of(year, month, day, hour, minute, 0, 0, TradingCalendar.NEW_YORK);
+    }
+}
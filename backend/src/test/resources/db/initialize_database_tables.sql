@@ -22,7 +22,8 @@ CREATE TABLE IF NOT EXISTS portfolio_monthly_summaries (
     month INT NOT NULL,
     total_value DECIMAL(10,2) NOT NULL,
     monthly_gain DECIMAL(10,2) NOT NULL,
-    monthly_gain_percentage DECIMAL(10,2) NOT NULL
+    monthly_gain_percentage DECIMAL(10,2) NOT NULL,
+    CONSTRAINT uk_portfolio_monthly_summaries_year_month UNIQUE (year, month)
 );
 
 CREATE TABLE IF NOT EXISTS cash_account (
@@ -38,4 +39,97 @@ CREATE TABLE IF NOT EXISTS trade_history (
     quantity INT NOT NULL,
     price DECIMAL(12,2) NOT NULL,
     trade_type VARCHAR(4) NOT NULL
-); 
\ No newline at end of file
+);
+CREATE INDEX IF NOT EXISTS idx_trade_history_ticker_date ON trade_history (ticker, trade_date);
+CREATE TABLE IF NOT EXISTS realized_gains (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    trade_id BIGINT NOT NULL,
+    ticker VARCHAR(12) NOT NULL,
+    sell_date DATE NOT NULL,
+    quantity INT NOT NULL,
+    proceeds DECIMAL(14,2) NOT NULL,
+    cost_basis DECIMAL(14,2) NOT NULL,
+    realized_gain DECIMAL(14,2) NOT NULL,
+    CONSTRAINT uk_realized_gains_trade UNIQUE (trade_id)
+);
+CREATE INDEX IF NOT EXISTS idx_realized_gains_sell_date ON realized_gains (sell_date);
+CREATE TABLE IF NOT EXISTS tax_lots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    ticker VARCHAR(12) NOT NULL,
+    buy_trade_id BIGINT,
+    acquired_date DATE NOT NULL,
+    quantity INT NOT NULL,
+    remaining_quantity INT NOT NULL,
+    cost_per_share DECIMAL(18,6) NOT NULL,
+    is_open BOOLEAN NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_tax_lots_ticker_open_date ON tax_lots (ticker, is_open, acquired_date);
+CREATE TABLE IF NOT EXISTS price_bars (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    ticker VARCHAR(12) NOT NULL,
+    bar_date DATE NOT NULL,
+    open_price DECIMAL(12,4),
+    high_price DECIMAL(12,4),
+    low_price DECIMAL(12,4),
+    close_price DECIMAL(12,4) NOT NULL,
+    volume BIGINT,
+    CONSTRAINT uk_price_bars_ticker_date UNIQUE (ticker, bar_date)
+);
+
+CREATE TABLE IF NOT EXISTS job_checkpoints (
+    job_name VARCHAR(100) PRIMARY KEY,
+    last_completed VARCHAR(64) NOT NULL,
+    updated_at DATETIME NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_portfolio_daily_values_snapshot_date ON portfolio_daily_values (snapshot_date);
+
+CREATE TABLE IF NOT EXISTS portfolio_value_rollups (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    period_type VARCHAR(5) NOT NULL,
+    period_start DATE NOT NULL,
+    first_date DATE NOT NULL,
+    last_date DATE NOT NULL,
+    open_value DECIMAL(10,2) NOT NULL,
+    close_value DECIMAL(10,2) NOT NULL,
+    min_value DECIMAL(10,2) NOT NULL,
+    max_value DECIMAL(10,2) NOT NULL,
+    value_sum DECIMAL(14,2) NOT NULL,
+    sample_count INT NOT NULL,
+    CONSTRAINT uk_portfolio_value_rollups_period_start UNIQUE (period_type, period_start)
+);
+
+CREATE TABLE IF NOT EXISTS job_leases (
+    job_name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(100),
+    lease_until DATETIME,
+    last_scheduled_at DATETIME
+);
+
+CREATE TABLE IF NOT EXISTS job_runs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    scheduled_at DATETIME NOT NULL,
+    owner VARCHAR(100) NOT NULL,
+    catch_up BOOLEAN NOT NULL,
+    started_at DATETIME NOT NULL,
+    finished_at DATETIME,
+    duration_ms BIGINT,
+    status VARCHAR(10) NOT NULL,
+    error VARCHAR(500),
+    CONSTRAINT uk_job_runs_job_scheduled UNIQUE (job_name, scheduled_at)
+);
+
+CREATE TABLE IF NOT EXISTS portfolio_month_aggregates (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    year INT NOT NULL,
+    month INT NOT NULL,
+    opening_value DECIMAL(12,2) NOT NULL,
+    updated_at DATETIME NOT NULL,
+    CONSTRAINT uk_portfolio_month_aggregates_year_month UNIQUE (year, month)
+);
+
+CREATE TABLE IF NOT EXISTS data_versions (
+    name VARCHAR(50) PRIMARY KEY,
+    version BIGINT NOT NULL
+);
@@ -147,6 +147,16 @@ class ApiService {
     });
   }
 
+  // Subscribe to live quote changes over Server-Sent Events; returns a function that closes the stream
+  streamStockData(symbols: string[], onQuote: (quote: StockData) => void): () => void {
+    const query = encodeURIComponent(symbols.join(','));
+    const source = new EventSource(`${API_ENDPOINTS.STOCK_DATA}/stream?symbols=${query}`);
+    source.addEventListener('quote', (event) => {
+      onQuote(JSON.parse((event as MessageEvent).data) as StockData);
+    });
+    return () => source.close();
+  }
+
   async executeBuy(buyRequest: BuyRequest): Promise<BuyResponse> {
     return this.request<BuyResponse>(`${API_ENDPOINTS.BUY}`, {
       method: 'POST',